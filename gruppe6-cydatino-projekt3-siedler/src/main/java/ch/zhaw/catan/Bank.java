@@ -46,6 +46,30 @@ public class Bank {
         return initialResources;
     }
 
+    /**
+     * Returns the number of cards of a resource left in the bank
+     *
+     * @param resource the resource
+     * @return the number of cards
+     */
+    public int getStock(Config.Resource resource) {
+        return resources.get(resource);
+    }
+
+    /**
+     * Takes one card of a resource from the bank, e.g. for a year of plenty card
+     *
+     * @param resource the resource
+     * @return true, if the bank had a card of the resource
+     */
+    public boolean takeResource(Config.Resource resource) {
+        if (resources.get(resource) == 0) {
+            return false;
+        }
+        resources.put(resource, resources.get(resource) - 1);
+        return true;
+    }
+
     /**
      * This Methode implements the trading with
      *
@@ -54,9 +78,21 @@ public class Bank {
      * @return returns true if successfull
      */
     public boolean tradeWithBank(Config.Resource offer, Config.Resource want) {
+        return tradeWithBank(offer, want, SiedlerGame.FOUR_TO_ONE_TRADE_OFFER);
+    }
+
+    /**
+     * This Methode implements the trading with the bank at the given rate
+     *
+     * @param offer The ressources the player offers
+     * @param want  The ressources the player wants
+     * @param rate  The number of offered cards for one wanted card
+     * @return returns true if successfull
+     */
+    public boolean tradeWithBank(Config.Resource offer, Config.Resource want, int rate) {
         boolean successful = false;
         if (resources.get(want) > 0) {
-            resources.put(offer, resources.get(offer) + SiedlerGame.FOUR_TO_ONE_TRADE_OFFER);
+            resources.put(offer, resources.get(offer) + rate);
             resources.put(want, resources.get(want) - SiedlerGame.FOUR_TO_ONE_TRADE_WANT);
             successful = true;
         }
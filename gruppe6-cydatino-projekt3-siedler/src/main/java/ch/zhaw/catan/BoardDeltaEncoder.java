@@ -0,0 +1,227 @@
+package ch.zhaw.catan;
+
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * This class turns the changes of a game into compact patches for observers and spectators.
+ * <p>
+ * All changes of corners, edges, the thief, the current player and the resources of the players are collected
+ * until {@link #flush()} is called, e.g. after every move. The collected changes are then encoded once as a
+ * {@link Protocol#BOARD_DIFF} frame, which is passed to all subscribers. Resource changes are coalesced, so a
+ * patch only contains the final amount of each changed resource.
+ * </p>
+ * <p>
+ * After a fixed number of patches, a {@link Protocol#KEYFRAME} with the complete state is created. A new
+ * subscriber receives the latest keyframe and all patches since, so it can catch up with a running game.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 19.12.2021
+ */
+public class BoardDeltaEncoder implements GameStateListener {
+    private static final int MAX_CHANGE_SIZE = 6;
+    private final SiedlerGame game;
+    private final int keyframeInterval;
+    private final ByteBuffer pendingChanges = ByteBuffer.allocate(Protocol.MAX_FRAME_SIZE - Protocol.HEADER_SIZE - Short.BYTES);
+    private final int[][] changedResources;
+    private final boolean[][] resourceChanged;
+    private final List<Consumer<ByteBuffer>> subscribers = new CopyOnWriteArrayList<>();
+    private final List<ByteBuffer> patchesSinceKeyframe = new ArrayList<>();
+    private int pendingChangeCount;
+    private boolean resourcesPending;
+    private ByteBuffer keyframe;
+
+    /**
+     * Constructs an encoder and registers it as listener of the game
+     *
+     * @param game             the game
+     * @param keyframeInterval the number of patches after which a new keyframe is created
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public BoardDeltaEncoder(SiedlerGame game, int keyframeInterval) {
+        if (keyframeInterval <= 0) {
+            throw new IllegalArgumentException("Keyframe interval must be positive");
+        }
+        this.game = game;
+        this.keyframeInterval = keyframeInterval;
+        int factions = Config.Faction.values().length;
+        this.changedResources = new int[factions][Config.Resource.values().length];
+        this.resourceChanged = new boolean[factions][Config.Resource.values().length];
+        this.keyframe = encodeKeyframe();
+        game.addGameStateListener(this);
+    }
+
+    /**
+     * Adds a subscriber. The subscriber first receives the latest keyframe and the patches since, then
+     * all further patches. The frames passed to subscribers must not be modified, but may be kept.
+     *
+     * @param subscriber the subscriber
+     */
+    public void subscribe(Consumer<ByteBuffer> subscriber) {
+        subscriber.accept(keyframe.duplicate());
+        for (ByteBuffer patch : patchesSinceKeyframe) {
+            subscriber.accept(patch.duplicate());
+        }
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Removes a subscriber
+     *
+     * @param subscriber the subscriber
+     */
+    public void unsubscribe(Consumer<ByteBuffer> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Encodes the changes collected since the last call as patch and passes it to all subscribers.
+     * Nothing is sent if there were no changes.
+     */
+    public void flush() {
+        appendResourceChanges();
+        if (pendingChangeCount == 0) {
+            return;
+        }
+        publishPendingChanges();
+        if (patchesSinceKeyframe.size() >= keyframeInterval) {
+            keyframe = encodeKeyframe();
+            patchesSinceKeyframe.clear();
+        }
+    }
+
+    /**
+     * Returns the latest keyframe
+     *
+     * @return the keyframe frame
+     */
+    public ByteBuffer getKeyframe() {
+        return keyframe.duplicate();
+    }
+
+    /**
+     * Adds a dice roll to the current patch
+     *
+     * @param diceValue the rolled dice value
+     */
+    void addDiceRoll(int diceValue) {
+        reserveChange();
+        Protocol.putDiceChange(pendingChanges, diceValue);
+        pendingChangeCount++;
+    }
+
+    @Override
+    public void cornerChanged(Point corner, String oldValue, String newValue) {
+        reserveChange();
+        Protocol.putCornerChange(pendingChanges, corner, newValue);
+        pendingChangeCount++;
+    }
+
+    @Override
+    public void edgeChanged(Point corner1, Point corner2, String oldValue, String newValue) {
+        reserveChange();
+        Protocol.putEdgeChange(pendingChanges, corner1, corner2, newValue);
+        pendingChangeCount++;
+    }
+
+    @Override
+    public void thiefMoved(Point oldField, Point newField) {
+        reserveChange();
+        Protocol.putThiefChange(pendingChanges, newField);
+        pendingChangeCount++;
+    }
+
+    @Override
+    public void currentPlayerChanged(Player oldPlayer, Player newPlayer) {
+        reserveChange();
+        Protocol.putTurnChange(pendingChanges, newPlayer.getFaction());
+        pendingChangeCount++;
+    }
+
+    @Override
+    public void resourceChanged(Player player, Config.Resource resource, int oldAmount, int newAmount) {
+        changedResources[player.getFaction().ordinal()][resource.ordinal()] = newAmount;
+        resourceChanged[player.getFaction().ordinal()][resource.ordinal()] = true;
+        resourcesPending = true;
+    }
+
+    private void appendResourceChanges() {
+        if (!resourcesPending) {
+            return;
+        }
+        for (Config.Faction faction : Config.Faction.values()) {
+            for (Config.Resource resource : Config.Resource.values()) {
+                if (resourceChanged[faction.ordinal()][resource.ordinal()]) {
+                    resourceChanged[faction.ordinal()][resource.ordinal()] = false;
+                    reserveChange();
+                    Protocol.putResourceChange(pendingChanges, faction, resource,
+                            changedResources[faction.ordinal()][resource.ordinal()]);
+                    pendingChangeCount++;
+                }
+            }
+        }
+        resourcesPending = false;
+    }
+
+    /**
+     * Sends the pending changes as separate patch, if there is no room for another change
+     */
+    private void reserveChange() {
+        if (pendingChanges.remaining() < MAX_CHANGE_SIZE) {
+            publishPendingChanges();
+        }
+    }
+
+    /**
+     * Encodes the pending changes once and passes the patch to all subscribers
+     */
+    private void publishPendingChanges() {
+        ByteBuffer patch = Protocol.encodeBoardDiff(pendingChanges, pendingChangeCount);
+        pendingChanges.clear();
+        pendingChangeCount = 0;
+        for (Consumer<ByteBuffer> subscriber : subscribers) {
+            subscriber.accept(patch.duplicate());
+        }
+        patchesSinceKeyframe.add(patch);
+    }
+
+    private ByteBuffer encodeKeyframe() {
+        ByteBuffer state = ByteBuffer.allocate(pendingChanges.capacity());
+        SiedlerBoard board = game.getBoard();
+        int[] occupants = {0};
+        board.replayOccupants(new GameStateListener() {
+            @Override
+            public void cornerChanged(Point corner, String oldValue, String newValue) {
+                Protocol.putCornerChange(state, corner, newValue);
+                occupants[0]++;
+            }
+
+            @Override
+            public void edgeChanged(Point start, Point end, String oldValue, String newValue) {
+                Protocol.putEdgeChange(state, start, end, newValue);
+                occupants[0]++;
+            }
+        });
+        int count = occupants[0];
+        if (board.getThiefField() != null) {
+            Protocol.putThiefChange(state, board.getThiefField());
+            count++;
+        }
+        if (game.getCurrentPlayer() != null) {
+            Protocol.putTurnChange(state, game.getCurrentPlayerFaction());
+            count++;
+        }
+        for (Player player : game.getPlayers()) {
+            for (Config.Resource resource : Config.Resource.values()) {
+                Protocol.putResourceChange(state, player.getFaction(), resource, player.getResourceCount(resource));
+                count++;
+            }
+        }
+        return Protocol.encodeKeyframe(state, count);
+    }
+}
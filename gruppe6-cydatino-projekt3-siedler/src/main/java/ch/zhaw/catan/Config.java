@@ -26,12 +26,27 @@ public class Config {
     // Note: The max. number is equal to the number of factions (see Faction enum)
     public static final int MIN_NUMBER_OF_PLAYERS = 2;
 
+    // Maximum number of players on the standard board, more players need a larger board
+    public static final int MAX_NUMBER_OF_PLAYERS_STANDARD_BOARD = 4;
+
     // Initial thief position (on the desert field)
     public static final Point INITIAL_THIEF_POSITION = new Point(7, 11);
 
     // Available factions
     public enum Faction {
-        RED("rr"), BLUE("bb"), GREEN("gg"), YELLOW("yy");
+        RED("rr"), BLUE("bb"), GREEN("gg"), YELLOW("yy"),
+        ORANGE("oo"), WHITE("ww"), PURPLE("pp"), BROWN("nn"),
+        CYAN("cc"), MAGENTA("mm"), LIME("ll"), TEAL("tt"),
+        PINK("kk"), GREY("ee"), NAVY("vv"), GOLD("dd");
+
+        private static final Map<String, Faction> FACTIONS_BY_NAME = new HashMap<>();
+
+        static {
+            for (Faction faction : values()) {
+                FACTIONS_BY_NAME.put(faction.name, faction);
+                FACTIONS_BY_NAME.put(faction.name.toUpperCase(), faction);
+            }
+        }
 
         private String name;
 
@@ -39,12 +54,66 @@ public class Config {
             this.name = name;
         }
 
+        /**
+         * Returns the faction of a settlement or city name on the board
+         *
+         * @param name the name of the faction (lower case for settlements, upper case for cities)
+         * @return the faction or null, if there is no faction with this name
+         */
+        public static Faction fromName(String name) {
+            return FACTIONS_BY_NAME.get(name);
+        }
+
         @Override
         public String toString() {
             return name;
         }
     }
 
+    // HARBORS
+
+    /**
+     * This {@link Enum} specifies the harbors. A generic harbor allows to trade any resource
+     * at the given rate, a resource harbor only the specified resource.
+     */
+    public enum Harbor {
+        GENERIC(3, null, "33"), GRAIN(2, Resource.GRAIN, "2G"), WOOL(2, Resource.WOOL, "2W"),
+        LUMBER(2, Resource.LUMBER, "2L"), ORE(2, Resource.ORE, "2O"), BRICK(2, Resource.BRICK, "2B");
+
+        private final int rate;
+        private final Resource resource;
+        private final String label;
+
+        private Harbor(int rate, Resource resource, String label) {
+            this.rate = rate;
+            this.resource = resource;
+            this.label = label;
+        }
+
+        /**
+         * Returns the number of cards to offer for one card of the bank
+         *
+         * @return the trade rate
+         */
+        public int getRate() {
+            return rate;
+        }
+
+        /**
+         * Returns the resource which can be traded at this harbor
+         *
+         * @return the resource or null, if any resource can be traded
+         */
+        public Resource getResource() {
+            return resource;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
     // RESOURCE CARD DECK
     public static final Map<Resource, Integer> INITIAL_RESOURCE_CARDS_BANK = Map.of(Resource.LUMBER, 19,
             Resource.BRICK, 19, Resource.WOOL, 19, Resource.GRAIN, 19, Resource.ORE, 19);
@@ -175,6 +244,50 @@ public class Config {
         }
     }
 
+    // DEVELOPMENT CARDS (with costs)
+    public static final List<Resource> DEVELOPMENT_CARD_COSTS = List.of(Resource.ORE, Resource.WOOL, Resource.GRAIN);
+    public static final int MIN_KNIGHTS_FOR_LARGEST_ARMY = 3;
+    public static final int POINTS_FOR_LARGEST_ARMY = 2;
+
+    // LONGEST ROAD
+    public static final int MIN_ROADS_FOR_LONGEST_ROAD = 5;
+    public static final int POINTS_FOR_LONGEST_ROAD = 2;
+
+    /**
+     * This enum models the different development cards.
+     * <p>
+     * The enum provides information about how many cards of each type are in the deck. All development
+     * cards cost {@link #DEVELOPMENT_CARD_COSTS}.
+     * </p>
+     */
+    public enum DevelopmentCard {
+        KNIGHT(14), MONOPOLY(2), ROAD_BUILDING(2), YEAR_OF_PLENTY(2), VICTORY_POINT(5);
+
+        private int numberInDeck;
+
+        private DevelopmentCard(int numberInDeck) {
+            this.numberInDeck = numberInDeck;
+        }
+
+        /**
+         * Returns the purchase costs of a development card.
+         *
+         * @return the purchase costs, each list entry represents a resource card
+         */
+        public List<Resource> getCosts() {
+            return DEVELOPMENT_CARD_COSTS;
+        }
+
+        /**
+         * Returns the number of cards of this type in the deck
+         *
+         * @return the number of cards
+         */
+        public int getNumberInDeck() {
+            return numberInDeck;
+        }
+    }
+
     // STANDARD FIXED DICE NUMBER TO FIELD SETUP
 
     /**
@@ -208,6 +321,33 @@ public class Config {
         return Collections.unmodifiableMap(assignment);
     }
 
+    // STANDARD FIXED HARBOR SETUP
+
+    /**
+     * Returns a mapping of the harbors per corner. Each harbor lies on a coast edge,
+     * so both corners of the edge belong to the harbor.
+     *
+     * @return the harbors per corner
+     */
+    public static final Map<Point, Harbor> getStandardHarborPlacement() {
+        Map<Point, Harbor> assignment = new HashMap<>();
+        addHarbor(assignment, Harbor.GENERIC, new Point(4, 4), new Point(5, 3));
+        addHarbor(assignment, Harbor.WOOL, new Point(7, 3), new Point(8, 4));
+        addHarbor(assignment, Harbor.GENERIC, new Point(10, 6), new Point(11, 7));
+        addHarbor(assignment, Harbor.GENERIC, new Point(12, 10), new Point(12, 12));
+        addHarbor(assignment, Harbor.BRICK, new Point(10, 16), new Point(11, 15));
+        addHarbor(assignment, Harbor.GENERIC, new Point(8, 18), new Point(9, 19));
+        addHarbor(assignment, Harbor.LUMBER, new Point(4, 18), new Point(5, 19));
+        addHarbor(assignment, Harbor.GRAIN, new Point(3, 13), new Point(3, 15));
+        addHarbor(assignment, Harbor.ORE, new Point(3, 7), new Point(3, 9));
+        return Collections.unmodifiableMap(assignment);
+    }
+
+    private static void addHarbor(Map<Point, Harbor> assignment, Harbor harbor, Point corner1, Point corner2) {
+        assignment.put(corner1, harbor);
+        assignment.put(corner2, harbor);
+    }
+
     // STANDARD FIXED LAND SETUP
 
     /**
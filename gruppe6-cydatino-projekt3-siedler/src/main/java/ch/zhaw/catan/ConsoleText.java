@@ -52,7 +52,12 @@ public enum ConsoleText {
     ERRORCANTPLACETHIEFINWATER("The thief can not swim!"),
     ERRORNEXTTOFIRSTSETTLEMENT("Road must be build by the first settlement"),
     ERRORNEXTTOSECONDSETTLEMENT("Road must be build by the second settlement"),
-    ERRORSTRUCTURELIMITREACHED("Structure-limit is reached!");
+    ERRORSTRUCTURELIMITREACHED("Structure-limit is reached!"),
+    ERRORNOTYOURTURN("It is not your turn!"),
+    ERRORTHIEFMUSTBEPLACED("The thief must be placed first!"),
+    ERRORMOVENOTALLOWED("This move is not allowed!"),
+    ERRORNODEVELOPMENTCARD("You don't have this development card!"),
+    ERRORDEVELOPMENTDECKEMPTY("There are no development cards left!");
 
     private String text;
 
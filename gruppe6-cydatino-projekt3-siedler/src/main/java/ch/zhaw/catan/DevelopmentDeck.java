@@ -0,0 +1,106 @@
+package ch.zhaw.catan;
+
+import java.util.Random;
+
+/**
+ * This class represents the shuffled deck of development cards.
+ * <p>
+ * The cards are stored as ordinals in a primitive array, which is shuffled once when the deck is created
+ * and never modified afterwards. Drawing a card only moves an index, so a snapshot of the deck is that
+ * index and restoring a snapshot is free. Decks created with the same seed have the same order.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 23.12.2021
+ */
+public class DevelopmentDeck {
+    private static final Config.DevelopmentCard[] CARDS = Config.DevelopmentCard.values();
+    private final byte[] cards;
+    private int next;
+
+    /**
+     * Constructs a deck with all development cards, shuffled with the given seed
+     *
+     * @param seed the seed of the shuffle
+     */
+    public DevelopmentDeck(long seed) {
+        int size = 0;
+        for (Config.DevelopmentCard card : CARDS) {
+            size += card.getNumberInDeck();
+        }
+        cards = new byte[size];
+        int index = 0;
+        for (Config.DevelopmentCard card : CARDS) {
+            for (int i = 0; i < card.getNumberInDeck(); i++) {
+                cards[index++] = (byte) card.ordinal();
+            }
+        }
+        shuffle(new Random(seed));
+    }
+
+    /**
+     * Draws the top card of the deck
+     *
+     * @return the drawn card or null, if the deck is empty
+     */
+    public Config.DevelopmentCard draw() {
+        if (next == cards.length) {
+            return null;
+        }
+        return CARDS[cards[next++]];
+    }
+
+    /**
+     * Returns the top card of the deck without drawing it
+     *
+     * @return the top card or null, if the deck is empty
+     */
+    public Config.DevelopmentCard peek() {
+        return next == cards.length ? null : CARDS[cards[next]];
+    }
+
+    /**
+     * Returns the number of cards left in the deck
+     *
+     * @return the number of cards left
+     */
+    public int getRemainingCount() {
+        return cards.length - next;
+    }
+
+    /**
+     * Returns a snapshot of the deck, which can be restored with {@link #restore(int)}
+     *
+     * @return the snapshot
+     */
+    public int snapshot() {
+        return next;
+    }
+
+    /**
+     * Restores a snapshot of this deck, so the cards drawn since are put back in the same order
+     *
+     * @param snapshot the snapshot returned by {@link #snapshot()}
+     * @throws IllegalArgumentException if the snapshot does not belong to this deck
+     */
+    public void restore(int snapshot) {
+        if (snapshot < 0 || snapshot > cards.length) {
+            throw new IllegalArgumentException("Invalid snapshot: " + snapshot);
+        }
+        next = snapshot;
+    }
+
+    /**
+     * Shuffles the cards with the Fisher-Yates algorithm
+     *
+     * @param random the random generator
+     */
+    private void shuffle(Random random) {
+        for (int i = cards.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte card = cards[i];
+            cards[i] = cards[j];
+            cards[j] = card;
+        }
+    }
+}
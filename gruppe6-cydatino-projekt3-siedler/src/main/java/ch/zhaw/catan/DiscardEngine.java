@@ -0,0 +1,127 @@
+package ch.zhaw.catan;
+
+import java.util.Random;
+
+/**
+ * This class draws the cards a player has to discard when a seven is thrown.
+ * <p>
+ * The hand is given as primitive counts per resource. The discarded cards are drawn resource by resource:
+ * the number of cards of a resource is a hypergeometric draw of the cards still to draw from the cards
+ * not assigned yet, of which the cards of this resource are the successes. This draws a uniformly random
+ * subset of the cards, i.e. weighted sampling without replacement, with work per resource instead of per card.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 20.12.2021
+ */
+public final class DiscardEngine {
+    private static final double NEGLIGIBLE_WEIGHT = 1e-17;
+
+    private DiscardEngine() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Draws cards from a hand without replacement
+     *
+     * @param counts    the number of cards per resource
+     * @param drawCount the number of cards to draw
+     * @param random    the random generator
+     * @return the number of drawn cards per resource
+     * @throws IllegalArgumentException if a count is negative or more cards are drawn than the hand holds
+     */
+    public static int[] draw(int[] counts, int drawCount, Random random) {
+        long remainingCards = 0;
+        for (int count : counts) {
+            if (count < 0) {
+                throw new IllegalArgumentException("Card counts must not be negative");
+            }
+            remainingCards += count;
+        }
+        if (drawCount < 0 || drawCount > remainingCards) {
+            throw new IllegalArgumentException("Can not draw " + drawCount + " of " + remainingCards + " cards");
+        }
+        int[] drawn = new int[counts.length];
+        int remainingDraws = drawCount;
+        for (int resource = 0; resource < counts.length && remainingDraws > 0; resource++) {
+            long otherCards = remainingCards - counts[resource];
+            drawn[resource] = drawHypergeometric(counts[resource], otherCards, remainingDraws, random);
+            remainingDraws -= drawn[resource];
+            remainingCards = otherCards;
+        }
+        return drawn;
+    }
+
+    /**
+     * Draws the number of successes of a hypergeometric distribution by inversion. The probabilities are
+     * computed relative to the mode with the ratio of consecutive probabilities, tails with a negligible
+     * probability are cut off. So the work depends on the spread of the distribution and not on the cards.
+     *
+     * @param successes the number of cards counted as success
+     * @param failures  the number of other cards
+     * @param draws     the number of cards drawn, at most successes + failures
+     * @param random    the random generator
+     * @return the number of drawn successes
+     */
+    private static int drawHypergeometric(long successes, long failures, int draws, Random random) {
+        int min = (int) Math.max(0, draws - failures);
+        int max = (int) Math.min(successes, draws);
+        if (min == max) {
+            return min;
+        }
+        int mode = (int) ((draws + 1.0) * (successes + 1) / (successes + failures + 2));
+        mode = Math.max(min, Math.min(max, mode));
+
+        double total = 1;
+        double weight = 1;
+        int high = mode;
+        while (high < max && weight * getRatio(successes, failures, draws, high) >= NEGLIGIBLE_WEIGHT) {
+            weight *= getRatio(successes, failures, draws, high);
+            high++;
+            total += weight;
+        }
+        weight = 1;
+        int low = mode;
+        while (low > min && weight / getRatio(successes, failures, draws, low - 1) >= NEGLIGIBLE_WEIGHT) {
+            weight /= getRatio(successes, failures, draws, low - 1);
+            low--;
+            total += weight;
+        }
+
+        double remaining = random.nextDouble() * total - weight;
+        int drawn = low;
+        while (remaining >= 0 && drawn < high) {
+            weight *= getRatio(successes, failures, draws, drawn);
+            drawn++;
+            remaining -= weight;
+        }
+        return drawn;
+    }
+
+    /**
+     * Returns P(k + 1) / P(k) of the hypergeometric distribution
+     */
+    private static double getRatio(long successes, long failures, int draws, int k) {
+        return (double) (successes - k) * (draws - k) / ((double) (k + 1) * (failures - draws + k + 1));
+    }
+
+    /**
+     * Computes the discards of all players for a thrown seven. Every player with at least
+     * {@link Config#MAX_CARDS_IN_HAND_NO_DROP} cards discards half of the cards (rounded down).
+     *
+     * @param hands  the number of cards per player and resource
+     * @param random the random generator
+     * @return the number of discarded cards per player and resource
+     */
+    public static int[][] drawDiscards(int[][] hands, Random random) {
+        int[][] discards = new int[hands.length][];
+        for (int player = 0; player < hands.length; player++) {
+            int cards = 0;
+            for (int count : hands[player]) {
+                cards += count;
+            }
+            discards[player] = cards >= Config.MAX_CARDS_IN_HAND_NO_DROP ? draw(hands[player], cards / 2, random) : new int[hands[player].length];
+        }
+        return discards;
+    }
+}
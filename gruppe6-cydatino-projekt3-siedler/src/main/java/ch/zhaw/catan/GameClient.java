@@ -0,0 +1,133 @@
+package ch.zhaw.catan;
+
+import java.awt.*;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * This class implements a simple blocking client of the {@link GameServer}.
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 18.12.2021
+ */
+public class GameClient implements Closeable {
+    private final SocketChannel channel;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(Protocol.MAX_FRAME_SIZE + Short.BYTES);
+    private final Config.Faction faction;
+    private final ByteBuffer keyframe;
+    private int nextRequestId = 1;
+
+    /**
+     * Connects to a server and waits for the welcome message and the keyframe of the game.
+     * The patches sent since the keyframe are received as normal messages.
+     *
+     * @param address the address of the server
+     * @throws IOException if the connection fails
+     */
+    public GameClient(InetSocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        readBuffer.flip();
+        ByteBuffer welcome = readMessage();
+        if (Protocol.getType(welcome) != Protocol.WELCOME) {
+            throw new IOException("Unexpected message type " + Protocol.getType(welcome));
+        }
+        int factionOrdinal = Protocol.getWelcomeFaction(welcome);
+        faction = factionOrdinal < 0 ? null : Config.Faction.values()[factionOrdinal];
+        keyframe = readMessage();
+        if (Protocol.getType(keyframe) != Protocol.KEYFRAME) {
+            throw new IOException("Unexpected message type " + Protocol.getType(keyframe));
+        }
+    }
+
+    /**
+     * Returns the faction assigned by the server
+     *
+     * @return the faction or null, if the client is a spectator
+     */
+    public Config.Faction getFaction() {
+        return faction;
+    }
+
+    /**
+     * Returns the keyframe received after connecting
+     *
+     * @return the keyframe, which can be decoded with {@link Protocol#getBoardChanges(ByteBuffer)}
+     */
+    public ByteBuffer getKeyframe() {
+        return keyframe.duplicate();
+    }
+
+    /**
+     * Sends a move request
+     *
+     * @param moveType the type of the move
+     * @param from     the first point of the move, may be null
+     * @param to       the second point of the move, may be null
+     * @return the id of the request
+     * @throws IOException if the request can not be sent
+     */
+    public int requestMove(Protocol.MoveType moveType, Point from, Point to) throws IOException {
+        int requestId = nextRequestId++;
+        writeFully(Protocol.encodeMoveRequest(requestId, moveType, from, to));
+        return requestId;
+    }
+
+    /**
+     * Sends a request to trade with the bank
+     *
+     * @param offer the offered resource
+     * @param want  the wanted resource
+     * @return the id of the request
+     * @throws IOException if the request can not be sent
+     */
+    public int requestTrade(Config.Resource offer, Config.Resource want) throws IOException {
+        int requestId = nextRequestId++;
+        writeFully(Protocol.encodeTradeRequest(requestId, offer, want));
+        return requestId;
+    }
+
+    /**
+     * Blocks until the next message of the server is received
+     *
+     * @return the frame of the message, which can be decoded with {@link Protocol}
+     * @throws IOException if the connection is closed or fails
+     */
+    public ByteBuffer readMessage() throws IOException {
+        int frameLength = Protocol.getFrameLength(readBuffer);
+        while (frameLength < 0 || readBuffer.remaining() < frameLength) {
+            readBuffer.compact();
+            int read = channel.read(readBuffer);
+            readBuffer.flip();
+            if (read < 0) {
+                throw new EOFException("Connection closed by server");
+            }
+            frameLength = Protocol.getFrameLength(readBuffer);
+        }
+        ByteBuffer frame = ByteBuffer.allocate(frameLength);
+        ByteBuffer source = readBuffer.slice();
+        source.limit(frameLength);
+        frame.put(source).flip();
+        readBuffer.position(readBuffer.position() + frameLength);
+        return frame;
+    }
+
+    /**
+     * Closes the connection
+     *
+     * @throws IOException if the connection can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void writeFully(ByteBuffer frame) throws IOException {
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+    }
+}
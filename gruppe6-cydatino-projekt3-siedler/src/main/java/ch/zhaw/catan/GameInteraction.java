@@ -0,0 +1,145 @@
+package ch.zhaw.catan;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This interface defines all interaction of a game with its players, i.e. all input requests
+ * and all output messages.
+ * <p>
+ * Every game has its own interaction, so several games can run in the same process. The following
+ * implementations are available:
+ * <ul>
+ *     <li>{@link TextIOWrapper}: a terminal (the local console or the terminal of a {@link GameSession})</li>
+ *     <li>{@link InMemoryInteraction}: scripted input and recorded output, e.g. for tests</li>
+ *     <li>{@link NoOpInteraction}: no output at all, e.g. for simulations</li>
+ * </ul>
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 17.12.2021
+ */
+public interface GameInteraction {
+
+    /**
+     * Checks whether the input requests are answered by the players. If not, the answers are fixed
+     * and the interaction can not be used to play a game with a {@link GameManager}.
+     *
+     * @return true, if the players answer the input requests
+     */
+    default boolean isInputAvailable() {
+        return true;
+    }
+
+    /**
+     * Requests the amount of players for the game
+     *
+     * @return number between {@link Config#MIN_NUMBER_OF_PLAYERS} and {@link Config#MAX_NUMBER_OF_PLAYERS_STANDARD_BOARD}
+     */
+    int getNumbersOfPlayers();
+
+    /**
+     * Requests the position to build a road, settlement or city from the player
+     *
+     * @param construction  The Type of construction the current player wants to build
+     * @param currentPlayer The current player
+     * @return Point where player wants to build
+     */
+    Point getConstructionPosition(ConsoleText construction, Player currentPlayer);
+
+    /**
+     * Requests the position to place the thief
+     *
+     * @param currentPlayer The current player
+     * @return Point where player wants to place the thief
+     */
+    Point getThiefPosition(Player currentPlayer);
+
+    /**
+     * Requests the resource to trade with
+     *
+     * @param want true for the resource the player wants, false for the offered resource
+     * @return Resource which a player wants to trade
+     */
+    Config.Resource getResource(boolean want);
+
+    /**
+     * Requests the next move option of the player
+     *
+     * @param currentPlayer The current player
+     * @return move option
+     */
+    MoveOption getOption(Player currentPlayer);
+
+    /**
+     * Requests the player to select the faction to steal a card from
+     *
+     * @param player              The current player
+     * @param factionsToStealFrom the names of the factions to choose from
+     * @return the selected faction
+     */
+    Config.Faction selectFactionToStealFrom(Player player, ArrayList<String> factionsToStealFrom);
+
+    /**
+     * Asks the player whether the game should be quit
+     *
+     * @return true, if the player wants to quit
+     */
+    boolean doYouWantToQuit();
+
+    /**
+     * Prints out the welcome message in the beginning of the game
+     */
+    void printWelcomeMessage();
+
+    /**
+     * Prints out a simple line
+     *
+     * @param text the text to print
+     */
+    void printLine(String text);
+
+    /**
+     * Prints out an error
+     *
+     * @param error the error message
+     */
+    void printError(String error);
+
+    /**
+     * Prints out text with rolled dice value
+     *
+     * @param diceValue Value of dice
+     */
+    void printDiceRollText(int diceValue);
+
+    /**
+     * Prints out the available resources of the current player
+     *
+     * @param resources Resources as Map
+     */
+    void printResources(Map<Config.Resource, Integer> resources);
+
+    /**
+     * Prints out whose turn it is
+     *
+     * @param currentPlayer The current player
+     */
+    void printWhoseTurnItIs(Player currentPlayer);
+
+    /**
+     * Prints out the winner of the game
+     *
+     * @param currentPlayer The winner
+     */
+    void printWinner(Player currentPlayer);
+
+    /**
+     * Prints out the resources that get distributed after dice was rolled
+     *
+     * @param resourcesToDistribute The resources that get distributed
+     */
+    void printDistributedResourcesForDiceThrow(Map<Config.Faction, List<Config.Resource>> resourcesToDistribute);
+}
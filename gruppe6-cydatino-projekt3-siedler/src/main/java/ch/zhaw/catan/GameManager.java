@@ -18,6 +18,7 @@ public class GameManager {
     private SiedlerGame game;
     private SiedlerBoardTextView view;
     private Random random;
+    private final GameInteraction interaction;
 
     /**
      * Enum represents the Phases in which the player is allowed to build cunstructions
@@ -27,9 +28,24 @@ public class GameManager {
     }
 
     /**
-     * Constructor of GameManager, starts the individual phases of the game
+     * Constructor of GameManager, starts the individual phases of the game on the local terminal
      */
     public GameManager() {
+        this(TextIOWrapper.getConsole());
+    }
+
+    /**
+     * Constructor of GameManager, starts the individual phases of the game
+     *
+     * @param interaction the interaction with the players of the game
+     * @throws IllegalArgumentException if the interaction has no input, e.g. a {@link NoOpInteraction}
+     */
+    public GameManager(GameInteraction interaction) {
+        if (!interaction.isInputAvailable()) {
+            // the fixed answers never build anything, so the founder's phase would not end
+            throw new IllegalArgumentException("The interaction does not provide input for a game");
+        }
+        this.interaction = interaction;
         runPhaseOne();
         runPhaseTwo();
         runPhaseThree();
@@ -39,11 +55,17 @@ public class GameManager {
      * Methode that runs Phase 1 of Game (starting game and creating the initial Board)
      */
     private void runPhaseOne() {
-        TextIOWrapper.printWelcomeMessage();
+        interaction.printWelcomeMessage();
         int winningPoints = GameParameter.WINPOINTS;
-        int numbersOfPlayers = TextIOWrapper.getNumbersOfPlayers();
+        int numbersOfPlayers = interaction.getNumbersOfPlayers();
 
-        game = new SiedlerGame(winningPoints, numbersOfPlayers);
+        game = new SiedlerGame(winningPoints, numbersOfPlayers, interaction);
+        game.addGameStateListener(new GameStateListener() {
+            @Override
+            public void gameWon(Player winner) {
+                interaction.printWinner(winner);
+            }
+        });
         view = new SiedlerBoardTextView(game.getBoard());
 
         random = new Random();
@@ -58,12 +80,12 @@ public class GameManager {
             for (int j = 0; j < players.size(); j++) {
 
                 //Show board
-                TextIOWrapper.printLine(view.toString());
+                interaction.printLine(view.toString());
                 //Build Settlement
                 while (!buildSettlementForPlayer(Phase.TWO, i == 1)) ;
 
                 //Show board
-                TextIOWrapper.printLine(view.toString());
+                interaction.printLine(view.toString());
                 //Build Settlement
                 while (!buildRoadForPlayer(Phase.TWO)) ;
 
@@ -93,12 +115,12 @@ public class GameManager {
 
         do {
             //Ask Player for Option
-            MoveOption selectedMoveOption = TextIOWrapper.getOption(game.getCurrentPlayer());
+            MoveOption selectedMoveOption = interaction.getOption(game.getCurrentPlayer());
 
             // Catch exit command
             quit = chooseMoveOption(selectedMoveOption);
             if (quit) {
-                quit = TextIOWrapper.doYouWantToQuit();
+                quit = interaction.doYouWantToQuit();
             }
 
         } while (!quit && game.getWinner() == null);
@@ -112,7 +134,7 @@ public class GameManager {
     boolean chooseMoveOption(MoveOption moveOption) {
         switch (moveOption) {
             case SHOW:
-                TextIOWrapper.printLine(view.toString());
+                interaction.printLine(view.toString());
                 break;
             case BUILDROAD:
                 buildRoadForPlayer(Phase.THREE);
@@ -124,10 +146,10 @@ public class GameManager {
                 buildCityForPlayer();
                 break;
             case SHOWRESSOURCES:
-                TextIOWrapper.printResources(game.getCurrentPlayer().getResources());
+                interaction.printResources(game.getCurrentPlayer().getResources());
                 break;
             case TRADEWITHBANK:
-                game.tradeWithBankFourToOne(TextIOWrapper.getResource(false), TextIOWrapper.getResource(true));
+                game.tradeWithBank(interaction.getResource(false), interaction.getResource(true));
                 break;
             case ENDTURN:
                 game.switchToNextPlayer();
@@ -154,17 +176,17 @@ public class GameManager {
         Point cornerStreetTo;
 
         if (phase == Phase.TWO) {
-            cornerStreetFrom = TextIOWrapper.getConstructionPosition(ConsoleText.ROADTEXTFROM, currentPlayer);
-            cornerStreetTo = TextIOWrapper.getConstructionPosition(ConsoleText.ROADTEXTTO, currentPlayer);
+            cornerStreetFrom = interaction.getConstructionPosition(ConsoleText.ROADTEXTFROM, currentPlayer);
+            cornerStreetTo = interaction.getConstructionPosition(ConsoleText.ROADTEXTTO, currentPlayer);
             built = game.placeInitialRoad(cornerStreetFrom, cornerStreetTo);
         } else if (phase == Phase.THREE) {
             if (currentPlayer.isPaymentPossible(Config.Structure.ROAD)) {
-                cornerStreetFrom = TextIOWrapper.getConstructionPosition(ConsoleText.ROADTEXTFROM, currentPlayer);
-                cornerStreetTo = TextIOWrapper.getConstructionPosition(ConsoleText.ROADTEXTTO, currentPlayer);
+                cornerStreetFrom = interaction.getConstructionPosition(ConsoleText.ROADTEXTFROM, currentPlayer);
+                cornerStreetTo = interaction.getConstructionPosition(ConsoleText.ROADTEXTTO, currentPlayer);
                 built = game.buildRoad(cornerStreetFrom, cornerStreetTo);
             }
         } else {
-            TextIOWrapper.printError(ConsoleText.ERRORNOTALLOWEDTOBUILD.toString());
+            interaction.printError(ConsoleText.ERRORNOTALLOWEDTOBUILD.toString());
         }
         return built;
     }
@@ -182,15 +204,15 @@ public class GameManager {
         Point cornerForSettlement;
 
         if (phase == Phase.TWO) {
-            cornerForSettlement = TextIOWrapper.getConstructionPosition(ConsoleText.SETTLEMENTTEXT, currentPlayer);
+            cornerForSettlement = interaction.getConstructionPosition(ConsoleText.SETTLEMENTTEXT, currentPlayer);
             built = game.placeInitialSettlement(cornerForSettlement, payout);
         } else if (phase == Phase.THREE) {
             if (currentPlayer.isPaymentPossible(Config.Structure.SETTLEMENT)) {
-                cornerForSettlement = TextIOWrapper.getConstructionPosition(ConsoleText.SETTLEMENTTEXT, currentPlayer);
+                cornerForSettlement = interaction.getConstructionPosition(ConsoleText.SETTLEMENTTEXT, currentPlayer);
                 built = game.buildSettlement(cornerForSettlement);
             }
         } else {
-            TextIOWrapper.printError(ConsoleText.ERRORNOTALLOWEDTOBUILD.toString());
+            interaction.printError(ConsoleText.ERRORNOTALLOWEDTOBUILD.toString());
         }
 
         return built;
@@ -207,7 +229,7 @@ public class GameManager {
         Point cornerForCity;
 
         if (currentPlayer.isPaymentPossible(Config.Structure.CITY)) {
-            cornerForCity = TextIOWrapper.getConstructionPosition(ConsoleText.CITYTEXT, currentPlayer);
+            cornerForCity = interaction.getConstructionPosition(ConsoleText.CITYTEXT, currentPlayer);
             built = game.buildCity(cornerForCity);
         }
         return built;
@@ -220,7 +242,7 @@ public class GameManager {
      */
     int generateRandomDiceValue() {
         int diceValue = random.nextInt(6) + 1 + random.nextInt(6) + 1;
-        TextIOWrapper.printDiceRollText(diceValue);
+        interaction.printDiceRollText(diceValue);
         return diceValue;
     }
 
@@ -229,9 +251,9 @@ public class GameManager {
      */
     private void startNewTurn() {
         //Show board
-        TextIOWrapper.printLine(view.toString());
+        interaction.printLine(view.toString());
         //Print Whose turn it is
-        TextIOWrapper.printWhoseTurnItIs(game.getCurrentPlayer());
+        interaction.printWhoseTurnItIs(game.getCurrentPlayer());
         //Auto roll the dice for next player
         int diceValue = generateRandomDiceValue();
         if (diceValue == 7) {
@@ -250,7 +272,7 @@ public class GameManager {
     boolean placeThiefForPlayer() {
         boolean placed;
         Player currentPlayer = game.getCurrentPlayer();
-        Point fieldForThief = TextIOWrapper.getThiefPosition(currentPlayer);
+        Point fieldForThief = interaction.getThiefPosition(currentPlayer);
 
         placed = game.placeThiefAndStealCard(fieldForThief);
         return placed;
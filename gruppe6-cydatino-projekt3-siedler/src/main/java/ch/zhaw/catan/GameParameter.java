@@ -19,7 +19,18 @@ public class GameParameter {
         REDCOLOR("rgba(255,0,0,1)"),
         GREENCOLOR("rgba(0,255,0,1)"),
         BLUECOLOR("rgba(0,0,255,1)"),
-        YELLOWCOLOR("rgba(255,255,0,1)");
+        YELLOWCOLOR("rgba(255,255,0,1)"),
+        ORANGECOLOR("rgba(245,140,20,1)"),
+        PURPLECOLOR("rgba(130,40,170,1)"),
+        BROWNCOLOR("rgba(120,70,30,1)"),
+        CYANCOLOR("rgba(40,210,220,1)"),
+        MAGENTACOLOR("rgba(220,40,200,1)"),
+        LIMECOLOR("rgba(150,230,40,1)"),
+        TEALCOLOR("rgba(20,128,128,1)"),
+        PINKCOLOR("rgba(250,160,200,1)"),
+        GREYCOLOR("rgba(150,150,150,1)"),
+        NAVYCOLOR("rgba(20,30,110,1)"),
+        GOLDCOLOR("rgba(210,170,40,1)");
 
         private String name;
 
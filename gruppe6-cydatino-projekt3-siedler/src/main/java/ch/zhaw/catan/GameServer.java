@@ -0,0 +1,413 @@
+package ch.zhaw.catan;
+
+import java.awt.*;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class implements a non-blocking game server, which lets remote clients play a single {@link SiedlerGame}.
+ * <p>
+ * All connections are handled by one selector thread, which is also the only thread accessing the game.
+ * The first clients get the factions of the players in the order of play, all further clients are spectators.
+ * Clients send move requests and receive a validation result for each request. Every change of the game
+ * is collected by a {@link BoardDeltaEncoder} and broadcast to all clients as a board diff after the move,
+ * see {@link Protocol}. Clients joining a running game first receive a keyframe to catch up.
+ * </p>
+ * <p>
+ * The server tracks the phase of the game. In the setup phase, every player places a settlement and a road
+ * in the order of play and then a second settlement (with payout) and road in reverse order. The server
+ * passes the turn forward itself, on the way back the player who placed the road hands the turn back with
+ * PREVIOUS_PLAYER. Only these moves are accepted during the setup, END_TURN and the moves of the main
+ * phase are rejected. After the last road the main phase starts with a dice roll for the first player, and
+ * the moves of the setup are rejected from then on.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 18.12.2021
+ */
+public class GameServer implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GameServer.class);
+    private static final int DICE_VALUE_THIEF = 7;
+    private static final int KEYFRAME_INTERVAL = 32;
+    private final SiedlerGame game;
+    private final InMemoryInteraction interaction;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final List<Client> clients = new ArrayList<>();
+    private final Client[] seats;
+    private final BoardDeltaEncoder deltaEncoder;
+    private final Random random = new Random();
+    private boolean thiefPending;
+    private int initialRoadCount;
+    private boolean initialSettlementPlaced;
+    private boolean handingBackTurn;
+    private Thread selectorThread;
+    private volatile boolean running;
+
+    /**
+     * Constructs a server with a new game. The server does not accept connections before it is started.
+     *
+     * @param winPoints       the number of points required to win the game
+     * @param numberOfPlayers the number of players
+     * @param address         the address to listen on, port 0 chooses a free port
+     * @throws IOException if the address can not be bound
+     */
+    public GameServer(int winPoints, int numberOfPlayers, InetSocketAddress address) throws IOException {
+        // remote players can not be asked in the middle of a move, so the thief steals from the first possible faction
+        this.interaction = new InMemoryInteraction() {
+            @Override
+            public Config.Faction selectFactionToStealFrom(Player player, ArrayList<String> factionsToStealFrom) {
+                return Config.Faction.valueOf(factionsToStealFrom.get(0));
+            }
+        };
+        this.game = new SiedlerGame(winPoints, numberOfPlayers, interaction);
+        this.deltaEncoder = new BoardDeltaEncoder(game, KEYFRAME_INTERVAL);
+        this.seats = new Client[numberOfPlayers];
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Starts the selector thread
+     */
+    public synchronized void start() {
+        if (selectorThread != null) {
+            throw new IllegalStateException("Server is already started");
+        }
+        running = true;
+        selectorThread = new Thread(this::runSelectorLoop, "game-server-" + getPort());
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    /**
+     * Returns the port the server listens on
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Stops the selector thread and closes all connections
+     *
+     * @throws IOException if the server channel can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        if (selectorThread != null && selectorThread != Thread.currentThread()) {
+            try {
+                selectorThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Client client : new ArrayList<>(clients)) {
+            disconnect(client);
+        }
+        serverChannel.close();
+        selector.close();
+    }
+
+    private void runSelectorLoop() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Selector loop of the game server stopped", e);
+            running = false;
+        }
+    }
+
+    private void handle(SelectionKey key) throws IOException {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            try {
+                accept();
+            } catch (RuntimeException e) {
+                LOGGER.error("Unexpected error while accepting a client", e);
+            }
+            return;
+        }
+        Client client = (Client) key.attachment();
+        try {
+            if (key.isReadable()) {
+                read(client);
+            }
+            if (key.isValid() && key.isWritable()) {
+                write(client);
+            }
+        } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            // malformed messages drop the connection
+            LOGGER.debug("Dropping client of faction {}", client.faction, e);
+            disconnect(client);
+        } catch (RuntimeException e) {
+            // a failing move must not stop the server for the other clients
+            LOGGER.error("Unexpected error while handling client of faction {}", client.faction, e);
+            disconnect(client);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        Client client = new Client(channel);
+        client.key = channel.register(selector, SelectionKey.OP_READ, client);
+        for (int seat = 0; seat < seats.length && client.faction == null; seat++) {
+            if (seats[seat] == null) {
+                seats[seat] = client;
+                client.faction = game.getPlayerFactions().get(seat);
+            }
+        }
+        clients.add(client);
+        try {
+            send(client, Protocol.encodeWelcome(client.faction));
+            client.subscriber = frame -> send(client, frame);
+            deltaEncoder.subscribe(client.subscriber);
+        } catch (RuntimeException e) {
+            disconnect(client);
+            throw e;
+        }
+    }
+
+    private void read(Client client) throws IOException {
+        if (client.channel.read(client.readBuffer) < 0) {
+            disconnect(client);
+            return;
+        }
+        client.readBuffer.flip();
+        int frameLength = Protocol.getFrameLength(client.readBuffer);
+        while (frameLength > 0 && client.readBuffer.remaining() >= frameLength) {
+            if (frameLength < Protocol.HEADER_SIZE) {
+                throw new IllegalArgumentException("Frame is too short");
+            }
+            ByteBuffer frame = client.readBuffer.slice();
+            frame.limit(frameLength);
+            if (Protocol.getType(frame) != Protocol.MOVE_REQUEST) {
+                throw new IllegalArgumentException("Unexpected message type");
+            }
+            handleMoveRequest(client, frame);
+            client.readBuffer.position(client.readBuffer.position() + frameLength);
+            frameLength = Protocol.getFrameLength(client.readBuffer);
+        }
+        if (frameLength > client.readBuffer.capacity()) {
+            throw new IllegalArgumentException("Frame is too long");
+        }
+        client.readBuffer.compact();
+    }
+
+    private void handleMoveRequest(Client client, ByteBuffer request) {
+        int requestId = Protocol.getRequestId(request);
+        String rejection = null;
+        if (client.faction != game.getCurrentPlayerFaction()) {
+            rejection = ConsoleText.ERRORNOTYOURTURN.toString();
+        } else if (!executeMove(request)) {
+            List<String> errors = interaction.getErrors();
+            rejection = errors.isEmpty() ? ConsoleText.ERRORMOVENOTALLOWED.toString() : errors.get(errors.size() - 1);
+        }
+        interaction.clearOutput();
+        send(client, Protocol.encodeValidationResult(requestId, rejection == null, rejection == null ? "" : rejection));
+        deltaEncoder.flush();
+    }
+
+    private boolean executeMove(ByteBuffer request) {
+        Protocol.MoveType moveType = Protocol.getMoveType(request);
+        Point from = Protocol.getMoveFrom(request);
+        Point to = Protocol.getMoveTo(request);
+        boolean allowedInPhase = isSetupPhase() ? isExpectedSetupMove(moveType) : !isSetupMove(moveType);
+        if (!allowedInPhase) {
+            interaction.printError(ConsoleText.ERRORMOVENOTALLOWED.toString());
+            return false;
+        }
+        if (thiefPending != (moveType == Protocol.MoveType.THIEF)) {
+            interaction.printError(thiefPending ? ConsoleText.ERRORTHIEFMUSTBEPLACED.toString()
+                    : ConsoleText.ERRORMOVENOTALLOWED.toString());
+            return false;
+        }
+        if (from == null && moveType != Protocol.MoveType.END_TURN && moveType != Protocol.MoveType.PREVIOUS_PLAYER
+                && moveType != Protocol.MoveType.TRADE_WITH_BANK) {
+            return false;
+        }
+        switch (moveType) {
+            case INITIAL_SETTLEMENT:
+            case INITIAL_SETTLEMENT_WITH_PAYOUT:
+                initialSettlementPlaced = game.placeInitialSettlement(from,
+                        moveType == Protocol.MoveType.INITIAL_SETTLEMENT_WITH_PAYOUT);
+                return initialSettlementPlaced;
+            case INITIAL_ROAD:
+                if (to == null || !game.placeInitialRoad(from, to)) {
+                    return false;
+                }
+                finishInitialPlacement();
+                return true;
+            case SETTLEMENT:
+                return game.buildSettlement(from);
+            case CITY:
+                return game.buildCity(from);
+            case ROAD:
+                return to != null && game.buildRoad(from, to);
+            case THIEF:
+                // the cards were already discarded when the seven was rolled
+                thiefPending = !game.moveThiefAndStealCard(from);
+                return !thiefPending;
+            case TRADE_WITH_BANK:
+                return tradeWithBank(Protocol.getMoveArgument(request, 0), Protocol.getMoveArgument(request, 1));
+            case END_TURN:
+                game.switchToNextPlayer();
+                rollDice();
+                return true;
+            case PREVIOUS_PLAYER:
+                game.switchToPreviousPlayer();
+                handingBackTurn = false;
+                return true;
+            default:
+                throw new IllegalStateException("Unexpected value: " + moveType);
+        }
+    }
+
+    private boolean isSetupPhase() {
+        return initialRoadCount < 2 * seats.length;
+    }
+
+    private static boolean isSetupMove(Protocol.MoveType moveType) {
+        return moveType == Protocol.MoveType.INITIAL_SETTLEMENT || moveType == Protocol.MoveType.INITIAL_SETTLEMENT_WITH_PAYOUT
+                || moveType == Protocol.MoveType.INITIAL_ROAD || moveType == Protocol.MoveType.PREVIOUS_PLAYER;
+    }
+
+    /**
+     * Checks whether the move is the next step of the setup: a settlement (with payout in the second round),
+     * its road and, in the second round, handing the turn back to the previous player
+     */
+    private boolean isExpectedSetupMove(Protocol.MoveType moveType) {
+        if (handingBackTurn) {
+            return moveType == Protocol.MoveType.PREVIOUS_PLAYER;
+        }
+        if (initialSettlementPlaced) {
+            return moveType == Protocol.MoveType.INITIAL_ROAD;
+        }
+        return moveType == (initialRoadCount < seats.length
+                ? Protocol.MoveType.INITIAL_SETTLEMENT : Protocol.MoveType.INITIAL_SETTLEMENT_WITH_PAYOUT);
+    }
+
+    /**
+     * Moves on in the setup after a road was placed. The last player of the first round places again,
+     * after the last road the main phase starts.
+     */
+    private void finishInitialPlacement() {
+        initialSettlementPlaced = false;
+        initialRoadCount++;
+        if (initialRoadCount < seats.length) {
+            game.switchToNextPlayer();
+        } else if (initialRoadCount > seats.length && isSetupPhase()) {
+            handingBackTurn = true;
+        } else if (!isSetupPhase()) {
+            rollDice();
+        }
+    }
+
+    private boolean tradeWithBank(int offer, int want) {
+        Config.Resource[] resources = Config.Resource.values();
+        if (offer < 0 || offer >= resources.length || want < 0 || want >= resources.length) {
+            return false;
+        }
+        return game.tradeWithBank(resources[offer], resources[want]);
+    }
+
+    private void rollDice() {
+        int diceValue = random.nextInt(6) + 1 + random.nextInt(6) + 1;
+        deltaEncoder.addDiceRoll(diceValue);
+        if (diceValue == DICE_VALUE_THIEF) {
+            game.thiefChecksAndStealsCardsOfPlayers();
+            thiefPending = true;
+        } else {
+            game.throwDice(diceValue);
+        }
+    }
+
+    private void send(Client client, ByteBuffer frame) {
+        client.writeQueue.add(frame);
+        if (client.key.isValid()) {
+            client.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    private void write(Client client) throws IOException {
+        while (!client.writeQueue.isEmpty()) {
+            ByteBuffer frame = client.writeQueue.peek();
+            client.channel.write(frame);
+            if (frame.hasRemaining()) {
+                return;
+            }
+            client.writeQueue.poll();
+        }
+        client.key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void disconnect(Client client) {
+        clients.remove(client);
+        deltaEncoder.unsubscribe(client.subscriber);
+        for (int seat = 0; seat < seats.length; seat++) {
+            if (seats[seat] == client) {
+                seats[seat] = null;
+            }
+        }
+        if (client.key != null) {
+            client.key.cancel();
+        }
+        try {
+            client.channel.close();
+        } catch (IOException e) {
+            // the connection is dropped anyway
+        }
+    }
+
+    /**
+     * This class holds the state of a single connection
+     */
+    private static class Client {
+        private final SocketChannel channel;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(Protocol.MAX_FRAME_SIZE);
+        private final Deque<ByteBuffer> writeQueue = new ArrayDeque<>();
+        private SelectionKey key;
+        private Config.Faction faction;
+        private Consumer<ByteBuffer> subscriber;
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ch.zhaw.catan;
+
+import org.beryx.textio.ReadAbortedException;
+import org.beryx.textio.TextIO;
+
+import java.util.function.Consumer;
+
+/**
+ * This class represents a single game (table) hosted by the {@link GameSessionManager}.
+ * <p>
+ * Each session has its own {@link SessionTerminal}, so the input and output of the game are
+ * independent of the local console and of all other sessions.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 16.12.2021
+ */
+public class GameSession implements Runnable {
+    private final int id;
+    private final SessionTerminal terminal;
+    private final TextIO textIO;
+    private volatile boolean running;
+    private volatile boolean finished;
+
+    /**
+     * Constructs a session
+     *
+     * @param id     the id of the session
+     * @param output the consumer of the output of the session
+     */
+    GameSession(int id, Consumer<String> output) {
+        this.id = id;
+        this.terminal = new SessionTerminal(output);
+        this.textIO = new TextIO(terminal);
+    }
+
+    /**
+     * Runs the game of this session on the current thread until it is finished or the session is closed
+     */
+    @Override
+    public void run() {
+        running = true;
+        try {
+            new GameManager(new TextIOWrapper(textIO));
+        } catch (ReadAbortedException e) {
+            // the session was closed while waiting for input
+        } finally {
+            running = false;
+            finished = true;
+        }
+    }
+
+    /**
+     * Passes a line of input (e.g. from a remote client) to the game
+     *
+     * @param line the input line
+     */
+    public void submitInput(String line) {
+        terminal.submitInput(line);
+    }
+
+    /**
+     * Closes the session. A game waiting for input is aborted.
+     */
+    public void close() {
+        terminal.close();
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+}
@@ -0,0 +1,127 @@
+package ch.zhaw.catan;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * This class hosts many games (sessions) at the same time, for example on a server.
+ * <p>
+ * Every session runs the usual {@link GameManager} on its own thread with its own input and output
+ * channel. A session waiting for input of a player only blocks its own thread. On Java 21 or later,
+ * the sessions are run on virtual threads, so idle tables only use a few kilobytes. On older Java
+ * versions, platform threads with a small stack are used instead.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 16.12.2021
+ */
+public class GameSessionManager {
+    private static final long PLATFORM_THREAD_STACK_SIZE = 256 * 1024;
+    private final ExecutorService executor;
+    private final Map<Integer, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSessionId = new AtomicInteger(1);
+
+    /**
+     * Constructs a session manager without any sessions
+     */
+    public GameSessionManager() {
+        executor = createExecutor();
+    }
+
+    /**
+     * Opens a new session and starts its game
+     *
+     * @param output the consumer of the output of the session
+     * @return the new session
+     */
+    public GameSession openSession(Consumer<String> output) {
+        GameSession session = new GameSession(nextSessionId.getAndIncrement(), output);
+        sessions.put(session.getId(), session);
+        executor.execute(() -> {
+            try {
+                session.run();
+            } finally {
+                sessions.remove(session.getId());
+            }
+        });
+        return session;
+    }
+
+    /**
+     * Returns the session with the given id
+     *
+     * @param id the id of the session
+     * @return the session or null, if there is no active session with this id
+     */
+    public GameSession getSession(int id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Returns the number of sessions which are not finished yet
+     *
+     * @return the number of active sessions
+     */
+    public int getActiveSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Closes the session with the given id
+     *
+     * @param id the id of the session
+     */
+    public void closeSession(int id) {
+        GameSession session = sessions.get(id);
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    /**
+     * Closes all sessions and waits until their threads have ended
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @return true, if all sessions ended within the timeout
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        for (GameSession session : new ArrayList<>(sessions.values())) {
+            session.close();
+        }
+        executor.shutdown();
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Creates an executor which uses virtual threads, if they are available, and otherwise
+     * platform threads with a small stack
+     *
+     * @return the executor
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(createPlatformThreadFactory());
+        }
+    }
+
+    private static ThreadFactory createPlatformThreadFactory() {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(null, runnable, "game-session-" + threadNumber.getAndIncrement(),
+                    PLATFORM_THREAD_STACK_SIZE);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package ch.zhaw.catan;
+
+import java.awt.*;
+
+/**
+ * This interface is implemented by classes which want to be informed about every change of the game state,
+ * for example to keep derived data such as position hashes up to date without scanning the whole game.
+ * <p>
+ * All methods have an empty default implementation, so a listener only implements the changes it is
+ * interested in. The methods are called after the change was applied.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 14.12.2021
+ */
+public interface GameStateListener {
+
+    /**
+     * Called when the occupant of a corner changed
+     *
+     * @param corner   the corner
+     * @param oldValue the previous occupant (or null)
+     * @param newValue the new occupant (or null)
+     */
+    default void cornerChanged(Point corner, String oldValue, String newValue) {
+    }
+
+    /**
+     * Called when the occupant of an edge changed
+     *
+     * @param start    first corner of the edge
+     * @param end      second corner of the edge
+     * @param oldValue the previous occupant (or null)
+     * @param newValue the new occupant (or null)
+     */
+    default void edgeChanged(Point start, Point end, String oldValue, String newValue) {
+    }
+
+    /**
+     * Called when the thief was moved to another field
+     *
+     * @param oldField the previous field of the thief
+     * @param newField the new field of the thief
+     */
+    default void thiefMoved(Point oldField, Point newField) {
+    }
+
+    /**
+     * Called when the amount of a resource of a player changed
+     *
+     * @param player    the player
+     * @param resource  the resource
+     * @param oldAmount the previous amount
+     * @param newAmount the new amount
+     */
+    default void resourceChanged(Player player, Config.Resource resource, int oldAmount, int newAmount) {
+    }
+
+    /**
+     * Called when the turn switched to another player
+     *
+     * @param oldPlayer the previous player
+     * @param newPlayer the new current player
+     */
+    default void currentPlayerChanged(Player oldPlayer, Player newPlayer) {
+    }
+
+    /**
+     * Called when the victory points of a player changed
+     *
+     * @param player    the player
+     * @param oldPoints the previous points
+     * @param newPoints the new points
+     */
+    default void pointsChanged(Player player, int oldPoints, int newPoints) {
+    }
+
+    /**
+     * Called once, when the first player reached the points required to win the game
+     *
+     * @param winner the winner
+     */
+    default void gameWon(Player winner) {
+    }
+}
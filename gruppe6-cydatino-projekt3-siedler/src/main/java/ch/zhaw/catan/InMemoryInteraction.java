@@ -0,0 +1,269 @@
+package ch.zhaw.catan;
+
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class implements a {@link GameInteraction} which keeps everything in memory.
+ * <p>
+ * The input is scripted in advance as lines, in the same format as typed on the terminal
+ * (e.g. "2" for the number of players, "7" and "6" for a position, "BUILDROAD" for a move option
+ * and "true" for the quit question). The output is recorded line by line.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 17.12.2021
+ */
+public class InMemoryInteraction implements GameInteraction {
+    private final Deque<String> input = new ArrayDeque<>();
+    private final List<String> output = new ArrayList<>();
+    private final List<String> errors = new ArrayList<>();
+
+    /**
+     * Constructs an interaction with the given input lines
+     *
+     * @param inputLines the scripted input
+     */
+    public InMemoryInteraction(String... inputLines) {
+        addInput(inputLines);
+    }
+
+    /**
+     * Adds lines to the end of the scripted input
+     *
+     * @param inputLines the input lines
+     */
+    public void addInput(String... inputLines) {
+        input.addAll(Arrays.asList(inputLines));
+    }
+
+    /**
+     * Returns all lines printed so far, including the errors
+     *
+     * @return the printed lines
+     */
+    public List<String> getOutput() {
+        return Collections.unmodifiableList(output);
+    }
+
+    /**
+     * Returns all errors printed so far
+     *
+     * @return the printed errors
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Removes all recorded output and errors
+     */
+    public void clearOutput() {
+        output.clear();
+        errors.clear();
+    }
+
+    /**
+     * Returns the number of scripted input lines which were not read yet
+     *
+     * @return the number of remaining input lines
+     */
+    public int getRemainingInputCount() {
+        return input.size();
+    }
+
+    /**
+     * Reads the number of players from the scripted input
+     *
+     * @return the number of players
+     * @throws IllegalArgumentException if the number is not allowed on the standard board
+     */
+    @Override
+    public int getNumbersOfPlayers() {
+        int numberOfPlayers = readInt();
+        if (numberOfPlayers < Config.MIN_NUMBER_OF_PLAYERS || numberOfPlayers > Config.MAX_NUMBER_OF_PLAYERS_STANDARD_BOARD) {
+            throw new IllegalArgumentException("Invalid number of players: " + numberOfPlayers);
+        }
+        return numberOfPlayers;
+    }
+
+    /**
+     * Reads the position of a construction from the scripted input, the x and the y coordinate on separate lines
+     *
+     * @param construction  the construction to place
+     * @param currentPlayer the player who places the construction
+     * @return the position of the construction
+     */
+    @Override
+    public Point getConstructionPosition(ConsoleText construction, Player currentPlayer) {
+        return new Point(readInt(), readInt());
+    }
+
+    /**
+     * Reads the new position of the thief from the scripted input, the x and the y coordinate on separate lines
+     *
+     * @param currentPlayer the player who moves the thief
+     * @return the position of the thief
+     */
+    @Override
+    public Point getThiefPosition(Player currentPlayer) {
+        return new Point(readInt(), readInt());
+    }
+
+    /**
+     * Reads a resource from the scripted input, by the name of the constant
+     *
+     * @param want true if the resource is wanted, false if it is offered
+     * @return the resource
+     */
+    @Override
+    public Config.Resource getResource(boolean want) {
+        return Config.Resource.valueOf(readLine());
+    }
+
+    /**
+     * Reads the next move option from the scripted input, by the name of the constant
+     *
+     * @param currentPlayer the player whose turn it is
+     * @return the move option
+     */
+    @Override
+    public MoveOption getOption(Player currentPlayer) {
+        return MoveOption.valueOf(readLine());
+    }
+
+    /**
+     * Reads the faction to steal from from the scripted input, by the name of the constant
+     *
+     * @param player              the player who steals
+     * @param factionsToStealFrom the factions which can be selected
+     * @return the selected faction
+     * @throws IllegalArgumentException if the faction can not be selected
+     */
+    @Override
+    public Config.Faction selectFactionToStealFrom(Player player, ArrayList<String> factionsToStealFrom) {
+        String faction = readLine();
+        if (!factionsToStealFrom.contains(faction)) {
+            throw new IllegalArgumentException("Faction can not be selected: " + faction);
+        }
+        return Config.Faction.valueOf(faction);
+    }
+
+    /**
+     * Reads the answer to the quit question from the scripted input
+     *
+     * @return true if the game is quit
+     */
+    @Override
+    public boolean doYouWantToQuit() {
+        return Boolean.parseBoolean(readLine());
+    }
+
+    /**
+     * Records the welcome message
+     */
+    @Override
+    public void printWelcomeMessage() {
+        output.add(ConsoleText.WELCOMEMESSAGE.toString());
+    }
+
+    /**
+     * Records a line of text
+     *
+     * @param text the text
+     */
+    @Override
+    public void printLine(String text) {
+        output.add(text);
+    }
+
+    /**
+     * Records an error, in the output and in the errors
+     *
+     * @param error the error
+     */
+    @Override
+    public void printError(String error) {
+        output.add(error);
+        errors.add(error);
+    }
+
+    /**
+     * Records the value of a dice roll
+     *
+     * @param diceValue the rolled value
+     */
+    @Override
+    public void printDiceRollText(int diceValue) {
+        output.add(ConsoleText.TEXTFORDICEROLL + " " + diceValue);
+    }
+
+    /**
+     * Records the resources of a player, one resource per line
+     *
+     * @param resources the resources and their amount
+     */
+    @Override
+    public void printResources(Map<Config.Resource, Integer> resources) {
+        output.add(ConsoleText.TEXTRESOURCESOFPLAYER.toString());
+        for (Map.Entry<Config.Resource, Integer> resource : resources.entrySet()) {
+            output.add(resource.getKey() + ": " + resource.getValue());
+        }
+    }
+
+    /**
+     * Records whose turn it is
+     *
+     * @param currentPlayer the player whose turn it is
+     */
+    @Override
+    public void printWhoseTurnItIs(Player currentPlayer) {
+        output.add(ConsoleText.PLAYERTEXT + " " + currentPlayer.getFaction().name() + ": " + ConsoleText.TEXTFORCURRENTTURN);
+    }
+
+    /**
+     * Records the winner of the game
+     *
+     * @param currentPlayer the winner
+     */
+    @Override
+    public void printWinner(Player currentPlayer) {
+        output.add(ConsoleText.PLAYERTEXT + " " + currentPlayer.getFaction().name() + ": " + ConsoleText.WINNERTEXT);
+    }
+
+    /**
+     * Records the resources distributed after a dice throw, one faction per line
+     *
+     * @param resourcesToDistribute the resources each faction receives
+     */
+    @Override
+    public void printDistributedResourcesForDiceThrow(Map<Config.Faction, List<Config.Resource>> resourcesToDistribute) {
+        if (resourcesToDistribute.size() > 0) {
+            output.add(ConsoleText.TEXTRESOURCESDISTRIBUTED.toString());
+            for (Map.Entry<Config.Faction, List<Config.Resource>> entry : resourcesToDistribute.entrySet()) {
+                StringBuilder line = new StringBuilder(entry.getKey().name() + ": ");
+                for (Config.Resource resource : entry.getValue()) {
+                    line.append(resource).append(' ');
+                }
+                output.add(line.toString());
+            }
+        }
+    }
+
+    private String readLine() {
+        if (input.isEmpty()) {
+            throw new IllegalStateException("No more scripted input available");
+        }
+        return input.poll().trim();
+    }
+
+    private int readInt() {
+        return Integer.parseInt(readLine());
+    }
+}
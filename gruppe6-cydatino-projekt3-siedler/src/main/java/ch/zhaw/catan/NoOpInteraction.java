@@ -0,0 +1,136 @@
+package ch.zhaw.catan;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class implements a {@link GameInteraction} which does not print anything.
+ * <p>
+ * It is meant for simulations and throughput runs, which drive the {@link SiedlerGame} directly and
+ * therefore do not need any rendering. The only decision the game itself requests, the faction to
+ * steal from, is answered with the first possible faction. All other input requests get a fixed answer,
+ * which never builds anything: no position, no resource and the option to end the turn.
+ * </p>
+ * <p>
+ * As there is no real input, the interaction can not be used to play a game with a {@link GameManager},
+ * see {@link #isInputAvailable()}.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 17.12.2021
+ */
+public final class NoOpInteraction implements GameInteraction {
+    public static final NoOpInteraction INSTANCE = new NoOpInteraction();
+
+    private NoOpInteraction() {
+    }
+
+    /**
+     * Returns false, as all input requests get a fixed answer
+     *
+     * @return false
+     */
+    @Override
+    public boolean isInputAvailable() {
+        return false;
+    }
+
+    /**
+     * Returns the minimum number of players
+     *
+     * @return {@link Config#MIN_NUMBER_OF_PLAYERS}
+     */
+    @Override
+    public int getNumbersOfPlayers() {
+        return Config.MIN_NUMBER_OF_PLAYERS;
+    }
+
+    /**
+     * Returns no position, so the construction is rejected by the game
+     *
+     * @param construction  the type of construction
+     * @param currentPlayer the current player
+     * @return null
+     */
+    @Override
+    public Point getConstructionPosition(ConsoleText construction, Player currentPlayer) {
+        return null;
+    }
+
+    /**
+     * Returns no position, so the placement is rejected by the game
+     *
+     * @param currentPlayer the current player
+     * @return null
+     */
+    @Override
+    public Point getThiefPosition(Player currentPlayer) {
+        return null;
+    }
+
+    /**
+     * Returns no resource, so the trade is rejected by the game
+     *
+     * @param want true for the resource the player wants, false for the offered resource
+     * @return null
+     */
+    @Override
+    public Config.Resource getResource(boolean want) {
+        return null;
+    }
+
+    /**
+     * Ends the turn
+     *
+     * @param currentPlayer the current player
+     * @return {@link MoveOption#ENDTURN}
+     */
+    @Override
+    public MoveOption getOption(Player currentPlayer) {
+        return MoveOption.ENDTURN;
+    }
+
+    @Override
+    public Config.Faction selectFactionToStealFrom(Player player, ArrayList<String> factionsToStealFrom) {
+        return Config.Faction.valueOf(factionsToStealFrom.get(0));
+    }
+
+    @Override
+    public boolean doYouWantToQuit() {
+        return true;
+    }
+
+    @Override
+    public void printWelcomeMessage() {
+    }
+
+    @Override
+    public void printLine(String text) {
+    }
+
+    @Override
+    public void printError(String error) {
+    }
+
+    @Override
+    public void printDiceRollText(int diceValue) {
+    }
+
+    @Override
+    public void printResources(Map<Config.Resource, Integer> resources) {
+    }
+
+    @Override
+    public void printWhoseTurnItIs(Player currentPlayer) {
+    }
+
+    @Override
+    public void printWinner(Player currentPlayer) {
+    }
+
+    @Override
+    public void printDistributedResourcesForDiceThrow(Map<Config.Faction, List<Config.Resource>> resourcesToDistribute) {
+    }
+}
@@ -0,0 +1,429 @@
+package ch.zhaw.catan;
+
+import java.awt.*;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class implements an opening book for the founder's phase (phase II) of the game.
+ * <p>
+ * For a given seat and a given occupancy of the board (which corners are already taken by which faction),
+ * the book returns a ranked list of initial settlement and road pairs. Rankings are computed once and
+ * cached in memory. The book is keyed by a hash of the board layout and can be saved to and lazily
+ * loaded from a file, so the ranking for the standard board only has to be computed once.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 13.12.2021
+ */
+public class OpeningBook {
+    static final int MAX_OPENINGS_PER_ENTRY = 10;
+    private static final String FILE_PREFIX = "openingbook-";
+    private static final String FILE_SUFFIX = ".txt";
+    private static final String KEY_SEPARATOR = "\t";
+    private static final String OPENING_SEPARATOR = ";";
+    private static final double DIVERSITY_WEIGHT = 1.0;
+    private static final double MISSING_RESOURCE_WEIGHT = 1.5;
+    private static final double EXPANSION_WEIGHT = 0.25;
+
+    private final long boardHash;
+    private final Path bookFile;
+    private Map<String, List<Opening>> entries;
+    private boolean modified;
+
+    /**
+     * Constructs an opening book for the given board, which is stored in the default directory
+     * ({@code .siedler} in the home directory of the user).
+     *
+     * @param board the board for which the book is used
+     */
+    public OpeningBook(SiedlerBoard board) {
+        this(board, Paths.get(System.getProperty("user.home"), ".siedler"));
+    }
+
+    /**
+     * Constructs an opening book for the given board, which is stored in the given directory.
+     * The file is not read before the first opening is requested.
+     *
+     * @param board     the board for which the book is used
+     * @param directory the directory of the book file
+     */
+    public OpeningBook(SiedlerBoard board, Path directory) {
+        this.boardHash = computeBoardHash(board);
+        this.bookFile = directory.resolve(FILE_PREFIX + Long.toHexString(boardHash) + FILE_SUFFIX);
+    }
+
+    /**
+     * Computes a hash of the board layout (lands and dice values of all fields).
+     * Boards with the same layout have the same hash, independent of the buildings placed on them.
+     *
+     * @param board the board
+     * @return the hash of the layout
+     */
+    public static long computeBoardHash(SiedlerBoard board) {
+        List<Point> fields = new ArrayList<>(board.getFields());
+        fields.sort(Comparator.comparingInt((Point p) -> p.y).thenComparingInt(p -> p.x));
+        long hash = 0xcbf29ce484222325L;
+        for (Point field : fields) {
+            int[] values = {field.x, field.y, board.getField(field).ordinal(), board.getDiceValue(field)};
+            for (int value : values) {
+                hash ^= value;
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the ranked openings (best first) for the player at the given seat.
+     * <p>
+     * The seat is the index of the player in the order of play, which corresponds to the
+     * order of {@link Config.Faction#values()}. The result depends on the current occupancy
+     * of the board, so the method can be used in both rounds of the founder's phase.
+     * </p>
+     *
+     * @param board the board (must have the layout the book was created for)
+     * @param seat  the seat of the player
+     * @return the ranked openings, an empty list if there is no free spot left
+     * @throws IllegalArgumentException if the board layout does not match the book
+     */
+    public List<Opening> getRankedOpenings(SiedlerBoard board, int seat) {
+        if (computeBoardHash(board) != boardHash) {
+            throw new IllegalArgumentException("The board layout does not match the opening book");
+        }
+        Map<String, List<Opening>> book = getEntries();
+        // the scoring only depends on the faction and the occupancy, not on the number of players
+        String key = seat + ":" + getOccupancyKey(board);
+        List<Opening> openings = book.get(key);
+        if (openings == null) {
+            openings = computeOpenings(board, Config.Faction.values()[seat]);
+            book.put(key, openings);
+            modified = true;
+        }
+        return openings;
+    }
+
+    /**
+     * Returns the best opening for the player at the given seat.
+     *
+     * @param board the board
+     * @param seat  the seat of the player
+     * @return the best opening or null, if there is no free spot left
+     */
+    public Opening getBestOpening(SiedlerBoard board, int seat) {
+        List<Opening> openings = getRankedOpenings(board, seat);
+        return openings.isEmpty() ? null : openings.get(0);
+    }
+
+    /**
+     * Writes all cached entries to the book file, if there are new entries.
+     *
+     * @throws IOException if the file can not be written
+     */
+    public void save() throws IOException {
+        if (entries == null || !modified) {
+            return;
+        }
+        Files.createDirectories(bookFile.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(bookFile, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, List<Opening>> entry : entries.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write(KEY_SEPARATOR);
+                // the number of openings reveals a line truncated between two openings
+                writer.write(Integer.toString(entry.getValue().size()));
+                writer.write(KEY_SEPARATOR);
+                List<String> openings = new ArrayList<>();
+                for (Opening opening : entry.getValue()) {
+                    openings.add(opening.serialize());
+                }
+                writer.write(String.join(OPENING_SEPARATOR, openings));
+                writer.newLine();
+            }
+        }
+        modified = false;
+    }
+
+    /**
+     * Returns the file the book is stored in
+     *
+     * @return the path of the book file
+     */
+    public Path getBookFile() {
+        return bookFile;
+    }
+
+    /**
+     * Returns the hash of the board layout this book was created for
+     *
+     * @return the board hash
+     */
+    public long getBoardHash() {
+        return boardHash;
+    }
+
+    /**
+     * Returns the cached entries and loads them from the book file on first access
+     *
+     * @return the cached entries
+     */
+    private Map<String, List<Opening>> getEntries() {
+        if (entries == null) {
+            entries = new HashMap<>();
+            if (Files.isReadable(bookFile)) {
+                load();
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Loads the entries of the book file. Corrupt lines are skipped and an unreadable file is
+     * discarded, so the missing entries are computed again and the file is rewritten on the next save.
+     */
+    private void load() {
+        try (BufferedReader reader = Files.newBufferedReader(bookFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(KEY_SEPARATOR, -1);
+                try {
+                    if (parts.length != 3) {
+                        throw new IllegalArgumentException("Not an entry: " + line);
+                    }
+                    List<Opening> openings = new ArrayList<>();
+                    if (!parts[2].isEmpty()) {
+                        for (String opening : parts[2].split(OPENING_SEPARATOR)) {
+                            openings.add(Opening.deserialize(opening));
+                        }
+                    }
+                    if (openings.size() != Integer.parseInt(parts[1])) {
+                        throw new IllegalArgumentException("Entry is incomplete: " + line);
+                    }
+                    entries.put(parts[0], openings);
+                } catch (IllegalArgumentException e) {
+                    modified = true;
+                }
+            }
+        } catch (IOException e) {
+            entries.clear();
+            modified = true;
+        }
+    }
+
+    /**
+     * Creates a key describing which corners are occupied by which faction
+     *
+     * @param board the board
+     * @return the occupancy key
+     */
+    static String getOccupancyKey(SiedlerBoard board) {
+        List<Point> occupied = new ArrayList<>();
+        for (Point corner : board.getCornerPoints()) {
+            if (board.getCorner(corner) != null) {
+                occupied.add(corner);
+            }
+        }
+        occupied.sort(Comparator.comparingInt((Point p) -> p.y).thenComparingInt(p -> p.x));
+        StringBuilder key = new StringBuilder();
+        for (Point corner : occupied) {
+            key.append(corner.x).append(',').append(corner.y).append('=').append(board.getCorner(corner)).append(' ');
+        }
+        return key.toString().trim();
+    }
+
+    /**
+     * Computes the ranked openings for a faction
+     *
+     * @param board   the board
+     * @param faction the faction of the player
+     * @return the ranked openings
+     */
+    private List<Opening> computeOpenings(SiedlerBoard board, Config.Faction faction) {
+        Set<Config.Resource> ownResources = new HashSet<>();
+        for (Point corner : board.getCornerPoints()) {
+            String building = board.getCorner(corner);
+            if (building != null && faction == SiedlerGame.getFactionFromName(building)) {
+                for (Config.Land land : board.getLandsForCorner(corner)) {
+                    if (land.getResource() != null) {
+                        ownResources.add(land.getResource());
+                    }
+                }
+            }
+        }
+
+        List<Opening> openings = new ArrayList<>();
+        for (Point corner : board.getCornerPoints()) {
+            if (board.isFreeSettlementSpot(corner)) {
+                double settlementScore = scoreCorner(board, corner, ownResources);
+                Point bestRoadEnd = null;
+                double bestExpansion = -1;
+                for (Point roadEnd : board.getAdjacentCornerPoints(corner)) {
+                    if (board.hasEdge(corner, roadEnd) && board.getEdge(corner, roadEnd) == null
+                            && !board.isCornerSurroundedByWater(roadEnd)) {
+                        double expansion = scoreExpansion(board, corner, roadEnd, ownResources);
+                        if (expansion > bestExpansion) {
+                            bestExpansion = expansion;
+                            bestRoadEnd = roadEnd;
+                        }
+                    }
+                }
+                if (bestRoadEnd != null) {
+                    openings.add(new Opening(corner, bestRoadEnd, settlementScore + EXPANSION_WEIGHT * bestExpansion));
+                }
+            }
+        }
+        openings.sort(Comparator.comparingDouble(Opening::getScore).reversed()
+                .thenComparingInt((Opening o) -> o.getSettlement().y).thenComparingInt(o -> o.getSettlement().x));
+        return new ArrayList<>(openings.subList(0, Math.min(MAX_OPENINGS_PER_ENTRY, openings.size())));
+    }
+
+    /**
+     * Scores a corner by the expected income of the adjacent fields and the diversity of their resources
+     *
+     * @param board        the board
+     * @param corner       the corner to score
+     * @param ownResources resources the player already gets from other settlements
+     * @return the score
+     */
+    private double scoreCorner(SiedlerBoard board, Point corner, Set<Config.Resource> ownResources) {
+        double score = 0;
+        Set<Config.Resource> resources = new HashSet<>();
+        for (Point field : board.getAdjacentFieldPoints(corner)) {
+            Config.Resource resource = board.getField(field).getResource();
+            if (resource != null) {
+                score += getPips(board.getDiceValue(field));
+                if (resources.add(resource) && !ownResources.contains(resource)) {
+                    score += MISSING_RESOURCE_WEIGHT;
+                }
+            }
+        }
+        return score + DIVERSITY_WEIGHT * resources.size();
+    }
+
+    /**
+     * Scores the best free settlement spot that can be reached by extending the road
+     * from the settlement over the given road end
+     *
+     * @param board        the board
+     * @param settlement   the planned settlement
+     * @param roadEnd      the end of the planned road
+     * @param ownResources resources the player already gets from other settlements
+     * @return the score of the best reachable spot or 0
+     */
+    private double scoreExpansion(SiedlerBoard board, Point settlement, Point roadEnd, Set<Config.Resource> ownResources) {
+        double best = 0;
+        for (Point next : board.getAdjacentCornerPoints(roadEnd)) {
+            if (!next.equals(settlement) && board.isFreeSettlementSpot(next)
+                    && !board.getAdjacentCornerPoints(next).contains(settlement)) {
+                best = Math.max(best, scoreCorner(board, next, ownResources));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the number of dice combinations (out of 36) that produce the given dice value
+     *
+     * @param diceValue the dice value
+     * @return the number of combinations, 0 for 7 or invalid values
+     */
+    static int getPips(int diceValue) {
+        if (diceValue < 2 || diceValue > 12 || diceValue == 7) {
+            return 0;
+        }
+        return 6 - Math.abs(7 - diceValue);
+    }
+
+    /**
+     * This class represents a single opening, which is an initial settlement with the adjacent initial road.
+     */
+    public static final class Opening {
+        private final Point settlement;
+        private final Point roadEnd;
+        private final double score;
+
+        /**
+         * Constructs an opening
+         *
+         * @param settlement the corner of the settlement
+         * @param roadEnd    the other end of the road starting at the settlement
+         * @param score      the score of the opening
+         */
+        public Opening(Point settlement, Point roadEnd, double score) {
+            this.settlement = new Point(settlement);
+            this.roadEnd = new Point(roadEnd);
+            this.score = score;
+        }
+
+        /**
+         * Returns the corner of the settlement
+         *
+         * @return the corner
+         */
+        public Point getSettlement() {
+            return new Point(settlement);
+        }
+
+        /**
+         * Returns the other end of the road starting at the settlement
+         *
+         * @return the corner at the end of the road
+         */
+        public Point getRoadEnd() {
+            return new Point(roadEnd);
+        }
+
+        /**
+         * Returns the score of the opening, a higher score is better
+         *
+         * @return the score
+         */
+        public double getScore() {
+            return score;
+        }
+
+        private String serialize() {
+            return settlement.x + "," + settlement.y + ">" + roadEnd.x + "," + roadEnd.y + "@" + score;
+        }
+
+        /**
+         * Parses an opening written by {@link #serialize()}
+         *
+         * @param text the serialized opening
+         * @return the opening
+         * @throws IllegalArgumentException if the text is not a serialized opening
+         */
+        private static Opening deserialize(String text) {
+            String[] scoreParts = text.split("@");
+            String[] pointParts = scoreParts[0].split(">");
+            if (scoreParts.length != 2 || pointParts.length != 2) {
+                throw new IllegalArgumentException("Not an opening: " + text);
+            }
+            return new Opening(parsePoint(pointParts[0]), parsePoint(pointParts[1]), Double.parseDouble(scoreParts[1]));
+        }
+
+        private static Point parsePoint(String text) {
+            String[] coordinates = text.split(",");
+            if (coordinates.length != 2) {
+                throw new IllegalArgumentException("Not a point: " + text);
+            }
+            return new Point(Integer.parseInt(coordinates[0].trim()), Integer.parseInt(coordinates[1].trim()));
+        }
+
+        @Override
+        public String toString() {
+            return "Opening [settlement=" + settlement + ", roadEnd=" + roadEnd + ", score=" + score + "]";
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package ch.zhaw.catan;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,24 +14,31 @@ import java.util.Map;
  * @version 07.12.2021
  */
 public class Player {
-    private Map<Config.Resource, Integer> resources;
-    private Map<Class, Integer> structures;
-    private int roadCount;
+    private final int[] resources = new int[Config.Resource.values().length];
+    private final int[] structureCounts = new int[Config.Structure.values().length];
     private Config.Faction faction;
     private int points;
+    private final List<GameStateListener> listeners = new ArrayList<>();
+    private final GameInteraction interaction;
+    private final int[] tradeRates = new int[Config.Resource.values().length];
+    private final int[] developmentCards = new int[Config.DevelopmentCard.values().length];
+    private int playedKnights;
 
     /**
-     * Default Constructor: Constructs a new Player object
+     * Default Constructor: Constructs a new Player object, errors are printed on the local terminal
      */
     public Player() {
-        resources = new HashMap<>();
-        structures = new HashMap<>();
+        this(TextIOWrapper.getConsole());
+    }
 
-        resources.put(Config.Resource.BRICK, 0);
-        resources.put(Config.Resource.GRAIN, 0);
-        resources.put(Config.Resource.LUMBER, 0);
-        resources.put(Config.Resource.ORE, 0);
-        resources.put(Config.Resource.WOOL, 0);
+    /**
+     * Constructs a new Player object
+     *
+     * @param interaction the interaction used to report errors
+     */
+    public Player(GameInteraction interaction) {
+        this.interaction = interaction;
+        Arrays.fill(tradeRates, SiedlerGame.FOUR_TO_ONE_TRADE_OFFER);
     }
 
     /**
@@ -39,22 +48,25 @@ public class Player {
      * @return player list
      */
     public static List<Player> initializePlayers(int numberOfPlayers) {
+        return initializePlayers(numberOfPlayers, TextIOWrapper.getConsole());
+    }
+
+    /**
+     * Initializes the list of players
+     *
+     * @param numberOfPlayers player count
+     * @param interaction     the interaction used by the players to report errors
+     * @return player list
+     */
+    public static List<Player> initializePlayers(int numberOfPlayers, GameInteraction interaction) {
         List<Player> players = new ArrayList<>();
 
-        for (int i = 1; i < numberOfPlayers + 1; i++) {
-            Player player = new Player();
-            if (i == 1) {
-                player.setFaction(Config.Faction.RED);
-            }
-            if (i == 2) {
-                player.setFaction(Config.Faction.BLUE);
-            }
-            if (i == 3) {
-                player.setFaction(Config.Faction.GREEN);
-            }
-            if (i == 4) {
-                player.setFaction(Config.Faction.YELLOW);
-            }
+        if (numberOfPlayers > Config.Faction.values().length) {
+            throw new IllegalArgumentException("There are only " + Config.Faction.values().length + " factions");
+        }
+        for (int i = 0; i < numberOfPlayers; i++) {
+            Player player = new Player(interaction);
+            player.setFaction(Config.Faction.values()[i]);
             players.add(player);
         }
         return players;
@@ -70,20 +82,28 @@ public class Player {
     }
 
     /**
-     * Add structures with their count
-     * if a structure already exists, the value will increment
+     * Count the placed structures of the type of the building up
      *
      * @param building structure type
      */
     public void addStructure(Building building) {
-        this.structures.put(building.getClass(), this.structures.get(building.getClass()) != null ? this.structures.get(building.getClass()) + 1 : 1);
+        addStructure(building.getStructure());
+    }
+
+    /**
+     * Count the placed structures of a type up
+     *
+     * @param structure structure type
+     */
+    public void addStructure(Config.Structure structure) {
+        structureCounts[structure.ordinal()]++;
     }
 
     /**
      * Count the roadcount up
      */
     public void addRoad() {
-        roadCount++;
+        addStructure(Config.Structure.ROAD);
     }
 
     /**
@@ -92,16 +112,45 @@ public class Player {
      * @return roadcount
      */
     public int getRoadCount() {
-        return roadCount;
+        return structureCounts[Config.Structure.ROAD.ordinal()];
     }
 
     /**
-     * Remove structure with their count
+     * Count the placed structures of the type of the building down
      *
      * @param building building
      */
     public void removeStructure(Building building) {
-        this.structures.put(building.getClass(), this.structures.get(building.getClass()) - 1);
+        removeStructure(building.getStructure());
+    }
+
+    /**
+     * Count the placed structures of a type down, e.g. when a settlement is replaced by a city
+     *
+     * @param structure structure type
+     */
+    public void removeStructure(Config.Structure structure) {
+        structureCounts[structure.ordinal()]--;
+    }
+
+    /**
+     * Returns the number of placed structures of a type
+     *
+     * @param structure structure type
+     * @return the number of placed structures
+     */
+    public int getStructureCount(Config.Structure structure) {
+        return structureCounts[structure.ordinal()];
+    }
+
+    /**
+     * Returns the number of pieces of a structure the player can still place
+     *
+     * @param structure structure type
+     * @return the remaining stock, 0 if the limit is reached
+     */
+    public int getRemainingStock(Config.Structure structure) {
+        return Math.max(0, structure.getStockPerPlayer() - structureCounts[structure.ordinal()]);
     }
 
     public Config.Faction getFaction() {
@@ -131,68 +180,168 @@ public class Player {
      */
     public int getCardsCount() {
         int cardsCount = 0;
-        for (Integer resourceAmount : resources.values()) {
+        for (int resourceAmount : resources) {
             cardsCount += resourceAmount;
         }
         return cardsCount;
     }
 
     /**
-     * Returns a Map with the resources of the current player
+     * Returns the number of cards per resource
+     *
+     * @return the counts, indexed by {@link Config.Resource#ordinal()}
+     */
+    public int[] getResourceCounts() {
+        return resources.clone();
+    }
+
+    /**
+     * Returns the number of cards of a resource
+     *
+     * @param resource the resource
+     * @return the number of cards
+     */
+    public int getResourceCount(Config.Resource resource) {
+        return resources[resource.ordinal()];
+    }
+
+    /**
+     * Updates the trade rates of the player for a harbor at one of its settlements
+     *
+     * @param harbor the harbor
+     */
+    public void addHarbor(Config.Harbor harbor) {
+        for (Config.Resource resource : Config.Resource.values()) {
+            if (harbor.getResource() == null || harbor.getResource() == resource) {
+                tradeRates[resource.ordinal()] = Math.min(tradeRates[resource.ordinal()], harbor.getRate());
+            }
+        }
+    }
+
+    /**
+     * Returns the number of cards the player has to offer to the bank for one card
+     *
+     * @param resource the offered resource
+     * @return the trade rate
+     */
+    public int getTradeRate(Config.Resource resource) {
+        return tradeRates[resource.ordinal()];
+    }
+
+    /**
+     * Adds a development card to the hand of the player
+     *
+     * @param card the development card
+     */
+    public void addDevelopmentCard(Config.DevelopmentCard card) {
+        developmentCards[card.ordinal()]++;
+    }
+
+    /**
+     * Removes a development card from the hand of the player
+     *
+     * @param card the development card
+     * @return true, if the player had the card
+     */
+    public boolean removeDevelopmentCard(Config.DevelopmentCard card) {
+        if (developmentCards[card.ordinal()] == 0) {
+            return false;
+        }
+        developmentCards[card.ordinal()]--;
+        return true;
+    }
+
+    /**
+     * Returns the number of development cards of a type in the hand of the player
+     *
+     * @param card the development card
+     * @return the number of cards
+     */
+    public int getDevelopmentCardCount(Config.DevelopmentCard card) {
+        return developmentCards[card.ordinal()];
+    }
+
+    /**
+     * Count the played knights up
+     */
+    public void addPlayedKnight() {
+        playedKnights++;
+    }
+
+    /**
+     * Returns the number of knights the player has played
+     *
+     * @return the number of played knights
+     */
+    public int getPlayedKnights() {
+        return playedKnights;
+    }
+
+    /**
+     * Returns a copy of the resources of the current player, changes to the Map do not affect the player
      *
      * @return Returns a Map with resources of the player
      */
     public Map<Config.Resource, Integer> getResources() {
-        return resources;
+        Map<Config.Resource, Integer> copy = new EnumMap<>(Config.Resource.class);
+        for (Config.Resource resource : Config.Resource.values()) {
+            copy.put(resource, resources[resource.ordinal()]);
+        }
+        return copy;
     }
 
     /**
-     * Sets the resources for the current player
+     * Sets the resources for the current player, resources missing in the Map are set to 0
      *
      * @param resources a Map with resources of the player
      */
     public void setResources(Map<Config.Resource, Integer> resources) {
-        this.resources = resources;
+        for (Config.Resource resource : Config.Resource.values()) {
+            int oldAmount = this.resources[resource.ordinal()];
+            this.resources[resource.ordinal()] = resources.getOrDefault(resource, 0);
+            notifyResourceChanged(resource, oldAmount, this.resources[resource.ordinal()]);
+        }
     }
 
     /**
-     * Method to get structures
+     * Pay structures
      *
-     * @return structure map (with count per structure)
+     * @param structure which should be paid
+     * @return shows if payment was successful
      */
-    public Map<Class, Integer> getStructures() {
-        return structures;
+    public boolean pay(Config.Structure structure) {
+        return pay(structure.getCosts());
     }
 
     /**
-     * Pay structures
+     * Pay resource cards, e.g. for a development card
      *
-     * @param structure which should be paid
+     * @param costs the resource cards to pay, each entry represents one card
      * @return shows if payment was successful
      */
-    public boolean pay(Config.Structure structure) {
-        Map<Config.Resource, Integer> resourceCosts = getResourceCosts(structure);
-        boolean paymentPossible = isPaymentPossible(structure);
+    public boolean pay(List<Config.Resource> costs) {
+        Map<Config.Resource, Integer> resourceCosts = getResourceCosts(costs);
+        boolean paymentPossible = isPaymentPossible(costs);
 
         if (paymentPossible) {
             for (Map.Entry<Config.Resource, Integer> resourceCost : resourceCosts.entrySet()) {
-                Integer localCount = resources.get(resourceCost.getKey());
-                localCount = localCount - resourceCost.getValue();
-                resources.put(resourceCost.getKey(), localCount);
+                int localCount = resources[resourceCost.getKey().ordinal()];
+                resources[resourceCost.getKey().ordinal()] = localCount - resourceCost.getValue();
+                notifyResourceChanged(resourceCost.getKey(), localCount, localCount - resourceCost.getValue());
             }
         }
         return paymentPossible;
     }
 
     /**
-     * Interpret structure costs to list with structures and costs
+     * Interpret costs to list with resources and costs
      *
-     * @param structure structure type
+     * @param cards the resource cards, each entry represents one card
      * @return costs per resource
      */
-    private Map<Config.Resource, Integer> getResourceCosts(Config.Structure structure) {
+    private Map<Config.Resource, Integer> getResourceCosts(List<Config.Resource> cards) {
         Map<Config.Resource, Integer> resourceCosts = new HashMap<>();
-        for (Config.Resource resource : structure.getCosts()) {
+        for (Config.Resource resource : cards) {
             Integer costs = 0;
             if (resourceCosts.containsKey(resource)) costs = resourceCosts.get(resource);
             costs++;
@@ -208,22 +357,27 @@ public class Player {
      * @return True if payment is possible, false otherwise
      */
     public boolean isPaymentPossible(Config.Structure structure) {
+        return isPaymentPossible(structure.getCosts());
+    }
+
+    /**
+     * Methode checks whether payment is possible for the provided resource cards
+     *
+     * @param costs the resource cards, each entry represents one card
+     * @return True if payment is possible, false otherwise
+     */
+    public boolean isPaymentPossible(List<Config.Resource> costs) {
         boolean paymentPossible = true;
-        Map<Config.Resource, Integer> resourceCosts = getResourceCosts(structure);
+        Map<Config.Resource, Integer> resourceCosts = getResourceCosts(costs);
 
         for (Map.Entry<Config.Resource, Integer> resourceCost : resourceCosts.entrySet()) {
-            if (resources.containsKey(resourceCost.getKey())) {
-                Integer localCount = resources.get(resourceCost.getKey());
-                if (localCount < resourceCost.getValue()) {
-                    paymentPossible = false;
-                }
-            } else {
+            if (resources[resourceCost.getKey().ordinal()] < resourceCost.getValue()) {
                 paymentPossible = false;
             }
         }
 
         if (!paymentPossible) {
-            TextIOWrapper.printError(ConsoleText.ERRORNOTENOUGHRESOURCES.toString());
+            interaction.printError(ConsoleText.ERRORNOTENOUGHRESOURCES.toString());
         }
         return paymentPossible;
     }
@@ -235,11 +389,9 @@ public class Player {
      * @param amount   Amount of resources to add
      */
     public void addResources(Config.Resource resource, int amount) {
-        int newVal = 0;
-        if (resources.containsKey(resource)) {
-            newVal = resources.get(resource);
-        }
-        resources.put(resource, newVal + amount);
+        int newVal = resources[resource.ordinal()];
+        resources[resource.ordinal()] = newVal + amount;
+        notifyResourceChanged(resource, newVal, newVal + amount);
     }
 
     /**
@@ -249,15 +401,37 @@ public class Player {
      * @param amount   Amount of resources to add
      */
     public boolean removeResources(Config.Resource resource, int amount) {
-        int newVal = 0;
-        if (resources.containsKey(resource)) {
-            newVal = resources.get(resource);
-        }
+        int newVal = resources[resource.ordinal()];
         if (newVal >= amount) {
-            resources.put(resource, newVal - amount);
+            resources[resource.ordinal()] = newVal - amount;
+            notifyResourceChanged(resource, newVal, newVal - amount);
             return true;
         } else {
             return false;
         }
     }
+
+    /**
+     * Registers a listener which is informed about every change of the resources
+     *
+     * @param listener the listener
+     */
+    void addListener(GameStateListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Informs the listeners about a changed resource amount
+     *
+     * @param resource  the resource
+     * @param oldAmount the previous amount
+     * @param newAmount the new amount
+     */
+    private void notifyResourceChanged(Config.Resource resource, int oldAmount, int newAmount) {
+        if (oldAmount != newAmount) {
+            for (GameStateListener listener : listeners) {
+                listener.resourceChanged(this, resource, oldAmount, newAmount);
+            }
+        }
+    }
 }
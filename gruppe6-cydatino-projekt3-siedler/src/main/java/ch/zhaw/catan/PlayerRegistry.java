@@ -0,0 +1,141 @@
+package ch.zhaw.catan;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * This class holds the players of a game in the order of play.
+ * <p>
+ * The players are stored in an array indexed by their seat. A second array indexed by
+ * {@link Config.Faction#ordinal()} gives the seat of each faction, so looking up the player of a
+ * faction and rotating the turn are constant-time operations independent of the number of players.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 21.12.2021
+ */
+public class PlayerRegistry {
+    private static final int NO_SEAT = -1;
+    private final Player[] players;
+    private final int[] seatOfFaction;
+    private int currentSeat;
+
+    /**
+     * Constructs a registry for the given players
+     *
+     * @param players the players in the order of play
+     * @throws IllegalArgumentException if two players have the same faction
+     */
+    public PlayerRegistry(List<Player> players) {
+        this.players = players.toArray(new Player[0]);
+        this.seatOfFaction = new int[Config.Faction.values().length];
+        Arrays.fill(seatOfFaction, NO_SEAT);
+        for (int seat = 0; seat < this.players.length; seat++) {
+            int faction = this.players[seat].getFaction().ordinal();
+            if (seatOfFaction[faction] != NO_SEAT) {
+                throw new IllegalArgumentException("Faction is used twice: " + this.players[seat].getFaction());
+            }
+            seatOfFaction[faction] = seat;
+        }
+    }
+
+    /**
+     * Returns the number of players
+     *
+     * @return the number of players
+     */
+    public int size() {
+        return players.length;
+    }
+
+    /**
+     * Returns the player at the given seat
+     *
+     * @param seat the seat (0 is the first player)
+     * @return the player
+     */
+    public Player getPlayer(int seat) {
+        return players[seat];
+    }
+
+    /**
+     * Returns the player of a faction
+     *
+     * @param faction the faction
+     * @return the player or null, if no player has this faction
+     */
+    public Player getPlayer(Config.Faction faction) {
+        int seat = seatOfFaction[faction.ordinal()];
+        return seat == NO_SEAT ? null : players[seat];
+    }
+
+    /**
+     * Returns the seat of a faction
+     *
+     * @param faction the faction
+     * @return the seat or -1, if no player has this faction
+     */
+    public int getSeat(Config.Faction faction) {
+        return seatOfFaction[faction.ordinal()];
+    }
+
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
+
+    /**
+     * Returns the current player
+     *
+     * @return the current player or null, if there are no players
+     */
+    public Player getCurrentPlayer() {
+        return players.length == 0 ? null : players[currentSeat];
+    }
+
+    /**
+     * Passes the turn to the next player, after the last player the first player follows
+     *
+     * @return the new current player
+     */
+    public Player next() {
+        currentSeat = currentSeat + 1 == players.length ? 0 : currentSeat + 1;
+        return players[currentSeat];
+    }
+
+    /**
+     * Passes the turn to the previous player, before the first player the last player follows
+     *
+     * @return the new current player
+     */
+    public Player previous() {
+        currentSeat = currentSeat == 0 ? players.length - 1 : currentSeat - 1;
+        return players[currentSeat];
+    }
+
+    /**
+     * Returns an unmodifiable list view of the players in the order of play
+     *
+     * @return the players
+     */
+    public List<Player> asList() {
+        return new PlayerList();
+    }
+
+    /**
+     * This class is a list view of the players array
+     */
+    private class PlayerList extends AbstractList<Player> implements RandomAccess {
+
+        @Override
+        public Player get(int index) {
+            return players[index];
+        }
+
+        @Override
+        public int size() {
+            return players.length;
+        }
+    }
+}
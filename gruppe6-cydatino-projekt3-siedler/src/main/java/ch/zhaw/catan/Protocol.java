@@ -0,0 +1,413 @@
+package ch.zhaw.catan;
+
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class defines the compact binary protocol between the {@link GameServer} and its clients.
+ * <p>
+ * Every message is a frame of a two byte length (of the rest of the frame), a one byte message type and
+ * the payload. All numbers are big-endian and coordinates are sent as single bytes.
+ * <ul>
+ *     <li>{@link #WELCOME}: sent by the server after connecting. Payload: the faction ordinal of the client
+ *     or -1 for spectators.</li>
+ *     <li>{@link #MOVE_REQUEST}: sent by a client. Payload: request id (int), {@link MoveType} ordinal and
+ *     four argument bytes (the coordinates of one or two points or the resource ordinals of a trade).</li>
+ *     <li>{@link #VALIDATION_RESULT}: answer to a move request. Payload: request id (int), accepted (byte)
+ *     and the reason of a rejection (short length and UTF-8 text).</li>
+ *     <li>{@link #BOARD_DIFF}: broadcast after a move changed the board. Payload: the number of changes (short)
+ *     followed by the changes, see {@link ChangeKind}.</li>
+ *     <li>{@link #KEYFRAME}: the complete state of the game, sent to clients joining a running game. The payload
+ *     has the same format as a board diff.</li>
+ * </ul>
+ * Instead of re-rendering the whole board, clients apply the board diffs to their own copy of the board.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 18.12.2021
+ */
+public final class Protocol {
+    public static final byte WELCOME = 1;
+    public static final byte MOVE_REQUEST = 2;
+    public static final byte VALIDATION_RESULT = 3;
+    public static final byte BOARD_DIFF = 4;
+    public static final byte KEYFRAME = 5;
+    static final int HEADER_SIZE = Short.BYTES + Byte.BYTES;
+    static final int MAX_FRAME_SIZE = 0xffff;
+    private static final int MOVE_ARGUMENTS = 4;
+    private static final byte NO_COORDINATE = -1;
+    private static final int CITY_FLAG = 0x80;
+
+    private Protocol() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * This enum specifies the moves a client can request
+     */
+    public enum MoveType {
+        INITIAL_SETTLEMENT, INITIAL_SETTLEMENT_WITH_PAYOUT, INITIAL_ROAD, SETTLEMENT, CITY, ROAD, THIEF,
+        TRADE_WITH_BANK, END_TURN, PREVIOUS_PLAYER
+    }
+
+    /**
+     * This enum specifies the kinds of changes in a board diff
+     * <ul>
+     *     <li>CORNER: x, y, occupant</li>
+     *     <li>EDGE: x1, y1, x2, y2, occupant</li>
+     *     <li>THIEF: x, y of the new thief field</li>
+     *     <li>TURN: faction ordinal of the new current player</li>
+     *     <li>DICE: the rolled dice value</li>
+     *     <li>RESOURCE: faction ordinal, resource ordinal and the new amount (short)</li>
+     * </ul>
+     * The occupant is 0 for an empty corner or edge, otherwise the faction ordinal + 1 with
+     * the city flag (0x80) set for cities.
+     */
+    public enum ChangeKind {
+        CORNER, EDGE, THIEF, TURN, DICE, RESOURCE
+    }
+
+    /**
+     * Encodes a welcome message
+     *
+     * @param faction the faction of the client, or null for spectators
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer encodeWelcome(Config.Faction faction) {
+        ByteBuffer frame = allocateFrame(WELCOME, 1);
+        frame.put((byte) (faction == null ? -1 : faction.ordinal()));
+        return frame.flip();
+    }
+
+    /**
+     * Encodes a move request
+     *
+     * @param requestId an id chosen by the client, which is repeated in the validation result
+     * @param moveType  the type of the move
+     * @param from      the first point of the move (e.g. the settlement or start of the road), may be null
+     * @param to        the second point of the move (e.g. the end of the road), may be null
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer encodeMoveRequest(int requestId, MoveType moveType, Point from, Point to) {
+        ByteBuffer frame = allocateFrame(MOVE_REQUEST, Integer.BYTES + 1 + MOVE_ARGUMENTS);
+        frame.putInt(requestId).put((byte) moveType.ordinal());
+        putPoint(frame, from);
+        putPoint(frame, to);
+        return frame.flip();
+    }
+
+    /**
+     * Encodes a request to trade with the bank
+     *
+     * @param requestId an id chosen by the client, which is repeated in the validation result
+     * @param offer     the offered resource
+     * @param want      the wanted resource
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer encodeTradeRequest(int requestId, Config.Resource offer, Config.Resource want) {
+        ByteBuffer frame = allocateFrame(MOVE_REQUEST, Integer.BYTES + 1 + MOVE_ARGUMENTS);
+        frame.putInt(requestId).put((byte) MoveType.TRADE_WITH_BANK.ordinal())
+                .put((byte) offer.ordinal()).put((byte) want.ordinal()).put(NO_COORDINATE).put(NO_COORDINATE);
+        return frame.flip();
+    }
+
+    /**
+     * Encodes the result of the validation of a move request
+     *
+     * @param requestId the id of the request
+     * @param accepted  true, if the move was executed
+     * @param reason    the reason of a rejection, may be empty
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer encodeValidationResult(int requestId, boolean accepted, String reason) {
+        byte[] text = reason.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(text.length, MAX_FRAME_SIZE - HEADER_SIZE - Integer.BYTES - 1 - Short.BYTES);
+        ByteBuffer frame = allocateFrame(VALIDATION_RESULT, Integer.BYTES + 1 + Short.BYTES + length);
+        frame.putInt(requestId).put((byte) (accepted ? 1 : 0)).putShort((short) length).put(text, 0, length);
+        return frame.flip();
+    }
+
+    /**
+     * Returns the type of a complete frame
+     *
+     * @param frame the frame, positioned at its start
+     * @return the message type
+     */
+    public static byte getType(ByteBuffer frame) {
+        return frame.get(frame.position() + Short.BYTES);
+    }
+
+    /**
+     * Returns the length of the frame starting at the position of the buffer
+     *
+     * @param buffer the received bytes
+     * @return the total length of the frame or -1, if the header is not received yet
+     */
+    static int getFrameLength(ByteBuffer buffer) {
+        if (buffer.remaining() < Short.BYTES) {
+            return -1;
+        }
+        return Short.BYTES + Short.toUnsignedInt(buffer.getShort(buffer.position()));
+    }
+
+    public static int getWelcomeFaction(ByteBuffer frame) {
+        return frame.get(frame.position() + HEADER_SIZE);
+    }
+
+    public static int getRequestId(ByteBuffer frame) {
+        return frame.getInt(frame.position() + HEADER_SIZE);
+    }
+
+    public static MoveType getMoveType(ByteBuffer frame) {
+        int ordinal = frame.get(frame.position() + HEADER_SIZE + Integer.BYTES);
+        if (ordinal < 0 || ordinal >= MoveType.values().length) {
+            throw new IllegalArgumentException("Unknown move type: " + ordinal);
+        }
+        return MoveType.values()[ordinal];
+    }
+
+    /**
+     * Returns an argument byte of a move request
+     *
+     * @param frame the move request
+     * @param index the index of the argument (0 to 3)
+     * @return the argument
+     */
+    public static int getMoveArgument(ByteBuffer frame, int index) {
+        return frame.get(frame.position() + HEADER_SIZE + Integer.BYTES + 1 + index);
+    }
+
+    public static Point getMoveFrom(ByteBuffer frame) {
+        return toPoint(getMoveArgument(frame, 0), getMoveArgument(frame, 1));
+    }
+
+    public static Point getMoveTo(ByteBuffer frame) {
+        return toPoint(getMoveArgument(frame, 2), getMoveArgument(frame, 3));
+    }
+
+    public static boolean isAccepted(ByteBuffer frame) {
+        return frame.get(frame.position() + HEADER_SIZE + Integer.BYTES) != 0;
+    }
+
+    public static String getReason(ByteBuffer frame) {
+        int offset = frame.position() + HEADER_SIZE + Integer.BYTES + 1;
+        byte[] text = new byte[Short.toUnsignedInt(frame.getShort(offset))];
+        frame.duplicate().position(offset + Short.BYTES).get(text);
+        return new String(text, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes the changes of a board diff
+     *
+     * @param frame the board diff
+     * @return the changes in the order in which they were applied
+     */
+    public static List<BoardChange> getBoardChanges(ByteBuffer frame) {
+        ByteBuffer payload = frame.duplicate();
+        payload.position(frame.position() + HEADER_SIZE);
+        int count = Short.toUnsignedInt(payload.getShort());
+        List<BoardChange> changes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ChangeKind kind = ChangeKind.values()[payload.get()];
+            switch (kind) {
+                case CORNER:
+                    changes.add(new BoardChange(kind, List.of(getPoint(payload)), decodeOccupant(payload.get())));
+                    break;
+                case EDGE:
+                    changes.add(new BoardChange(kind, List.of(getPoint(payload), getPoint(payload)),
+                            decodeOccupant(payload.get())));
+                    break;
+                case THIEF:
+                    changes.add(new BoardChange(kind, List.of(getPoint(payload)), null));
+                    break;
+                case TURN:
+                    changes.add(new BoardChange(kind, Collections.emptyList(),
+                            Config.Faction.values()[payload.get()].toString()));
+                    break;
+                case DICE:
+                    changes.add(new BoardChange(kind, Collections.emptyList(), String.valueOf(payload.get())));
+                    break;
+                case RESOURCE:
+                    Config.Faction faction = Config.Faction.values()[payload.get()];
+                    Config.Resource resource = Config.Resource.values()[payload.get()];
+                    changes.add(new BoardChange(kind, Collections.emptyList(),
+                            faction + ":" + resource.name() + ":" + payload.getShort()));
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected value: " + kind);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Appends a change of a corner to the changes of a board diff
+     */
+    static void putCornerChange(ByteBuffer changes, Point corner, String occupant) {
+        changes.put((byte) ChangeKind.CORNER.ordinal());
+        putPoint(changes, corner);
+        changes.put(encodeOccupant(occupant));
+    }
+
+    /**
+     * Appends a change of an edge to the changes of a board diff
+     */
+    static void putEdgeChange(ByteBuffer changes, Point corner1, Point corner2, String occupant) {
+        changes.put((byte) ChangeKind.EDGE.ordinal());
+        putPoint(changes, corner1);
+        putPoint(changes, corner2);
+        changes.put(encodeOccupant(occupant));
+    }
+
+    /**
+     * Appends a move of the thief to the changes of a board diff
+     */
+    static void putThiefChange(ByteBuffer changes, Point field) {
+        changes.put((byte) ChangeKind.THIEF.ordinal());
+        putPoint(changes, field);
+    }
+
+    /**
+     * Appends a change of the current player to the changes of a board diff
+     */
+    static void putTurnChange(ByteBuffer changes, Config.Faction faction) {
+        changes.put((byte) ChangeKind.TURN.ordinal());
+        changes.put((byte) faction.ordinal());
+    }
+
+    /**
+     * Appends a dice roll to the changes of a board diff
+     */
+    static void putDiceChange(ByteBuffer changes, int diceValue) {
+        changes.put((byte) ChangeKind.DICE.ordinal());
+        changes.put((byte) diceValue);
+    }
+
+    /**
+     * Appends the new amount of a resource of a player to the changes of a board diff
+     */
+    static void putResourceChange(ByteBuffer changes, Config.Faction faction, Config.Resource resource, int amount) {
+        changes.put((byte) ChangeKind.RESOURCE.ordinal());
+        changes.put((byte) faction.ordinal()).put((byte) resource.ordinal()).putShort((short) amount);
+    }
+
+    /**
+     * Encodes the collected changes as board diff frame
+     *
+     * @param changes the changes, from position 0 to the position of the buffer
+     * @param count   the number of changes
+     * @return the frame, ready to be written
+     */
+    static ByteBuffer encodeBoardDiff(ByteBuffer changes, int count) {
+        return encodeChanges(BOARD_DIFF, changes, count);
+    }
+
+    /**
+     * Encodes the complete state of a game as keyframe
+     *
+     * @param changes the state as changes, from position 0 to the position of the buffer
+     * @param count   the number of changes
+     * @return the frame, ready to be written
+     */
+    static ByteBuffer encodeKeyframe(ByteBuffer changes, int count) {
+        return encodeChanges(KEYFRAME, changes, count);
+    }
+
+    private static ByteBuffer encodeChanges(byte type, ByteBuffer changes, int count) {
+        ByteBuffer content = changes.duplicate().flip();
+        ByteBuffer frame = allocateFrame(type, Short.BYTES + content.remaining());
+        frame.putShort((short) count).put(content);
+        return frame.flip();
+    }
+
+    private static ByteBuffer allocateFrame(byte type, int payloadLength) {
+        int length = 1 + payloadLength;
+        if (Short.BYTES + length > MAX_FRAME_SIZE) {
+            throw new IllegalArgumentException("Message is too long");
+        }
+        ByteBuffer frame = ByteBuffer.allocate(Short.BYTES + length);
+        frame.putShort((short) length).put(type);
+        return frame;
+    }
+
+    private static void putPoint(ByteBuffer buffer, Point point) {
+        if (point == null) {
+            buffer.put(NO_COORDINATE).put(NO_COORDINATE);
+        } else {
+            if (point.x < 0 || point.x > Byte.MAX_VALUE || point.y < 0 || point.y > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Point can not be encoded: " + point);
+            }
+            buffer.put((byte) point.x).put((byte) point.y);
+        }
+    }
+
+    private static Point getPoint(ByteBuffer buffer) {
+        return toPoint(buffer.get(), buffer.get());
+    }
+
+    private static Point toPoint(int x, int y) {
+        return x == NO_COORDINATE || y == NO_COORDINATE ? null : new Point(x, y);
+    }
+
+    private static byte encodeOccupant(String occupant) {
+        if (occupant == null) {
+            return 0;
+        }
+        Config.Faction faction = SiedlerGame.getFactionFromName(occupant);
+        if (faction == null) {
+            throw new IllegalArgumentException("Unknown occupant: " + occupant);
+        }
+        boolean city = !occupant.equals(occupant.toLowerCase());
+        return (byte) ((faction.ordinal() + 1) | (city ? CITY_FLAG : 0));
+    }
+
+    private static String decodeOccupant(byte code) {
+        if (code == 0) {
+            return null;
+        }
+        String name = Config.Faction.values()[(code & (CITY_FLAG - 1)) - 1].toString();
+        return (code & CITY_FLAG) != 0 ? name.toUpperCase() : name;
+    }
+
+    /**
+     * This class represents a single decoded change of a board diff
+     */
+    public static final class BoardChange {
+        private final ChangeKind kind;
+        private final List<Point> points;
+        private final String value;
+
+        BoardChange(ChangeKind kind, List<Point> points, String value) {
+            this.kind = kind;
+            this.points = points;
+            this.value = value;
+        }
+
+        public ChangeKind getKind() {
+            return kind;
+        }
+
+        /**
+         * Returns the corner, the two corners of the edge or the thief field
+         *
+         * @return the points of the change
+         */
+        public List<Point> getPoints() {
+            return points;
+        }
+
+        /**
+         * Returns the new occupant of a corner or edge (as on the board), the faction of the new current player,
+         * the rolled dice value or the new amount of a resource as "faction:resource:amount"
+         *
+         * @return the new value, null for an empty corner or edge
+         */
+        public String getValue() {
+            return value;
+        }
+    }
+}
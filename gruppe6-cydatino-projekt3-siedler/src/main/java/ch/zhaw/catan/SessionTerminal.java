@@ -0,0 +1,95 @@
+package ch.zhaw.catan;
+
+import org.beryx.textio.AbstractTextTerminal;
+import org.beryx.textio.ReadAbortedException;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * This class implements a text terminal for a single game session on a server.
+ * <p>
+ * Instead of reading from and writing to the console, the input lines are submitted by the server
+ * (e.g. received from a remote client) and the output is passed to an output consumer. Reading blocks
+ * the thread of the session until the next line is submitted or the terminal is closed.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 16.12.2021
+ */
+public class SessionTerminal extends AbstractTextTerminal<SessionTerminal> {
+    private static final String CLOSED = new String("closed");
+    private final BlockingQueue<String> input = new LinkedBlockingQueue<>();
+    private final Consumer<String> output;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a terminal which passes all output to the given consumer
+     *
+     * @param output the consumer of the output
+     */
+    public SessionTerminal(Consumer<String> output) {
+        this.output = output;
+    }
+
+    /**
+     * Submits a line of input, which is returned by the next read of the session
+     *
+     * @param line the input line
+     */
+    public void submitInput(String line) {
+        if (!closed) {
+            input.add(line);
+        }
+    }
+
+    /**
+     * Closes the terminal. A session waiting for input is aborted.
+     */
+    public void close() {
+        closed = true;
+        input.add(CLOSED);
+    }
+
+    /**
+     * Returns whether the terminal was closed
+     *
+     * @return true, if the terminal was closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Blocks until the next input line is available
+     *
+     * @param masking not supported, the input is never echoed
+     * @return the input line
+     * @throws ReadAbortedException if the terminal is closed or the session thread is interrupted
+     */
+    @Override
+    public String read(boolean masking) {
+        try {
+            String line = input.take();
+            if (line == CLOSED) {
+                input.add(CLOSED);
+                throw new ReadAbortedException("session closed", "");
+            }
+            return line;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReadAbortedException("session interrupted", "");
+        }
+    }
+
+    @Override
+    public void rawPrint(String message) {
+        output.accept(message);
+    }
+
+    @Override
+    public void println() {
+        output.accept(System.lineSeparator());
+    }
+}
@@ -0,0 +1,297 @@
+package ch.zhaw.catan;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class scores all free settlement spots of a board and returns the best ones.
+ * <p>
+ * The score of a spot is the weighted sum of pluggable {@link ScoringFunction}s, for example the
+ * built-in {@link #INCOME}, {@link #DIVERSITY}, {@link #HARBOR} and {@link #BLOCKING} heuristics.
+ * The corners of the board are kept in a flat array, which is split recursively and scored in
+ * parallel on a {@link ForkJoinPool}. Every task keeps only its best k spots in a bounded heap
+ * and the heaps are merged when the tasks join, so the full set of spots is never sorted.
+ * </p>
+ * <p>
+ * The board must not be modified while spots are scored.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 25.12.2021
+ */
+public class SettlementSpotScorer {
+    static final int SPLIT_THRESHOLD = 8;
+    private static final int RESOURCE_COUNT = Config.Resource.values().length;
+    private static final int MAX_HARBOR_RATE = 4;
+    private static final Comparator<Spot> RANKING = Comparator.comparingDouble(Spot::getScore).reversed()
+            .thenComparingInt((Spot s) -> s.corner.y).thenComparingInt(s -> s.corner.x);
+
+    /**
+     * Scores the expected income of a spot as the sum of the dice combinations of the adjacent fields
+     */
+    public static final ScoringFunction INCOME = (board, corner, faction, scratch) -> {
+        int pips = 0;
+        for (Point field : board.getAdjacentFieldPoints(corner)) {
+            if (board.getField(field).getResource() != null) {
+                pips += OpeningBook.getPips(board.getDiceValue(field));
+            }
+        }
+        return pips;
+    };
+
+    /**
+     * Scores the number of different resources produced by the adjacent fields
+     */
+    public static final ScoringFunction DIVERSITY = (board, corner, faction, scratch) -> {
+        int resources = 0;
+        for (Point field : board.getAdjacentFieldPoints(corner)) {
+            Config.Resource resource = board.getField(field).getResource();
+            if (resource != null && scratch[resource.ordinal()]++ == 0) {
+                resources++;
+            }
+        }
+        return resources;
+    };
+
+    /**
+     * Scores the harbor at a spot by how much cheaper it makes trading with the bank.
+     * A resource harbor only counts if one of the adjacent fields produces its resource.
+     */
+    public static final ScoringFunction HARBOR = (board, corner, faction, scratch) -> {
+        Config.Harbor harbor = board.getHarbor(corner);
+        if (harbor == null) {
+            return 0;
+        }
+        if (harbor.getResource() != null) {
+            for (Point field : board.getAdjacentFieldPoints(corner)) {
+                Config.Resource resource = board.getField(field).getResource();
+                if (resource != null) {
+                    scratch[resource.ordinal()]++;
+                }
+            }
+            if (scratch[harbor.getResource().ordinal()] == 0) {
+                return 0;
+            }
+        }
+        return MAX_HARBOR_RATE - harbor.getRate();
+    };
+
+    /**
+     * Scores a spot by the income it takes away from other factions, which have a road leading to it
+     */
+    public static final ScoringFunction BLOCKING = (board, corner, faction, scratch) -> {
+        for (Point neighbour : board.getAdjacentCornerPoints(corner)) {
+            if (board.hasEdge(corner, neighbour)) {
+                String road = board.getEdge(corner, neighbour);
+                if (road != null && SiedlerGame.getFactionFromName(road) != faction) {
+                    return INCOME.score(board, corner, faction, scratch);
+                }
+            }
+        }
+        return 0;
+    };
+
+    private final SiedlerBoard board;
+    private final Point[] corners;
+    private final List<ScoringFunction> functions = new ArrayList<>();
+    private final List<Double> weights = new ArrayList<>();
+    private final ThreadLocal<int[]> scratchBuffers = ThreadLocal.withInitial(() -> new int[RESOURCE_COUNT]);
+
+    /**
+     * Constructs a scorer without any scoring functions for the given board
+     *
+     * @param board the board
+     */
+    public SettlementSpotScorer(SiedlerBoard board) {
+        this.board = board;
+        this.corners = board.getCornerPoints().toArray(new Point[0]);
+        Arrays.sort(corners, Comparator.comparingInt((Point p) -> p.y).thenComparingInt(p -> p.x));
+    }
+
+    /**
+     * Constructs a scorer for the given board with the built-in scoring functions. Income, diversity and
+     * harbor have the weight 1.0, blocking counts half (0.5), since a blocked spot only hurts the opponents.
+     *
+     * @param board the board
+     * @return the scorer
+     */
+    public static SettlementSpotScorer withDefaultScoring(SiedlerBoard board) {
+        return new SettlementSpotScorer(board)
+                .addScoringFunction(INCOME, 1.0)
+                .addScoringFunction(DIVERSITY, 1.0)
+                .addScoringFunction(HARBOR, 1.0)
+                .addScoringFunction(BLOCKING, 0.5);
+    }
+
+    /**
+     * Adds a scoring function. The score of a spot is the weighted sum of all scoring functions.
+     *
+     * @param function the scoring function
+     * @param weight   the weight of the function
+     * @return this scorer
+     */
+    public SettlementSpotScorer addScoringFunction(ScoringFunction function, double weight) {
+        if (function == null) {
+            throw new IllegalArgumentException("The scoring function must not be null");
+        }
+        functions.add(function);
+        weights.add(weight);
+        return this;
+    }
+
+    /**
+     * Scores all free settlement spots for the given faction on the common fork-join pool
+     *
+     * @param faction the faction of the player
+     * @param k       the maximum number of spots to return
+     * @return the best spots, best first
+     * @throws IllegalArgumentException if k is negative
+     */
+    public List<Spot> getTopSpots(Config.Faction faction, int k) {
+        return getTopSpots(faction, k, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Scores all free settlement spots for the given faction on the given fork-join pool
+     *
+     * @param faction the faction of the player
+     * @param k       the maximum number of spots to return
+     * @param pool    the pool which executes the scoring tasks
+     * @return the best spots, best first
+     * @throws IllegalArgumentException if k is negative
+     */
+    public List<Spot> getTopSpots(Config.Faction faction, int k, ForkJoinPool pool) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        if (k == 0 || corners.length == 0) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<Spot> best = pool.invoke(new ScoringTask(faction, Math.min(k, corners.length), 0, corners.length));
+        List<Spot> spots = new ArrayList<>(best);
+        spots.sort(RANKING);
+        return spots;
+    }
+
+    /**
+     * Returns the score of a single spot without checking whether a settlement can be placed there
+     *
+     * @param corner  the corner
+     * @param faction the faction of the player
+     * @return the weighted score
+     */
+    public double score(Point corner, Config.Faction faction) {
+        return score(corner, faction, scratchBuffers.get());
+    }
+
+    private double score(Point corner, Config.Faction faction, int[] scratch) {
+        double score = 0;
+        for (int i = 0; i < functions.size(); i++) {
+            Arrays.fill(scratch, 0);
+            score += weights.get(i) * functions.get(i).score(board, corner, faction, scratch);
+        }
+        return score;
+    }
+
+    /**
+     * Adds a spot to a heap holding the best k spots, the worst of them at the head
+     */
+    private static void offer(PriorityQueue<Spot> best, Spot spot, int k) {
+        if (best.size() < k) {
+            best.add(spot);
+        } else if (RANKING.compare(spot, best.peek()) < 0) {
+            best.poll();
+            best.add(spot);
+        }
+    }
+
+    /**
+     * This interface describes a heuristic to score a settlement spot
+     */
+    @FunctionalInterface
+    public interface ScoringFunction {
+
+        /**
+         * Scores a settlement spot. Functions may be called concurrently and must not modify the board.
+         *
+         * @param board   the board
+         * @param corner  the corner of the spot
+         * @param faction the faction of the player
+         * @param scratch a buffer of the calling thread with one zeroed slot per resource
+         * @return the score, higher is better
+         */
+        double score(SiedlerBoard board, Point corner, Config.Faction faction, int[] scratch);
+    }
+
+    /**
+     * This class represents a scored settlement spot
+     */
+    public static final class Spot {
+        private final Point corner;
+        private final double score;
+
+        Spot(Point corner, double score) {
+            this.corner = new Point(corner);
+            this.score = score;
+        }
+
+        public Point getCorner() {
+            return new Point(corner);
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return "Spot [corner=" + corner + ", score=" + score + "]";
+        }
+    }
+
+    /**
+     * This task scores a range of the corner array and returns the best k spots of the range
+     */
+    private class ScoringTask extends RecursiveTask<PriorityQueue<Spot>> {
+        private static final long serialVersionUID = 1L;
+        private final Config.Faction faction;
+        private final int k;
+        private final int from;
+        private final int to;
+
+        ScoringTask(Config.Faction faction, int k, int from, int to) {
+            this.faction = faction;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PriorityQueue<Spot> compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                PriorityQueue<Spot> best = new PriorityQueue<>(Math.min(k, to - from), RANKING.reversed());
+                int[] scratch = scratchBuffers.get();
+                for (int i = from; i < to; i++) {
+                    if (board.isFreeSettlementSpot(corners[i])) {
+                        offer(best, new Spot(corners[i], score(corners[i], faction, scratch)), k);
+                    }
+                }
+                return best;
+            }
+            int middle = (from + to) >>> 1;
+            ScoringTask left = new ScoringTask(faction, k, from, middle);
+            left.fork();
+            PriorityQueue<Spot> best = new ScoringTask(faction, k, middle, to).compute();
+            for (Spot spot : left.join()) {
+                offer(best, spot, k);
+            }
+            return best;
+        }
+    }
+}
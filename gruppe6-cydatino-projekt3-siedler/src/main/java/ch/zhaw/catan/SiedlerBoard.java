@@ -2,11 +2,14 @@ package ch.zhaw.catan;
 
 import ch.zhaw.catan.Config.Land;
 import ch.zhaw.hexboard.HexBoard;
+import ch.zhaw.hexboard.HexBoardStorage;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class implements the board of the siedler game, which is built out of 37 hexagon fields
@@ -15,12 +18,38 @@ import java.util.Map;
  * @version 10.12.2021
  */
 public class SiedlerBoard extends HexBoard<Land, String, String, String> {
+    private final Map<Point, Integer> diceValues = Config.getStandardDiceNumberPlacement();
+    private final Map<Point, Config.Harbor> harbors = Config.getStandardHarborPlacement();
+    private final List<GameStateListener> listeners = new ArrayList<>();
+    private final GameInteraction interaction;
     private Point thiefField;
 
     /**
-     * Standard constructor of the board
+     * Standard constructor of the board, errors are printed on the local terminal
      */
     public SiedlerBoard() {
+        this(TextIOWrapper.getConsole());
+    }
+
+    /**
+     * Constructs the board
+     *
+     * @param interaction the interaction used to report errors
+     */
+    public SiedlerBoard(GameInteraction interaction) {
+        this(interaction, HexBoardStorage.onHeap());
+    }
+
+    /**
+     * Constructs the board, which keeps its data in the given storage, e.g. an
+     * {@link ch.zhaw.hexboard.OffHeapHexBoardStorage}
+     *
+     * @param interaction the interaction used to report errors
+     * @param storage     the empty storage for the data of the board
+     */
+    public SiedlerBoard(GameInteraction interaction, HexBoardStorage<Land, String, String, String> storage) {
+        super(storage);
+        this.interaction = interaction;
         buildSiedlerBoard();
         thiefField = Config.INITIAL_THIEF_POSITION;
     }
@@ -51,13 +80,158 @@ public class SiedlerBoard extends HexBoard<Land, String, String, String> {
         return getFields(corner);
     }
 
+    /**
+     * Returns the harbor at the specified corner.
+     *
+     * @param corner the corner
+     * @return the harbor or null, if there is no harbor at this corner
+     */
+    public Config.Harbor getHarbor(Point corner) {
+        return harbors.get(corner);
+    }
+
+    /**
+     * Returns the dice value of the specified field.
+     *
+     * @param field the field
+     * @return the dice value or 0, if the field has no dice value (e.g. water)
+     */
+    public int getDiceValue(Point field) {
+        Integer diceValue = diceValues.get(field);
+        return diceValue == null ? 0 : diceValue;
+    }
+
+    /**
+     * Returns the coordinates of all corners of the board
+     *
+     * @return set with the corner coordinates
+     */
+    Set<Point> getCornerPoints() {
+        return getCornerCoordinates();
+    }
+
+    /**
+     * Reports every occupied corner and edge to the listener, as if it had just been built on an
+     * empty board: the old value is null and the new value is the occupant. Each edge is reported
+     * once, from the corner which comes first in {@link #isCanonicalOrder(Point, Point)}.
+     *
+     * @param listener the listener
+     */
+    void replayOccupants(GameStateListener listener) {
+        for (Point corner : getCornerPoints()) {
+            String occupant = getCorner(corner);
+            if (occupant != null) {
+                listener.cornerChanged(corner, null, occupant);
+            }
+            for (Point other : getAdjacentCornerPoints(corner)) {
+                if (isCanonicalOrder(corner, other) && hasEdge(corner, other) && getEdge(corner, other) != null) {
+                    listener.edgeChanged(corner, other, null, getEdge(corner, other));
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the first corner of an edge comes before the second one, ordered by x and then by y
+     *
+     * @param p1 the first corner
+     * @param p2 the second corner
+     * @return true, if the corners are in canonical order
+     */
+    static boolean isCanonicalOrder(Point p1, Point p2) {
+        return p1.x < p2.x || (p1.x == p2.x && p1.y < p2.y);
+    }
+
+    /**
+     * Returns the coordinates of the (up to three) corners directly connected to the given corner
+     *
+     * @param corner the corner
+     * @return list with the adjacent corner coordinates
+     */
+    List<Point> getAdjacentCornerPoints(Point corner) {
+        return getAdjacentCorners(corner);
+    }
+
+    /**
+     * Returns the coordinates of the (up to three) fields touching the given corner
+     *
+     * @param corner the corner
+     * @return list with the coordinates of the existing adjacent fields
+     */
+    List<Point> getAdjacentFieldPoints(Point corner) {
+        List<Point> fields = new ArrayList<>();
+        for (Point field : getAdjacentFieldCoordinates(corner)) {
+            if (hasField(field)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Checks whether a settlement could be placed at the given corner without printing any errors.
+     * The road connection is not checked, so this corresponds to the rules of the founder's phase.
+     *
+     * @param corner the corner to check
+     * @return true, if the corner is free, on land and not adjacent to another building
+     */
+    boolean isFreeSettlementSpot(Point corner) {
+        return hasCorner(corner) && getCorner(corner) == null && !isCornerSurroundedByWater(corner)
+                && getNeighboursOfCorner(corner).isEmpty();
+    }
+
     /**
      * Set the thief on given field
      *
      * @param thiefField
      */
     public void setThiefField(Point thiefField) {
+        Point oldThiefField = this.thiefField;
         this.thiefField = thiefField;
+        for (GameStateListener listener : listeners) {
+            listener.thiefMoved(oldThiefField, thiefField);
+        }
+    }
+
+    /**
+     * Stores the data for the corner and informs the listeners about the change
+     *
+     * @param location the location of the corner
+     * @param data     the data to be stored
+     * @return the old data entry (or null)
+     */
+    @Override
+    public String setCorner(Point location, String data) {
+        String oldData = super.setCorner(location, data);
+        for (GameStateListener listener : listeners) {
+            listener.cornerChanged(location, oldData, data);
+        }
+        return oldData;
+    }
+
+    /**
+     * Stores the data for the edge and informs the listeners about the change
+     *
+     * @param p1   first point
+     * @param p2   second point
+     * @param data the data to be stored
+     */
+    @Override
+    public void setEdge(Point p1, Point p2, String data) {
+        String oldData = getEdge(p1, p2);
+        super.setEdge(p1, p2, data);
+        for (GameStateListener listener : listeners) {
+            listener.edgeChanged(p1, p2, oldData, data);
+        }
+    }
+
+    /**
+     * Registers a listener which is informed about changes of corners, edges and the thief
+     *
+     * @param listener the listener
+     */
+    void addListener(GameStateListener listener) {
+        listeners.add(listener);
     }
 
     /**
@@ -77,6 +251,13 @@ public class SiedlerBoard extends HexBoard<Land, String, String, String> {
         for (Point point : landPlacement.keySet()) {
             addField(point, landPlacement.get(point));
         }
+        for (Map.Entry<Point, Config.Harbor> harbor : harbors.entrySet()) {
+            for (Point field : getAdjacentFieldPoints(harbor.getKey())) {
+                if (getField(field) == Land.WATER) {
+                    addFieldAnnotation(field, harbor.getKey(), harbor.getValue().toString());
+                }
+            }
+        }
     }
 
     /**
@@ -99,19 +280,19 @@ public class SiedlerBoard extends HexBoard<Land, String, String, String> {
                         if (hasAdjacentRoad(coordinate, playerFaction)) {
                             return true;
                         }
-                        TextIOWrapper.printError(ConsoleText.ERRORNOTNEXTTOTWOROADS.toString());
+                        interaction.printError(ConsoleText.ERRORNOTNEXTTOTWOROADS.toString());
                         return false;
                     }
-                    TextIOWrapper.printError(ConsoleText.ERRORFIELDOCCUPIED.toString());
+                    interaction.printError(ConsoleText.ERRORFIELDOCCUPIED.toString());
                     return false;
                 }
-                TextIOWrapper.printError(ConsoleText.ERROROTHERFACTIONCLOSEBY.toString());
+                interaction.printError(ConsoleText.ERROROTHERFACTIONCLOSEBY.toString());
                 return false;
             }
-            TextIOWrapper.printError(ConsoleText.ERRORCANTBUILDINWATTER.toString());
+            interaction.printError(ConsoleText.ERRORCANTBUILDINWATTER.toString());
             return false;
         }
-        TextIOWrapper.printError(ConsoleText.ERRORNOTACORNER.toString());
+        interaction.printError(ConsoleText.ERRORNOTACORNER.toString());
         return false;
     }
 
@@ -128,19 +309,19 @@ public class SiedlerBoard extends HexBoard<Land, String, String, String> {
         if (hasCorner(coordinate)) {
             String corner = getCorner(coordinate);
             if (corner == null) {
-                TextIOWrapper.printError(ConsoleText.ERRORTHEREISNOSETTLEMENT.toString());
+                interaction.printError(ConsoleText.ERRORTHEREISNOSETTLEMENT.toString());
             } else if (isStringUpperCase(corner)) {
-                TextIOWrapper.printError(ConsoleText.ERRORTHEREISALREADYACITY.toString());
+                interaction.printError(ConsoleText.ERRORTHEREISALREADYACITY.toString());
             } else {
                 Config.Faction cornerFaction = SiedlerGame.getFactionFromName(corner);
                 if (cornerFaction == playerFaction) {
                     buildValid = true;
                 } else {
-                    TextIOWrapper.printError(ConsoleText.ERRORSETTLEMENTISNOTYOURS.toString());
+                    interaction.printError(ConsoleText.ERRORSETTLEMENTISNOTYOURS.toString());
                 }
             }
         } else {
-            TextIOWrapper.printError(ConsoleText.ERRORNOTANEDGE.toString());
+            interaction.printError(ConsoleText.ERRORNOTANEDGE.toString());
         }
         return buildValid;
     }
@@ -171,12 +352,12 @@ public class SiedlerBoard extends HexBoard<Land, String, String, String> {
         if (hasField(thiefField)) {
             Land land = getField(thiefField);
             if (land.equals(Land.WATER)) {
-                TextIOWrapper.printError(ConsoleText.ERRORCANTPLACETHIEFINWATER.toString());
+                interaction.printError(ConsoleText.ERRORCANTPLACETHIEFINWATER.toString());
             } else {
                 placementValid = true;
             }
         } else {
-            TextIOWrapper.printError(ConsoleText.ERRORNOTAFIELD.toString());
+            interaction.printError(ConsoleText.ERRORNOTAFIELD.toString());
         }
         return placementValid;
     }
@@ -197,6 +378,44 @@ public class SiedlerBoard extends HexBoard<Land, String, String, String> {
         return true;
     }
 
+    /**
+     * Returns the length of the longest road of a faction, i.e. the longest chain of its roads in which
+     * no road is used twice. A chain is interrupted at a building of another faction.
+     *
+     * @param faction the faction
+     * @return the number of roads in the longest chain
+     */
+    int getLongestRoadLength(Config.Faction faction) {
+        int longest = 0;
+        Set<List<Point>> usedRoads = new HashSet<>();
+        for (Point corner : getCornerPoints()) {
+            longest = Math.max(longest, getLongestRoadFrom(corner, faction, usedRoads));
+        }
+        return longest;
+    }
+
+    /**
+     * Searches the longest chain of roads of a faction starting at a corner, without the used roads
+     *
+     * @param corner    the corner
+     * @param faction   the faction
+     * @param usedRoads the roads already in the chain, as corners in canonical order
+     * @return the number of roads in the longest chain
+     */
+    private int getLongestRoadFrom(Point corner, Config.Faction faction, Set<List<Point>> usedRoads) {
+        int longest = 0;
+        for (Point other : getAdjacentCornerPoints(corner)) {
+            List<Point> road = isCanonicalOrder(corner, other) ? List.of(corner, other) : List.of(other, corner);
+            if (hasEdge(corner, other) && faction.toString().equals(getEdge(corner, other)) && usedRoads.add(road)) {
+                Config.Faction owner = Config.Faction.fromName(getCorner(other));
+                int length = 1 + (owner != null && owner != faction ? 0 : getLongestRoadFrom(other, faction, usedRoads));
+                longest = Math.max(longest, length);
+                usedRoads.remove(road);
+            }
+        }
+        return longest;
+    }
+
     /**
      * Checks if there is an adjacent road next to the target-coordinate which is build by the given player
      *
@@ -246,7 +465,7 @@ public class SiedlerBoard extends HexBoard<Land, String, String, String> {
                 return true;
             }
         }
-        TextIOWrapper.printError(ConsoleText.ERRORNEXTTOSECONDSETTLEMENT.toString());
+        interaction.printError(ConsoleText.ERRORNEXTTOSECONDSETTLEMENT.toString());
         return false;
     }
 
@@ -261,9 +480,28 @@ public class SiedlerBoard extends HexBoard<Land, String, String, String> {
      * @return check result
      */
     boolean isValidBuildPointForRoad(Point roadStart, Point roadEnd, Player player, boolean initial) {
+        return isValidBuildPointForRoad(roadStart, roadEnd, player, initial, null, null);
+    }
+
+    /**
+     * Checks if it's possible to build a Road between given coordinates, if the player had already built
+     * a planned road which is not placed on the board yet
+     *
+     * @param roadStart        start-coordinate
+     * @param roadEnd          end-coordinate
+     * @param player           player
+     * @param plannedRoadStart start-coordinate of the planned road, null if there is none
+     * @param plannedRoadEnd   end-coordinate of the planned road, null if there is none
+     * @return check result
+     */
+    boolean isValidBuildPointForRoad(Point roadStart, Point roadEnd, Player player, boolean initial,
+                                     Point plannedRoadStart, Point plannedRoadEnd) {
         if (hasEdge(roadStart, roadEnd)) {
             if (!isCornerSurroundedByWater(roadStart) && !isCornerSurroundedByWater(roadEnd)) {
-                boolean isEdgeEmpty = getEdge(roadStart, roadEnd) == null || getEdge(roadStart, roadEnd).equals("");
+                boolean isPlannedRoad = plannedRoadStart != null
+                        && (roadStart.equals(plannedRoadStart) && roadEnd.equals(plannedRoadEnd)
+                        || roadStart.equals(plannedRoadEnd) && roadEnd.equals(plannedRoadStart));
+                boolean isEdgeEmpty = !isPlannedRoad && (getEdge(roadStart, roadEnd) == null || getEdge(roadStart, roadEnd).equals(""));
                 boolean ownBuildingAdjacent = (getCorner(roadStart) != null && getCorner(roadStart).equals(player.getFaction().toString().toLowerCase()))
                         || (getCorner(roadEnd) != null && getCorner(roadEnd).equals(player.getFaction().toString()));
                 if (initial) {
@@ -272,21 +510,25 @@ public class SiedlerBoard extends HexBoard<Land, String, String, String> {
                     } else if (ownBuildingAdjacent) {
                         return true;
                     } else {
-                        TextIOWrapper.printError(ConsoleText.ERRORNEXTTOFIRSTSETTLEMENT.toString());
+                        interaction.printError(ConsoleText.ERRORNEXTTOFIRSTSETTLEMENT.toString());
                         return false;
                     }
                 }
                 List<String> neighboursEdgesOfStart = getAdjacentEdges(roadStart);
                 List<String> neighboursEdgesOfEnd = getAdjacentEdges(roadEnd);
-                boolean ownRoadAdjacentStart = false;
-                boolean ownRoadAdjacentEnd = false;
-                for (String possibleRoadSpot : neighboursEdgesOfStart) {
-                    if (possibleRoadSpot != null && possibleRoadSpot.equals(player.getFaction().toString())) {
-                        ownRoadAdjacentStart = true;
-                        break;
+                boolean ownRoadAdjacentStart = plannedRoadStart != null
+                        && (roadStart.equals(plannedRoadStart) || roadStart.equals(plannedRoadEnd));
+                boolean ownRoadAdjacentEnd = plannedRoadStart != null
+                        && (roadEnd.equals(plannedRoadStart) || roadEnd.equals(plannedRoadEnd));
+                if (!ownRoadAdjacentStart && !ownRoadAdjacentEnd) {
+                    for (String possibleRoadSpot : neighboursEdgesOfStart) {
+                        if (possibleRoadSpot != null && possibleRoadSpot.equals(player.getFaction().toString())) {
+                            ownRoadAdjacentStart = true;
+                            break;
+                        }
                     }
                 }
-                if (!ownRoadAdjacentStart) {
+                if (!ownRoadAdjacentStart && !ownRoadAdjacentEnd) {
                     for (String possibleRoadSpot : neighboursEdgesOfEnd) {
                         if (possibleRoadSpot != null && possibleRoadSpot.equals(player.getFaction().toString())) {
                             ownRoadAdjacentEnd = true;
@@ -297,13 +539,13 @@ public class SiedlerBoard extends HexBoard<Land, String, String, String> {
                 if (isEdgeEmpty && (ownBuildingAdjacent || ownRoadAdjacentStart || ownRoadAdjacentEnd)) {
                     return true;
                 }
-                TextIOWrapper.printError(ConsoleText.ERRORROADNEXTTOCONSTRUCTION.toString());
+                interaction.printError(ConsoleText.ERRORROADNEXTTOCONSTRUCTION.toString());
                 return false;
             }
-            TextIOWrapper.printError(ConsoleText.ERRORROADINWATER.toString());
+            interaction.printError(ConsoleText.ERRORROADINWATER.toString());
             return false;
         }
-        TextIOWrapper.printError(ConsoleText.ERRORNOTANEDGE.toString());
+        interaction.printError(ConsoleText.ERRORNOTANEDGE.toString());
         return false;
     }
 }
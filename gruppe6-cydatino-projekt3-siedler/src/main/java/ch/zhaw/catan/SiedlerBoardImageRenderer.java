@@ -0,0 +1,488 @@
+package ch.zhaw.catan;
+
+import ch.zhaw.catan.Config.Faction;
+import ch.zhaw.catan.Config.Land;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class draws a siedler board as an image, so the final boards of simulated games can be browsed.
+ * It draws the lands, the dice numbers (chips), the thief, the roads and the buildings.
+ * <p>
+ * A board can be drawn into an offscreen {@link BufferedImage} and written as PNG, or it can be written
+ * as SVG text. Both work without a display. The images of the land tiles and the chips are drawn only once
+ * per renderer and then copied onto every board (sprites); in SVG, every tile refers to a single hexagon
+ * definition. Many boards can be written in parallel on a thread pool with
+ * {@link #renderBatch(List, Path, Format, ExecutorService)}.
+ * </p>
+ * <p>
+ * A board must not be modified while it is drawn.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 27.12.2021
+ */
+public class SiedlerBoardImageRenderer {
+    static final int DEFAULT_TILE_RADIUS = 40;
+    private static final Map<Land, Color> LAND_COLORS = new EnumMap<>(Map.of(
+            Land.FOREST, new Color(34, 120, 50), Land.PASTURE, new Color(140, 210, 110),
+            Land.FIELDS, new Color(235, 200, 60), Land.MOUNTAIN, new Color(130, 130, 140),
+            Land.HILLS, new Color(195, 95, 60), Land.WATER, new Color(70, 130, 190),
+            Land.DESERT, new Color(230, 205, 160)));
+    private static final Color[] FACTION_COLORS = {
+            new Color(220, 30, 30), new Color(30, 60, 220), new Color(30, 160, 50), new Color(240, 220, 30),
+            new Color(245, 140, 20), new Color(250, 250, 250), new Color(130, 40, 170), new Color(120, 70, 30),
+            new Color(40, 210, 220), new Color(220, 40, 200), new Color(150, 230, 40), new Color(20, 128, 128),
+            new Color(250, 160, 200), new Color(150, 150, 150), new Color(20, 30, 110), new Color(210, 170, 40)};
+    private static final Color OUTLINE = new Color(50, 50, 50);
+    private static final Color CHIP = new Color(250, 240, 215);
+    private static final Color RED_NUMBER = new Color(200, 20, 20);
+    private static final Color THIEF = new Color(20, 20, 20, 200);
+    // corners of a tile clockwise from the top, in units of the y coordinate
+    private static final int[] HEXAGON_UNITS_Y = {-2, -1, 1, 2, 1, -1};
+    private static final Comparator<Point> ROW_ORDER = Comparator.comparingInt((Point p) -> p.y)
+            .thenComparingInt(p -> p.x);
+
+    /**
+     * The formats of the images
+     */
+    public enum Format {
+        PNG("png"), SVG("svg");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        /**
+         * Returns the file name extension of the format
+         *
+         * @return the extension without the dot
+         */
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final int tileRadius;
+    private final double unitX;
+    private final double unitY;
+    private final double margin;
+    private final Map<Land, BufferedImage> tileSprites = new ConcurrentHashMap<>();
+    private final Map<Integer, BufferedImage> chipSprites = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a renderer with the default tile size
+     */
+    public SiedlerBoardImageRenderer() {
+        this(DEFAULT_TILE_RADIUS);
+    }
+
+    /**
+     * Constructs a renderer
+     *
+     * @param tileRadius the distance from the center of a tile to its corners in pixels
+     * @throws IllegalArgumentException if the radius is smaller than 4 pixels
+     */
+    public SiedlerBoardImageRenderer(int tileRadius) {
+        if (tileRadius < 4) {
+            throw new IllegalArgumentException("Tile radius must be at least 4 pixels: " + tileRadius);
+        }
+        this.tileRadius = tileRadius;
+        // a corner is one unit beside and two units above or below the center of its field
+        this.unitX = tileRadius * Math.sqrt(3) / 2;
+        this.unitY = tileRadius / 2.0;
+        this.margin = tileRadius / 2.0;
+    }
+
+    /**
+     * Returns the number of land and chip images drawn so far
+     *
+     * @return the number of cached sprites
+     */
+    int getCachedSpriteCount() {
+        return tileSprites.size() + chipSprites.size();
+    }
+
+    /**
+     * Returns the width of the image of the board in pixels
+     *
+     * @param board the board
+     * @return the width
+     */
+    public int getWidth(SiedlerBoard board) {
+        int maxX = 0;
+        for (Point field : board.getFields()) {
+            maxX = Math.max(maxX, field.x + 1);
+        }
+        return (int) Math.ceil(2 * margin + maxX * unitX);
+    }
+
+    /**
+     * Returns the height of the image of the board in pixels
+     *
+     * @param board the board
+     * @return the height
+     */
+    public int getHeight(SiedlerBoard board) {
+        int maxY = 0;
+        for (Point field : board.getFields()) {
+            maxY = Math.max(maxY, field.y + 2);
+        }
+        return (int) Math.ceil(2 * margin + maxY * unitY);
+    }
+
+    /**
+     * Draws the board into a new image
+     *
+     * @param board the board
+     * @return the image
+     */
+    public BufferedImage renderImage(SiedlerBoard board) {
+        BufferedImage image = new BufferedImage(getWidth(board), getHeight(board), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            for (Point field : board.getFields()) {
+                drawSprite(g, getTileSprite(board.getField(field)), field);
+                if (hasChip(board, field)) {
+                    drawSprite(g, getChipSprite(board.getDiceValue(field)), field);
+                }
+            }
+            drawThief(g, board.getThiefField());
+            g.setStroke(new BasicStroke(tileRadius / 8f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+            for (Point[] road : getRoads(board)) {
+                g.setColor(getFactionColor(board.getEdge(road[0], road[1])));
+                g.drawLine(toPixelX(road[0].x), toPixelY(road[0].y), toPixelX(road[1].x), toPixelY(road[1].y));
+            }
+            g.setStroke(new BasicStroke(1f));
+            for (Point corner : getBuildings(board)) {
+                String building = board.getCorner(corner);
+                int size = getBuildingSize(building);
+                int x = toPixelX(corner.x) - size / 2;
+                int y = toPixelY(corner.y) - size / 2;
+                g.setColor(getFactionColor(building));
+                g.fillRect(x, y, size, size);
+                g.setColor(OUTLINE);
+                g.drawRect(x, y, size, size);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Writes the board as PNG image
+     *
+     * @param board the board
+     * @param out   the output, which is not closed
+     * @throws IOException if the output fails
+     */
+    public void writePng(SiedlerBoard board, OutputStream out) throws IOException {
+        if (!ImageIO.write(renderImage(board), Format.PNG.getExtension(), out)) {
+            throw new IOException("No PNG writer available");
+        }
+    }
+
+    /**
+     * Writes the board as SVG image. The tiles refer to a single hexagon, which is defined once.
+     *
+     * @param board the board
+     * @param out   the output
+     * @throws IOException if the output fails
+     */
+    public void writeSvg(SiedlerBoard board, Appendable out) throws IOException {
+        out.append(String.format(Locale.ROOT,
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" "
+                        + "width=\"%d\" height=\"%d\">%n", getWidth(board), getHeight(board)));
+        out.append("<defs><polygon id=\"tile\" stroke=\"").append(toHex(OUTLINE)).append("\" points=\"");
+        for (int i = 0; i < 6; i++) {
+            out.append(String.format(Locale.ROOT, "%s%.2f,%.2f", i == 0 ? "" : " ",
+                    getHexagonX(i), getHexagonY(i)));
+        }
+        out.append("\"/></defs>").append(System.lineSeparator());
+        List<Point> fields = new ArrayList<>(board.getFields());
+        fields.sort(ROW_ORDER);
+        for (Point field : fields) {
+            out.append(String.format(Locale.ROOT, "<use xlink:href=\"#tile\" x=\"%d\" y=\"%d\" fill=\"%s\"/>%n",
+                    toPixelX(field.x), toPixelY(field.y), toHex(LAND_COLORS.get(board.getField(field)))));
+        }
+        int chipRadius = getChipRadius();
+        for (Point field : fields) {
+            if (hasChip(board, field)) {
+                int diceValue = board.getDiceValue(field);
+                out.append(String.format(Locale.ROOT,
+                        "<circle cx=\"%d\" cy=\"%d\" r=\"%d\" fill=\"%s\" stroke=\"%s\"/>"
+                                + "<text x=\"%d\" y=\"%d\" font-family=\"sans-serif\" font-weight=\"bold\" "
+                                + "font-size=\"%d\" text-anchor=\"middle\" fill=\"%s\">%d</text>%n",
+                        toPixelX(field.x), toPixelY(field.y), chipRadius, toHex(CHIP), toHex(OUTLINE),
+                        toPixelX(field.x), toPixelY(field.y) + chipRadius / 2, chipRadius,
+                        toHex(getNumberColor(diceValue)), diceValue));
+            }
+        }
+        Point thief = board.getThiefField();
+        if (thief != null) {
+            out.append(String.format(Locale.ROOT, "<circle cx=\"%d\" cy=\"%d\" r=\"%d\" fill=\"%s\" "
+                            + "fill-opacity=\"%.2f\"/>%n", toPixelX(thief.x), toPixelY(thief.y), getThiefRadius(),
+                    toHex(THIEF), THIEF.getAlpha() / 255.0));
+        }
+        for (Point[] road : getRoads(board)) {
+            out.append(String.format(Locale.ROOT, "<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"%s\" "
+                            + "stroke-width=\"%.2f\" stroke-linecap=\"round\"/>%n",
+                    toPixelX(road[0].x), toPixelY(road[0].y), toPixelX(road[1].x), toPixelY(road[1].y),
+                    toHex(getFactionColor(board.getEdge(road[0], road[1]))), tileRadius / 8.0));
+        }
+        for (Point corner : getBuildings(board)) {
+            String building = board.getCorner(corner);
+            int size = getBuildingSize(building);
+            out.append(String.format(Locale.ROOT,
+                    "<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"%s\" stroke=\"%s\"/>%n",
+                    toPixelX(corner.x) - size / 2, toPixelY(corner.y) - size / 2, size, size,
+                    toHex(getFactionColor(building)), toHex(OUTLINE)));
+        }
+        out.append("</svg>").append(System.lineSeparator());
+    }
+
+    /**
+     * Writes the boards as image files into the directory, in parallel on a thread pool of its own with one
+     * thread per processor, see {@link #renderBatch(List, Path, Format, ExecutorService)}. The pool is shut
+     * down when all files are written. The common ForkJoinPool is not used, since writing the files blocks.
+     *
+     * @param boards    the boards
+     * @param directory the directory, which is created if it does not exist
+     * @param format    the format of the images
+     * @return the files in the order of the boards
+     * @throws IOException if a file cannot be written
+     */
+    public List<Path> renderBatch(List<SiedlerBoard> boards, Path directory, Format format) throws IOException {
+        int threads = Math.max(1, Math.min(boards.size(), Runtime.getRuntime().availableProcessors()));
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "board-renderer-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return renderBatch(boards, directory, format, pool);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes the boards as image files into the directory, in parallel on the given thread pool. The file of
+     * the i-th board is called board-i.png or board-i.svg, with i padded to five digits. The sprites are
+     * shared by all threads.
+     *
+     * @param boards    the boards
+     * @param directory the directory, which is created if it does not exist
+     * @param format    the format of the images
+     * @param pool      the thread pool
+     * @return the files in the order of the boards
+     * @throws IOException if a file cannot be written
+     */
+    public List<Path> renderBatch(List<SiedlerBoard> boards, Path directory, Format format, ExecutorService pool)
+            throws IOException {
+        Files.createDirectories(directory);
+        List<Callable<Path>> tasks = new ArrayList<>();
+        for (int i = 0; i < boards.size(); i++) {
+            SiedlerBoard board = boards.get(i);
+            Path file = directory.resolve(String.format(Locale.ROOT, "board-%05d.%s", i, format.getExtension()));
+            tasks.add(() -> {
+                if (format == Format.PNG) {
+                    try (OutputStream out = Files.newOutputStream(file)) {
+                        writePng(board, out);
+                    }
+                } else {
+                    try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                        writeSvg(board, out);
+                    }
+                }
+                return file;
+            });
+        }
+        List<Path> files = new ArrayList<>();
+        try {
+            for (Future<Path> future : pool.invokeAll(tasks)) {
+                files.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Rendering was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Rendering failed", e.getCause());
+        }
+        return files;
+    }
+
+    private BufferedImage getTileSprite(Land land) {
+        return tileSprites.computeIfAbsent(land, l -> {
+            BufferedImage sprite = createSprite();
+            Graphics2D g = createSpriteGraphics(sprite);
+            Polygon hexagon = new Polygon();
+            for (int i = 0; i < 6; i++) {
+                hexagon.addPoint((int) Math.round(sprite.getWidth() / 2.0 + getHexagonX(i)),
+                        (int) Math.round(sprite.getHeight() / 2.0 + getHexagonY(i)));
+            }
+            g.setColor(LAND_COLORS.get(l));
+            g.fillPolygon(hexagon);
+            g.setColor(OUTLINE);
+            g.drawPolygon(hexagon);
+            g.dispose();
+            return sprite;
+        });
+    }
+
+    private BufferedImage getChipSprite(int diceValue) {
+        return chipSprites.computeIfAbsent(diceValue, value -> {
+            BufferedImage sprite = createSprite();
+            Graphics2D g = createSpriteGraphics(sprite);
+            int radius = getChipRadius();
+            int centerX = sprite.getWidth() / 2;
+            int centerY = sprite.getHeight() / 2;
+            g.setColor(CHIP);
+            g.fillOval(centerX - radius, centerY - radius, 2 * radius, 2 * radius);
+            g.setColor(OUTLINE);
+            g.drawOval(centerX - radius, centerY - radius, 2 * radius, 2 * radius);
+            g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, radius));
+            g.setColor(getNumberColor(value));
+            FontMetrics metrics = g.getFontMetrics();
+            String text = Integer.toString(value);
+            g.drawString(text, centerX - metrics.stringWidth(text) / 2,
+                    centerY + (metrics.getAscent() - metrics.getDescent()) / 2);
+            g.dispose();
+            return sprite;
+        });
+    }
+
+    private BufferedImage createSprite() {
+        return new BufferedImage((int) Math.ceil(2 * unitX) + 2, 2 * tileRadius + 2, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static Graphics2D createSpriteGraphics(BufferedImage sprite) {
+        Graphics2D g = sprite.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        return g;
+    }
+
+    private void drawSprite(Graphics2D g, BufferedImage sprite, Point field) {
+        g.drawImage(sprite, toPixelX(field.x) - sprite.getWidth() / 2, toPixelY(field.y) - sprite.getHeight() / 2,
+                null);
+    }
+
+    private void drawThief(Graphics2D g, Point thief) {
+        if (thief != null) {
+            int radius = getThiefRadius();
+            g.setColor(THIEF);
+            g.fillOval(toPixelX(thief.x) - radius, toPixelY(thief.y) - radius, 2 * radius, 2 * radius);
+        }
+    }
+
+    /**
+     * Returns the roads of the board, each as pair of corners, ordered by their first corner
+     */
+    private static List<Point[]> getRoads(SiedlerBoard board) {
+        List<Point[]> roads = new ArrayList<>();
+        for (Point corner : getSortedCorners(board)) {
+            for (Point other : board.getAdjacentCornerPoints(corner)) {
+                if (ROW_ORDER.compare(corner, other) < 0 && board.getEdge(corner, other) != null) {
+                    roads.add(new Point[]{corner, other});
+                }
+            }
+        }
+        return roads;
+    }
+
+    private static List<Point> getBuildings(SiedlerBoard board) {
+        List<Point> buildings = new ArrayList<>();
+        for (Point corner : getSortedCorners(board)) {
+            if (board.getCorner(corner) != null) {
+                buildings.add(corner);
+            }
+        }
+        return buildings;
+    }
+
+    private static List<Point> getSortedCorners(SiedlerBoard board) {
+        List<Point> corners = new ArrayList<>(board.getCornerPoints());
+        corners.sort(ROW_ORDER);
+        return corners;
+    }
+
+    private static boolean hasChip(SiedlerBoard board, Point field) {
+        // the desert has a dice value in the standard placement, but no chip
+        return board.getDiceValue(field) > 0 && board.getField(field).getResource() != null;
+    }
+
+    private int getBuildingSize(String building) {
+        // cities are written in upper case
+        int settlementSize = Math.max(3, tileRadius * 3 / 10);
+        return Character.isUpperCase(building.charAt(0)) ? settlementSize * 3 / 2 : settlementSize;
+    }
+
+    private int getChipRadius() {
+        return Math.max(2, tileRadius * 2 / 5);
+    }
+
+    private int getThiefRadius() {
+        return Math.max(2, tileRadius / 4);
+    }
+
+    private static Color getNumberColor(int diceValue) {
+        return diceValue == 6 || diceValue == 8 ? RED_NUMBER : OUTLINE;
+    }
+
+    private static Color getFactionColor(String name) {
+        Faction faction = Faction.fromName(name);
+        return faction == null ? OUTLINE : FACTION_COLORS[faction.ordinal()];
+    }
+
+    private double getHexagonX(int corner) {
+        // corners clockwise from the top: 0, +1, +1, 0, -1, -1 units
+        return corner % 3 == 0 ? 0 : (corner < 3 ? unitX : -unitX);
+    }
+
+    private double getHexagonY(int corner) {
+        return HEXAGON_UNITS_Y[corner] * unitY;
+    }
+
+    private int toPixelX(int x) {
+        return (int) Math.round(margin + x * unitX);
+    }
+
+    private int toPixelY(int y) {
+        return (int) Math.round(margin + y * unitY);
+    }
+
+    private static String toHex(Color color) {
+        return String.format("#%02x%02x%02x", color.getRed(), color.getGreen(), color.getBlue());
+    }
+}
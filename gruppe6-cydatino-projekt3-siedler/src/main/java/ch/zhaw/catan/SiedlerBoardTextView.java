@@ -1,10 +1,12 @@
 package ch.zhaw.catan;
 
+import ch.zhaw.catan.Config.Faction;
 import ch.zhaw.catan.Config.Land;
 import ch.zhaw.hexboard.HexBoardTextView;
 import ch.zhaw.hexboard.Label;
 
 import java.awt.*;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
@@ -19,6 +21,12 @@ import java.util.Map;
  * @version 10.12.2021
  */
 public class SiedlerBoardTextView extends HexBoardTextView<Land, String, String, String> {
+    // ANSI color parameters, the factions use the 256 color palette
+    private static final Map<Land, String> LAND_COLORS = new EnumMap<>(Map.of(
+            Land.FOREST, "32", Land.PASTURE, "92", Land.FIELDS, "93", Land.MOUNTAIN, "90",
+            Land.HILLS, "31", Land.WATER, "34", Land.DESERT, "33"));
+    private static final int[] FACTION_COLORS = {
+            196, 21, 46, 226, 208, 231, 129, 94, 51, 201, 118, 30, 218, 245, 17, 220};
     private SiedlerBoard board;
     private Point visibleThiefPoint;
     private Label byThiefCoveredChipNumber;
@@ -52,6 +60,20 @@ public class SiedlerBoardTextView extends HexBoardTextView<Land, String, String,
         visibleThiefPoint = thiefField;
     }
 
+    /**
+     * Colors the lands and the buildings and roads of the factions with ANSI
+     * escape sequences, for terminals which support 256 colors
+     */
+    public void useAnsiColors() {
+        setLabelColors(data -> {
+            if (data instanceof Land) {
+                return LAND_COLORS.get(data);
+            }
+            Faction faction = Faction.fromName(data.toString());
+            return faction == null ? null : "1;38;5;" + FACTION_COLORS[faction.ordinal()];
+        });
+    }
+
     /**
      * Adds the chip numbers to the text view
      */
@@ -16,12 +16,24 @@ import java.util.*;
 public class SiedlerGame {
     static final int FOUR_TO_ONE_TRADE_OFFER = 4;
     static final int FOUR_TO_ONE_TRADE_WANT = 1;
-    private List<Player> players = new ArrayList<>();
+    private static final int MIN_DICE_VALUE = 2;
+    private static final int MAX_DICE_VALUE = 12;
+    private static final int DICE_VALUE_THIEF = 7;
+    private final PlayerRegistry playerRegistry;
+    private final List<Player> players;
+    private final TradeMatcher tradeMatcher;
+    private final DevelopmentDeck developmentDeck;
+    private final VictoryPointLedger victoryPoints;
+    private Player largestArmy;
+    private Player longestRoad;
     private SiedlerBoard board;
     private Player currentPlayer;
     private Bank bank;
-    private int winPoints;
     private Random random = new Random();
+    private final List<GameStateListener> listeners = new ArrayList<>();
+    private final GameInteraction interaction;
+    private ZobristHash positionHash;
+    private ThiefPlacementOptimizer thiefOptimizer;
 
     /**
      * Constructs a SiedlerGame game state object.
@@ -32,47 +44,88 @@ public class SiedlerGame {
      *                                  three or players is not between two and four
      */
     public SiedlerGame(int winPoints, int numberOfPlayers) {
-        players.addAll(Player.initializePlayers(numberOfPlayers));
-        if (!players.isEmpty()) {
-            currentPlayer = players.get(0);
-        }
-        this.board = new SiedlerBoard();
-        this.winPoints = winPoints;
+        this(winPoints, numberOfPlayers, TextIOWrapper.getConsole());
+    }
+
+    /**
+     * Constructs a SiedlerGame game state object which interacts with the players through the given interaction.
+     *
+     * @param winPoints       the number of points required to win the game
+     * @param numberOfPlayers the number of players
+     * @param interaction     the interaction of this game, e.g. a {@link NoOpInteraction} for simulations
+     * @throws IllegalArgumentException if winPoints is lower than
+     *                                  three or players is not between two and four
+     */
+    public SiedlerGame(int winPoints, int numberOfPlayers, GameInteraction interaction) {
+        this.interaction = interaction;
+        this.playerRegistry = new PlayerRegistry(Player.initializePlayers(numberOfPlayers, interaction));
+        this.players = playerRegistry.asList();
+        this.currentPlayer = playerRegistry.getCurrentPlayer();
+        this.tradeMatcher = new TradeMatcher(playerRegistry);
+        this.board = new SiedlerBoard(interaction);
+        this.victoryPoints = new VictoryPointLedger(winPoints, listeners);
         this.bank = new Bank();
+        this.developmentDeck = new DevelopmentDeck(random.nextLong());
+        this.positionHash = new ZobristHash(this);
+        addGameStateListener(positionHash);
+        this.thiefOptimizer = new ThiefPlacementOptimizer(this);
+        addGameStateListener(thiefOptimizer);
+    }
+
+    /**
+     * Registers a listener which is informed about every change of the board, the
+     * resources of the players and the current player.
+     *
+     * @param listener the listener
+     */
+    public void addGameStateListener(GameStateListener listener) {
+        listeners.add(listener);
+        board.addListener(listener);
+        for (Player player : players) {
+            player.addListener(listener);
+        }
+    }
+
+    /**
+     * Returns the Zobrist hash of the current position, which is updated incrementally on every change.
+     *
+     * @return the hash of the current position
+     */
+    public long getPositionHash() {
+        return positionHash.getValue();
     }
 
     /**
      * Returns searched faction
      */
     static Faction getFactionFromName(String name) {
-        Faction searchedFaction = null;
-        for (Faction faction : Faction.values()) {
-            if (faction.toString().equals(name.toLowerCase())) {
-                searchedFaction = faction;
-            }
-        }
-        return searchedFaction;
+        return Faction.fromName(name);
     }
 
     /**
      * Switches to the next player in the defined sequence of players.
      */
     public void switchToNextPlayer() {
-        try {
-            currentPlayer = players.get(players.indexOf(currentPlayer) + 1);
-        } catch (IndexOutOfBoundsException e) {
-            currentPlayer = players.get(0);
-        }
+        setCurrentPlayer(playerRegistry.next());
     }
 
     /**
      * Switches to the previous player in the defined sequence of players.
      */
     public void switchToPreviousPlayer() {
-        try {
-            currentPlayer = players.get(players.indexOf(currentPlayer) - 1);
-        } catch (IndexOutOfBoundsException e) {
-            currentPlayer = players.get(players.size() - 1);
+        setCurrentPlayer(playerRegistry.previous());
+    }
+
+    /**
+     * Sets the current player and informs the listeners about the change
+     *
+     * @param player the new current player
+     */
+    private void setCurrentPlayer(Player player) {
+        Player oldPlayer = currentPlayer;
+        currentPlayer = player;
+        for (GameStateListener listener : listeners) {
+            listener.currentPlayerChanged(oldPlayer, player);
         }
     }
 
@@ -123,11 +176,7 @@ public class SiedlerGame {
      * @return the number of resource cards of this type
      */
     public int getCurrentPlayerResourceStock(Resource resource) {
-        int amountOfGivenResource = 0;
-        if (currentPlayer.getResources().get(resource) != null) {
-            amountOfGivenResource = currentPlayer.getResources().get(resource);
-        }
-        return amountOfGivenResource;
+        return currentPlayer.getResourceCount(resource);
     }
 
     /**
@@ -144,15 +193,16 @@ public class SiedlerGame {
      */
     public boolean placeInitialSettlement(Point position, boolean payout) {
         boolean successful = false;
-        Settlement settlement = new Settlement(Config.Structure.SETTLEMENT, getCurrentPlayerFaction().toString());
-        if (board.isValidBuildPointForSettlement(position, getCurrentPlayerFaction(), true) && !isBuildinglimitReached(settlement)) {
-            board.setCorner(position, settlement.getName());
+        if (board.isValidBuildPointForSettlement(position, getCurrentPlayerFaction(), true) && !isStructureLimitReached(Config.Structure.SETTLEMENT)) {
+            board.setCorner(position, getCurrentPlayerFaction().toString());
             successful = true;
-            currentPlayer.addPoints(1);
-            currentPlayer.addStructure(settlement);
+            victoryPoints.addPoints(currentPlayer, VictoryPointLedger.Source.SETTLEMENT, 1);
+            currentPlayer.addStructure(Config.Structure.SETTLEMENT);
+            registerHarbor(position);
             if (payout) {
                 distributeInitialResources(position);
             }
+            updateLongestRoad();
         }
 
         return successful;
@@ -181,7 +231,7 @@ public class SiedlerGame {
      * @return true, if the placement was successful
      */
     public boolean placeInitialRoad(Point roadStart, Point roadEnd) {
-        if (board.isValidBuildPointForRoad(roadStart, roadEnd, currentPlayer, true) && !isRoadlimitReached()) {
+        if (board.isValidBuildPointForRoad(roadStart, roadEnd, currentPlayer, true) && !isStructureLimitReached(Config.Structure.ROAD)) {
             board.setEdge(roadStart, roadEnd, getCurrentPlayerFaction().toString());
             currentPlayer.addRoad();
             return true;
@@ -241,6 +291,115 @@ public class SiedlerGame {
         return resourceToStock;
     }
 
+    /**
+     * Computes the total income of many dice throws on the current position in one pass.
+     * <p>
+     * Unlike {@link #throwDice(int)}, nothing is paid out or printed. Each throw is evaluated on the current
+     * position: fields blocked by the thief produce nothing and a seven produces nothing. If the bank does not
+     * have enough cards of a resource for a throw, nobody gets this resource, unless only one faction
+     * is entitled to it, which then gets the remaining cards.
+     * </p>
+     *
+     * @param diceHistogram the number of throws per dice value, indexed by the dice value (e.g. length 13)
+     * @return the income per faction and resource, indexed by {@link Faction#ordinal()} and {@link Resource#ordinal()}
+     * @throws IllegalArgumentException if a count is negative
+     */
+    public long[][] throwDiceBatch(int[] diceHistogram) {
+        int resourceCount = Resource.values().length;
+        long[][] income = new long[Faction.values().length][resourceCount];
+        int[] bankStock = new int[resourceCount];
+        for (Resource resource : Resource.values()) {
+            bankStock[resource.ordinal()] = bank.getStock(resource);
+        }
+        for (int dice = 0; dice < diceHistogram.length; dice++) {
+            if (diceHistogram[dice] < 0) {
+                throw new IllegalArgumentException("Number of throws must not be negative");
+            }
+            if (diceHistogram[dice] > 0) {
+                int[][] yield = computeDiceYield(dice);
+                for (int resource = 0; resource < resourceCount; resource++) {
+                    limitYieldToBankStock(yield, resource, bankStock[resource]);
+                }
+                for (int faction = 0; faction < yield.length; faction++) {
+                    for (int resource = 0; resource < resourceCount; resource++) {
+                        income[faction][resource] += (long) yield[faction][resource] * diceHistogram[dice];
+                    }
+                }
+            }
+        }
+        return income;
+    }
+
+    /**
+     * Computes the total income of a sequence of dice throws on the current position,
+     * see {@link #throwDiceBatch(int[])}.
+     *
+     * @param diceValues the thrown dice values (2 to 12)
+     * @return the income per faction and resource, indexed by {@link Faction#ordinal()} and {@link Resource#ordinal()}
+     * @throws IllegalArgumentException if a dice value is not between 2 and 12
+     */
+    public long[][] throwDiceBatchForValues(int[] diceValues) {
+        int[] diceHistogram = new int[MAX_DICE_VALUE + 1];
+        for (int diceValue : diceValues) {
+            if (diceValue < MIN_DICE_VALUE || diceValue > MAX_DICE_VALUE) {
+                throw new IllegalArgumentException("Invalid dice value: " + diceValue);
+            }
+            diceHistogram[diceValue]++;
+        }
+        return throwDiceBatch(diceHistogram);
+    }
+
+    /**
+     * Computes the cards each faction gets for a single throw of the given dice value,
+     * without considering the stock of the bank
+     *
+     * @param diceValue the dice value
+     * @return the cards per faction and resource
+     */
+    private int[][] computeDiceYield(int diceValue) {
+        int[][] yield = new int[Faction.values().length][Resource.values().length];
+        if (diceValue == DICE_VALUE_THIEF) {
+            return yield;
+        }
+        for (Point fieldPoint : board.getFieldsForDiceValue(diceValue)) {
+            Resource resource = board.getField(fieldPoint).getResource();
+            if (resource != null && !fieldPoint.equals(board.getThiefField())) {
+                for (String corner : board.getCornersOfField(fieldPoint)) {
+                    if (corner != null) {
+                        boolean city = Character.isUpperCase(corner.charAt(0)) && Character.isUpperCase(corner.charAt(1));
+                        yield[getFactionFromName(corner).ordinal()][resource.ordinal()] += city ? 2 : 1;
+                    }
+                }
+            }
+        }
+        return yield;
+    }
+
+    /**
+     * Applies the rule for a bank running out of a resource to the yield of a single throw
+     *
+     * @param yield     the cards per faction and resource
+     * @param resource  the ordinal of the resource
+     * @param bankStock the cards of the resource left in the bank
+     */
+    private static void limitYieldToBankStock(int[][] yield, int resource, int bankStock) {
+        int demand = 0;
+        int entitledFactions = 0;
+        for (int[] factionYield : yield) {
+            demand += factionYield[resource];
+            if (factionYield[resource] > 0) {
+                entitledFactions++;
+            }
+        }
+        if (demand > bankStock) {
+            for (int[] factionYield : yield) {
+                if (factionYield[resource] > 0) {
+                    factionYield[resource] = entitledFactions == 1 ? bankStock : 0;
+                }
+            }
+        }
+    }
+
     /**
      * Helper Methode that creates an empty resource stock for each player
      *
@@ -269,16 +428,30 @@ public class SiedlerGame {
      */
     public boolean buildSettlement(Point position) {
         boolean built = false;
-        Settlement settlement = new Settlement(Config.Structure.SETTLEMENT, getCurrentPlayerFaction().toString());
-        if (board.isValidBuildPointForSettlement(position, getCurrentPlayerFaction(), false) && !isBuildinglimitReached(settlement) && currentPlayer.pay(settlement.getStructure())) {
-            board.setCorner(position, settlement.getName());
+        if (board.isValidBuildPointForSettlement(position, getCurrentPlayerFaction(), false)
+                && !isStructureLimitReached(Config.Structure.SETTLEMENT) && currentPlayer.pay(Config.Structure.SETTLEMENT)) {
+            board.setCorner(position, getCurrentPlayerFaction().toString());
             built = true;
-            currentPlayer.addPoints(1);
-            currentPlayer.addStructure(settlement);
+            victoryPoints.addPoints(currentPlayer, VictoryPointLedger.Source.SETTLEMENT, 1);
+            currentPlayer.addStructure(Config.Structure.SETTLEMENT);
+            registerHarbor(position);
+            updateLongestRoad();
         }
         return built;
     }
 
+    /**
+     * Updates the trade rates of the current player, if the settlement is placed at a harbor
+     *
+     * @param position the position of the settlement
+     */
+    private void registerHarbor(Point position) {
+        Config.Harbor harbor = board.getHarbor(position);
+        if (harbor != null) {
+            currentPlayer.addHarbor(harbor);
+        }
+    }
+
     /**
      * Builds a city at the specified position on the board.
      *
@@ -294,13 +467,14 @@ public class SiedlerGame {
      */
     public boolean buildCity(Point position) {
         boolean built = false;
-        City city = new City(Config.Structure.CITY, getCurrentPlayerFaction().toString());
-        if (board.isValidBuildPointForCity(position, getCurrentPlayerFaction()) && !isBuildinglimitReached(city) && currentPlayer.pay(city.getStructure())) {
+        if (board.isValidBuildPointForCity(position, getCurrentPlayerFaction())
+                && !isStructureLimitReached(Config.Structure.CITY) && currentPlayer.pay(Config.Structure.CITY)) {
             board.setCorner(position, getCurrentPlayerFaction().toString().toUpperCase());
             built = true;
-            currentPlayer.addPoints(1);
-            currentPlayer.addStructure(city);
-            currentPlayer.removeStructure(new Settlement(Config.Structure.SETTLEMENT, getCurrentPlayerFaction().toString()));
+            victoryPoints.addPoints(currentPlayer, VictoryPointLedger.Source.SETTLEMENT, -1);
+            victoryPoints.addPoints(currentPlayer, VictoryPointLedger.Source.CITY, 2);
+            currentPlayer.addStructure(Config.Structure.CITY);
+            currentPlayer.removeStructure(Config.Structure.SETTLEMENT);
         }
         return built;
     }
@@ -321,13 +495,14 @@ public class SiedlerGame {
      */
     public boolean buildRoad(Point roadStart, Point roadEnd) {
         boolean built = false;
-        if (board.isValidBuildPointForRoad(roadStart, roadEnd, currentPlayer, false) && !isRoadlimitReached()) {
+        if (board.isValidBuildPointForRoad(roadStart, roadEnd, currentPlayer, false) && !isStructureLimitReached(Config.Structure.ROAD)) {
             if (currentPlayer.pay(Config.Structure.ROAD)) {
                 board.setEdge(roadStart, roadEnd, getCurrentPlayerFaction().toString());
                 built = true;
                 currentPlayer.addRoad();
+                updateLongestRoad();
             } else {
-                TextIOWrapper.printError(ConsoleText.ERRORNOTALLOWEDTOBUILD.toString());
+                interaction.printError(ConsoleText.ERRORNOTALLOWEDTOBUILD.toString());
             }
         }
         return built;
@@ -340,11 +515,7 @@ public class SiedlerGame {
      * @return boolean
      */
     boolean isBuildinglimitReached(Building building) {
-        if (currentPlayer.getStructures().get(building.getClass()) != null && currentPlayer.getStructures().get(building.getClass()) >= building.getStructure().getStockPerPlayer()) {
-            TextIOWrapper.printError(ConsoleText.ERRORSTRUCTURELIMITREACHED.toString());
-            return true;
-        }
-        return false;
+        return isStructureLimitReached(building.getStructure());
     }
 
     /**
@@ -353,8 +524,18 @@ public class SiedlerGame {
      * @return boolean
      */
     boolean isRoadlimitReached() {
-        if (currentPlayer.getRoadCount() >= Config.Structure.ROAD.getStockPerPlayer()) {
-            TextIOWrapper.printError(ConsoleText.ERRORSTRUCTURELIMITREACHED.toString());
+        return isStructureLimitReached(Config.Structure.ROAD);
+    }
+
+    /**
+     * Check if the current player has no pieces of a structure left
+     *
+     * @param structure structure type
+     * @return boolean
+     */
+    boolean isStructureLimitReached(Config.Structure structure) {
+        if (currentPlayer.getRemainingStock(structure) == 0) {
+            interaction.printError(ConsoleText.ERRORSTRUCTURELIMITREACHED.toString());
             return true;
         }
         return false;
@@ -372,36 +553,298 @@ public class SiedlerGame {
      * @return true, if the trade was successful
      */
     public boolean tradeWithBankFourToOne(Resource offer, Resource want) {
+        return tradeWithBank(offer, want, FOUR_TO_ONE_TRADE_OFFER);
+    }
+
+    /**
+     * Trades resource cards of the offered type for one resource card of the wanted type
+     * at the best rate of the current player (4:1, or 3:1 and 2:1 at harbors).
+     * <p>
+     * The trade only works when bank and player possess the resource cards
+     * for the trade before the trade is executed.
+     *
+     * @param offer offered type
+     * @param want  wanted type
+     * @return true, if the trade was successful
+     */
+    public boolean tradeWithBank(Resource offer, Resource want) {
+        if (offer == null || want == null) {
+            interaction.printLine(ConsoleText.TRADEFAILEDNOTENOUGHRESOURCE.toString());
+            return false;
+        }
+        return tradeWithBank(offer, want, currentPlayer.getTradeRate(offer));
+    }
+
+    /**
+     * Trades the given number of resource cards of the offered type for one resource card of the wanted type
+     *
+     * @param offer offered type
+     * @param want  wanted type
+     * @param rate  number of offered cards
+     * @return true, if the trade was successful
+     */
+    private boolean tradeWithBank(Resource offer, Resource want, int rate) {
         boolean successful = false;
-        if (currentPlayer.getResources().get(offer) >= SiedlerGame.FOUR_TO_ONE_TRADE_OFFER) {
-            if (bank.tradeWithBank(offer, want)) {
-                currentPlayer.removeResources(offer, FOUR_TO_ONE_TRADE_OFFER);
+        if (currentPlayer.getResourceCount(offer) >= rate) {
+            if (bank.tradeWithBank(offer, want, rate)) {
+                currentPlayer.removeResources(offer, rate);
                 currentPlayer.addResources(want, FOUR_TO_ONE_TRADE_WANT);
                 successful = true;
-                TextIOWrapper.printLine(ConsoleText.TRADESUCCESSUL.toString());
+                interaction.printLine(ConsoleText.TRADESUCCESSUL.toString());
             } else {
-                TextIOWrapper.printLine(ConsoleText.TRADEFAILEDOUTOFRESOURCE.toString());
+                interaction.printLine(ConsoleText.TRADEFAILEDOUTOFRESOURCE.toString());
             }
         } else {
-            TextIOWrapper.printLine(ConsoleText.TRADEFAILEDNOTENOUGHRESOURCE.toString());
+            interaction.printLine(ConsoleText.TRADEFAILEDNOTENOUGHRESOURCE.toString());
         }
         return successful;
     }
 
     /**
-     * Returns the winner of the game, if any.
+     * Buys a development card for the current player. A victory point card counts immediately.
      *
-     * @return the winner of the game or null, if there is no winner (yet)
+     * @return the bought card or null, if the deck is empty or the player can not pay the card
      */
-    public Faction getWinner() {
-        Faction winner = null;
-        for (Player current : players) {
-            if (current.getPoints() >= winPoints) {
-                winner = current.getFaction();
-                TextIOWrapper.printWinner(current);
+    public Config.DevelopmentCard buyDevelopmentCard() {
+        if (developmentDeck.getRemainingCount() == 0) {
+            interaction.printError(ConsoleText.ERRORDEVELOPMENTDECKEMPTY.toString());
+            return null;
+        }
+        if (!currentPlayer.pay(Config.DEVELOPMENT_CARD_COSTS)) {
+            return null;
+        }
+        Config.DevelopmentCard card = developmentDeck.draw();
+        currentPlayer.addDevelopmentCard(card);
+        if (card == Config.DevelopmentCard.VICTORY_POINT) {
+            victoryPoints.addPoints(currentPlayer, VictoryPointLedger.Source.VICTORY_POINT_CARD, 1);
+        }
+        return card;
+    }
+
+    /**
+     * Plays a knight card of the current player: the thief is placed on the specified field and a card
+     * is stolen, but no player has to discard cards. Afterwards, the largest army is updated.
+     *
+     * @param field the field on which to place the thief
+     * @return true, if the card was played
+     */
+    public boolean playKnight(Point field) {
+        if (!hasDevelopmentCard(Config.DevelopmentCard.KNIGHT) || !board.isValidPlacementPointForThief(field)) {
+            return false;
+        }
+        currentPlayer.removeDevelopmentCard(Config.DevelopmentCard.KNIGHT);
+        moveThiefAndStealCard(field);
+        currentPlayer.addPlayedKnight();
+        updateLargestArmy();
+        return true;
+    }
+
+    /**
+     * Plays a monopoly card of the current player: all other players give all their cards of the resource
+     * to the current player.
+     *
+     * @param resource the resource
+     * @return true, if the card was played
+     */
+    public boolean playMonopoly(Resource resource) {
+        if (!hasDevelopmentCard(Config.DevelopmentCard.MONOPOLY)) {
+            return false;
+        }
+        currentPlayer.removeDevelopmentCard(Config.DevelopmentCard.MONOPOLY);
+        for (Player player : players) {
+            int amount = player.getResourceCount(resource);
+            if (player != currentPlayer && amount > 0) {
+                player.removeResources(resource, amount);
+                currentPlayer.addResources(resource, amount);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Plays a year of plenty card of the current player: the player takes two resource cards from the bank.
+     *
+     * @param first  the first resource
+     * @param second the second resource
+     * @return true, if the card was played; false, if the player has no such card or the bank has not enough cards
+     */
+    public boolean playYearOfPlenty(Resource first, Resource second) {
+        if (!hasDevelopmentCard(Config.DevelopmentCard.YEAR_OF_PLENTY)) {
+            return false;
+        }
+        int required = first == second ? 2 : 1;
+        if (bank.getStock(first) < required || bank.getStock(second) < required) {
+            interaction.printLine(ConsoleText.TRADEFAILEDOUTOFRESOURCE.toString());
+            return false;
+        }
+        currentPlayer.removeDevelopmentCard(Config.DevelopmentCard.YEAR_OF_PLENTY);
+        bank.takeResource(first);
+        bank.takeResource(second);
+        currentPlayer.addResources(first, 1);
+        currentPlayer.addResources(second, 1);
+        return true;
+    }
+
+    /**
+     * Plays a road building card of the current player: the player builds two roads without paying them.
+     * Either both roads are built or none.
+     *
+     * @param firstStart  the position of the start of the first road
+     * @param firstEnd    the position of the end of the first road
+     * @param secondStart the position of the start of the second road
+     * @param secondEnd   the position of the end of the second road
+     * @return true, if the card was played
+     */
+    public boolean playRoadBuilding(Point firstStart, Point firstEnd, Point secondStart, Point secondEnd) {
+        if (!hasDevelopmentCard(Config.DevelopmentCard.ROAD_BUILDING)) {
+            return false;
+        }
+        if (currentPlayer.getRemainingStock(Config.Structure.ROAD) < 2) {
+            interaction.printError(ConsoleText.ERRORSTRUCTURELIMITREACHED.toString());
+            return false;
+        }
+        // the second road may continue the first one, so it is validated as if the first one was built
+        if (!board.isValidBuildPointForRoad(firstStart, firstEnd, currentPlayer, false)
+                || !board.isValidBuildPointForRoad(secondStart, secondEnd, currentPlayer, false, firstStart, firstEnd)) {
+            return false;
+        }
+        board.setEdge(firstStart, firstEnd, getCurrentPlayerFaction().toString());
+        board.setEdge(secondStart, secondEnd, getCurrentPlayerFaction().toString());
+        currentPlayer.addRoad();
+        currentPlayer.addRoad();
+        currentPlayer.removeDevelopmentCard(Config.DevelopmentCard.ROAD_BUILDING);
+        updateLongestRoad();
+        return true;
+    }
+
+    /**
+     * Checks whether the current player has a development card
+     *
+     * @param card the development card
+     * @return true, if the player has the card
+     */
+    private boolean hasDevelopmentCard(Config.DevelopmentCard card) {
+        if (currentPlayer.getDevelopmentCardCount(card) == 0) {
+            interaction.printError(ConsoleText.ERRORNODEVELOPMENTCARD.toString());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Moves the largest army to the current player, if the player has played at least
+     * {@link Config#MIN_KNIGHTS_FOR_LARGEST_ARMY} knights and more than the current holder
+     */
+    private void updateLargestArmy() {
+        int knights = currentPlayer.getPlayedKnights();
+        if (largestArmy == currentPlayer || knights < Config.MIN_KNIGHTS_FOR_LARGEST_ARMY) {
+            return;
+        }
+        if (largestArmy == null || knights > largestArmy.getPlayedKnights()) {
+            if (largestArmy != null) {
+                victoryPoints.addPoints(largestArmy, VictoryPointLedger.Source.LARGEST_ARMY, -Config.POINTS_FOR_LARGEST_ARMY);
+            }
+            victoryPoints.addPoints(currentPlayer, VictoryPointLedger.Source.LARGEST_ARMY, Config.POINTS_FOR_LARGEST_ARMY);
+            largestArmy = currentPlayer;
+        }
+    }
+
+    /**
+     * Moves the longest road to the player with the longest chain of at least
+     * {@link Config#MIN_ROADS_FOR_LONGEST_ROAD} roads. The holder keeps it on a tie. If the road of the holder
+     * is interrupted by a settlement and several players tie for the longest road, nobody holds it.
+     */
+    private void updateLongestRoad() {
+        int longestLength = 0;
+        List<Player> longestPlayers = new ArrayList<>();
+        for (Player player : players) {
+            int length = board.getLongestRoadLength(player.getFaction());
+            if (length > longestLength) {
+                longestLength = length;
+                longestPlayers.clear();
+            }
+            if (length == longestLength && length >= Config.MIN_ROADS_FOR_LONGEST_ROAD) {
+                longestPlayers.add(player);
             }
         }
-        return winner;
+        if (longestRoad != null && longestPlayers.contains(longestRoad)) {
+            return;
+        }
+        Player newLongestRoad = longestPlayers.size() == 1 ? longestPlayers.get(0) : null;
+        if (newLongestRoad != longestRoad) {
+            if (longestRoad != null) {
+                victoryPoints.addPoints(longestRoad, VictoryPointLedger.Source.LONGEST_ROAD, -Config.POINTS_FOR_LONGEST_ROAD);
+            }
+            if (newLongestRoad != null) {
+                victoryPoints.addPoints(newLongestRoad, VictoryPointLedger.Source.LONGEST_ROAD, Config.POINTS_FOR_LONGEST_ROAD);
+            }
+            longestRoad = newLongestRoad;
+        }
+    }
+
+    /**
+     * Returns the faction which holds the longest road
+     *
+     * @return the faction or null, if nobody has a long enough road
+     */
+    public Faction getLongestRoadFaction() {
+        return longestRoad == null ? null : longestRoad.getFaction();
+    }
+
+    /**
+     * Returns the faction which holds the largest army
+     *
+     * @return the faction or null, if nobody has played enough knights yet
+     */
+    public Faction getLargestArmyFaction() {
+        return largestArmy == null ? null : largestArmy.getFaction();
+    }
+
+    /**
+     * Returns the deck of development cards, e.g. to take a snapshot during a simulation
+     *
+     * @return the development card deck
+     */
+    public DevelopmentDeck getDevelopmentDeck() {
+        return developmentDeck;
+    }
+
+    /**
+     * Returns the matcher for trades between the players of this game
+     *
+     * @return the trade matcher
+     */
+    public TradeMatcher getTradeMatcher() {
+        return tradeMatcher;
+    }
+
+    /**
+     * Returns the optimizer which finds the best field to place the thief on
+     *
+     * @return the thief placement optimizer
+     */
+    public ThiefPlacementOptimizer getThiefPlacementOptimizer() {
+        return thiefOptimizer;
+    }
+
+    /**
+     * Returns the victory points of all players by source
+     *
+     * @return the victory point ledger
+     */
+    public VictoryPointLedger getVictoryPoints() {
+        return victoryPoints;
+    }
+
+    /**
+     * Returns the winner of the game, if any. The winner is determined by the {@link VictoryPointLedger}
+     * when the points change, listeners are informed with {@link GameStateListener#gameWon(Player)}.
+     *
+     * @return the winner of the game or null, if there is no winner (yet)
+     */
+    public Faction getWinner() {
+        Player winner = victoryPoints.getWinner();
+        return winner == null ? null : winner.getFaction();
     }
 
     /**
@@ -416,6 +859,18 @@ public class SiedlerGame {
      */
     public boolean placeThiefAndStealCard(Point field) {
         thiefChecksAndStealsCardsOfPlayers();
+        return moveThiefAndStealCard(field);
+    }
+
+    /**
+     * Places the thief on the specified field and steals a card from a player with a settlement at that field.
+     * Unlike {@link #placeThiefAndStealCard(Point)}, no player has to discard cards, so it can be retried
+     * with another field.
+     *
+     * @param field the field on which to place the thief
+     * @return false, if the thief cannot be placed on the field
+     */
+    boolean moveThiefAndStealCard(Point field) {
         boolean placed = false;
         if (board.isValidPlacementPointForThief(field)) {
             board.setThiefField(field);
@@ -435,14 +890,19 @@ public class SiedlerGame {
     }
 
     /**
-     * Thief checks how many cards the players have and steals the half, if one has more or equal 7 cards     *
+     * Thief checks how many cards the players have and steals the half, if one has more or equal 7 cards.
+     * The discarded cards of each player are drawn at once by the {@link DiscardEngine}.
      */
     void thiefChecksAndStealsCardsOfPlayers() {
-        for (Player player : players) {
-            if (player.getCardsCount() >= 7) {
-                int amountOfCardsToRemove = player.getCardsCount() / 2;
-                for (int i = 0; i < amountOfCardsToRemove; i++) {
-                    player.removeResources(getRandomAvailableResourceFromPlayer(player), 1);
+        int[][] hands = new int[players.size()][];
+        for (int i = 0; i < players.size(); i++) {
+            hands[i] = players.get(i).getResourceCounts();
+        }
+        int[][] discards = DiscardEngine.drawDiscards(hands, random);
+        for (int i = 0; i < players.size(); i++) {
+            for (Resource resource : Resource.values()) {
+                if (discards[i][resource.ordinal()] > 0) {
+                    players.get(i).removeResources(resource, discards[i][resource.ordinal()]);
                 }
             }
         }
@@ -464,23 +924,19 @@ public class SiedlerGame {
                     selectedFactionToStealFrom = Faction.valueOf(factionsToStealFrom.get(0));
                 } else {
                     // otherwise we let the current player decide where to steal a card from
-                    selectedFactionToStealFrom = TextIOWrapper.selectFactionToStealFrom(currentPlayer, factionsToStealFrom);
-                }
-            }
-            for (Player player : players) {
-                if (player.getFaction().equals(selectedFactionToStealFrom)) {
-                    playerToStealFrom = player;
+                    selectedFactionToStealFrom = interaction.selectFactionToStealFrom(currentPlayer, factionsToStealFrom);
                 }
             }
+            playerToStealFrom = playerRegistry.getPlayer(selectedFactionToStealFrom);
         }
         if (playerToStealFrom != null) {
             if (playerToStealFrom.getCardsCount() > 0) {
                 Resource chosenResource = getRandomAvailableResourceFromPlayer(playerToStealFrom);
                 playerToStealFrom.removeResources(chosenResource, 1);
                 currentPlayer.addResources(chosenResource, 1);
-                TextIOWrapper.printLine(ConsoleText.STEALSUCCESSFUL.toString());
+                interaction.printLine(ConsoleText.STEALSUCCESSFUL.toString());
             } else {
-                TextIOWrapper.printError(ConsoleText.PLAYERHASNOCARDS.toString());
+                interaction.printError(ConsoleText.PLAYERHASNOCARDS.toString());
             }
         }
     }
@@ -494,15 +950,14 @@ public class SiedlerGame {
     Resource getRandomAvailableResourceFromPlayer(Player playerToStealFrom) {
         List<Resource> availableResourcesOfPlayer = new ArrayList<>();
         if (playerToStealFrom.getCardsCount() > 0) {
-            Map<Config.Resource, Integer> allResourcesOfPlayer = playerToStealFrom.getResources();
-            for (Map.Entry<Config.Resource, Integer> resource : allResourcesOfPlayer.entrySet()) {
-                if (resource.getValue() > 0) {
-                    availableResourcesOfPlayer.add(resource.getKey());
+            for (Resource resource : Resource.values()) {
+                if (playerToStealFrom.getResourceCount(resource) > 0) {
+                    availableResourcesOfPlayer.add(resource);
                 }
             }
             return availableResourcesOfPlayer.get(random.nextInt(availableResourcesOfPlayer.size()));
         } else {
-            TextIOWrapper.printError(ConsoleText.PLAYERHASNOCARDS.toString());
+            interaction.printError(ConsoleText.PLAYERHASNOCARDS.toString());
         }
         return null;
     }
@@ -531,16 +986,15 @@ public class SiedlerGame {
      * @param resourcesToDistribute Map with the player and the resources they get
      */
     void payoutResourcesForDiceThrow(Map<Faction, List<Resource>> resourcesToDistribute) {
-        for (Player player : players) {
-            Faction factionOfPlayer = player.getFaction();
-            if (resourcesToDistribute.containsKey(factionOfPlayer)) {
-                List<Resource> resources = resourcesToDistribute.get(factionOfPlayer);
-                for (Resource resource : resources) {
+        for (Map.Entry<Faction, List<Resource>> entry : resourcesToDistribute.entrySet()) {
+            Player player = playerRegistry.getPlayer(entry.getKey());
+            if (player != null) {
+                for (Resource resource : entry.getValue()) {
                     player.addResources(resource, 1);
                 }
             }
         }
-        TextIOWrapper.printDistributedResourcesForDiceThrow(resourcesToDistribute);
+        interaction.printDistributedResourcesForDiceThrow(resourcesToDistribute);
     }
 
 }
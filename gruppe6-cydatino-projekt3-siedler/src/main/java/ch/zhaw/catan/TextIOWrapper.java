@@ -10,31 +10,52 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * This Class generates a Wrapper for the TextIO
+ * This Class generates a Wrapper for the TextIO. It is the {@link GameInteraction} used for games
+ * played on a terminal.
  *
  * @author baumgnoa, bergecyr, brundar, sigritim
- * @version 07.12.2021
+ * @version 17.12.2021
  */
-public class TextIOWrapper {
-    static TextIO textIO = TextIoFactory.getTextIO();
-    static TextTerminal<?> textTerminal = textIO.getTextTerminal();
+public class TextIOWrapper implements GameInteraction {
+    private final TextIO textIO;
+    private final TextTerminal<?> textTerminal;
 
-    static {
+    /**
+     * Holds the interaction with the local terminal, which is only created when it is used the first time
+     */
+    private static class Console {
+        private static final TextIOWrapper INSTANCE = new TextIOWrapper(TextIoFactory.getTextIO());
+    }
+
+    /**
+     * Constructs a wrapper for the given TextIO
+     *
+     * @param textIO the TextIO to read from and write to
+     */
+    public TextIOWrapper(TextIO textIO) {
+        this.textIO = textIO;
+        this.textTerminal = textIO.getTextTerminal();
         textTerminal.getProperties().setPromptColor(GameParameter.Color.WHITECOLOR.toString());
     }
 
-    private TextIOWrapper() {
-        throw new IllegalStateException("Utility class");
+    /**
+     * Returns the interaction with the local terminal
+     *
+     * @return the interaction with the local terminal
+     */
+    public static TextIOWrapper getConsole() {
+        return Console.INSTANCE;
     }
 
     /**
      * Methode requests the amount of players for the game
      * return Integer between MINPLAYER and MAXPLAYER
      */
-    public static int getNumbersOfPlayers() {
+    @Override
+    public int getNumbersOfPlayers() {
         return textIO.newIntInputReader()
                 .withMinVal(Config.MIN_NUMBER_OF_PLAYERS)
-                .withMaxVal(Config.Faction.values().length)
+                .withMaxVal(Config.MAX_NUMBER_OF_PLAYERS_STANDARD_BOARD)
                 .read(ConsoleText.AMOUNTOFPLAYERS.toString());
     }
 
@@ -45,7 +66,8 @@ public class TextIOWrapper {
      * @param currentPlayer The name of the current player
      * @return Point where player wants to build
      */
-    public static Point getConstructionPosition(ConsoleText construction, Player currentPlayer) {
+    @Override
+    public Point getConstructionPosition(ConsoleText construction, Player currentPlayer) {
         return getPosition(ConsoleText.WHERETOBUILD + " " + construction.toString() + "?", currentPlayer);
     }
 
@@ -55,7 +77,8 @@ public class TextIOWrapper {
      * @param currentPlayer The name of the current player
      * @return Point where player wants to place the thief
      */
-    public static Point getThiefPosition(Player currentPlayer) {
+    @Override
+    public Point getThiefPosition(Player currentPlayer) {
         return getPosition(ConsoleText.WHERETOPLACETHIEF.toString(), currentPlayer);
     }
 
@@ -66,7 +89,7 @@ public class TextIOWrapper {
      * @param currentPlayer The name of the current player
      * @return Point where player wants to build or place something
      */
-    private static Point getPosition(String text, Player currentPlayer) {
+    private Point getPosition(String text, Player currentPlayer) {
         concatenatePlayerText(currentPlayer);
         textTerminal.println(text);
 
@@ -89,7 +112,8 @@ public class TextIOWrapper {
      * @param want Resource you want to request
      * @return Resource which a player wants to trade
      */
-    public static Config.Resource getResource(boolean want) {
+    @Override
+    public Config.Resource getResource(boolean want) {
         Config.Resource resource;
         if (want) {
             resource = textIO.newEnumInputReader(Config.Resource.class)
@@ -107,7 +131,8 @@ public class TextIOWrapper {
      * @param currentPlayer The name of the current player
      * @return move options (Enum)
      */
-    public static MoveOption getOption(Player currentPlayer) {
+    @Override
+    public MoveOption getOption(Player currentPlayer) {
         concatenatePlayerText(currentPlayer);
         return textIO.newEnumInputReader(MoveOption.class).read(ConsoleText.CHOOSEOPTION.toString());
     }
@@ -115,21 +140,24 @@ public class TextIOWrapper {
     /**
      * Methode prints out the welcome message in the beginning of the Game
      */
-    public static void printWelcomeMessage() {
+    @Override
+    public void printWelcomeMessage() {
         textTerminal.println(ConsoleText.WELCOMEMESSAGE.toString());
     }
 
     /**
      * Methode prints out a simple line on console
      */
-    public static void printLine(String text) {
+    @Override
+    public void printLine(String text) {
         textTerminal.println(text);
     }
 
     /**
      * Methode prints out an error in red on console
      */
-    public static void printError(String error) {
+    @Override
+    public void printError(String error) {
         textTerminal.getProperties().setPromptColor(GameParameter.Color.REDCOLOR.toString());
         textTerminal.println(error);
         textTerminal.getProperties().setPromptColor(GameParameter.Color.WHITECOLOR.toString());
@@ -141,7 +169,8 @@ public class TextIOWrapper {
      *
      * @param diceValue Value of dice
      */
-    public static void printDiceRollText(int diceValue) {
+    @Override
+    public void printDiceRollText(int diceValue) {
         textTerminal.println(ConsoleText.TEXTFORDICEROLL + " " + diceValue);
     }
 
@@ -150,7 +179,8 @@ public class TextIOWrapper {
      *
      * @param resources Ressources as Map
      */
-    public static void printResources(Map<Config.Resource, Integer> resources) {
+    @Override
+    public void printResources(Map<Config.Resource, Integer> resources) {
         textTerminal.println(ConsoleText.TEXTRESOURCESOFPLAYER.toString());
         for (Map.Entry<Config.Resource, Integer> resource : resources.entrySet()) {
             textTerminal.println(resource.getKey() + ": " + resource.getValue());
@@ -162,7 +192,8 @@ public class TextIOWrapper {
      *
      * @param currentPlayer Name of the current player
      */
-    public static void printWhoseTurnItIs(Player currentPlayer) {
+    @Override
+    public void printWhoseTurnItIs(Player currentPlayer) {
         concatenatePlayerText(currentPlayer);
         textTerminal.println(ConsoleText.TEXTFORCURRENTTURN.toString());
     }
@@ -172,7 +203,8 @@ public class TextIOWrapper {
      *
      * @param currentPlayer Player name as String
      */
-    public static void printWinner(Player currentPlayer) {
+    @Override
+    public void printWinner(Player currentPlayer) {
         concatenatePlayerText(currentPlayer);
         textTerminal.println(ConsoleText.WINNERTEXT.toString());
     }
@@ -182,8 +214,8 @@ public class TextIOWrapper {
      *
      * @param player Name of the player
      */
-    private static void concatenatePlayerText(Player player) {
-        GameParameter.Color playerColor = GameParameter.Color.WHITECOLOR;
+    private void concatenatePlayerText(Player player) {
+        GameParameter.Color playerColor;
         switch (player.getFaction()) {
             case RED:
                 playerColor = GameParameter.Color.REDCOLOR;
@@ -197,6 +229,44 @@ public class TextIOWrapper {
             case YELLOW:
                 playerColor = GameParameter.Color.YELLOWCOLOR;
                 break;
+            case ORANGE:
+                playerColor = GameParameter.Color.ORANGECOLOR;
+                break;
+            case WHITE:
+                playerColor = GameParameter.Color.WHITECOLOR;
+                break;
+            case PURPLE:
+                playerColor = GameParameter.Color.PURPLECOLOR;
+                break;
+            case BROWN:
+                playerColor = GameParameter.Color.BROWNCOLOR;
+                break;
+            case CYAN:
+                playerColor = GameParameter.Color.CYANCOLOR;
+                break;
+            case MAGENTA:
+                playerColor = GameParameter.Color.MAGENTACOLOR;
+                break;
+            case LIME:
+                playerColor = GameParameter.Color.LIMECOLOR;
+                break;
+            case TEAL:
+                playerColor = GameParameter.Color.TEALCOLOR;
+                break;
+            case PINK:
+                playerColor = GameParameter.Color.PINKCOLOR;
+                break;
+            case GREY:
+                playerColor = GameParameter.Color.GREYCOLOR;
+                break;
+            case NAVY:
+                playerColor = GameParameter.Color.NAVYCOLOR;
+                break;
+            case GOLD:
+                playerColor = GameParameter.Color.GOLDCOLOR;
+                break;
+            default:
+                throw new IllegalStateException("Unexpected value: " + player.getFaction());
         }
 
         textTerminal.getProperties().setPromptColor(playerColor.toString());
@@ -211,7 +281,8 @@ public class TextIOWrapper {
      * @param factionsToStealFrom faction of the player
      * @return Faction (Enum)
      */
-    public static Config.Faction selectFactionToStealFrom(Player player, ArrayList<String> factionsToStealFrom) {
+    @Override
+    public Config.Faction selectFactionToStealFrom(Player player, ArrayList<String> factionsToStealFrom) {
         concatenatePlayerText(player);
         return Config.Faction.valueOf(textIO.newStringInputReader()
                 .withNumberedPossibleValues(factionsToStealFrom).read(ConsoleText.CHOOSEPLAYERTOSTEALFROM.toString()));
@@ -222,7 +293,8 @@ public class TextIOWrapper {
      *
      * @param resourcesToDistribute The resources that get distributed
      */
-    public static void printDistributedResourcesForDiceThrow(Map<Config.Faction, List<Config.Resource>> resourcesToDistribute) {
+    @Override
+    public void printDistributedResourcesForDiceThrow(Map<Config.Faction, List<Config.Resource>> resourcesToDistribute) {
         if (resourcesToDistribute.size() > 0) {
             textTerminal.println(ConsoleText.TEXTRESOURCESDISTRIBUTED.toString());
             for (Map.Entry<Config.Faction, List<Config.Resource>> entry : resourcesToDistribute.entrySet()) {
@@ -240,7 +312,8 @@ public class TextIOWrapper {
      *
      * @return boolean true/false if user wants to quit
      */
-    public static boolean doYouWantToQuit() {
+    @Override
+    public boolean doYouWantToQuit() {
         return textIO.newBooleanInputReader().read(ConsoleText.QUITORNOT.toString());
     }
 }
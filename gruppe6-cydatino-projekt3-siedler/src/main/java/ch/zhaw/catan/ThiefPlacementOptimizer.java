@@ -0,0 +1,188 @@
+package ch.zhaw.catan;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class finds the best field to place the thief on for a faction.
+ * <p>
+ * For every field the thief can be placed on, the optimizer keeps an impact vector: the number of
+ * production units (settlement 1, city 2) of every faction at the field. Together with the dice
+ * combinations of the field this gives the income each faction loses while the thief blocks the field.
+ * The number of resource cards of every faction is kept as well, which tells whether a card can be
+ * stolen at a field. As the class listens to all changes of the game state, the vectors are updated
+ * in O(1) when a building is placed, so the best field is found with one pass over a small array.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 26.12.2021
+ */
+public class ThiefPlacementOptimizer implements GameStateListener {
+    static final int DICE_COMBINATIONS = 36;
+    static final int EXPECTED_ROLLS_UNTIL_NEXT_SEVEN = 6;
+    private static final int FACTIONS = Config.Faction.values().length;
+    private static final int SETTLEMENT_UNITS = 1;
+    private static final int CITY_UNITS = 2;
+    private static final int[] NO_FIELDS = new int[0];
+
+    private final Point[] fields;
+    private final int[] pips;
+    private final int[] units;
+    private final int[] cardCounts = new int[FACTIONS];
+    private final Map<Point, Integer> fieldIndex = new HashMap<>();
+    private final Map<Point, int[]> fieldsOfCorner = new HashMap<>();
+    private Point thiefField;
+
+    /**
+     * Constructs the optimizer for the current position of the given game
+     *
+     * @param game the game
+     */
+    public ThiefPlacementOptimizer(SiedlerGame game) {
+        SiedlerBoard board = game.getBoard();
+        List<Point> landFields = new ArrayList<>();
+        for (Point field : board.getFields()) {
+            if (board.getField(field) != Config.Land.WATER) {
+                landFields.add(field);
+            }
+        }
+        landFields.sort(Comparator.comparingInt((Point p) -> p.y).thenComparingInt(p -> p.x));
+        fields = landFields.toArray(new Point[0]);
+        pips = new int[fields.length];
+        units = new int[fields.length * FACTIONS];
+        for (int i = 0; i < fields.length; i++) {
+            fieldIndex.put(fields[i], i);
+            pips[i] = OpeningBook.getPips(board.getDiceValue(fields[i]));
+        }
+
+        for (Point corner : board.getCornerPoints()) {
+            List<Integer> adjacent = new ArrayList<>();
+            for (Point field : board.getAdjacentFieldPoints(corner)) {
+                if (fieldIndex.containsKey(field)) {
+                    adjacent.add(fieldIndex.get(field));
+                }
+            }
+            if (!adjacent.isEmpty()) {
+                int[] indices = new int[adjacent.size()];
+                for (int i = 0; i < indices.length; i++) {
+                    indices[i] = adjacent.get(i);
+                }
+                fieldsOfCorner.put(corner, indices);
+            }
+            String occupant = board.getCorner(corner);
+            if (occupant != null) {
+                cornerChanged(corner, null, occupant);
+            }
+        }
+        for (Player player : game.getPlayers()) {
+            cardCounts[player.getFaction().ordinal()] = player.getCardsCount();
+        }
+        thiefField = board.getThiefField();
+    }
+
+    /**
+     * Returns the field on which the thief hurts the other factions the most, see {@link #getImpact}.
+     * The field the thief currently stands on is skipped, as the thief has to be moved.
+     *
+     * @param faction the faction of the player placing the thief
+     * @return the best field or null, if there is no other field the thief can be placed on
+     */
+    public Point getBestField(Config.Faction faction) {
+        Point best = null;
+        double bestImpact = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < fields.length; i++) {
+            if (!fields[i].equals(thiefField)) {
+                double impact = getImpact(i, faction);
+                if (impact > bestImpact) {
+                    bestImpact = impact;
+                    best = fields[i];
+                }
+            }
+        }
+        return best == null ? null : new Point(best);
+    }
+
+    /**
+     * Returns the impact of placing the thief on the given field, measured in resource cards.
+     * This is the income the other factions lose until the next seven is rolled, minus the income the
+     * faction itself loses, plus one card, if a card can be stolen from another faction at the field.
+     *
+     * @param field   the field
+     * @param faction the faction of the player placing the thief
+     * @return the impact in resource cards
+     * @throws IllegalArgumentException if the thief can not be placed on the field
+     */
+    public double getImpact(Point field, Config.Faction faction) {
+        return getImpact(getFieldIndex(field), faction);
+    }
+
+    /**
+     * Returns the income a faction loses per {@value #DICE_COMBINATIONS} rolls while the thief is on the given field
+     *
+     * @param field   the field
+     * @param faction the faction
+     * @return the number of blocked resource cards per {@value #DICE_COMBINATIONS} rolls
+     * @throws IllegalArgumentException if the thief can not be placed on the field
+     */
+    public int getBlockedIncome(Point field, Config.Faction faction) {
+        int index = getFieldIndex(field);
+        return pips[index] * units[index * FACTIONS + faction.ordinal()];
+    }
+
+    @Override
+    public void cornerChanged(Point corner, String oldValue, String newValue) {
+        int[] indices = fieldsOfCorner.getOrDefault(corner, NO_FIELDS);
+        for (int index : indices) {
+            if (oldValue != null) {
+                units[index * FACTIONS + Config.Faction.fromName(oldValue).ordinal()] -= getUnits(oldValue);
+            }
+            if (newValue != null) {
+                units[index * FACTIONS + Config.Faction.fromName(newValue).ordinal()] += getUnits(newValue);
+            }
+        }
+    }
+
+    @Override
+    public void thiefMoved(Point oldField, Point newField) {
+        thiefField = newField;
+    }
+
+    @Override
+    public void resourceChanged(Player player, Config.Resource resource, int oldAmount, int newAmount) {
+        cardCounts[player.getFaction().ordinal()] += newAmount - oldAmount;
+    }
+
+    private double getImpact(int index, Config.Faction faction) {
+        int blockedIncome = 0;
+        boolean stealable = false;
+        int offset = index * FACTIONS;
+        for (int other = 0; other < FACTIONS; other++) {
+            if (other == faction.ordinal()) {
+                blockedIncome -= pips[index] * units[offset + other];
+            } else if (units[offset + other] > 0) {
+                blockedIncome += pips[index] * units[offset + other];
+                stealable |= cardCounts[other] > 0;
+            }
+        }
+        return (double) blockedIncome * EXPECTED_ROLLS_UNTIL_NEXT_SEVEN / DICE_COMBINATIONS + (stealable ? 1 : 0);
+    }
+
+    private int getFieldIndex(Point field) {
+        Integer index = fieldIndex.get(field);
+        if (index == null) {
+            throw new IllegalArgumentException("The thief can not be placed on field " + field);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the production units of a building, cities are stored with upper case names
+     */
+    private static int getUnits(String occupant) {
+        return occupant.equals(Config.Faction.fromName(occupant).toString()) ? SETTLEMENT_UNITS : CITY_UNITS;
+    }
+}
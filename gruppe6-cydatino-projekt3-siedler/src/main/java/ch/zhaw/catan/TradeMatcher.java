@@ -0,0 +1,191 @@
+package ch.zhaw.catan;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class implements the trading of resource cards between players.
+ * <p>
+ * Players post {@link TradeOffer}s, which stay open until they are executed or withdrawn. To find the
+ * players who are able to accept an offer, the inventories of all players are copied once into a flat
+ * array together with a bitmask of the resources each player owns. An offer is only compared card by card
+ * with players whose bitmask contains all requested resources, so evaluating all offers against all players
+ * is cheap even for many players.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 22.12.2021
+ */
+public class TradeMatcher {
+    private static final int RESOURCES = Config.Resource.values().length;
+    private final PlayerRegistry players;
+    private final Map<Integer, TradeOffer> offers = new LinkedHashMap<>();
+    private int nextOfferId = 1;
+
+    /**
+     * Constructs a matcher for the players of a game
+     *
+     * @param players the players
+     */
+    TradeMatcher(PlayerRegistry players) {
+        this.players = players;
+    }
+
+    /**
+     * Posts a new offer
+     *
+     * @param proposer the faction of the player who offers the cards
+     * @param give     the offered cards per resource, indexed by {@link Config.Resource#ordinal()}
+     * @param want     the requested cards per resource, indexed by {@link Config.Resource#ordinal()}
+     * @return the posted offer
+     * @throws IllegalArgumentException if the faction does not play, does not own the offered cards
+     *                                  or the vectors are invalid
+     */
+    public synchronized TradeOffer postOffer(Config.Faction proposer, int[] give, int[] want) {
+        Player player = players.getPlayer(proposer);
+        if (player == null) {
+            throw new IllegalArgumentException("Faction does not play: " + proposer);
+        }
+        TradeOffer offer = new TradeOffer(nextOfferId++, proposer, give, want);
+        if (!covers(player.getResourceCounts(), 0, offer.give())) {
+            throw new IllegalArgumentException("Player does not own the offered cards");
+        }
+        offers.put(offer.getId(), offer);
+        return offer;
+    }
+
+    /**
+     * Removes an open offer
+     *
+     * @param offerId the id of the offer
+     * @return true, if the offer was open
+     */
+    public synchronized boolean withdrawOffer(int offerId) {
+        return offers.remove(offerId) != null;
+    }
+
+    /**
+     * Returns all open offers in the order in which they were posted
+     *
+     * @return the open offers
+     */
+    public synchronized List<TradeOffer> getOffers() {
+        return new ArrayList<>(offers.values());
+    }
+
+    /**
+     * Returns the factions of all players who own the cards requested by the offer
+     *
+     * @param offerId the id of the offer
+     * @return the possible counterparties in the order of play, empty if the offer is not open
+     * or the proposer no longer owns the offered cards
+     */
+    public synchronized List<Config.Faction> findCounterparties(int offerId) {
+        TradeOffer offer = offers.get(offerId);
+        if (offer == null) {
+            return new ArrayList<>();
+        }
+        InventorySnapshot snapshot = new InventorySnapshot();
+        return snapshot.findCounterparties(offer);
+    }
+
+    /**
+     * Returns the possible counterparties of all open offers. The inventories are read only once.
+     *
+     * @return the factions of the possible counterparties per open offer
+     */
+    public synchronized Map<TradeOffer, List<Config.Faction>> findAllMatches() {
+        InventorySnapshot snapshot = new InventorySnapshot();
+        Map<TradeOffer, List<Config.Faction>> matches = new LinkedHashMap<>();
+        for (TradeOffer offer : offers.values()) {
+            matches.put(offer, snapshot.findCounterparties(offer));
+        }
+        return matches;
+    }
+
+    /**
+     * Executes an open offer with the given counterparty. Either all cards are exchanged or none,
+     * and the offer is closed if the trade was executed.
+     *
+     * @param offerId      the id of the offer
+     * @param counterparty the faction of the player who accepts the offer
+     * @return true, if the trade was executed; false, if the offer is not open, the counterparty is the
+     * proposer or one of the players does not own the required cards
+     */
+    public synchronized boolean execute(int offerId, Config.Faction counterparty) {
+        TradeOffer offer = offers.get(offerId);
+        if (offer == null || offer.getProposer() == counterparty) {
+            return false;
+        }
+        Player proposer = players.getPlayer(offer.getProposer());
+        Player acceptor = players.getPlayer(counterparty);
+        if (acceptor == null || !covers(proposer.getResourceCounts(), 0, offer.give())
+                || !covers(acceptor.getResourceCounts(), 0, offer.want())) {
+            return false;
+        }
+        for (Config.Resource resource : Config.Resource.values()) {
+            transfer(proposer, acceptor, resource, offer.getGive(resource));
+            transfer(acceptor, proposer, resource, offer.getWant(resource));
+        }
+        offers.remove(offerId);
+        return true;
+    }
+
+    private static void transfer(Player from, Player to, Config.Resource resource, int amount) {
+        if (amount > 0) {
+            from.removeResources(resource, amount);
+            to.addResources(resource, amount);
+        }
+    }
+
+    /**
+     * Checks whether an inventory holds at least the required cards
+     *
+     * @param inventory the inventory
+     * @param offset    the index of the first resource of the inventory
+     * @param required  the required cards per resource
+     * @return true, if all required cards are available
+     */
+    private static boolean covers(int[] inventory, int offset, int[] required) {
+        for (int resource = 0; resource < RESOURCES; resource++) {
+            if (inventory[offset + resource] < required[resource]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This class holds a copy of the inventories of all players with one bitmask of the owned resources per player
+     */
+    private class InventorySnapshot {
+        private final int[] inventories = new int[players.size() * RESOURCES];
+        private final int[] ownedMasks = new int[players.size()];
+
+        InventorySnapshot() {
+            for (int seat = 0; seat < players.size(); seat++) {
+                int[] counts = players.getPlayer(seat).getResourceCounts();
+                System.arraycopy(counts, 0, inventories, seat * RESOURCES, RESOURCES);
+                ownedMasks[seat] = TradeOffer.toMask(counts);
+            }
+        }
+
+        List<Config.Faction> findCounterparties(TradeOffer offer) {
+            List<Config.Faction> counterparties = new ArrayList<>();
+            int proposerSeat = players.getSeat(offer.getProposer());
+            if ((offer.getGiveMask() & ~ownedMasks[proposerSeat]) != 0
+                    || !covers(inventories, proposerSeat * RESOURCES, offer.give())) {
+                return counterparties;
+            }
+            for (int seat = 0; seat < ownedMasks.length; seat++) {
+                if (seat != proposerSeat && (offer.getWantMask() & ~ownedMasks[seat]) == 0
+                        && covers(inventories, seat * RESOURCES, offer.want())) {
+                    counterparties.add(players.getPlayer(seat).getFaction());
+                }
+            }
+            return counterparties;
+        }
+    }
+}
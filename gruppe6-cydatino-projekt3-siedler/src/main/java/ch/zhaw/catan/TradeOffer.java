@@ -0,0 +1,104 @@
+package ch.zhaw.catan;
+
+import java.util.Arrays;
+
+/**
+ * This class represents an offer of a player to trade resource cards with another player.
+ * <p>
+ * The offered and requested cards are stored as counts per resource, indexed by
+ * {@link Config.Resource#ordinal()}. For fast pre-filtering, each vector is also stored as bitmask
+ * with one bit per resource which occurs in the vector.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 22.12.2021
+ */
+public final class TradeOffer {
+    private final int id;
+    private final Config.Faction proposer;
+    private final int[] give;
+    private final int[] want;
+    private final int giveMask;
+    private final int wantMask;
+
+    /**
+     * Constructs an offer
+     *
+     * @param id       the id of the offer
+     * @param proposer the faction of the player who posts the offer
+     * @param give     the offered cards per resource
+     * @param want     the requested cards per resource
+     * @throws IllegalArgumentException if a vector has the wrong length, a negative count or is empty
+     */
+    TradeOffer(int id, Config.Faction proposer, int[] give, int[] want) {
+        this.id = id;
+        this.proposer = proposer;
+        this.give = give.clone();
+        this.want = want.clone();
+        this.giveMask = toMask(this.give);
+        this.wantMask = toMask(this.want);
+        if (giveMask == 0 || wantMask == 0) {
+            throw new IllegalArgumentException("A trade must offer and request at least one card");
+        }
+    }
+
+    /**
+     * Returns a bitmask with one bit per resource, which is set if the count of the resource is positive
+     *
+     * @param counts the counts per resource
+     * @return the bitmask
+     * @throws IllegalArgumentException if the vector has the wrong length or a negative count
+     */
+    static int toMask(int[] counts) {
+        if (counts.length != Config.Resource.values().length) {
+            throw new IllegalArgumentException("One count per resource is required");
+        }
+        int mask = 0;
+        for (int resource = 0; resource < counts.length; resource++) {
+            if (counts[resource] < 0) {
+                throw new IllegalArgumentException("Counts must not be negative");
+            }
+            if (counts[resource] > 0) {
+                mask |= 1 << resource;
+            }
+        }
+        return mask;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public Config.Faction getProposer() {
+        return proposer;
+    }
+
+    public int getGive(Config.Resource resource) {
+        return give[resource.ordinal()];
+    }
+
+    public int getWant(Config.Resource resource) {
+        return want[resource.ordinal()];
+    }
+
+    int[] give() {
+        return give;
+    }
+
+    int[] want() {
+        return want;
+    }
+
+    int getGiveMask() {
+        return giveMask;
+    }
+
+    int getWantMask() {
+        return wantMask;
+    }
+
+    @Override
+    public String toString() {
+        return proposer.name() + " gives " + Arrays.toString(give) + " for " + Arrays.toString(want);
+    }
+}
@@ -0,0 +1,253 @@
+package ch.zhaw.catan;
+
+import java.awt.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class implements a bounded transposition table for search-based players.
+ * <p>
+ * Positions are identified by their {@link SiedlerGame#getPositionHash() position hash}. For each
+ * position the table stores the evaluation, the search depth, the type of the bound and the best move.
+ * The table has a fixed number of buckets which is allocated once, so its memory footprint does not grow.
+ * Each bucket holds two entries: a depth-preferred entry, which is only replaced by searches of at least
+ * the same depth, and an always-replace entry, which takes everything else.
+ * </p>
+ * <p>
+ * The table can be shared by several search threads without locks. Each entry is stored as two longs:
+ * the packed data and the key XOR the data. A reader only accepts an entry if both values belong together,
+ * so an entry which is torn by concurrent writers is treated like a miss.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 15.12.2021
+ */
+public class TranspositionTable {
+    static final int NO_MOVE = 0;
+    static final int MAX_DEPTH = 0xff;
+    private static final int ENTRIES_PER_BUCKET = 2;
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int BYTES_PER_BUCKET = ENTRIES_PER_BUCKET * LONGS_PER_ENTRY * Long.BYTES;
+    private static final int MOVE_BITS = 22;
+    private static final int POINT_BITS = 9;
+    private static final int NO_POINT = (1 << POINT_BITS) - 1;
+
+    private final AtomicLongArray table;
+    private final int bucketMask;
+
+    /**
+     * This enum specifies how the stored evaluation relates to the real value of the position.
+     */
+    public enum Bound {
+        EXACT, LOWER, UPPER
+    }
+
+    /**
+     * Constructs a transposition table which uses at most the given amount of memory.
+     *
+     * @param maxBytes the maximum size of the table in bytes
+     * @throws IllegalArgumentException if the size is too small for a single bucket
+     */
+    public TranspositionTable(long maxBytes) {
+        if (maxBytes < BYTES_PER_BUCKET) {
+            throw new IllegalArgumentException("Table must have room for at least one bucket");
+        }
+        long buckets = Long.highestOneBit(Math.min(maxBytes / BYTES_PER_BUCKET, 1L << 28));
+        this.table = new AtomicLongArray((int) buckets * ENTRIES_PER_BUCKET * LONGS_PER_ENTRY);
+        this.bucketMask = (int) buckets - 1;
+    }
+
+    /**
+     * Stores the result of a search.
+     *
+     * @param key        the position hash
+     * @param evaluation the evaluation of the position
+     * @param depth      the search depth (0 to {@link #MAX_DEPTH})
+     * @param bound      the type of the evaluation
+     * @param bestMove   the best move found, encoded with {@link #encodeMove(MoveOption, Point, Point)}
+     */
+    public void store(long key, int evaluation, int depth, Bound bound, int bestMove) {
+        if (depth < 0 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 0 and " + MAX_DEPTH);
+        }
+        long data = pack(evaluation, depth, bound, bestMove);
+        int depthPreferred = getBucketIndex(key);
+        int alwaysReplace = depthPreferred + LONGS_PER_ENTRY;
+
+        long storedData = table.get(depthPreferred + 1);
+        boolean sameKey = storedData != 0 && (table.get(depthPreferred) ^ storedData) == key;
+        if (storedData == 0 || sameKey || depth >= getDepth(storedData)) {
+            write(depthPreferred, key, data);
+        } else {
+            write(alwaysReplace, key, data);
+        }
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param key the position hash
+     * @return the packed entry or 0, if the position is not in the table. The values can be read
+     * with {@link #getEvaluation(long)}, {@link #getDepth(long)}, {@link #getBound(long)} and {@link #getBestMove(long)}.
+     */
+    public long probe(long key) {
+        int index = getBucketIndex(key);
+        for (int entry = 0; entry < ENTRIES_PER_BUCKET; entry++) {
+            int offset = index + entry * LONGS_PER_ENTRY;
+            long data = table.get(offset + 1);
+            if (data != 0 && (table.get(offset) ^ data) == key) {
+                return data;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Removes all entries from the table
+     */
+    public void clear() {
+        for (int i = 0; i < table.length(); i++) {
+            table.set(i, 0);
+        }
+    }
+
+    /**
+     * Returns the number of entries the table can hold
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return (bucketMask + 1) * ENTRIES_PER_BUCKET;
+    }
+
+    /**
+     * Returns the memory used by the entries of the table
+     *
+     * @return the size in bytes
+     */
+    public long getSizeInBytes() {
+        return (long) table.length() * Long.BYTES;
+    }
+
+    /**
+     * Returns the evaluation of a packed entry. An entry is laid out as follows (bit 63 first):
+     * <ul>
+     * <li>bits 63-32: the evaluation (signed)</li>
+     * <li>bits 31-10: the best move, see {@link #encodeMove(MoveOption, Point, Point)}</li>
+     * <li>bits 9-8: the ordinal of the bound plus one, so a stored entry is never 0</li>
+     * <li>bits 7-0: the search depth</li>
+     * </ul>
+     *
+     * @param data the packed entry returned by {@link #probe(long)}
+     * @return the evaluation
+     */
+    public static int getEvaluation(long data) {
+        return (int) (data >>> 32);
+    }
+
+    /**
+     * Returns the search depth of a packed entry (bits 7-0).
+     *
+     * @param data the packed entry returned by {@link #probe(long)}
+     * @return the depth
+     */
+    public static int getDepth(long data) {
+        return (int) (data & MAX_DEPTH);
+    }
+
+    /**
+     * Returns the type of the bound of a packed entry (bits 9-8, the ordinal plus one).
+     *
+     * @param data the packed entry returned by {@link #probe(long)}, not 0
+     * @return the bound
+     */
+    public static Bound getBound(long data) {
+        return Bound.values()[(int) ((data >>> 8) & 0x3) - 1];
+    }
+
+    /**
+     * Returns the best move of a packed entry (bits 31-10).
+     *
+     * @param data the packed entry returned by {@link #probe(long)}
+     * @return the encoded move, which can be read with {@link #getMoveOption(int)},
+     * {@link #getMoveFrom(int)} and {@link #getMoveTo(int)}
+     */
+    public static int getBestMove(long data) {
+        return (int) ((data >>> 10) & ((1 << MOVE_BITS) - 1));
+    }
+
+    /**
+     * Encodes a move into the 22 bits available in an entry. Bits 21-18 hold the ordinal of the option,
+     * bits 17-9 the first and bits 8-0 the second position. A position is stored as x * 32 + y,
+     * the value 511 (all bits set) stands for no position.
+     *
+     * @param option the move option
+     * @param from   the position of the move (e.g. the settlement or the start of the road), may be null
+     * @param to     the second position of the move (e.g. the end of the road), may be null
+     * @return the encoded move
+     * @throws IllegalArgumentException if a position is outside of the board coordinates
+     */
+    public static int encodeMove(MoveOption option, Point from, Point to) {
+        return (option.ordinal() << (2 * POINT_BITS)) | (encodePoint(from) << POINT_BITS) | encodePoint(to);
+    }
+
+    /**
+     * Returns the option of an encoded move (bits 21-18).
+     *
+     * @param move the encoded move
+     * @return the move option
+     */
+    public static MoveOption getMoveOption(int move) {
+        return MoveOption.values()[move >>> (2 * POINT_BITS)];
+    }
+
+    /**
+     * Returns the first position of an encoded move (bits 17-9).
+     *
+     * @param move the encoded move
+     * @return the position or null, if the move has no first position
+     */
+    public static Point getMoveFrom(int move) {
+        return decodePoint((move >>> POINT_BITS) & NO_POINT);
+    }
+
+    /**
+     * Returns the second position of an encoded move (bits 8-0).
+     *
+     * @param move the encoded move
+     * @return the position or null, if the move has no second position
+     */
+    public static Point getMoveTo(int move) {
+        return decodePoint(move & NO_POINT);
+    }
+
+    private static int encodePoint(Point point) {
+        if (point == null) {
+            return NO_POINT;
+        }
+        if (point.x < 0 || point.x > 15 || point.y < 0 || point.y > 31 || (point.x == 15 && point.y == 31)) {
+            throw new IllegalArgumentException("Point can not be encoded: " + point);
+        }
+        return point.x << 5 | point.y;
+    }
+
+    private static Point decodePoint(int code) {
+        return code == NO_POINT ? null : new Point(code >>> 5, code & 0x1f);
+    }
+
+    private static long pack(int evaluation, int depth, Bound bound, int bestMove) {
+        return ((long) evaluation << 32)
+                | ((long) (bestMove & ((1 << MOVE_BITS) - 1)) << 10)
+                | ((long) (bound.ordinal() + 1) << 8)
+                | depth;
+    }
+
+    private int getBucketIndex(long key) {
+        int bucket = (int) (key ^ (key >>> 32)) & bucketMask;
+        return bucket * ENTRIES_PER_BUCKET * LONGS_PER_ENTRY;
+    }
+
+    private void write(int offset, long key, long data) {
+        table.set(offset + 1, data);
+        table.set(offset, key ^ data);
+    }
+}
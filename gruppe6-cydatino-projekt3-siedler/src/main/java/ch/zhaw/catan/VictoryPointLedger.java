@@ -0,0 +1,101 @@
+package ch.zhaw.catan;
+
+import java.util.List;
+
+/**
+ * This class keeps the victory points of all players, split by the source of the points.
+ * <p>
+ * All points are added through {@link #addPoints(Player, Source, int)}. The win condition is checked at
+ * the moment the points of a player change, so the winner is known without scanning the players. The first
+ * player reaching the required points wins, and the listeners are informed once with
+ * {@link GameStateListener#gameWon(Player)}.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 24.12.2021
+ */
+public class VictoryPointLedger {
+    private final int winPoints;
+    private final List<GameStateListener> listeners;
+    private final int[][] pointsBySource;
+    private final int[] totals;
+    private Player winner;
+
+    /**
+     * This enum specifies the sources of victory points
+     */
+    public enum Source {
+        SETTLEMENT, CITY, LONGEST_ROAD, LARGEST_ARMY, VICTORY_POINT_CARD
+    }
+
+    /**
+     * Constructs an empty ledger
+     *
+     * @param winPoints the number of points required to win the game
+     * @param listeners the listeners which are informed about changed points and the winner
+     */
+    VictoryPointLedger(int winPoints, List<GameStateListener> listeners) {
+        this.winPoints = winPoints;
+        this.listeners = listeners;
+        this.pointsBySource = new int[Config.Faction.values().length][Source.values().length];
+        this.totals = new int[Config.Faction.values().length];
+    }
+
+    /**
+     * Adds points of a source to a player and checks the win condition
+     *
+     * @param player the player
+     * @param source the source of the points
+     * @param points the number of points, negative if the player loses points (e.g. the largest army)
+     * @throws IllegalArgumentException if the points of the source would become negative
+     */
+    public void addPoints(Player player, Source source, int points) {
+        int faction = player.getFaction().ordinal();
+        if (pointsBySource[faction][source.ordinal()] + points < 0) {
+            throw new IllegalArgumentException("Points of " + source + " can not be negative");
+        }
+        int oldTotal = totals[faction];
+        pointsBySource[faction][source.ordinal()] += points;
+        totals[faction] += points;
+        player.addPoints(points);
+        for (GameStateListener listener : listeners) {
+            listener.pointsChanged(player, oldTotal, totals[faction]);
+        }
+        if (winner == null && totals[faction] >= winPoints) {
+            winner = player;
+            for (GameStateListener listener : listeners) {
+                listener.gameWon(player);
+            }
+        }
+    }
+
+    /**
+     * Returns the points of a faction from a single source
+     *
+     * @param faction the faction
+     * @param source  the source of the points
+     * @return the points
+     */
+    public int getPoints(Config.Faction faction, Source source) {
+        return pointsBySource[faction.ordinal()][source.ordinal()];
+    }
+
+    /**
+     * Returns the total points of a faction
+     *
+     * @param faction the faction
+     * @return the points
+     */
+    public int getPoints(Config.Faction faction) {
+        return totals[faction.ordinal()];
+    }
+
+    /**
+     * Returns the winner of the game
+     *
+     * @return the winner or null, if nobody has reached the required points yet
+     */
+    public Player getWinner() {
+        return winner;
+    }
+}
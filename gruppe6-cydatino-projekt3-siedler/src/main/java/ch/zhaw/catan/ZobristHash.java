@@ -0,0 +1,168 @@
+package ch.zhaw.catan;
+
+import java.awt.*;
+
+/**
+ * This class implements a 64-bit Zobrist hash of a complete {@link SiedlerGame} position.
+ * <p>
+ * The hash covers the occupant of every corner and edge, the thief field, the resource cards of every
+ * player and the current player. Each of these elements contributes a pseudo random key, and the hash
+ * is the XOR of all keys. As the class listens to all changes of the game state, every change is applied
+ * in O(1) by removing the key of the old value and adding the key of the new value.
+ * </p>
+ * <p>
+ * The keys are derived from a fixed seed with the SplitMix64 mixing function instead of a random table.
+ * Hence, the hash of a position is the same in every run of the program, which allows to persist it.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ * @version 14.12.2021
+ */
+public class ZobristHash implements GameStateListener {
+    private static final long SEED = 0x5eed1e5c47a11L;
+    private static final long CORNER = 1;
+    private static final long EDGE = 2;
+    private static final long THIEF = 3;
+    private static final long RESOURCE = 4;
+    private static final long CURRENT_PLAYER = 5;
+
+    private long value;
+
+    /**
+     * Constructs the hash for the current position of the given game
+     *
+     * @param game the game
+     */
+    public ZobristHash(SiedlerGame game) {
+        this.value = computeHash(game);
+    }
+
+    /**
+     * Constructs the hash of an empty position
+     */
+    private ZobristHash() {
+    }
+
+    /**
+     * Returns the current hash value
+     *
+     * @return the hash value
+     */
+    public long getValue() {
+        return value;
+    }
+
+    /**
+     * Computes the hash of the given game from scratch. The result is equal to the incrementally
+     * updated value of a {@link ZobristHash} listening to the same game.
+     *
+     * @param game the game
+     * @return the hash of the position
+     */
+    public static long computeHash(SiedlerGame game) {
+        // the position is built up on an empty hash by the same updates a listener receives
+        ZobristHash hash = new ZobristHash();
+        SiedlerBoard board = game.getBoard();
+        board.replayOccupants(hash);
+        hash.thiefMoved(null, board.getThiefField());
+        for (Player player : game.getPlayers()) {
+            for (Config.Resource resource : Config.Resource.values()) {
+                hash.resourceChanged(player, resource, 0, player.getResourceCount(resource));
+            }
+        }
+        hash.currentPlayerChanged(null, game.getCurrentPlayer());
+        return hash.getValue();
+    }
+
+    @Override
+    public void cornerChanged(Point corner, String oldValue, String newValue) {
+        if (oldValue != null) {
+            value ^= cornerKey(corner, oldValue);
+        }
+        if (newValue != null) {
+            value ^= cornerKey(corner, newValue);
+        }
+    }
+
+    @Override
+    public void edgeChanged(Point start, Point end, String oldValue, String newValue) {
+        if (oldValue != null) {
+            value ^= edgeKey(start, end, oldValue);
+        }
+        if (newValue != null) {
+            value ^= edgeKey(start, end, newValue);
+        }
+    }
+
+    @Override
+    public void thiefMoved(Point oldField, Point newField) {
+        if (oldField != null) {
+            value ^= thiefKey(oldField);
+        }
+        if (newField != null) {
+            value ^= thiefKey(newField);
+        }
+    }
+
+    @Override
+    public void resourceChanged(Player player, Config.Resource resource, int oldAmount, int newAmount) {
+        value ^= resourceKey(player, resource, oldAmount) ^ resourceKey(player, resource, newAmount);
+    }
+
+    @Override
+    public void currentPlayerChanged(Player oldPlayer, Player newPlayer) {
+        if (oldPlayer != null) {
+            value ^= currentPlayerKey(oldPlayer);
+        }
+        if (newPlayer != null) {
+            value ^= currentPlayerKey(newPlayer);
+        }
+    }
+
+    private static long cornerKey(Point corner, String occupant) {
+        return key(CORNER, corner.x, corner.y, occupant.hashCode(), 0);
+    }
+
+    private static long edgeKey(Point start, Point end, String occupant) {
+        Point first = SiedlerBoard.isCanonicalOrder(start, end) ? start : end;
+        Point second = first == start ? end : start;
+        return key(EDGE, first.x, first.y, ((long) second.x << 32) | (second.y & 0xffffffffL), occupant.hashCode());
+    }
+
+    private static long thiefKey(Point field) {
+        return key(THIEF, field.x, field.y, 0, 0);
+    }
+
+    /**
+     * Returns the key of a resource amount. An amount of zero has no key, so players
+     * without resource cards do not change the hash.
+     */
+    private static long resourceKey(Player player, Config.Resource resource, int amount) {
+        if (amount == 0) {
+            return 0;
+        }
+        return key(RESOURCE, player.getFaction().ordinal(), resource.ordinal(), amount, 0);
+    }
+
+    private static long currentPlayerKey(Player player) {
+        return key(CURRENT_PLAYER, player.getFaction().ordinal(), 0, 0, 0);
+    }
+
+    private static long key(long type, long a, long b, long c, long d) {
+        long h = mix(SEED ^ type);
+        h = mix(h ^ a);
+        h = mix(h ^ b);
+        h = mix(h ^ c);
+        return mix(h ^ d);
+    }
+
+    /**
+     * SplitMix64 finalizer, see <a href="https://prng.di.unimi.it/splitmix64.c">splitmix64.c</a>
+     */
+    private static long mix(long z) {
+        z += 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
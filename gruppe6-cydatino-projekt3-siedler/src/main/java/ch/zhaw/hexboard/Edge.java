@@ -8,12 +8,15 @@ import java.awt.Point;
  * Edges are non-directional and can be created by providing the two points that
  * span an edge on the hex-grid defined by @see ch.zhaw.hexboard.HexBoard
  * </p>
+ * <p>
+ * Edges are immutable: the points are copied and never exposed.
+ * </p>
  * @author tebe
  *
  */
 final class Edge {
-  private Point start;
-  private Point end;
+  private final Point start;
+  private final Point end;
 
   /**
    * Creates an edge between the two points.
@@ -41,8 +44,8 @@ final class Edge {
 
   static boolean isEdge(Point p1, Point p2) {
     boolean isEdge = false;
-    if (p1 != null && p2 != null && HexBoard.isCornerCoordinate(p1)
-        && HexBoard.isCornerCoordinate(p2)) {
+    if (p1 != null && p2 != null && GeometryTable.isCorner(p1.x, p1.y)
+        && GeometryTable.isCorner(p2.x, p2.y)) {
       int xdistance = Math.abs(p1.x - p2.x);
       int ydistance = Math.abs(p1.y - p2.y);
       boolean isVerticalEdge = xdistance == 0 && ydistance == 2;
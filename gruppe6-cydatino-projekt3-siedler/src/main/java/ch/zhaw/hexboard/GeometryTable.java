@@ -0,0 +1,174 @@
+package ch.zhaw.hexboard;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class classifies the coordinates of the hex-grid defined by
+ * {@link ch.zhaw.hexboard.HexBoard} with a precomputed table.
+ * <p>
+ * For every coordinate within the range of the table, one byte holds the flags
+ * for field, corner and the orientation of a corner. Classifying a coordinate
+ * is therefore a single array load. Coordinates outside of the range are
+ * computed on the fly. Tables are immutable and shared by all boards of the
+ * same (rounded) dimensions.
+ * </p>
+ * <p>
+ * A corner has three adjacent corners and three adjacent fields. Their offsets
+ * only depend on the orientation of the corner, i.e. whether the corner lies
+ * on a row where the fields are below it ({@link #UPPER}) or above it.
+ * </p>
+ * 
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ *
+ */
+final class GeometryTable {
+  static final int FIELD = 1;
+  static final int CORNER = 2;
+  static final int UPPER = 4;
+  // offsets (dx, dy) of the adjacent corners of an upper and of a lower corner
+  static final int[] ADJACENT_CORNERS_OF_UPPER = {0, -2, 1, 1, -1, 1};
+  static final int[] ADJACENT_CORNERS_OF_LOWER = {0, 2, 1, -1, -1, -1};
+  // offsets (dx, dy) of the adjacent fields of an upper and of a lower corner
+  static final int[] ADJACENT_FIELDS_OF_UPPER = {0, 2, 1, -1, -1, -1};
+  static final int[] ADJACENT_FIELDS_OF_LOWER = {0, -2, 1, 1, -1, 1};
+  private static final int DIMENSION_STEP = 32;
+  // larger boards are classified on the fly, so the table stays small for huge maps
+  static final int MAX_DIMENSION = 1024;
+  private static final Map<Long, GeometryTable> TABLES = new ConcurrentHashMap<>();
+  private static volatile GeometryTable shared = forSize(DIMENSION_STEP, DIMENSION_STEP);
+
+  private final int width;
+  private final int height;
+  private final byte[] flags;
+
+  private GeometryTable(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.flags = new byte[width * height];
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        flags[y * width + x] = (byte) computeFlags(x, y);
+      }
+    }
+  }
+
+  /**
+   * Returns the table for the specified dimensions. The dimensions are rounded
+   * up, so boards of similar size share the same table.
+   * 
+   * @param width  the number of x coordinates to cover
+   * @param height the number of y coordinates to cover
+   * @return the shared table
+   */
+  static GeometryTable forSize(int width, int height) {
+    int roundedWidth = roundUp(width);
+    int roundedHeight = roundUp(height);
+    return TABLES.computeIfAbsent(((long) roundedWidth << Integer.SIZE) | roundedHeight,
+        key -> new GeometryTable(roundedWidth, roundedHeight));
+  }
+
+  /**
+   * Makes sure the table used by the static classification methods covers the
+   * specified dimensions, up to {@link #MAX_DIMENSION} in each direction.
+   * 
+   * @param width  the number of x coordinates to cover
+   * @param height the number of y coordinates to cover
+   */
+  static void ensureCovers(int width, int height) {
+    GeometryTable current = shared;
+    int coveredWidth = Math.min(width, MAX_DIMENSION);
+    int coveredHeight = Math.min(height, MAX_DIMENSION);
+    if (coveredWidth > current.width || coveredHeight > current.height) {
+      shared = forSize(Math.max(coveredWidth, current.width), Math.max(coveredHeight, current.height));
+    }
+  }
+
+  /**
+   * Returns the flags of the coordinate.
+   * 
+   * @param x the x coordinate
+   * @param y the y coordinate
+   * @return the flags ({@link #FIELD}, {@link #CORNER}, {@link #UPPER})
+   */
+  static int getFlags(int x, int y) {
+    GeometryTable table = shared;
+    if (x >= 0 && y >= 0 && x < table.width && y < table.height) {
+      return table.flags[y * table.width + x];
+    }
+    return computeFlags(x, y);
+  }
+
+  static boolean isField(int x, int y) {
+    return (getFlags(x, y) & FIELD) != 0;
+  }
+
+  static boolean isCorner(int x, int y) {
+    return (getFlags(x, y) & CORNER) != 0;
+  }
+
+  /**
+   * Returns the offsets of the adjacent corners of a corner.
+   * 
+   * @param x the x coordinate of the corner
+   * @param y the y coordinate of the corner
+   * @return the offsets as (dx, dy) pairs
+   */
+  static int[] getAdjacentCornerOffsets(int x, int y) {
+    return (getFlags(x, y) & UPPER) != 0 ? ADJACENT_CORNERS_OF_UPPER : ADJACENT_CORNERS_OF_LOWER;
+  }
+
+  /**
+   * Returns the offsets of the adjacent fields of a corner.
+   * 
+   * @param x the x coordinate of the corner
+   * @param y the y coordinate of the corner
+   * @return the offsets as (dx, dy) pairs
+   */
+  static int[] getAdjacentFieldOffsets(int x, int y) {
+    return (getFlags(x, y) & UPPER) != 0 ? ADJACENT_FIELDS_OF_UPPER : ADJACENT_FIELDS_OF_LOWER;
+  }
+
+  private static int roundUp(int dimension) {
+    return Math.max(1, (dimension + DIMENSION_STEP - 1) / DIMENSION_STEP) * DIMENSION_STEP;
+  }
+
+  static int computeFlags(int x, int y) {
+    int result = 0;
+    if (computeIsField(x, y)) {
+      result |= FIELD;
+    }
+    if (computeIsCorner(x, y)) {
+      result |= CORNER;
+    }
+    if (y % 3 == 0) {
+      result |= UPPER;
+    }
+    return result;
+  }
+
+  private static boolean computeIsField(int x, int y) {
+    boolean isYFieldCoordinateEven = (y - 2) % 6 == 0;
+    boolean isYFieldCoordinateOdd = (y - 5) % 6 == 0;
+    boolean isXFieldCoordinateEven = x % 2 == 0;
+    boolean isXFieldCoordinateOdd = (x - 1) % 2 == 0;
+
+    return (y >= 2 && x >= 1)
+        && (isYFieldCoordinateEven && isXFieldCoordinateEven)
+        || (isYFieldCoordinateOdd && isXFieldCoordinateOdd);
+  }
+
+  private static boolean computeIsCorner(int x, int y) {
+    // On the horizontal center lines, no edge points exist
+    boolean isOnFieldCenterLineHorizontal = (y - 2) % 3 == 0;
+
+    // On the vertical center lines, edge points exist
+    boolean isOnFieldCenterLineVerticalOdd = (x - 1) % 3 == 0 && x % 2 == 0;
+    boolean isOnFieldCenterLineVerticalEven = (x - 1) % 3 == 0 && (x - 1) % 2 == 0;
+    boolean isNotAnEdgePointOnFieldCentralVerticalLine = isOnFieldCenterLineVerticalOdd
+        && !(y % 6 == 0 || (y + 2) % 6 == 0)
+        || isOnFieldCenterLineVerticalEven && !((y + 5) % 6 == 0 || (y + 3) % 6 == 0);
+
+    return !(isOnFieldCenterLineHorizontal || isNotAnEdgePointOnFieldCentralVerticalLine);
+  }
+}
@@ -0,0 +1,102 @@
+package ch.zhaw.hexboard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/***
+ * <p>
+ * This class keeps the data elements of a {@link HexBoard} in lists on the
+ * heap. It is the default storage of a board.
+ * </p>
+ *
+ * @param <F> Data type for the field data objects
+ * @param <C> Data type for the corner data objects
+ * @param <E> Data type for the edge data objects
+ * @param <A> Data type for the annotation data objects
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ *
+ */
+final class HeapHexBoardStorage<F, C, E, A> implements HexBoardStorage<F, C, E, A> {
+  private List<F> fields = new ArrayList<>();
+  private List<C> corners = new ArrayList<>();
+  private List<E> edges = new ArrayList<>();
+  private List<A> annotations = new ArrayList<>();
+
+  @Override
+  public void ensureCapacity(int fieldCount, int cornerCount, int edgeCount, int annotationCount) {
+    checkOpen();
+    fill(fields, fieldCount);
+    fill(corners, cornerCount);
+    fill(edges, edgeCount);
+    fill(annotations, annotationCount);
+  }
+
+  private static <T> void fill(List<T> list, int size) {
+    while (list.size() < size) {
+      list.add(null);
+    }
+  }
+
+  @Override
+  public F getField(int fieldId) {
+    checkOpen();
+    return fields.get(fieldId);
+  }
+
+  @Override
+  public void setField(int fieldId, F data) {
+    checkOpen();
+    fields.set(fieldId, data);
+  }
+
+  @Override
+  public C getCorner(int cornerId) {
+    checkOpen();
+    return corners.get(cornerId);
+  }
+
+  @Override
+  public void setCorner(int cornerId, C data) {
+    checkOpen();
+    corners.set(cornerId, data);
+  }
+
+  @Override
+  public E getEdge(int edgeId) {
+    checkOpen();
+    return edges.get(edgeId);
+  }
+
+  @Override
+  public void setEdge(int edgeId, E data) {
+    checkOpen();
+    edges.set(edgeId, data);
+  }
+
+  @Override
+  public A getAnnotation(int annotationId) {
+    checkOpen();
+    return annotations.get(annotationId);
+  }
+
+  @Override
+  public void setAnnotation(int annotationId, A data) {
+    checkOpen();
+    annotations.set(annotationId, data);
+  }
+
+  @Override
+  public void close() {
+    fields = null;
+    corners = null;
+    edges = null;
+    annotations = null;
+  }
+
+  private void checkOpen() {
+    if (fields == null) {
+      throw new IllegalStateException("Storage is closed");
+    }
+  }
+}
@@ -1,14 +1,19 @@
 package ch.zhaw.hexboard;
 
 import java.awt.Point;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /***
  * <p>
@@ -58,6 +63,28 @@ import java.util.Set;
  * Fields, edges and corners can store an object of the type of the
  * corresponding type parameter each.
  * </p>
+ *
+ * <p>
+ * Every corner, edge and annotation position is created once, when the first
+ * field touching it is added, and gets an int id. Each corner knows the ids of
+ * its edges, so looking up an edge does not create, validate or hash a new
+ * object. The board keeps its own copies of all coordinates, so changing a
+ * {@link java.awt.Point} passed to the board does not affect the board.
+ * </p>
+ *
+ * <p>
+ * The data elements are kept by a {@link HexBoardStorage}. By default, this is
+ * a storage on the heap. Boards with a large number of fields can use an
+ * {@link OffHeapHexBoardStorage} instead, which should be closed with
+ * {@link #close()} when the board is not used anymore.
+ * </p>
+ *
+ * <p>
+ * For spatial queries, fields can be converted to axial coordinates (q, r),
+ * where r is the row of the field and q the column along the row. Based on
+ * them, the board provides distances, rings and spirals of fields. Corners can
+ * be searched breadth-first along the edges from several sources at once.
+ * </p>
  * 
  * <p>
  * Furthermore, the hexagonal game board can store six additional objects, so
@@ -87,22 +114,55 @@ import java.util.Set;
  * @author tebe
  *
  */
-public class HexBoard<F, C, E, A> {
+public class HexBoard<F, C, E, A> implements AutoCloseable {
+  private static final int CORNERS_PER_FIELD = 6;
+  private static final int EDGES_PER_CORNER = 3;
+  private static final int FIELDS_PER_CORNER = 3;
+  private static final int NONE = -1;
+  // pairs of indices into the corners of a field (see getCornerCoordinatesOfField)
+  private static final int[] EDGES_OF_FIELD = {0, 1, 1, 2, 2, 3, 3, 5, 5, 4, 4, 0};
+  // axial directions (dq, dr) in the order in which a ring is walked
+  private static final int[] AXIAL_DIRECTIONS = {1, 0, 1, -1, 0, -1, -1, 0, -1, 1, 0, 1};
   private int maxCoordinateX = 0;
   private int maxCoordinateY = 0;
-  private final Map<Point, F> field;
-  private final Map<Point, C> corner;
-  private final Map<Edge, E> edge;
-  private final Map<FieldAnnotationPosition, A> annotation;
+  private final HexBoardStorage<F, C, E, A> storage;
+  private final Map<Point, Integer> fieldIds = new HashMap<>();
+  private final Map<Point, Integer> cornerIds = new HashMap<>();
+  private final List<Point> cornerPoints = new ArrayList<>();
+  private int[] edgesOfCorner = new int[0];
+  private int[] annotationSlotsOfCorner = new int[0];
+  private int edgeCount;
+  private int[] cornersOfEdge = new int[0];
+  private final BitSet annotationPresent = new BitSet();
+  private int[] searchQueue = new int[0];
+  private int[] searchDistance = new int[0];
+  private int[] searchStamp = new int[0];
+  private int currentSearchStamp;
 
   /**
-   * Constructs an empty hexagonal board.
+   * Constructs an empty hexagonal board, which keeps its data on the heap.
    */
   public HexBoard() {
-    field = new HashMap<>();
-    corner = new HashMap<>();
-    edge = new HashMap<>();
-    annotation = new HashMap<>();
+    this(new HeapHexBoardStorage<>());
+  }
+
+  /**
+   * Constructs an empty hexagonal board, which keeps its data in the specified
+   * storage.
+   *
+   * @param storage the empty storage for the data elements
+   */
+  public HexBoard(HexBoardStorage<F, C, E, A> storage) {
+    this.storage = storage;
+  }
+
+  /**
+   * Closes the storage of the board. Afterwards, the data of the board can no
+   * longer be accessed.
+   */
+  @Override
+  public void close() {
+    storage.close();
   }
 
   /**
@@ -117,21 +177,27 @@ public class HexBoard<F, C, E, A> {
    *                                  field already exists or data is null
    */
   public void addField(Point center, F element) {
-    if (isFieldCoordinate(center) && !field.containsKey(center)) {
-      field.put(center, element);
+    if (isFieldCoordinate(center) && !fieldIds.containsKey(center)) {
+      Point fieldPoint = new Point(center);
+      int fieldId = fieldIds.size();
+      fieldIds.put(fieldPoint, fieldId);
+      ensureStorageCapacity();
+      storage.setField(fieldId, element);
       maxCoordinateX = Math.max(center.x + 1, maxCoordinateX);
       maxCoordinateY = Math.max(center.y + 2, maxCoordinateY);
-      // add (empty) edge, if they do not yet exist
-      for (Edge e : constructEdgesOfField(center)) {
-        if (!edge.containsKey(e)) {
-          edge.put(e, null);
-        }
-      }
+      GeometryTable.ensureCovers(maxCoordinateX + 1, maxCoordinateY + 1);
       // add (empty) corners, if they do not yet exist
-      for (Point p : getCornerCoordinatesOfField(center)) {
-        if (!corner.containsKey(p)) {
-          corner.put(p, null);
-        }
+      List<Point> cornersOfField = getCornerCoordinatesOfField(center);
+      int[] cornerIdsOfField = new int[CORNERS_PER_FIELD];
+      for (int i = 0; i < CORNERS_PER_FIELD; i++) {
+        int cornerId = internCorner(cornersOfField.get(i));
+        int slot = fieldId * CORNERS_PER_FIELD + i;
+        cornerIdsOfField[i] = cornerId;
+        addToSlots(annotationSlotsOfCorner, cornerId * FIELDS_PER_CORNER, FIELDS_PER_CORNER, slot);
+      }
+      // add (empty) edges, if they do not yet exist
+      for (int i = 0; i < EDGES_OF_FIELD.length; i += 2) {
+        internEdge(cornerIdsOfField[EDGES_OF_FIELD[i]], cornerIdsOfField[EDGES_OF_FIELD[i + 1]]);
       }
     } else {
       throw new IllegalArgumentException(
@@ -150,12 +216,16 @@ public class HexBoard<F, C, E, A> {
    *                                  annotation already exists
    */
   public void addFieldAnnotation(Point center, Point corner, A data) {
-    FieldAnnotationPosition annotationPosition = new FieldAnnotationPosition(center, corner);
-    if (!annotation.containsKey(annotationPosition)) {
-      annotation.put(annotationPosition, data);
+    int slot = getAnnotationSlot(center, corner);
+    if (slot == NONE) {
+      throw new IllegalArgumentException("Field " + center + " does not exist");
+    }
+    if (!annotationPresent.get(slot)) {
+      annotationPresent.set(slot);
+      storage.setAnnotation(slot, data);
     } else {
-      throw new IllegalArgumentException("Annotation: " + annotation + " already exists for field "
-          + center + " and position " + corner);
+      throw new IllegalArgumentException("Annotation: " + storage.getAnnotation(slot)
+          + " already exists for field " + center + " and position " + corner);
     }
   }
 
@@ -169,7 +239,27 @@ public class HexBoard<F, C, E, A> {
    *                                  corresponding corner coordinate
    */
   public A getFieldAnnotation(Point center, Point corner) {
-    return annotation.get(new FieldAnnotationPosition(center, corner));
+    int slot = getAnnotationSlot(center, corner);
+    return slot == NONE ? null : storage.getAnnotation(slot);
+  }
+
+  /**
+   * Returns the id of the annotation position of the specified field and corner.
+   *
+   * @param center the center of the field
+   * @param corner the corner of the field
+   * @return the id or NONE, if the field does not exist
+   * @throws IllegalArgumentException if coordinates are not a field and
+   *                                  corresponding corner coordinate
+   */
+  private int getAnnotationSlot(Point center, Point corner) {
+    int index = getCornerIndex(center, corner);
+    if (index == NONE) {
+      throw new IllegalArgumentException("" + center + " is not a field coordinate or " + corner
+          + " is not a corner of the field.");
+    }
+    Integer fieldId = fieldIds.get(center);
+    return fieldId == null ? NONE : fieldId * CORNERS_PER_FIELD + index;
   }
 
   /**
@@ -181,9 +271,14 @@ public class HexBoard<F, C, E, A> {
    */
   public List<A> getFieldAnnotationsForCorner(Point corner) {
     List<A> list = new LinkedList<>();
-    for (Entry<FieldAnnotationPosition, A> entry : annotation.entrySet()) {
-      if (entry.getKey().isCorner(corner) && entry.getValue() != null) {
-        list.add(entry.getValue());
+    Integer cornerId = cornerIds.get(corner);
+    if (cornerId != null) {
+      for (int i = 0; i < FIELDS_PER_CORNER; i++) {
+        int slot = annotationSlotsOfCorner[cornerId * FIELDS_PER_CORNER + i];
+        A data = slot == NONE ? null : storage.getAnnotation(slot);
+        if (data != null) {
+          list.add(data);
+        }
       }
     }
     return list;
@@ -198,9 +293,13 @@ public class HexBoard<F, C, E, A> {
    */
   public List<A> getFieldAnnotationsForField(Point center) {
     List<A> list = new LinkedList<>();
-    for (Entry<FieldAnnotationPosition, A> entry : annotation.entrySet()) {
-      if (entry.getKey().isField(center) && entry.getValue() != null) {
-        list.add(entry.getValue());
+    Integer fieldId = fieldIds.get(center);
+    if (fieldId != null) {
+      for (int slot = fieldId * CORNERS_PER_FIELD; slot < (fieldId + 1) * CORNERS_PER_FIELD; slot++) {
+        A data = storage.getAnnotation(slot);
+        if (data != null) {
+          list.add(data);
+        }
       }
     }
     return list;
@@ -216,49 +315,147 @@ public class HexBoard<F, C, E, A> {
     if (!HexBoard.isFieldCoordinate(center)) {
       return false;
     }
-    return field.containsKey(center);
+    return fieldIds.containsKey(center);
   }
 
   static boolean isFieldCoordinate(Point position) {
-    boolean isYFieldCoordinateEven = (position.y - 2) % 6 == 0;
-    boolean isYFieldCoordinateOdd = (position.y - 5) % 6 == 0;
-    boolean isXFieldCoordinateEven = position.x % 2 == 0;
-    boolean isXFieldCoordinateOdd = (position.x - 1) % 2 == 0;
-
-    return (position.y >= 2 && position.x >= 1)
-        && (isYFieldCoordinateEven && isXFieldCoordinateEven)
-        || (isYFieldCoordinateOdd && isXFieldCoordinateOdd);
+    return position != null && GeometryTable.isField(position.x, position.y);
   }
 
   static boolean isCornerCoordinate(Point p) {
-    // On the horizontal center lines, no edge points exist
-    boolean isOnFieldCenterLineHorizontal = (p.y - 2) % 3 == 0;
-
-    // On the vertical center lines, edge points exist
-    boolean isOnFieldCenterLineVerticalOdd = (p.x - 1) % 3 == 0 && p.x % 2 == 0;
-    boolean isOnFieldCenterLineVerticalEven = (p.x - 1) % 3 == 0 && (p.x - 1) % 2 == 0;
-    boolean isNotAnEdgePointOnFieldCentralVerticalLine = isOnFieldCenterLineVerticalOdd
-        && !(p.y % 6 == 0 || (p.y + 2) % 6 == 0)
-        || isOnFieldCenterLineVerticalEven && !((p.y + 5) % 6 == 0 || (p.y + 3) % 6 == 0);
-
-    return !(isOnFieldCenterLineHorizontal || isNotAnEdgePointOnFieldCentralVerticalLine);
-  }
-
-  private List<Edge> constructEdgesOfField(Point position) {
-    Edge[] e = new Edge[6];
-    e[0] = new Edge(new Point(position.x, position.y - 2),
-        new Point(position.x + 1, position.y - 1));
-    e[1] = new Edge(new Point(position.x + 1, position.y - 1),
-        new Point(position.x + 1, position.y + 1));
-    e[2] = new Edge(new Point(position.x + 1, position.y + 1),
-        new Point(position.x, position.y + 2));
-    e[3] = new Edge(new Point(position.x, position.y + 2),
-        new Point(position.x - 1, position.y + 1));
-    e[4] = new Edge(new Point(position.x - 1, position.y + 1),
-        new Point(position.x - 1, position.y - 1));
-    e[5] = new Edge(new Point(position.x - 1, position.y - 1),
-        new Point(position.x, position.y - 2));
-    return Arrays.asList(e);
+    return p != null && GeometryTable.isCorner(p.x, p.y);
+  }
+
+  /**
+   * Returns the id of the corner, creates the (empty) corner if it does not yet exist.
+   *
+   * @param location the location of the corner
+   * @return the id of the corner
+   */
+  private int internCorner(Point location) {
+    Integer cornerId = cornerIds.get(location);
+    if (cornerId == null) {
+      Point cornerPoint = new Point(location);
+      cornerId = cornerPoints.size();
+      cornerPoints.add(cornerPoint);
+      cornerIds.put(cornerPoint, cornerId);
+      ensureStorageCapacity();
+      edgesOfCorner = grow(edgesOfCorner, cornerPoints.size() * EDGES_PER_CORNER);
+      annotationSlotsOfCorner = grow(annotationSlotsOfCorner,
+          cornerPoints.size() * FIELDS_PER_CORNER);
+    }
+    return cornerId;
+  }
+
+  /**
+   * Creates the (empty) edge between two corners, if it does not yet exist.
+   *
+   * @param start id of the first corner
+   * @param end   id of the second corner
+   */
+  private void internEdge(int start, int end) {
+    if (findEdge(start, end) == NONE) {
+      int edgeId = edgeCount++;
+      ensureStorageCapacity();
+      cornersOfEdge = grow(cornersOfEdge, edgeCount * 2);
+      cornersOfEdge[edgeId * 2] = start;
+      cornersOfEdge[edgeId * 2 + 1] = end;
+      addToSlots(edgesOfCorner, start * EDGES_PER_CORNER, EDGES_PER_CORNER, edgeId);
+      addToSlots(edgesOfCorner, end * EDGES_PER_CORNER, EDGES_PER_CORNER, edgeId);
+    }
+  }
+
+  /**
+   * Returns the id of the edge between two corners.
+   *
+   * @param start id of the first corner
+   * @param end   id of the second corner
+   * @return the id of the edge or NONE, if there is no edge
+   */
+  private int findEdge(int start, int end) {
+    for (int i = start * EDGES_PER_CORNER; i < (start + 1) * EDGES_PER_CORNER; i++) {
+      int edgeId = edgesOfCorner[i];
+      if (edgeId != NONE
+          && (cornersOfEdge[edgeId * 2] == end || cornersOfEdge[edgeId * 2 + 1] == end)) {
+        return edgeId;
+      }
+    }
+    return NONE;
+  }
+
+  /**
+   * Returns the id of the edge between two points.
+   *
+   * @param p1 first point
+   * @param p2 second point
+   * @return the id of the edge or NONE, if there is no edge on the board
+   */
+  private int findEdge(Point p1, Point p2) {
+    Integer start = p1 == null ? null : cornerIds.get(p1);
+    Integer end = p2 == null ? null : cornerIds.get(p2);
+    if (start == null || end == null) {
+      return NONE;
+    }
+    return findEdge(start, end);
+  }
+
+  /**
+   * Makes sure the storage has a slot for every field, corner, edge and
+   * annotation position of the board.
+   */
+  private void ensureStorageCapacity() {
+    storage.ensureCapacity(fieldIds.size(), cornerPoints.size(), edgeCount,
+        fieldIds.size() * CORNERS_PER_FIELD);
+  }
+
+  /**
+   * Makes sure the array has at least the specified length. The capacity is
+   * doubled, so adding many corners and edges only copies the arrays a few
+   * times. New entries are NONE.
+   *
+   * @param array  the array
+   * @param length the required length
+   * @return the array itself or a grown copy
+   */
+  private static int[] grow(int[] array, int length) {
+    if (array.length >= length) {
+      return array;
+    }
+    int capacity = Math.max(length, array.length * 2);
+    int[] grown = Arrays.copyOf(array, capacity);
+    Arrays.fill(grown, array.length, capacity, NONE);
+    return grown;
+  }
+
+  private static void addToSlots(int[] slots, int offset, int count, int value) {
+    for (int i = offset; i < offset + count; i++) {
+      if (slots[i] == NONE) {
+        slots[i] = value;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Returns the index of the corner in the list returned by getCornerCoordinatesOfField.
+   *
+   * @param field  the field
+   * @param corner the corner
+   * @return the index or NONE, if the point is not a field or not a corner of the field
+   */
+  private static int getCornerIndex(Point field, Point corner) {
+    if (field == null || corner == null || !isFieldCoordinate(field)) {
+      return NONE;
+    }
+    int dx = corner.x - field.x;
+    int dy = corner.y - field.y;
+    if (dx == 0) {
+      return dy == -2 ? 0 : dy == 2 ? 3 : NONE;
+    } else if (dx == 1 || dx == -1) {
+      int upper = dx == 1 ? 1 : 4;
+      return dy == -1 ? upper : dy == 1 ? upper + 1 : NONE;
+    }
+    return NONE;
   }
 
   private static List<Point> getCornerCoordinatesOfField(Point position) {
@@ -273,17 +470,15 @@ public class HexBoard<F, C, E, A> {
   }
 
   protected static List<Point> getAdjacentCorners(Point position) {
-    Point[] corner = new Point[3];
-    if (position.y % 3 == 0) {
-      corner[0] = new Point(position.x, position.y - 2);
-      corner[1] = new Point(position.x + 1, position.y + 1);
-      corner[2] = new Point(position.x - 1, position.y + 1);
-    } else {
-      corner[0] = new Point(position.x, position.y + 2);
-      corner[1] = new Point(position.x + 1, position.y - 1);
-      corner[2] = new Point(position.x - 1, position.y - 1);
+    return toPoints(position, GeometryTable.getAdjacentCornerOffsets(position.x, position.y));
+  }
+
+  private static List<Point> toPoints(Point origin, int[] offsets) {
+    Point[] points = new Point[offsets.length / 2];
+    for (int i = 0; i < points.length; i++) {
+      points[i] = new Point(origin.x + offsets[2 * i], origin.y + offsets[2 * i + 1]);
     }
-    return Collections.unmodifiableList(Arrays.asList(corner));
+    return Collections.unmodifiableList(Arrays.asList(points));
   }
 
   /**
@@ -293,7 +488,8 @@ public class HexBoard<F, C, E, A> {
    */
   public List<C> getCorners() {
     List<C> result = new LinkedList<>();
-    for (C c : this.corner.values()) {
+    for (int cornerId : cornerIds.values()) {
+      C c = storage.getCorner(cornerId);
       if (c != null) {
         result.add(c);
       }
@@ -302,21 +498,15 @@ public class HexBoard<F, C, E, A> {
   }
 
   protected Set<Point> getCornerCoordinates() {
-    return Collections.unmodifiableSet(this.corner.keySet());
+    return Collections.unmodifiableSet(cornerIds.keySet());
   }
 
   private static List<Point> getAdjacentFields(Point corner) {
-    Point[] field = new Point[3];
-    if (corner.y % 3 == 0) {
-      field[0] = new Point(corner.x, corner.y + 2);
-      field[1] = new Point(corner.x + 1, corner.y - 1);
-      field[2] = new Point(corner.x - 1, corner.y - 1);
-    } else {
-      field[0] = new Point(corner.x, corner.y - 2);
-      field[1] = new Point(corner.x + 1, corner.y + 1);
-      field[2] = new Point(corner.x - 1, corner.y + 1);
-    }
-    return Collections.unmodifiableList(Arrays.asList(field));
+    return toPoints(corner, GeometryTable.getAdjacentFieldOffsets(corner.x, corner.y));
+  }
+
+  protected static List<Point> getAdjacentFieldCoordinates(Point corner) {
+    return getAdjacentFields(corner);
   }
 
   /**
@@ -327,8 +517,9 @@ public class HexBoard<F, C, E, A> {
    * @throws IllegalArgumentException if the requested field does not exist
    */
   public F getField(Point center) {
-    if (field.containsKey(center)) {
-      return field.get(center);
+    Integer fieldId = fieldIds.get(center);
+    if (fieldId != null) {
+      return storage.getField(fieldId);
     } else {
       throw new IllegalArgumentException("No field exists at these coordinates: " + center);
     }
@@ -341,8 +532,8 @@ public class HexBoard<F, C, E, A> {
    */
   public List<Point> getFields() {
     List<Point> result = new LinkedList<>();
-    for (Entry<Point, F> e : field.entrySet()) {
-      if (e.getValue() != null) {
+    for (Entry<Point, Integer> e : fieldIds.entrySet()) {
+      if (storage.getField(e.getValue()) != null) {
         result.add(e.getKey());
       }
     }
@@ -362,8 +553,10 @@ public class HexBoard<F, C, E, A> {
     List<F> result = new LinkedList<>();
     if (isCornerCoordinate(corner)) {
       for (Point f : getAdjacentFields(corner)) {
-        if (field.get(f) != null) {
-          result.add(field.get(f));
+        Integer fieldId = fieldIds.get(f);
+        F data = fieldId == null ? null : storage.getField(fieldId);
+        if (data != null) {
+          result.add(data);
         }
       }
     }
@@ -378,9 +571,12 @@ public class HexBoard<F, C, E, A> {
    * @return the stored data (or null)
    */
   public E getEdge(Point p1, Point p2) {
-    Edge e = new Edge(p1, p2);
-    if (edge.containsKey(e)) {
-      return edge.get(e);
+    int edgeId = findEdge(p1, p2);
+    if (edgeId != NONE) {
+      return storage.getEdge(edgeId);
+    } else if (!Edge.isEdge(p1, p2)) {
+      throw new IllegalArgumentException(
+          "Coordinates " + p1 + " and " + p2 + " are not coordinates of an edge.");
     } else {
       return null;
     }
@@ -396,11 +592,12 @@ public class HexBoard<F, C, E, A> {
    *                                  EXISTING edge of the field
    */
   public void setEdge(Point p1, Point p2, E data) {
-    Edge e = new Edge(p1, p2);
-    if (edge.containsKey(e)) {
-      edge.put(e, data);
+    int edgeId = findEdge(p1, p2);
+    if (edgeId != NONE) {
+      storage.setEdge(edgeId, data);
     } else {
-      throw new IllegalArgumentException("Edge does not exist => no data can be stored: " + e);
+      throw new IllegalArgumentException(
+          "Edge does not exist => no data can be stored: " + new Edge(p1, p2));
     }
   }
 
@@ -412,8 +609,9 @@ public class HexBoard<F, C, E, A> {
    * @throws IllegalArgumentException if the requested corner does not exist
    */
   public C getCorner(Point location) {
-    if (corner.containsKey(location)) {
-      return corner.get(location);
+    Integer cornerId = cornerIds.get(location);
+    if (cornerId != null) {
+      return storage.getCorner(cornerId);
     } else {
       throw new IllegalArgumentException("No corner exists at the coordinates: " + location);
     }
@@ -428,9 +626,10 @@ public class HexBoard<F, C, E, A> {
    * @throws IllegalArgumentException if there is no corner at this location
    */
   public C setCorner(Point location, C data) {
-    C old = corner.get(location);
-    if (corner.containsKey(location)) {
-      corner.put(location, data);
+    Integer cornerId = cornerIds.get(location);
+    if (cornerId != null) {
+      C old = storage.getCorner(cornerId);
+      storage.setCorner(cornerId, data);
       return old;
     } else {
       throw new IllegalArgumentException(
@@ -452,7 +651,8 @@ public class HexBoard<F, C, E, A> {
   public List<C> getNeighboursOfCorner(Point center) {
     List<C> result = new LinkedList<>();
     for (Point c : HexBoard.getAdjacentCorners(center)) {
-      C temp = corner.get(c);
+      Integer cornerId = cornerIds.get(c);
+      C temp = cornerId == null ? null : storage.getCorner(cornerId);
       if (temp != null) {
         result.add(temp);
       }
@@ -473,10 +673,14 @@ public class HexBoard<F, C, E, A> {
    */
   public List<E> getAdjacentEdges(Point corner) {
     List<E> result = new LinkedList<>();
-    for (Entry<Edge, E> e : this.edge.entrySet()) {
-      if (e.getKey().isEdgePoint(corner)  
-          && e.getValue() != null) {
-        result.add(e.getValue());
+    Integer cornerId = cornerIds.get(corner);
+    if (cornerId != null) {
+      for (int i = 0; i < EDGES_PER_CORNER; i++) {
+        int edgeId = edgesOfCorner[cornerId * EDGES_PER_CORNER + i];
+        E data = edgeId == NONE ? null : storage.getEdge(edgeId);
+        if (data != null) {
+          result.add(data);
+        }
       }
     }
     return result;
@@ -499,6 +703,202 @@ public class HexBoard<F, C, E, A> {
     return result;
   }
 
+  /**
+   * Converts a field coordinate into axial coordinates.
+   *
+   * @param field the field coordinate
+   * @return the axial coordinates {q, r}
+   * @throws IllegalArgumentException if the coordinate is not a field coordinate
+   */
+  public static int[] toAxial(Point field) {
+    if (field == null || !isFieldCoordinate(field)) {
+      throw new IllegalArgumentException("" + field + " is not a field coordinate.");
+    }
+    int row = (field.y - 2) / 3;
+    return new int[] {(field.x - row) / 2, row};
+  }
+
+  /**
+   * Converts a field coordinate into cube coordinates.
+   *
+   * @param field the field coordinate
+   * @return the cube coordinates {x, y, z} with x + y + z = 0
+   * @throws IllegalArgumentException if the coordinate is not a field coordinate
+   */
+  public static int[] toCube(Point field) {
+    int[] axial = toAxial(field);
+    return new int[] {axial[0], -axial[0] - axial[1], axial[1]};
+  }
+
+  /**
+   * Converts axial coordinates into a field coordinate.
+   *
+   * @param q the column along the row
+   * @param r the row
+   * @return the field coordinate
+   */
+  public static Point fromAxial(int q, int r) {
+    return new Point(2 * q + r, 3 * r + 2);
+  }
+
+  /**
+   * Returns the number of steps between two fields.
+   *
+   * @param from the first field
+   * @param to   the second field
+   * @return the distance, 0 if the fields are the same
+   * @throws IllegalArgumentException if a coordinate is not a field coordinate
+   */
+  public static int getFieldDistance(Point from, Point to) {
+    int[] a = toAxial(from);
+    int[] b = toAxial(to);
+    int dq = a[0] - b[0];
+    int dr = a[1] - b[1];
+    return (Math.abs(dq) + Math.abs(dr) + Math.abs(dq + dr)) / 2;
+  }
+
+  /**
+   * Returns the existing fields with the specified distance to the center,
+   * walking around the ring.
+   *
+   * @param center the center field
+   * @param radius the distance to the center
+   * @return the fields of the ring, only the center itself for radius 0
+   * @throws IllegalArgumentException if center is not a field coordinate or the
+   *                                  radius is negative
+   */
+  public List<Point> getFieldRing(Point center, int radius) {
+    List<Point> result = new ArrayList<>();
+    addFieldRing(result, toAxial(center), radius);
+    return result;
+  }
+
+  /**
+   * Returns the existing fields within the specified distance to the center,
+   * ring by ring starting at the center.
+   *
+   * @param center the center field
+   * @param radius the maximum distance to the center
+   * @return the fields of the spiral
+   * @throws IllegalArgumentException if center is not a field coordinate or the
+   *                                  radius is negative
+   */
+  public List<Point> getFieldSpiral(Point center, int radius) {
+    int[] axial = toAxial(center);
+    if (radius < 0) {
+      throw new IllegalArgumentException("Radius must not be negative: " + radius);
+    }
+    List<Point> result = new ArrayList<>();
+    for (int ring = 0; ring <= radius; ring++) {
+      addFieldRing(result, axial, ring);
+    }
+    return result;
+  }
+
+  private void addFieldRing(List<Point> result, int[] center, int radius) {
+    if (radius < 0) {
+      throw new IllegalArgumentException("Radius must not be negative: " + radius);
+    }
+    if (radius == 0) {
+      addIfField(result, center[0], center[1]);
+      return;
+    }
+    // start in the direction (-1, +1) and walk the six sides
+    int q = center[0] + AXIAL_DIRECTIONS[8] * radius;
+    int r = center[1] + AXIAL_DIRECTIONS[9] * radius;
+    for (int side = 0; side < 6; side++) {
+      for (int step = 0; step < radius; step++) {
+        addIfField(result, q, r);
+        q += AXIAL_DIRECTIONS[2 * side];
+        r += AXIAL_DIRECTIONS[2 * side + 1];
+      }
+    }
+  }
+
+  private void addIfField(List<Point> result, int q, int r) {
+    Point candidate = fromAxial(q, r);
+    if (hasField(candidate)) {
+      result.add(candidate);
+    }
+  }
+
+  /**
+   * Searches the corners reachable from the sources along the edges with a
+   * breadth-first search. All sources start at distance 0, so each corner gets
+   * the distance to the nearest source.
+   * <p>
+   * The work queue of the search is reused between calls, so searching a
+   * board is not thread-safe.
+   * </p>
+   *
+   * @param sources  the start corners, coordinates which are no corners of the
+   *                 board are ignored
+   * @param maxSteps the maximum number of edges between a source and a corner
+   * @param passable decides whether an edge can be passed, based on its data
+   *                 element (which may be null)
+   * @return the reached corners and their distance, in the order of the search
+   * @throws IllegalArgumentException if maxSteps is negative
+   */
+  public Map<Point, Integer> getCornersWithinSteps(Collection<Point> sources, int maxSteps,
+      Predicate<E> passable) {
+    if (maxSteps < 0) {
+      throw new IllegalArgumentException("Number of steps must not be negative: " + maxSteps);
+    }
+    prepareSearch();
+    int tail = 0;
+    for (Point source : sources) {
+      Integer cornerId = cornerIds.get(source);
+      if (cornerId != null && searchStamp[cornerId] != currentSearchStamp) {
+        searchStamp[cornerId] = currentSearchStamp;
+        searchDistance[cornerId] = 0;
+        searchQueue[tail++] = cornerId;
+      }
+    }
+    for (int head = 0; head < tail; head++) {
+      int cornerId = searchQueue[head];
+      int distance = searchDistance[cornerId];
+      if (distance == maxSteps) {
+        continue;
+      }
+      for (int i = cornerId * EDGES_PER_CORNER; i < (cornerId + 1) * EDGES_PER_CORNER; i++) {
+        int edgeId = edgesOfCorner[i];
+        if (edgeId != NONE && passable.test(storage.getEdge(edgeId))) {
+          int other = cornersOfEdge[edgeId * 2] == cornerId ? cornersOfEdge[edgeId * 2 + 1]
+              : cornersOfEdge[edgeId * 2];
+          if (searchStamp[other] != currentSearchStamp) {
+            searchStamp[other] = currentSearchStamp;
+            searchDistance[other] = distance + 1;
+            searchQueue[tail++] = other;
+          }
+        }
+      }
+    }
+    Map<Point, Integer> result = new LinkedHashMap<>();
+    for (int i = 0; i < tail; i++) {
+      result.put(new Point(cornerPoints.get(searchQueue[i])), searchDistance[searchQueue[i]]);
+    }
+    return result;
+  }
+
+  /**
+   * Resizes the work arrays of the search to the number of corners and starts
+   * a new search, so the marks of earlier searches become invalid.
+   */
+  private void prepareSearch() {
+    int cornerCount = cornerPoints.size();
+    if (searchQueue.length < cornerCount) {
+      searchQueue = new int[cornerCount];
+      searchDistance = new int[cornerCount];
+      searchStamp = new int[cornerCount];
+      currentSearchStamp = 0;
+    }
+    if (currentSearchStamp == Integer.MAX_VALUE) {
+      Arrays.fill(searchStamp, 0);
+      currentSearchStamp = 0;
+    }
+    currentSearchStamp++;
+  }
+
   int getMaxCoordinateX() {
     return maxCoordinateX;
   }
@@ -516,7 +916,7 @@ public class HexBoard<F, C, E, A> {
     if (!HexBoard.isCornerCoordinate(location)) {
       return false;
     }
-    return corner.containsKey(location);
+    return cornerIds.containsKey(location);
   }
 
   /**
@@ -526,16 +926,11 @@ public class HexBoard<F, C, E, A> {
    * @return true, if there is an edge between the two points
    */
   public boolean hasEdge(Point p1, Point p2) {
-    if (Edge.isEdge(p1, p2)) {
-      return edge.containsKey(new Edge(p1, p2));
-    } else {
-      return false;
-    }
+    return findEdge(p1, p2) != NONE;
   }
 
   static boolean isCorner(Point field, Point corner) {
-    return HexBoard.isFieldCoordinate(field)
-        && HexBoard.getCornerCoordinatesOfField(field).contains(corner);
+    return getCornerIndex(field, corner) != NONE;
   }
 
 }
@@ -0,0 +1,115 @@
+package ch.zhaw.hexboard;
+
+import java.awt.Point;
+import java.io.IOException;
+
+/***
+ * <p>
+ * This class writes a compact representation of a {@link HexBoard}, which uses
+ * one character per coordinate of the unit grid. It needs about a tenth of the
+ * space of the {@link HexBoardTextView}, so even huge boards fit on a screen.
+ * </p>
+ * <p>
+ * A field is shown by the first character of its data, a corner by the first
+ * character of its data or '.', if it is empty. All other coordinates,
+ * including the edges, are blank. Every line ends with a line separator.
+ * </p>
+ *
+ * For example, a single field with forest data looks like this:
+ * <pre>
+ *  .
+ * . .
+ *  F
+ * . .
+ *  .
+ * </pre>
+ *
+ * @param <F> See {@link ch.zhaw.hexboard.HexBoard}
+ * @param <C> See {@link ch.zhaw.hexboard.HexBoard}
+ * @param <E> See {@link ch.zhaw.hexboard.HexBoard}
+ * @param <A> See {@link ch.zhaw.hexboard.HexBoard}
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ *
+ */
+public class HexBoardCompactView<F, C, E, A> implements HexBoardRenderer {
+  private static final char EMPTY = ' ';
+  private static final char EMPTY_CORNER = '.';
+  private final HexBoard<F, C, E, A> board;
+
+  /**
+   * Creates a compact view for the specified board.
+   *
+   * @param board the board
+   */
+  public HexBoardCompactView(HexBoard<F, C, E, A> board) {
+    this.board = board;
+  }
+
+  /**
+   * Returns the character of a field. By default, it is the first character of
+   * the string representation of the data object.
+   *
+   * @param f field data object
+   * @return the character
+   */
+  protected char getFieldChar(F f) {
+    return firstChar(f);
+  }
+
+  /**
+   * Returns the character of a corner. By default, it is the first character of
+   * the string representation of the data object.
+   *
+   * @param c corner data object
+   * @return the character
+   */
+  protected char getCornerChar(C c) {
+    return firstChar(c);
+  }
+
+  private static char firstChar(Object o) {
+    String s = o.toString();
+    return s.isEmpty() ? EMPTY : s.charAt(0);
+  }
+
+  @Override
+  public void render(Appendable out) throws IOException {
+    Point p = new Point();
+    for (int y = 0; y <= board.getMaxCoordinateY(); y++) {
+      for (int x = 0; x <= board.getMaxCoordinateX(); x++) {
+        p.setLocation(x, y);
+        out.append(getChar(p));
+      }
+      out.append(System.lineSeparator());
+    }
+  }
+
+  private char getChar(Point p) {
+    if (GeometryTable.isField(p.x, p.y)) {
+      F field = board.hasField(p) ? board.getField(p) : null;
+      return field == null ? EMPTY : getFieldChar(field);
+    }
+    if (board.hasCorner(p)) {
+      C corner = board.getCorner(p);
+      return corner == null ? EMPTY_CORNER : getCornerChar(corner);
+    }
+    return EMPTY;
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    try {
+      render(sb);
+    } catch (IOException e) {
+      throw new IllegalStateException("A StringBuilder does not throw", e);
+    }
+    return sb.toString();
+  }
+}
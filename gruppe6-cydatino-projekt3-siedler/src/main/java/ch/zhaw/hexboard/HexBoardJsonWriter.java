@@ -0,0 +1,150 @@
+package ch.zhaw.hexboard;
+
+import java.awt.Point;
+import java.io.IOException;
+
+/***
+ * <p>
+ * This class writes a {@link HexBoard} as JSON, e.g. for web clients. The
+ * fields, corners and edges are written row by row while the board is
+ * scanned, so the document is never held in memory:
+ * </p>
+ *
+ * <pre>
+ * {"fields":[{"x":2,"y":2,"data":"LU"}],
+ *  "corners":[{"x":2,"y":0,"data":"rr"},{"x":1,"y":1,"data":null}, ...],
+ *  "edges":[{"x1":2,"y1":0,"x2":3,"y2":1,"data":"rr"}, ...]}
+ * </pre>
+ * <p>
+ * The document does not contain any whitespace. Fields without data are
+ * omitted, while corners and edges are always written, so a client knows the
+ * whole board. Data objects are written as JSON strings of their string
+ * representation, annotations are not written.
+ * </p>
+ *
+ * @param <F> See {@link ch.zhaw.hexboard.HexBoard}
+ * @param <C> See {@link ch.zhaw.hexboard.HexBoard}
+ * @param <E> See {@link ch.zhaw.hexboard.HexBoard}
+ * @param <A> See {@link ch.zhaw.hexboard.HexBoard}
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ *
+ */
+public class HexBoardJsonWriter<F, C, E, A> implements HexBoardRenderer {
+  // the corners at the end of the edges starting at a corner, see Edge
+  private static final int[][] EDGE_END_OFFSETS = { { 0, 2 }, { 1, -1 }, { 1, 1 } };
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+  private final HexBoard<F, C, E, A> board;
+
+  /**
+   * Creates a JSON writer for the specified board.
+   *
+   * @param board the board
+   */
+  public HexBoardJsonWriter(HexBoard<F, C, E, A> board) {
+    this.board = board;
+  }
+
+  @Override
+  public void render(Appendable out) throws IOException {
+    Point p = new Point();
+    Point end = new Point();
+    out.append("{\"fields\":[");
+    boolean first = true;
+    for (int y = 0; y <= board.getMaxCoordinateY(); y++) {
+      for (int x = 0; x <= board.getMaxCoordinateX(); x++) {
+        p.setLocation(x, y);
+        if (GeometryTable.isField(x, y) && board.hasField(p) && board.getField(p) != null) {
+          first = writeSeparator(out, first);
+          writePoint(out, p, "x", "y");
+          writeData(out, board.getField(p));
+        }
+      }
+    }
+    out.append("],\"corners\":[");
+    first = true;
+    for (int y = 0; y <= board.getMaxCoordinateY(); y++) {
+      for (int x = 0; x <= board.getMaxCoordinateX(); x++) {
+        p.setLocation(x, y);
+        if (board.hasCorner(p)) {
+          first = writeSeparator(out, first);
+          writePoint(out, p, "x", "y");
+          writeData(out, board.getCorner(p));
+        }
+      }
+    }
+    out.append("],\"edges\":[");
+    first = true;
+    for (int y = 0; y <= board.getMaxCoordinateY(); y++) {
+      for (int x = 0; x <= board.getMaxCoordinateX(); x++) {
+        p.setLocation(x, y);
+        if (!board.hasCorner(p)) {
+          continue;
+        }
+        for (int[] offset : EDGE_END_OFFSETS) {
+          end.setLocation(x + offset[0], y + offset[1]);
+          if (board.hasEdge(p, end)) {
+            first = writeSeparator(out, first);
+            writePoint(out, p, "x1", "y1");
+            out.append(',');
+            writePoint(out, end, "x2", "y2");
+            writeData(out, board.getEdge(p, end));
+          }
+        }
+      }
+    }
+    out.append("]}");
+  }
+
+  private static boolean writeSeparator(Appendable out, boolean first) throws IOException {
+    out.append(first ? "{" : ",{");
+    return false;
+  }
+
+  private static void writePoint(Appendable out, Point p, String nameX, String nameY)
+      throws IOException {
+    out.append('"').append(nameX).append("\":").append(Integer.toString(p.x));
+    out.append(",\"").append(nameY).append("\":").append(Integer.toString(p.y));
+  }
+
+  private static void writeData(Appendable out, Object data) throws IOException {
+    out.append(",\"data\":");
+    if (data == null) {
+      out.append("null");
+    } else {
+      writeString(out, data.toString());
+    }
+    out.append('}');
+  }
+
+  private static void writeString(Appendable out, String s) throws IOException {
+    out.append('"');
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c == '"' || c == '\\') {
+        out.append('\\').append(c);
+      } else if (c < ' ') {
+        out.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xf]);
+      } else {
+        out.append(c);
+      }
+    }
+    out.append('"');
+  }
+
+  /*
+   * (non-Javadoc)
+   * 
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    try {
+      render(sb);
+    } catch (IOException e) {
+      throw new IllegalStateException("A StringBuilder does not throw", e);
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,31 @@
+package ch.zhaw.hexboard;
+
+import java.io.IOException;
+
+/***
+ * <p>
+ * This interface describes a representation of a {@link HexBoard}, which is
+ * written directly to an output. Hence, a big board can be sent to a terminal,
+ * a file or a network connection without building the whole representation
+ * as a string first.
+ * </p>
+ * <p>
+ * Available representations are the text view {@link HexBoardTextView} (which
+ * can use ANSI colors), the compact view {@link HexBoardCompactView} and the
+ * JSON representation {@link HexBoardJsonWriter}.
+ * </p>
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ *
+ */
+public interface HexBoardRenderer {
+
+  /**
+   * Writes the representation of the board to the output.
+   *
+   * @param out the output, e.g. a {@link java.io.Writer} or a
+   *            {@link StringBuilder}
+   * @throws IOException if the output fails
+   */
+  void render(Appendable out) throws IOException;
+}
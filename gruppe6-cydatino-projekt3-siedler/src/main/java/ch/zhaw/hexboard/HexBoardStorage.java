@@ -0,0 +1,71 @@
+package ch.zhaw.hexboard;
+
+/***
+ * <p>
+ * This interface describes where a {@link HexBoard} keeps the data elements
+ * of its fields, corners, edges and annotations.
+ * </p>
+ * <p>
+ * The board assigns consecutive ids to fields, corners and edges when they are
+ * created, and the annotation of corner i (0..5) of field f gets the id
+ * f * 6 + i. Before a new id is used, the board calls
+ * {@link #ensureCapacity(int, int, int, int)}; new elements hold null. After
+ * {@link #close()}, the storage must not be used anymore.
+ * </p>
+ *
+ * @param <F> Data type for the field data objects
+ * @param <C> Data type for the corner data objects
+ * @param <E> Data type for the edge data objects
+ * @param <A> Data type for the annotation data objects
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ *
+ */
+public interface HexBoardStorage<F, C, E, A> extends AutoCloseable {
+
+  /**
+   * Makes sure the storage can hold the specified number of elements.
+   *
+   * @param fields      the number of fields
+   * @param corners     the number of corners
+   * @param edges       the number of edges
+   * @param annotations the number of annotations
+   */
+  void ensureCapacity(int fields, int corners, int edges, int annotations);
+
+  F getField(int fieldId);
+
+  void setField(int fieldId, F data);
+
+  C getCorner(int cornerId);
+
+  void setCorner(int cornerId, C data);
+
+  E getEdge(int edgeId);
+
+  void setEdge(int edgeId, E data);
+
+  A getAnnotation(int annotationId);
+
+  void setAnnotation(int annotationId, A data);
+
+  /**
+   * Returns a new storage, which keeps the data elements on the heap. This is
+   * the default storage of a board.
+   *
+   * @param <F> Data type for the field data objects
+   * @param <C> Data type for the corner data objects
+   * @param <E> Data type for the edge data objects
+   * @param <A> Data type for the annotation data objects
+   * @return the empty storage
+   */
+  static <F, C, E, A> HexBoardStorage<F, C, E, A> onHeap() {
+    return new HeapHexBoardStorage<>();
+  }
+
+  /**
+   * Releases the storage.
+   */
+  @Override
+  void close();
+}
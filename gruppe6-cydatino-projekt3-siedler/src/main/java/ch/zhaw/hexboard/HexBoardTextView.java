@@ -1,8 +1,10 @@
 package ch.zhaw.hexboard;
 
 import java.awt.Point;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * This class can be used to get a textual representation of a hex-grid modeled
@@ -95,7 +97,7 @@ import java.util.Map;
  * 
  * @author tebe
  */
-public class HexBoardTextView<F, C, E, A> {
+public class HexBoardTextView<F, C, E, A> implements HexBoardRenderer {
 
   private static final String ONE_SPACE    = " ";
   private static final String TWO_SPACES = "  ";
@@ -109,7 +111,10 @@ public class HexBoardTextView<F, C, E, A> {
   private final Label defaultDiagonalEdgeDownLabel = new Label('\\', '\\');
   private final Label defaultDiagonalEdgeUpLabel = new Label('/', '/');
   private final Label defaultVerticalEdgeLabel = new Label('|', '|');
+  private static final String ANSI_ESCAPE = "\u001b[";
+  private static final String ANSI_RESET = ANSI_ESCAPE + "0m";
   private Map<Point, Label> fixedLowerFieldLabels;
+  private Function<Object, String> labelColors;
 
   /**
    * Creates a view for the specified board.
@@ -136,6 +141,18 @@ public class HexBoardTextView<F, C, E, A> {
     fixedLowerFieldLabels.put(field, label);
   }
 
+  /**
+   * Sets the colors of the labels. The function is called with the data object
+   * of a field, corner, edge or annotation and returns the parameters of an
+   * ANSI color sequence (e.g. "31" for red) or null, if the label keeps the
+   * default color. Lower field labels and default labels are never colored.
+   *
+   * @param labelColors the colors or null to write plain text only
+   */
+  public void setLabelColors(Function<Object, String> labelColors) {
+    this.labelColors = labelColors;
+  }
+
   /**
    * Returns a label to be used as label for the edge. This method is called to
    * determine the label for this edge.
@@ -197,9 +214,9 @@ public class HexBoardTextView<F, C, E, A> {
 
   /**
    * <p>
-   * This method returns a single-line string with all corners and field
-   * annotations for a given y-coordinate. It produces the string by iterating
-   * over corner positions and appending per corner:
+   * This method writes a single line with all corners and field annotations
+   * for a given y-coordinate. It produces the line by iterating over corner
+   * positions and appending per corner:
    * </p>
    * <p>
    * "(CL) NE NW " for y%3==1 "(CL) SE SW " for y%3==0
@@ -208,50 +225,48 @@ public class HexBoardTextView<F, C, E, A> {
    * Corners/labels that do not exist are replaced by spaces.
    * </p>
    */
-  private String printCornerLine(int y) {
-    StringBuilder cornerLine = new StringBuilder("");
+  private void writeCornerLine(Appendable out, int y) throws IOException {
     int offset = 0;
     if (y % 2 != 0) {
-      cornerLine.append(NINE_SPACES);
+      out.append(NINE_SPACES);
       offset = 1;
     }
     for (int x = offset; x <= board.getMaxCoordinateX(); x = x + 2) {
       Point p = new Point(x, y);
-      Label cornerLabel;
 
       // handle corner labels for corners other than north and south corners
       Point center;
-      Label first = null;
-      Label second = null;
+      A first = null;
+      A second = null;
       switch (y % 3) {
         case 0:
           center = new Point(x + 1, y - 1);
-          first = this.getAnnotationLabel(
-              board.getFieldAnnotation(center, new Point(center.x - 1, center.y + 1)));
-          second = this.getAnnotationLabel(
-              board.getFieldAnnotation(center, new Point(center.x + 1, center.y + 1)));
+          first = board.getFieldAnnotation(center, new Point(center.x - 1, center.y + 1));
+          second = board.getFieldAnnotation(center, new Point(center.x + 1, center.y + 1));
           break;
         case 1:
           center = new Point(x + 1, y + 1);
-          first = this.getAnnotationLabel(
-              board.getFieldAnnotation(center, new Point(center.x - 1, center.y - 1)));
-          second = this.getAnnotationLabel(
-              board.getFieldAnnotation(center, new Point(center.x + 1, center.y - 1)));
+          first = board.getFieldAnnotation(center, new Point(center.x - 1, center.y - 1));
+          second = board.getFieldAnnotation(center, new Point(center.x + 1, center.y - 1));
           break;
         default:
           throw new IllegalArgumentException("Not a corner line"); 
       }
 
       if (board.hasCorner(p)) {
-        cornerLabel = board.getCorner(p) != null ? getCornerLabel(board.getCorner(p)) : emptyLabel;
-        cornerLine.append("(").append(cornerLabel.getFirst()).append(cornerLabel.getSecond()).append(")");
+        C corner = board.getCorner(p);
+        out.append('(');
+        writeLabel(out, corner != null ? getCornerLabel(corner) : emptyLabel, corner);
+        out.append(')');
       } else {
-        cornerLine.append(FOUR_SPACES);
+        out.append(FOUR_SPACES);
       }
-      cornerLine.append(ONE_SPACE).append(first.getFirst()).append(first.getSecond());
-      cornerLine.append(FIVE_SPACES).append(second.getFirst()).append(second.getSecond()).append(TWO_SPACES);
+      out.append(ONE_SPACE);
+      writeLabel(out, getAnnotationLabel(first), first);
+      out.append(FIVE_SPACES);
+      writeLabel(out, getAnnotationLabel(second), second);
+      out.append(TWO_SPACES);
     }
-    return cornerLine.toString();
   }
 
   private Label getAnnotationLabel(A annotation) {
@@ -262,18 +277,31 @@ public class HexBoardTextView<F, C, E, A> {
     }
   }
 
-  private String printMiddlePartOfField(int y) {
+  /**
+   * Writes the two lines with the vertical edges and the upper and lower field
+   * labels. The upper line is written first, so the fields are visited twice
+   * instead of buffering the lower line.
+   */
+  private void writeMiddlePartOfField(Appendable out, int y) throws IOException {
+    writeFieldLine(out, y, true);
+    out.append(System.lineSeparator());
+    writeFieldLine(out, y, false);
+  }
+
+  private void writeFieldLine(Appendable out, int y, boolean upper) throws IOException {
     boolean isOffsetRow = (y - 2) % 6 == 0;
-    StringBuilder lower = new StringBuilder(isOffsetRow ? NINE_SPACES : "");
-    StringBuilder upper = new StringBuilder(isOffsetRow ? NINE_SPACES : "");
+    if (isOffsetRow) {
+      out.append(NINE_SPACES);
+    }
     int xstart = isOffsetRow ? 2 : 1;
 
     for (int x = xstart; x <= board.getMaxCoordinateX() + 1; x = x + 2) {
       Point edgeStart = new Point(x - 1, y - 1);
       Point edgeEnd = new Point(x - 1, y + 1);
       Label l = this.emptyLabel;
+      E edge = null;
       if (board.hasEdge(edgeStart, edgeEnd)) {
-        E edge = board.getEdge(edgeStart, edgeEnd);
+        edge = board.getEdge(edgeStart, edgeEnd);
         if (edge != null) {
           l = this.getEdgeLabel(edge);
         } else {
@@ -281,48 +309,43 @@ public class HexBoardTextView<F, C, E, A> {
         }
       }
       Point center = new Point(x, y);
-      boolean hasFieldWithData = board.hasField(center) && board.getField(center) != null;
-      Label lowerFieldLabel = hasFieldWithData ? getFieldLabelLower(center) : emptyLabel;
-      Label upperFieldLabel = hasFieldWithData ? getFieldLabelUpper(board.getField(center))
-          : emptyLabel;
-      lower.append(ONE_SPACE).append(l.getFirst()).append(l.getSecond()).append(SEVEN_SPACES);
-      lower.append(lowerFieldLabel.getFirst()).append(lowerFieldLabel.getSecond()).append(SIX_SPACES);
-      
-      upper.append(ONE_SPACE).append(l.getFirst()).append(l.getSecond()).append(SEVEN_SPACES);
-      upper.append(upperFieldLabel.getFirst()).append(upperFieldLabel.getSecond()).append(SIX_SPACES);
+      F field = board.hasField(center) ? board.getField(center) : null;
+      Label fieldLabel = emptyLabel;
+      if (field != null) {
+        fieldLabel = upper ? getFieldLabelUpper(field) : getFieldLabelLower(center);
+      }
+      out.append(ONE_SPACE);
+      writeLabel(out, l, edge);
+      out.append(SEVEN_SPACES);
+      writeLabel(out, fieldLabel, field);
+      out.append(SIX_SPACES);
     }
-    return upper + System.lineSeparator() + lower;
   }
 
-  private String printDiagonalEdges(int y) {
-    StringBuilder builder = new StringBuilder();
+  private void writeDiagonalEdges(Appendable out, int y) throws IOException {
     Point edgeStart;
     Point edgeEnd;
-    Label annotation = null;
-    Label l;
+    A annotation;
     boolean isDown = y % 6 == 0;
 
-    builder.append("   ");
+    out.append("   ");
     for (int x = 0; x <= board.getMaxCoordinateX(); x = x + 1) {
       if (isDown) {
         edgeStart = new Point(x, y);
         edgeEnd = new Point(x + 1, y + 1);
-        annotation = getAnnotationLabel(board.getFieldAnnotation(new Point(x + 1, y - 1), new Point(x + 1, y + 1)));
+        annotation = board.getFieldAnnotation(new Point(x + 1, y - 1), new Point(x + 1, y + 1));
       } else {
         edgeStart = new Point(x, y + 1);
         edgeEnd = new Point(x + 1, y);
-        annotation = getAnnotationLabel(board.getFieldAnnotation(new Point(x + 1, y + 2), new Point(x + 1, y)));
-      }
-      l = determineEdgeLabel(isDown, edgeStart, edgeEnd);
-
-      if (!isDown) {
-        builder.append(TWO_SPACES + l.getFirst() + l.getSecond() + TWO_SPACES + annotation.getFirst() + annotation.getSecond());
-      } else {
-        builder.append(TWO_SPACES + l.getFirst() + l.getSecond() + TWO_SPACES + annotation.getFirst() + annotation.getSecond());
+        annotation = board.getFieldAnnotation(new Point(x + 1, y + 2), new Point(x + 1, y));
       }
+      E edge = board.hasEdge(edgeStart, edgeEnd) ? board.getEdge(edgeStart, edgeEnd) : null;
+      out.append(TWO_SPACES);
+      writeLabel(out, determineEdgeLabel(isDown, edgeStart, edgeEnd), edge);
+      out.append(TWO_SPACES);
+      writeLabel(out, getAnnotationLabel(annotation), annotation);
       isDown = !isDown;
     }
-    return builder.toString();
   }
 
   private Label determineEdgeLabel(boolean isDown, Point edgeStart, Point edgeEnd) {
@@ -341,6 +364,46 @@ public class HexBoardTextView<F, C, E, A> {
     return l;
   }
 
+  /**
+   * Writes the label. If colors are set and the data object has a color, the
+   * label is enclosed in the ANSI escape sequences of the color.
+   *
+   * @param out   the output
+   * @param label the label
+   * @param data  the data object the label was derived from or null
+   */
+  private void writeLabel(Appendable out, Label label, Object data) throws IOException {
+    String color = data == null || labelColors == null ? null : labelColors.apply(data);
+    if (color != null) {
+      out.append(ANSI_ESCAPE).append(color).append('m');
+    }
+    out.append(label.getFirst()).append(label.getSecond());
+    if (color != null) {
+      out.append(ANSI_RESET);
+    }
+  }
+
+  /**
+   * Writes the textual representation of the board line by line to the
+   * output, without building it in memory first.
+   *
+   * @param out the output, e.g. a {@link java.io.Writer}
+   * @throws IOException if the output fails
+   */
+  @Override
+  public void render(Appendable out) throws IOException {
+    for (int y = 0; y <= board.getMaxCoordinateY(); y = y + 3) {
+      writeCornerLine(out, y);
+      out.append(System.lineSeparator());
+      writeDiagonalEdges(out, y);
+      out.append(System.lineSeparator());
+      writeCornerLine(out, y + 1);
+      out.append(System.lineSeparator());
+      writeMiddlePartOfField(out, y + 2);
+      out.append(System.lineSeparator());
+    }
+  }
+
   /*
    * (non-Javadoc)
    * 
@@ -348,19 +411,13 @@ public class HexBoardTextView<F, C, E, A> {
    */
   @Override
   public String toString() {
-    StringBuilder sb = new StringBuilder();
-    for (int y = 0; y <= board.getMaxCoordinateY(); y = y + 3) {
-      sb.append(printCornerLine(y));
-      sb.append(System.lineSeparator());
-      sb.append(printDiagonalEdges(y));
-      sb.append(System.lineSeparator());
-      sb.append(printCornerLine(y + 1));
-      sb.append(System.lineSeparator());
-      sb.append(printMiddlePartOfField(y + 2));
-      sb.append(System.lineSeparator());
-
+    StringBuilder text = new StringBuilder();
+    try {
+      render(text);
+    } catch (IOException e) {
+      throw new IllegalStateException("A StringBuilder does not throw", e);
     }
-    return sb.toString();
+    return text.toString();
   }
 
 }
@@ -0,0 +1,281 @@
+package ch.zhaw.hexboard;
+
+import java.awt.Point;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/***
+ * <p>
+ * This class represents a hexagonal game board whose fields are created on
+ * demand by a generator function. It is meant for huge (procedural) maps, of
+ * which only a small region is ever looked at.
+ * </p>
+ * <p>
+ * The coordinate space is divided into square chunks. When a field, corner or
+ * edge is accessed for the first time, the chunks of all fields touching it are
+ * materialized: the generator is called for every field coordinate of these
+ * chunks and each field with non-null data is added to the board, which creates
+ * its corners and edges as usual. Hence, creating the board takes constant time
+ * and the memory used grows with the explored area only.
+ * </p>
+ * <p>
+ * Methods which return all fields or corners of the board, like
+ * {@link #getFields()} and {@link #getCorners()}, only return the materialized
+ * ones. The board covers non-negative coordinates only.
+ * </p>
+ *
+ * @param <F> Data type for the field data objects
+ * @param <C> Data type for the corner data objects
+ * @param <E> Data type for the edge data objects
+ * @param <A> Data type for the annotation data objects
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ *
+ */
+public class LazyHexBoard<F, C, E, A> extends HexBoard<F, C, E, A> {
+  static final int DEFAULT_CHUNK_SIZE = 32;
+  // distance (dx, dy) from a corner to the centers of its fields
+  private static final int FIELD_REACH_X = 1;
+  private static final int FIELD_REACH_Y = 2;
+  private final Function<Point, F> generator;
+  private final int chunkSize;
+  private final Set<Long> materializedChunks = new HashSet<>();
+
+  /**
+   * Constructs an empty board with the default chunk size.
+   *
+   * @param generator returns the data of the field at the given coordinate or
+   *                  null, if there is no field
+   */
+  public LazyHexBoard(Function<Point, F> generator) {
+    this(generator, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Constructs an empty board.
+   *
+   * @param generator returns the data of the field at the given coordinate or
+   *                  null, if there is no field
+   * @param chunkSize the width and height of a chunk in coordinates
+   * @throws IllegalArgumentException if the generator is null or the chunk size
+   *                                  is not positive
+   */
+  public LazyHexBoard(Function<Point, F> generator, int chunkSize) {
+    this(generator, chunkSize, new HeapHexBoardStorage<>());
+  }
+
+  /**
+   * Constructs an empty board, which keeps its data in the specified storage.
+   *
+   * @param generator returns the data of the field at the given coordinate or
+   *                  null, if there is no field
+   * @param chunkSize the width and height of a chunk in coordinates
+   * @param storage   the empty storage for the data elements
+   * @throws IllegalArgumentException if the generator is null or the chunk size
+   *                                  is not positive
+   */
+  public LazyHexBoard(Function<Point, F> generator, int chunkSize, HexBoardStorage<F, C, E, A> storage) {
+    super(storage);
+    if (generator == null || chunkSize <= 0) {
+      throw new IllegalArgumentException("Generator must not be null and chunk size must be positive");
+    }
+    this.generator = generator;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Returns the number of chunks which have been materialized so far.
+   *
+   * @return the number of materialized chunks
+   */
+  public int getMaterializedChunkCount() {
+    return materializedChunks.size();
+  }
+
+  /**
+   * Materializes all chunks overlapping the specified rectangle of coordinates.
+   *
+   * @param minX the smallest x coordinate
+   * @param minY the smallest y coordinate
+   * @param maxX the largest x coordinate
+   * @param maxY the largest y coordinate
+   */
+  public void materialize(int minX, int minY, int maxX, int maxY) {
+    int fromChunkX = Math.max(0, minX) / chunkSize;
+    int fromChunkY = Math.max(0, minY) / chunkSize;
+    for (int chunkY = fromChunkY; maxY >= 0 && chunkY <= maxY / chunkSize; chunkY++) {
+      for (int chunkX = fromChunkX; maxX >= 0 && chunkX <= maxX / chunkSize; chunkX++) {
+        materializeChunk(chunkX, chunkY);
+      }
+    }
+  }
+
+  private void materializeChunk(int chunkX, int chunkY) {
+    if (!materializedChunks.add(((long) chunkX << Integer.SIZE) | chunkY)) {
+      return;
+    }
+    for (int y = chunkY * chunkSize; y < (chunkY + 1) * chunkSize; y++) {
+      for (int x = chunkX * chunkSize; x < (chunkX + 1) * chunkSize; x++) {
+        if (GeometryTable.isField(x, y)) {
+          Point center = new Point(x, y);
+          F data = generator.apply(new Point(center));
+          if (data != null) {
+            super.addField(center, data);
+          }
+        }
+      }
+    }
+  }
+
+  private void materializeAround(Point location, int reachX, int reachY) {
+    if (location != null) {
+      materialize(location.x - reachX, location.y - reachY, location.x + reachX, location.y + reachY);
+    }
+  }
+
+  private void materializeField(Point center) {
+    materializeAround(center, 0, 0);
+  }
+
+  private void materializeCorner(Point location) {
+    materializeAround(location, FIELD_REACH_X, FIELD_REACH_Y);
+  }
+
+  /**
+   * Adds a field to the board, after the chunk of the field was materialized.
+   *
+   * @param center  Coordinate of the center of a field on the unit grid
+   * @param element Data element to be stored for this field
+   * @throws IllegalArgumentException if center is not the center of a field or
+   *                                  the field already exists, e.g. because the
+   *                                  generator created it
+   */
+  @Override
+  public void addField(Point center, F element) {
+    materializeField(center);
+    super.addField(center, element);
+  }
+
+  @Override
+  public void addFieldAnnotation(Point center, Point corner, A data) {
+    materializeField(center);
+    super.addFieldAnnotation(center, corner, data);
+  }
+
+  @Override
+  public A getFieldAnnotation(Point center, Point corner) {
+    materializeField(center);
+    return super.getFieldAnnotation(center, corner);
+  }
+
+  @Override
+  public List<A> getFieldAnnotationsForCorner(Point corner) {
+    materializeCorner(corner);
+    return super.getFieldAnnotationsForCorner(corner);
+  }
+
+  @Override
+  public List<A> getFieldAnnotationsForField(Point center) {
+    materializeField(center);
+    return super.getFieldAnnotationsForField(center);
+  }
+
+  @Override
+  public boolean hasField(Point center) {
+    materializeField(center);
+    return super.hasField(center);
+  }
+
+  @Override
+  public F getField(Point center) {
+    materializeField(center);
+    return super.getField(center);
+  }
+
+  @Override
+  public List<F> getFields(Point corner) {
+    materializeCorner(corner);
+    return super.getFields(corner);
+  }
+
+  @Override
+  public E getEdge(Point p1, Point p2) {
+    materializeCorner(p1);
+    materializeCorner(p2);
+    return super.getEdge(p1, p2);
+  }
+
+  @Override
+  public void setEdge(Point p1, Point p2, E data) {
+    materializeCorner(p1);
+    materializeCorner(p2);
+    super.setEdge(p1, p2, data);
+  }
+
+  @Override
+  public boolean hasEdge(Point p1, Point p2) {
+    materializeCorner(p1);
+    materializeCorner(p2);
+    return super.hasEdge(p1, p2);
+  }
+
+  @Override
+  public C getCorner(Point location) {
+    materializeCorner(location);
+    return super.getCorner(location);
+  }
+
+  @Override
+  public C setCorner(Point location, C data) {
+    materializeCorner(location);
+    return super.setCorner(location, data);
+  }
+
+  @Override
+  public boolean hasCorner(Point location) {
+    materializeCorner(location);
+    return super.hasCorner(location);
+  }
+
+  @Override
+  public List<C> getNeighboursOfCorner(Point center) {
+    // the neighbours are one step away, their fields one more step
+    materializeAround(center, 2 * FIELD_REACH_X, 2 * FIELD_REACH_Y);
+    return super.getNeighboursOfCorner(center);
+  }
+
+  @Override
+  public List<E> getAdjacentEdges(Point corner) {
+    materializeCorner(corner);
+    return super.getAdjacentEdges(corner);
+  }
+
+  /**
+   * Searches the corners reachable from the sources, see
+   * {@link HexBoard#getCornersWithinSteps(Collection, int, Predicate)}. The
+   * area within reach of the sources is materialized first.
+   *
+   * @param sources  the start corners
+   * @param maxSteps the maximum number of edges between a source and a corner
+   * @param passable decides whether an edge can be passed
+   * @return the reached corners and their distance, in the order of the search
+   * @throws IllegalArgumentException if maxSteps is negative
+   */
+  @Override
+  public Map<Point, Integer> getCornersWithinSteps(Collection<Point> sources, int maxSteps,
+      Predicate<E> passable) {
+    if (maxSteps < 0) {
+      throw new IllegalArgumentException("Number of steps must not be negative: " + maxSteps);
+    }
+    // every edge moves at most one coordinate in x and two in y
+    for (Point source : sources) {
+      materializeAround(source, (maxSteps + 1) * FIELD_REACH_X, (maxSteps + 1) * FIELD_REACH_Y);
+    }
+    return super.getCornersWithinSteps(sources, maxSteps, passable);
+  }
+}
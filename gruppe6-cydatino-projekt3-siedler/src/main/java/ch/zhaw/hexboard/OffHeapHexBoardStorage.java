@@ -0,0 +1,193 @@
+package ch.zhaw.hexboard;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/***
+ * <p>
+ * This class keeps the data elements of a {@link HexBoard} outside of the
+ * heap, in direct byte buffers, so even giant boards put no load on the
+ * garbage collector.
+ * </p>
+ * <p>
+ * Every element is stored in a fixed-width slot: one byte per field (e.g. the
+ * land), two bytes per corner and edge (e.g. the faction of a building or a
+ * road) and four bytes per annotation. A {@link SlotCodec} per element type
+ * converts the data elements to numbers, the slot holds the code plus one, so
+ * 0 stands for null. The buffers grow by doubling when the board grows.
+ * </p>
+ * <p>
+ * The buffers are ordinary direct buffers, so their memory is released by the
+ * garbage collector, not at a defined point in time: a buffer replaced while
+ * growing and all buffers of a closed storage are freed once they are
+ * collected. After the storage is closed, every access throws an
+ * {@link IllegalStateException}.
+ * </p>
+ *
+ * @param <F> Data type for the field data objects
+ * @param <C> Data type for the corner data objects
+ * @param <E> Data type for the edge data objects
+ * @param <A> Data type for the annotation data objects
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ *
+ */
+public final class OffHeapHexBoardStorage<F, C, E, A> implements HexBoardStorage<F, C, E, A> {
+  static final int FIELD_WIDTH = Byte.BYTES;
+  static final int CORNER_WIDTH = Short.BYTES;
+  static final int EDGE_WIDTH = Short.BYTES;
+  static final int ANNOTATION_WIDTH = Integer.BYTES;
+  private static final int MAX_BYTE_CODE = 0xff;
+  private static final int MAX_SHORT_CODE = 0xffff;
+  private static final int NULL_CODE = 0;
+  private final SlotCodec<F> fieldCodec;
+  private final SlotCodec<C> cornerCodec;
+  private final SlotCodec<E> edgeCodec;
+  private final SlotCodec<A> annotationCodec;
+  private ByteBuffer fields = allocate(0);
+  private ByteBuffer corners = allocate(0);
+  private ByteBuffer edges = allocate(0);
+  private ByteBuffer annotations = allocate(0);
+  private boolean closed;
+
+  /**
+   * Constructs an empty storage.
+   *
+   * @param fieldCodec      the codec of the field data, at most 255 codes
+   * @param cornerCodec     the codec of the corner data, at most 65535 codes
+   * @param edgeCodec       the codec of the edge data, at most 65535 codes
+   * @param annotationCodec the codec of the annotation data
+   */
+  public OffHeapHexBoardStorage(SlotCodec<F> fieldCodec, SlotCodec<C> cornerCodec,
+      SlotCodec<E> edgeCodec, SlotCodec<A> annotationCodec) {
+    this.fieldCodec = fieldCodec;
+    this.cornerCodec = cornerCodec;
+    this.edgeCodec = edgeCodec;
+    this.annotationCodec = annotationCodec;
+  }
+
+  @Override
+  public void ensureCapacity(int fieldCount, int cornerCount, int edgeCount, int annotationCount) {
+    checkOpen();
+    fields = grow(fields, fieldCount * FIELD_WIDTH);
+    corners = grow(corners, cornerCount * CORNER_WIDTH);
+    edges = grow(edges, edgeCount * EDGE_WIDTH);
+    annotations = grow(annotations, annotationCount * ANNOTATION_WIDTH);
+  }
+
+  /**
+   * Returns the number of bytes reserved outside of the heap.
+   *
+   * @return the capacity of the current buffers in bytes, 0 after the storage
+   *         was closed
+   */
+  public long getCapacityInBytes() {
+    if (closed) {
+      return 0;
+    }
+    return (long) fields.capacity() + corners.capacity() + edges.capacity() + annotations.capacity();
+  }
+
+  @Override
+  public F getField(int fieldId) {
+    checkOpen();
+    int code = fields.get(fieldId * FIELD_WIDTH) & MAX_BYTE_CODE;
+    return code == NULL_CODE ? null : fieldCodec.decode(code - 1);
+  }
+
+  @Override
+  public void setField(int fieldId, F data) {
+    checkOpen();
+    fields.put(fieldId * FIELD_WIDTH, (byte) toSlotCode(
+        data == null ? NULL_CODE : fieldCodec.encode(data) + 1, MAX_BYTE_CODE));
+  }
+
+  @Override
+  public C getCorner(int cornerId) {
+    checkOpen();
+    int code = corners.getShort(cornerId * CORNER_WIDTH) & MAX_SHORT_CODE;
+    return code == NULL_CODE ? null : cornerCodec.decode(code - 1);
+  }
+
+  @Override
+  public void setCorner(int cornerId, C data) {
+    checkOpen();
+    corners.putShort(cornerId * CORNER_WIDTH, (short) toSlotCode(
+        data == null ? NULL_CODE : cornerCodec.encode(data) + 1, MAX_SHORT_CODE));
+  }
+
+  @Override
+  public E getEdge(int edgeId) {
+    checkOpen();
+    int code = edges.getShort(edgeId * EDGE_WIDTH) & MAX_SHORT_CODE;
+    return code == NULL_CODE ? null : edgeCodec.decode(code - 1);
+  }
+
+  @Override
+  public void setEdge(int edgeId, E data) {
+    checkOpen();
+    edges.putShort(edgeId * EDGE_WIDTH, (short) toSlotCode(
+        data == null ? NULL_CODE : edgeCodec.encode(data) + 1, MAX_SHORT_CODE));
+  }
+
+  @Override
+  public A getAnnotation(int annotationId) {
+    checkOpen();
+    int code = annotations.getInt(annotationId * ANNOTATION_WIDTH);
+    return code == NULL_CODE ? null : annotationCodec.decode(code - 1);
+  }
+
+  @Override
+  public void setAnnotation(int annotationId, A data) {
+    checkOpen();
+    annotations.putInt(annotationId * ANNOTATION_WIDTH, toSlotCode(
+        data == null ? NULL_CODE : annotationCodec.encode(data) + 1, Integer.MAX_VALUE));
+  }
+
+  /**
+   * Drops the references to the buffers, so the garbage collector can release
+   * their memory. Closing a closed storage has no effect.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    fields = null;
+    corners = null;
+    edges = null;
+    annotations = null;
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("Storage is closed");
+    }
+  }
+
+  private static int toSlotCode(int code, int maxCode) {
+    // a codec returning Integer.MAX_VALUE overflows to a negative slot code
+    if (code < 0 || code > maxCode) {
+      throw new IllegalArgumentException("Code does not fit into the slot: " + (code - 1));
+    }
+    return code;
+  }
+
+  private static ByteBuffer allocate(int capacity) {
+    return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+  }
+
+  private static ByteBuffer grow(ByteBuffer buffer, int capacity) {
+    if (buffer.capacity() >= capacity) {
+      return buffer;
+    }
+    ByteBuffer grown = allocate(Math.max(capacity, buffer.capacity() * 2));
+    ByteBuffer source = buffer.duplicate();
+    source.clear();
+    grown.put(source);
+    grown.clear();
+    return grown;
+  }
+}
@@ -0,0 +1,87 @@
+package ch.zhaw.hexboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/***
+ * <p>
+ * This interface describes how a data element is encoded as a non-negative
+ * number, so it can be stored in a fixed-width slot of an
+ * {@link OffHeapHexBoardStorage}. Null values are handled by the storage and
+ * never passed to a codec.
+ * </p>
+ *
+ * @param <T> Data type of the encoded elements
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ *
+ */
+public interface SlotCodec<T> {
+
+  /**
+   * Encodes a data element.
+   *
+   * @param value the element (not null)
+   * @return the code, not negative
+   */
+  int encode(T value);
+
+  /**
+   * Decodes a data element.
+   *
+   * @param code a code returned by {@link #encode(Object)}
+   * @return the element
+   */
+  T decode(int code);
+
+  /**
+   * Returns a codec which encodes the constants of an enum by their ordinal.
+   *
+   * @param <T>  the type of the enum
+   * @param type the class of the enum
+   * @return the codec
+   */
+  static <T extends Enum<T>> SlotCodec<T> ofEnum(Class<T> type) {
+    T[] constants = type.getEnumConstants();
+    return new SlotCodec<T>() {
+      @Override
+      public int encode(T value) {
+        return value.ordinal();
+      }
+
+      @Override
+      public T decode(int code) {
+        return constants[code];
+      }
+    };
+  }
+
+  /**
+   * Returns a codec which assigns consecutive codes to the distinct values in
+   * the order they are encoded first, e.g. for the names of the players. The
+   * codec keeps every distinct value, so it is meant for small sets of values.
+   *
+   * @param <T> the type of the values
+   * @return the codec
+   */
+  static <T> SlotCodec<T> interning() {
+    Map<T, Integer> codes = new HashMap<>();
+    List<T> values = new ArrayList<>();
+    return new SlotCodec<T>() {
+      @Override
+      public int encode(T value) {
+        return codes.computeIfAbsent(value, v -> {
+          values.add(v);
+          return values.size() - 1;
+        });
+      }
+
+      @Override
+      public T decode(int code) {
+        return values.get(code);
+      }
+    };
+  }
+}
@@ -0,0 +1,514 @@
+package ch.zhaw.hexboard;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/***
+ * <p>
+ * This class represents a hexagonal game board with the coordinate system of
+ * {@link HexBoard}, which can be read and modified by several threads at once.
+ * </p>
+ * <p>
+ * The coordinate space is partitioned into square tiles. Each tile stores the
+ * fields, corners and edges it owns in arrays and has its own
+ * {@link StampedLock}. Fields and corners are owned by the tile of their
+ * coordinate, an edge by the tile of its upper corner. Hence, every corner and
+ * edge on the border of two tiles is stored exactly once. Changes which touch
+ * several tiles, like adding a field or placing a building under the distance
+ * rule, lock all affected tiles in the order of their keys, so they cannot
+ * deadlock. Changes in distant regions lock different tiles and proceed in
+ * parallel.
+ * </p>
+ * <p>
+ * Reads of a single element are optimistic: they do not lock the tile and only
+ * fall back to a read lock if a writer changed the tile in the meantime. Reads
+ * of several elements (e.g. {@link #getNeighboursOfCorner(Point)}) are not a
+ * consistent snapshot across tiles.
+ * </p>
+ *
+ * @param <F> Data type for the field data objects
+ * @param <C> Data type for the corner data objects
+ * @param <E> Data type for the edge data objects
+ *
+ * @author baumgnoa, bergecyr, brundar, sigritim
+ *
+ */
+public class TiledHexBoard<F, C, E> {
+  static final int DEFAULT_TILE_SIZE = 32;
+  // every coordinate has one slot for field or corner data and three for the
+  // edges to the corners below it (dx = -1, 0, 1)
+  private static final int SLOTS_PER_COORDINATE = 4;
+  private static final int FIRST_EDGE_SLOT = 2;
+  private static final int[] CORNER_OFFSETS_OF_FIELD = {0, -2, 1, -1, 1, 1, 0, 2, -1, 1, -1, -1};
+  private static final Object MISSING = new Object();
+  private final int tileSize;
+  private final Map<Long, Tile> tiles = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs an empty board with the default tile size.
+   */
+  public TiledHexBoard() {
+    this(DEFAULT_TILE_SIZE);
+  }
+
+  /**
+   * Constructs an empty board.
+   *
+   * @param tileSize the width and height of a tile in coordinates
+   * @throws IllegalArgumentException if the tile size is not positive
+   */
+  public TiledHexBoard(int tileSize) {
+    if (tileSize <= 0) {
+      throw new IllegalArgumentException("Tile size must be positive: " + tileSize);
+    }
+    this.tileSize = tileSize;
+  }
+
+  /**
+   * Adds a field to the board and creates the surrounding (empty) corners and
+   * edges if they do not yet exist.
+   *
+   * @param center  Coordinate of the center of a field on the unit grid
+   * @param element Data element to be stored for this field
+   * @throws IllegalArgumentException if center is not the center of a field or
+   *                                  the field already exists
+   */
+  public void addField(Point center, F element) {
+    if (!HexBoard.isFieldCoordinate(center)) {
+      throw new IllegalArgumentException("Coordinates are not the center of a field - " + center);
+    }
+    Point[] corners = new Point[CORNER_OFFSETS_OF_FIELD.length / 2];
+    List<Point> locations = new ArrayList<>();
+    locations.add(center);
+    for (int i = 0; i < corners.length; i++) {
+      corners[i] = new Point(center.x + CORNER_OFFSETS_OF_FIELD[2 * i],
+          center.y + CORNER_OFFSETS_OF_FIELD[2 * i + 1]);
+      locations.add(corners[i]);
+    }
+    Locks locks = lock(locations, true);
+    try {
+      Tile tile = locks.get(center);
+      int slot = getSlot(center);
+      if (tile.present[slot]) {
+        throw new IllegalArgumentException("Field already exists - " + center);
+      }
+      tile.present[slot] = true;
+      tile.data[slot] = element;
+      for (int i = 0; i < corners.length; i++) {
+        locks.get(corners[i]).present[getSlot(corners[i])] = true;
+        Point next = corners[(i + 1) % corners.length];
+        Point owner = getEdgeOwner(corners[i], next);
+        locks.get(owner).present[getEdgeSlot(corners[i], next)] = true;
+      }
+    } finally {
+      locks.unlock();
+    }
+  }
+
+  /**
+   * Determines whether the field at the specified position exists.
+   *
+   * @param center the field
+   * @return false, if the field does not exist or the position is not a field
+   */
+  public boolean hasField(Point center) {
+    return HexBoard.isFieldCoordinate(center) && read(center, getSlot(center)) != MISSING;
+  }
+
+  /**
+   * Returns the data for the field denoted by the point.
+   *
+   * @param center the location of the field
+   * @return the stored data (or null)
+   * @throws IllegalArgumentException if the requested field does not exist
+   */
+  @SuppressWarnings("unchecked")
+  public F getField(Point center) {
+    Object value = HexBoard.isFieldCoordinate(center) ? read(center, getSlot(center)) : MISSING;
+    if (value == MISSING) {
+      throw new IllegalArgumentException("No field exists at these coordinates: " + center);
+    }
+    return (F) value;
+  }
+
+  /**
+   * Returns the fields with non-null data elements.
+   *
+   * @return the list with the fields
+   */
+  public List<Point> getFields() {
+    List<Point> result = new ArrayList<>();
+    for (Map.Entry<Long, Tile> entry : tiles.entrySet()) {
+      int tileX = (int) (entry.getKey() >> Integer.SIZE);
+      int tileY = (int) (long) entry.getKey();
+      Tile tile = entry.getValue();
+      long stamp = tile.lock.readLock();
+      try {
+        for (int local = 0; local < tileSize * tileSize; local++) {
+          int slot = local * SLOTS_PER_COORDINATE;
+          Point location = new Point(tileX * tileSize + local % tileSize,
+              tileY * tileSize + local / tileSize);
+          if (tile.present[slot] && tile.data[slot] != null && HexBoard.isFieldCoordinate(location)) {
+            result.add(location);
+          }
+        }
+      } finally {
+        tile.lock.unlockRead(stamp);
+      }
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  /**
+   * Checks whether there is a corner at that specified location.
+   *
+   * @param location the location to check
+   * @return true, if there is a corner at this location
+   */
+  public boolean hasCorner(Point location) {
+    return HexBoard.isCornerCoordinate(location) && read(location, getSlot(location)) != MISSING;
+  }
+
+  /**
+   * Returns the data for the corner denoted by the point.
+   *
+   * @param location the location of the corner
+   * @return the data stored for this node (or null)
+   * @throws IllegalArgumentException if the requested corner does not exist
+   */
+  @SuppressWarnings("unchecked")
+  public C getCorner(Point location) {
+    Object value = HexBoard.isCornerCoordinate(location) ? read(location, getSlot(location)) : MISSING;
+    if (value == MISSING) {
+      throw new IllegalArgumentException("No corner exists at the coordinates: " + location);
+    }
+    return (C) value;
+  }
+
+  /**
+   * Stores the data for the corner denoted by the point.
+   *
+   * @param location the location of the corner
+   * @param data     the data to be stored
+   * @return the old data entry (or null)
+   * @throws IllegalArgumentException if there is no corner at this location
+   */
+  @SuppressWarnings("unchecked")
+  public C setCorner(Point location, C data) {
+    Locks locks = lockExisting(List.of(location), getCornerSlot(location),
+        "Corner does not exist => no data can be stored: " + location);
+    try {
+      return (C) locks.set(location, getSlot(location), data);
+    } finally {
+      locks.unlock();
+    }
+  }
+
+  /**
+   * Stores the data for the corner, if the corner currently holds the expected data.
+   *
+   * @param location the location of the corner
+   * @param expected the expected data (or null)
+   * @param data     the data to be stored
+   * @return true, if the data was stored
+   * @throws IllegalArgumentException if there is no corner at this location
+   */
+  public boolean compareAndSetCorner(Point location, C expected, C data) {
+    Locks locks = lockExisting(List.of(location), getCornerSlot(location),
+        "Corner does not exist => no data can be stored: " + location);
+    try {
+      return locks.compareAndSet(location, getSlot(location), expected, data);
+    } finally {
+      locks.unlock();
+    }
+  }
+
+  /**
+   * Stores the data for the corner, if neither the corner nor any of its direct
+   * neighbours hold data. The corner and its neighbours are locked together, so
+   * two threads can never occupy neighbouring corners, even across tiles.
+   *
+   * @param location the location of the corner
+   * @param data     the data to be stored
+   * @return true, if the data was stored
+   * @throws IllegalArgumentException if there is no corner at this location
+   */
+  public boolean setCornerIfIsolated(Point location, C data) {
+    int slot = getCornerSlot(location);
+    List<Point> locations = new ArrayList<>();
+    locations.add(location);
+    locations.addAll(HexBoard.getAdjacentCorners(location));
+    Locks locks = lockExisting(locations, slot,
+        "Corner does not exist => no data can be stored: " + location);
+    try {
+      for (Point neighbour : locations.subList(1, locations.size())) {
+        Tile tile = locks.get(neighbour);
+        if (tile != null && tile.present[getSlot(neighbour)] && tile.data[getSlot(neighbour)] != null) {
+          return false;
+        }
+      }
+      return locks.compareAndSet(location, slot, null, data);
+    } finally {
+      locks.unlock();
+    }
+  }
+
+  /**
+   * Returns the (non-null) corner data elements of the corners that are direct
+   * neighbors of the specified corner.
+   *
+   * @param center the location of the corner
+   * @return list with non-null corner data elements
+   */
+  @SuppressWarnings("unchecked")
+  public List<C> getNeighboursOfCorner(Point center) {
+    List<C> result = new ArrayList<>();
+    for (Point neighbour : HexBoard.getAdjacentCorners(center)) {
+      Object value = read(neighbour, getSlot(neighbour));
+      if (value != MISSING && value != null) {
+        result.add((C) value);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Checks whether there is an edge between the two points.
+   *
+   * @param p1 first point
+   * @param p2 second point
+   * @return true, if there is an edge between the two points
+   */
+  public boolean hasEdge(Point p1, Point p2) {
+    return Edge.isEdge(p1, p2) && read(getEdgeOwner(p1, p2), getEdgeSlot(p1, p2)) != MISSING;
+  }
+
+  /**
+   * Returns the data for the edge denoted by the two points.
+   *
+   * @param p1 first point
+   * @param p2 second point
+   * @return the stored data (or null)
+   * @throws IllegalArgumentException if the points are not the corners of an edge
+   */
+  @SuppressWarnings("unchecked")
+  public E getEdge(Point p1, Point p2) {
+    if (!Edge.isEdge(p1, p2)) {
+      throw new IllegalArgumentException(
+          "Coordinates " + p1 + " and " + p2 + " are not coordinates of an edge.");
+    }
+    Object value = read(getEdgeOwner(p1, p2), getEdgeSlot(p1, p2));
+    return value == MISSING ? null : (E) value;
+  }
+
+  /**
+   * Stores the data for the edge denoted by the two points.
+   *
+   * @param p1   first point
+   * @param p2   second point
+   * @param data the data to be stored
+   * @throws IllegalArgumentException if the two points do not identify an
+   *                                  existing edge
+   */
+  public void setEdge(Point p1, Point p2, E data) {
+    Point owner = getExistingEdgeOwner(p1, p2);
+    Locks locks = lockExisting(List.of(owner), getEdgeSlot(p1, p2),
+        "Edge does not exist => no data can be stored: " + p1 + p2);
+    try {
+      locks.set(owner, getEdgeSlot(p1, p2), data);
+    } finally {
+      locks.unlock();
+    }
+  }
+
+  /**
+   * Stores the data for the edge, if the edge currently holds the expected data.
+   *
+   * @param p1       first point
+   * @param p2       second point
+   * @param expected the expected data (or null)
+   * @param data     the data to be stored
+   * @return true, if the data was stored
+   * @throws IllegalArgumentException if the two points do not identify an
+   *                                  existing edge
+   */
+  public boolean compareAndSetEdge(Point p1, Point p2, E expected, E data) {
+    Point owner = getExistingEdgeOwner(p1, p2);
+    Locks locks = lockExisting(List.of(owner), getEdgeSlot(p1, p2),
+        "Edge does not exist => no data can be stored: " + p1 + p2);
+    try {
+      return locks.compareAndSet(owner, getEdgeSlot(p1, p2), expected, data);
+    } finally {
+      locks.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of tiles which store at least one element.
+   *
+   * @return the number of tiles
+   */
+  public int getTileCount() {
+    return tiles.size();
+  }
+
+  private int getCornerSlot(Point location) {
+    if (location == null || !HexBoard.isCornerCoordinate(location)) {
+      throw new IllegalArgumentException("Corner does not exist => no data can be stored: " + location);
+    }
+    return getSlot(location);
+  }
+
+  private Point getExistingEdgeOwner(Point p1, Point p2) {
+    if (!Edge.isEdge(p1, p2)) {
+      throw new IllegalArgumentException("Edge does not exist => no data can be stored: " + p1 + p2);
+    }
+    return getEdgeOwner(p1, p2);
+  }
+
+  /**
+   * Reads a slot optimistically and falls back to a read lock, if the tile was
+   * written concurrently.
+   *
+   * @param location a coordinate of the tile
+   * @param slot     the slot within the tile
+   * @return the data or MISSING, if the element does not exist
+   */
+  private Object read(Point location, int slot) {
+    Tile tile = tiles.get(getTileKey(location));
+    if (tile == null) {
+      return MISSING;
+    }
+    long stamp = tile.lock.tryOptimisticRead();
+    Object value = tile.present[slot] ? tile.data[slot] : MISSING;
+    if (!tile.lock.validate(stamp)) {
+      stamp = tile.lock.readLock();
+      try {
+        value = tile.present[slot] ? tile.data[slot] : MISSING;
+      } finally {
+        tile.lock.unlockRead(stamp);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Write-locks the tiles of all existing locations, the first location must
+   * hold an existing element.
+   *
+   * @param locations the locations
+   * @param slot      the slot of the element at the first location
+   * @param message   the message of the exception, if the element does not exist
+   * @return the held locks
+   */
+  private Locks lockExisting(List<Point> locations, int slot, String message) {
+    if (tiles.get(getTileKey(locations.get(0))) == null) {
+      throw new IllegalArgumentException(message);
+    }
+    Locks locks = lock(locations, false);
+    if (!locks.get(locations.get(0)).present[slot]) {
+      locks.unlock();
+      throw new IllegalArgumentException(message);
+    }
+    return locks;
+  }
+
+  /**
+   * Write-locks the tiles of all locations in the order of their keys.
+   *
+   * @param locations the locations
+   * @param create    whether missing tiles are created, otherwise they are skipped
+   * @return the held locks
+   */
+  private Locks lock(List<Point> locations, boolean create) {
+    TreeMap<Long, Tile> sorted = new TreeMap<>();
+    for (Point location : locations) {
+      long key = getTileKey(location);
+      Tile tile = create ? tiles.computeIfAbsent(key, k -> new Tile()) : tiles.get(key);
+      if (tile != null) {
+        sorted.put(key, tile);
+      }
+    }
+    Locks locks = new Locks(sorted);
+    for (Tile tile : sorted.values()) {
+      locks.stamps.add(tile.lock.writeLock());
+    }
+    return locks;
+  }
+
+  private long getTileKey(Point location) {
+    long tileX = Math.floorDiv(location.x, tileSize);
+    long tileY = Math.floorDiv(location.y, tileSize);
+    return (tileX << Integer.SIZE) | (tileY & 0xffffffffL);
+  }
+
+  private int getSlot(Point location) {
+    int local = Math.floorMod(location.y, tileSize) * tileSize + Math.floorMod(location.x, tileSize);
+    return local * SLOTS_PER_COORDINATE;
+  }
+
+  private static Point getEdgeOwner(Point p1, Point p2) {
+    return p1.y < p2.y ? p1 : p2;
+  }
+
+  private int getEdgeSlot(Point p1, Point p2) {
+    Point owner = getEdgeOwner(p1, p2);
+    Point other = owner == p1 ? p2 : p1;
+    return getSlot(owner) + FIRST_EDGE_SLOT + other.x - owner.x;
+  }
+
+  /**
+   * This class holds the elements of one tile
+   */
+  private final class Tile {
+    private final StampedLock lock = new StampedLock();
+    private final boolean[] present = new boolean[tileSize * tileSize * SLOTS_PER_COORDINATE];
+    private final Object[] data = new Object[tileSize * tileSize * SLOTS_PER_COORDINATE];
+  }
+
+  /**
+   * This class holds the write locks of several tiles
+   */
+  private final class Locks {
+    private final TreeMap<Long, Tile> locked;
+    private final List<Long> stamps = new ArrayList<>();
+
+    Locks(TreeMap<Long, Tile> locked) {
+      this.locked = locked;
+    }
+
+    Tile get(Point location) {
+      return locked.get(getTileKey(location));
+    }
+
+    Object set(Point location, int slot, Object value) {
+      Tile tile = get(location);
+      Object old = tile.data[slot];
+      tile.data[slot] = value;
+      return old;
+    }
+
+    boolean compareAndSet(Point location, int slot, Object expected, Object value) {
+      Tile tile = get(location);
+      if (!Objects.equals(tile.data[slot], expected)) {
+        return false;
+      }
+      tile.data[slot] = value;
+      return true;
+    }
+
+    void unlock() {
+      int i = stamps.size();
+      for (Tile tile : locked.descendingMap().values()) {
+        tile.lock.unlockWrite(stamps.get(--i));
+      }
+    }
+  }
+}
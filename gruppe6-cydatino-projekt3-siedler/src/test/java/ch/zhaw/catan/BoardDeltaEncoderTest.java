@@ -0,0 +1,79 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * This class tests the functionalities of BoardDeltaEncoder.
+ *
+ */
+public class BoardDeltaEncoderTest {
+
+    private SiedlerGame game;
+    private BoardDeltaEncoder encoder;
+
+    @BeforeEach
+    public void initializeTests() {
+        game = new SiedlerGame(10, 2, NoOpInteraction.INSTANCE);
+        encoder = new BoardDeltaEncoder(game, 2);
+    }
+
+    @Test
+    public void testPatchIsEncodedOnceForAllSubscribers() {
+        List<ByteBuffer> first = new ArrayList<>();
+        List<ByteBuffer> second = new ArrayList<>();
+        encoder.subscribe(first::add);
+        encoder.subscribe(second::add);
+
+        game.placeInitialSettlement(new Point(6, 10), false);
+        encoder.flush();
+        encoder.flush();
+
+        assertEquals(2, first.size(), "keyframe and one patch, empty flushes are not sent");
+        assertEquals(Protocol.KEYFRAME, Protocol.getType(first.get(0)));
+        assertEquals(Protocol.BOARD_DIFF, Protocol.getType(first.get(1)));
+        assertSame(first.get(1).array(), second.get(1).array(), "all subscribers share the same encoded patch");
+    }
+
+    @Test
+    public void testResourceChangesAreCoalesced() {
+        List<ByteBuffer> frames = new ArrayList<>();
+        encoder.subscribe(frames::add);
+        Player player = game.getCurrentPlayer();
+        player.addResources(Config.Resource.ORE, 2);
+        player.addResources(Config.Resource.ORE, 3);
+        player.removeResources(Config.Resource.ORE, 1);
+        encoder.flush();
+
+        List<Protocol.BoardChange> changes = Protocol.getBoardChanges(frames.get(1));
+        assertEquals(1, changes.size(), "only the final amount is sent");
+        assertEquals(Protocol.ChangeKind.RESOURCE, changes.get(0).getKind());
+        assertEquals("rr:ORE:4", changes.get(0).getValue());
+    }
+
+    @Test
+    public void testLateSubscriberReceivesKeyframeAndPatches() {
+        game.placeInitialSettlement(new Point(6, 10), false);
+        encoder.flush();
+        List<ByteBuffer> frames = new ArrayList<>();
+        encoder.subscribe(frames::add);
+        assertEquals(2, frames.size(), "initial keyframe and the patch since");
+
+        game.placeInitialRoad(new Point(6, 10), new Point(6, 12));
+        encoder.flush();
+        List<ByteBuffer> lateFrames = new ArrayList<>();
+        encoder.subscribe(lateFrames::add);
+        assertEquals(1, lateFrames.size(), "a new keyframe replaces the patches after the interval");
+        List<Protocol.BoardChange> state = Protocol.getBoardChanges(lateFrames.get(0));
+        assertTrue(state.stream().anyMatch(change -> change.getKind() == Protocol.ChangeKind.CORNER
+                && change.getPoints().equals(List.of(new Point(6, 10)))), "keyframe contains the settlement");
+        assertTrue(state.stream().anyMatch(change -> change.getKind() == Protocol.ChangeKind.EDGE), "keyframe contains the road");
+    }
+}
@@ -0,0 +1,52 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * This class tests the functionalities of DevelopmentDeck.
+ *
+ */
+public class DevelopmentDeckTest {
+
+    @Test
+    public void testDeckContainsAllCards() {
+        DevelopmentDeck deck = new DevelopmentDeck(42);
+        int[] counts = new int[Config.DevelopmentCard.values().length];
+        Config.DevelopmentCard card = deck.draw();
+        while (card != null) {
+            counts[card.ordinal()]++;
+            card = deck.draw();
+        }
+        for (Config.DevelopmentCard type : Config.DevelopmentCard.values()) {
+            assertEquals(type.getNumberInDeck(), counts[type.ordinal()], "number of " + type);
+        }
+        assertEquals(0, deck.getRemainingCount());
+        assertNull(deck.peek(), "empty deck has no top card");
+    }
+
+    @Test
+    public void testSameSeedGivesSameOrder() {
+        DevelopmentDeck deck = new DevelopmentDeck(7);
+        DevelopmentDeck other = new DevelopmentDeck(7);
+        while (deck.getRemainingCount() > 0) {
+            assertEquals(deck.draw(), other.draw(), "decks with the same seed have the same order");
+        }
+    }
+
+    @Test
+    public void testSnapshotAndRestore() {
+        DevelopmentDeck deck = new DevelopmentDeck(1);
+        deck.draw();
+        int snapshot = deck.snapshot();
+        int remaining = deck.getRemainingCount();
+        Config.DevelopmentCard first = deck.draw();
+        Config.DevelopmentCard second = deck.draw();
+        deck.restore(snapshot);
+        assertEquals(remaining, deck.getRemainingCount());
+        assertEquals(first, deck.draw(), "restored deck draws the same cards again");
+        assertEquals(second, deck.draw());
+        assertThrows(IllegalArgumentException.class, () -> deck.restore(-1));
+    }
+}
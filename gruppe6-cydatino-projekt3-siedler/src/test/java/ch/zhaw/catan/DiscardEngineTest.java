@@ -0,0 +1,82 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * This class tests the functionalities of DiscardEngine.
+ *
+ */
+public class DiscardEngineTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void testDrawTakesExactlyTheRequestedCards() {
+        int[] hand = {3, 0, 5, 1, 7};
+        for (int drawCount = 0; drawCount <= 16; drawCount++) {
+            int[] drawn = DiscardEngine.draw(hand, drawCount, random);
+            int total = 0;
+            for (int resource = 0; resource < hand.length; resource++) {
+                assertTrue(drawn[resource] >= 0 && drawn[resource] <= hand[resource], "only cards of the hand are drawn");
+                total += drawn[resource];
+            }
+            assertEquals(drawCount, total);
+        }
+        assertThrows(IllegalArgumentException.class, () -> DiscardEngine.draw(hand, 17, random));
+        assertThrows(IllegalArgumentException.class, () -> DiscardEngine.draw(new int[]{-1, 2}, 1, random));
+    }
+
+    @Test
+    public void testDrawIsWeightedByCount() {
+        int[] hand = {30, 10};
+        long drawnFirst = 0;
+        int runs = 20_000;
+        for (int i = 0; i < runs; i++) {
+            drawnFirst += DiscardEngine.draw(hand, 8, random)[0];
+        }
+        assertEquals(6.0, (double) drawnFirst / runs, 0.1, "expected value of the hypergeometric distribution");
+    }
+
+    @Test
+    public void testDrawIsUniformOverAllResources() {
+        int[] hand = {2, 3, 5, 0, 10};
+        long[] drawnTotal = new long[hand.length];
+        int runs = 20_000;
+        for (int i = 0; i < runs; i++) {
+            int[] drawn = DiscardEngine.draw(hand, 10, random);
+            for (int resource = 0; resource < hand.length; resource++) {
+                drawnTotal[resource] += drawn[resource];
+            }
+        }
+        for (int resource = 0; resource < hand.length; resource++) {
+            assertEquals(hand[resource] / 2.0, (double) drawnTotal[resource] / runs, 0.05, "resource " + resource);
+        }
+    }
+
+    @Test
+    public void testDrawLargeHand() {
+        int[] hand = {1_000_000, 3_000_000};
+        int[] drawn = DiscardEngine.draw(hand, 2_000_000, random);
+        assertEquals(2_000_000, drawn[0] + drawn[1]);
+        assertEquals(500_000, drawn[0], 5_000, "within a few standard deviations of the expected value");
+    }
+
+    @Test
+    public void testDrawDiscardsForManyPlayers() {
+        int[][] hands = new int[64][];
+        for (int player = 0; player < hands.length; player++) {
+            hands[player] = new int[]{player, player, 0, 1, 0};
+        }
+        int[][] discards = DiscardEngine.drawDiscards(hands, random);
+        for (int player = 0; player < hands.length; player++) {
+            int cards = 2 * player + 1;
+            int expected = cards >= Config.MAX_CARDS_IN_HAND_NO_DROP ? cards / 2 : 0;
+            assertEquals(expected, Arrays.stream(discards[player]).sum(), "player " + player);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * This class tests the functionalities of GameServer and the Protocol on localhost.
+ *
+ */
+public class GameServerTest {
+
+    private GameServer server;
+    private InetSocketAddress address;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = new GameServer(10, 2, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+
+    @AfterEach
+    public void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testFactionsAreAssignedInOrderOfPlay() throws IOException {
+        try (GameClient red = new GameClient(address);
+             GameClient blue = new GameClient(address);
+             GameClient spectator = new GameClient(address)) {
+            assertEquals(Config.Faction.RED, red.getFaction());
+            assertEquals(Config.Faction.BLUE, blue.getFaction());
+            assertNull(spectator.getFaction(), "further clients are spectators");
+        }
+    }
+
+    @Test
+    public void testAcceptedMoveIsBroadcastAsBoardDiff() throws IOException {
+        try (GameClient red = new GameClient(address);
+             GameClient blue = new GameClient(address)) {
+            int requestId = red.requestMove(Protocol.MoveType.INITIAL_SETTLEMENT, new Point(6, 10), null);
+
+            ByteBuffer result = red.readMessage();
+            assertEquals(Protocol.VALIDATION_RESULT, Protocol.getType(result));
+            assertEquals(requestId, Protocol.getRequestId(result));
+            assertTrue(Protocol.isAccepted(result), Protocol.getReason(result));
+
+            for (GameClient client : List.of(red, blue)) {
+                ByteBuffer diff = client.readMessage();
+                assertEquals(Protocol.BOARD_DIFF, Protocol.getType(diff), "every client receives the diff");
+                List<Protocol.BoardChange> changes = Protocol.getBoardChanges(diff);
+                assertEquals(1, changes.size(), "only the changed corner is sent");
+                assertEquals(Protocol.ChangeKind.CORNER, changes.get(0).getKind());
+                assertEquals(List.of(new Point(6, 10)), changes.get(0).getPoints());
+                assertEquals(Config.Faction.RED.toString(), changes.get(0).getValue());
+            }
+
+            red.requestMove(Protocol.MoveType.INITIAL_ROAD, new Point(6, 10), new Point(6, 12));
+            assertTrue(Protocol.isAccepted(red.readMessage()));
+            List<Protocol.BoardChange> changes = Protocol.getBoardChanges(blue.readMessage());
+            assertEquals(Protocol.ChangeKind.EDGE, changes.get(0).getKind());
+            assertEquals(List.of(new Point(6, 10), new Point(6, 12)), changes.get(0).getPoints());
+        }
+    }
+
+    @Test
+    public void testInvalidMovesAreRejected() throws IOException {
+        try (GameClient red = new GameClient(address);
+             GameClient blue = new GameClient(address)) {
+            blue.requestMove(Protocol.MoveType.INITIAL_SETTLEMENT, new Point(6, 10), null);
+            ByteBuffer result = blue.readMessage();
+            assertFalse(Protocol.isAccepted(result));
+            assertEquals(ConsoleText.ERRORNOTYOURTURN.toString(), Protocol.getReason(result));
+
+            red.requestMove(Protocol.MoveType.INITIAL_SETTLEMENT, new Point(0, 0), null);
+            result = red.readMessage();
+            assertFalse(Protocol.isAccepted(result));
+            assertEquals(ConsoleText.ERRORNOTACORNER.toString(), Protocol.getReason(result), "validation error of the game is sent");
+
+            red.requestMove(Protocol.MoveType.PREVIOUS_PLAYER, null, null);
+            result = red.readMessage();
+            assertFalse(Protocol.isAccepted(result), "the turn can not be handed back before placing");
+            assertEquals(ConsoleText.ERRORMOVENOTALLOWED.toString(), Protocol.getReason(result));
+        }
+    }
+
+    @Test
+    public void testSetupFollowsSnakeOrder() throws IOException {
+        try (GameClient red = new GameClient(address);
+             GameClient blue = new GameClient(address)) {
+            assertRejected(red, Protocol.MoveType.END_TURN, null, null, "dice can not be rolled during the setup");
+            assertRejected(red, Protocol.MoveType.INITIAL_SETTLEMENT_WITH_PAYOUT, new Point(6, 10), null,
+                    "no payout in the first round");
+            assertAccepted(red, blue, Protocol.MoveType.INITIAL_SETTLEMENT, new Point(6, 10), null);
+            assertRejected(red, Protocol.MoveType.INITIAL_SETTLEMENT, new Point(9, 15), null, "road comes first");
+            List<Protocol.BoardChange> changes = assertAccepted(red, blue, Protocol.MoveType.INITIAL_ROAD,
+                    new Point(6, 10), new Point(6, 12));
+            assertTrue(changes.stream().anyMatch(change -> change.getKind() == Protocol.ChangeKind.TURN
+                    && change.getValue().equals(Config.Faction.BLUE.toString())), "turn is passed forward");
+
+            assertAccepted(blue, red, Protocol.MoveType.INITIAL_SETTLEMENT, new Point(9, 15), null);
+            assertAccepted(blue, red, Protocol.MoveType.INITIAL_ROAD, new Point(9, 15), new Point(10, 16));
+            assertAccepted(blue, red, Protocol.MoveType.INITIAL_SETTLEMENT_WITH_PAYOUT, new Point(6, 6), null);
+            assertAccepted(blue, red, Protocol.MoveType.INITIAL_ROAD, new Point(6, 6), new Point(5, 7));
+            assertRejected(blue, Protocol.MoveType.INITIAL_SETTLEMENT_WITH_PAYOUT, new Point(9, 7), null,
+                    "the turn has to be handed back");
+            assertAccepted(blue, red, Protocol.MoveType.PREVIOUS_PLAYER, null, null);
+
+            assertAccepted(red, blue, Protocol.MoveType.INITIAL_SETTLEMENT_WITH_PAYOUT, new Point(9, 7), null);
+            changes = assertAccepted(red, blue, Protocol.MoveType.INITIAL_ROAD, new Point(9, 7), new Point(9, 9));
+            assertTrue(changes.stream().anyMatch(change -> change.getKind() == Protocol.ChangeKind.DICE),
+                    "the main phase starts with a dice roll");
+
+            assertRejected(red, Protocol.MoveType.INITIAL_SETTLEMENT, new Point(3, 15), null,
+                    "no free settlements in the main phase");
+            assertRejected(red, Protocol.MoveType.PREVIOUS_PLAYER, null, null, "no handing back in the main phase");
+        }
+    }
+
+    @Test
+    public void testLateSpectatorCatchesUp() throws IOException {
+        try (GameClient red = new GameClient(address);
+             GameClient blue = new GameClient(address)) {
+            red.requestMove(Protocol.MoveType.INITIAL_SETTLEMENT, new Point(6, 10), null);
+            assertTrue(Protocol.isAccepted(red.readMessage()));
+            try (GameClient spectator = new GameClient(address)) {
+                List<Protocol.BoardChange> state = Protocol.getBoardChanges(spectator.getKeyframe());
+                ByteBuffer patch = spectator.readMessage();
+                assertEquals(Protocol.BOARD_DIFF, Protocol.getType(patch), "patches since the keyframe follow");
+                assertEquals(new Point(6, 10), Protocol.getBoardChanges(patch).get(0).getPoints().get(0));
+                assertTrue(state.stream().anyMatch(change -> change.getKind() == Protocol.ChangeKind.THIEF));
+            }
+        }
+    }
+
+    @Test
+    public void testProtocolEncodesCities() {
+        ByteBuffer changes = ByteBuffer.allocate(64);
+        Protocol.putCornerChange(changes, new Point(3, 7), "BB");
+        Protocol.putCornerChange(changes, new Point(3, 7), null);
+        List<Protocol.BoardChange> decoded = Protocol.getBoardChanges(Protocol.encodeBoardDiff(changes, 2));
+        assertEquals("BB", decoded.get(0).getValue());
+        assertNull(decoded.get(1).getValue());
+    }
+
+    private static List<Protocol.BoardChange> assertAccepted(GameClient player, GameClient other,
+                                                             Protocol.MoveType moveType, Point from, Point to)
+            throws IOException {
+        player.requestMove(moveType, from, to);
+        ByteBuffer result = player.readMessage();
+        assertTrue(Protocol.isAccepted(result), moveType + ": " + Protocol.getReason(result));
+        player.readMessage();
+        return Protocol.getBoardChanges(other.readMessage());
+    }
+
+    private static void assertRejected(GameClient player, Protocol.MoveType moveType, Point from, Point to,
+                                       String message) throws IOException {
+        player.requestMove(moveType, from, to);
+        ByteBuffer result = player.readMessage();
+        assertFalse(Protocol.isAccepted(result), message);
+        assertEquals(ConsoleText.ERRORMOVENOTALLOWED.toString(), Protocol.getReason(result), message);
+    }
+}
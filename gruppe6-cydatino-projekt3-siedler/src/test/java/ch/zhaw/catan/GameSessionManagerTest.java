@@ -0,0 +1,83 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * This class tests the functionalities of GameSessionManager.
+ *
+ */
+public class GameSessionManagerTest {
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private GameSessionManager manager;
+
+    @BeforeEach
+    public void initializeTests() {
+        manager = new GameSessionManager();
+    }
+
+    @AfterEach
+    public void shutdownManager() throws InterruptedException {
+        manager.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testSessionsHaveSeparateInputAndOutput() throws InterruptedException {
+        StringBuffer firstOutput = new StringBuffer();
+        StringBuffer secondOutput = new StringBuffer();
+        GameSession first = manager.openSession(firstOutput::append);
+        GameSession second = manager.openSession(secondOutput::append);
+        assertNotEquals(first.getId(), second.getId(), "every session has its own id");
+
+        waitFor(() -> firstOutput.indexOf(ConsoleText.AMOUNTOFPLAYERS.toString()) >= 0);
+        waitFor(() -> secondOutput.indexOf(ConsoleText.AMOUNTOFPLAYERS.toString()) >= 0);
+        assertTrue(firstOutput.indexOf(ConsoleText.WELCOMEMESSAGE.toString()) >= 0, "welcome message is shown");
+
+        first.submitInput("2");
+        waitFor(() -> firstOutput.indexOf(ConsoleText.PLAYERTEXT.toString()) >= 0);
+        assertEquals(-1, secondOutput.indexOf(ConsoleText.PLAYERTEXT.toString()), "input of a session does not reach other sessions");
+        assertEquals(2, manager.getActiveSessionCount());
+    }
+
+    @Test
+    public void testCloseSession() throws InterruptedException {
+        GameSession session = manager.openSession(output -> {
+        });
+        waitFor(session::isRunning);
+        manager.closeSession(session.getId());
+        waitFor(session::isFinished);
+        waitFor(() -> manager.getActiveSessionCount() == 0);
+        assertNull(manager.getSession(session.getId()), "closed session is removed");
+    }
+
+    @Test
+    public void testManyIdleSessions() throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            manager.openSession(output -> {
+            });
+        }
+        assertEquals(200, manager.getActiveSessionCount());
+        assertTrue(manager.shutdown(5, TimeUnit.SECONDS), "all sessions end after shutdown");
+        assertEquals(0, manager.getActiveSessionCount());
+    }
+
+    private static void waitFor(Condition condition) throws InterruptedException {
+        long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.isMet()) {
+            if (System.currentTimeMillis() > end) {
+                fail("condition was not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private interface Condition {
+        boolean isMet();
+    }
+}
@@ -0,0 +1,98 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * This class tests the functionalities of OpeningBook.
+ *
+ */
+public class OpeningBookTest {
+
+    @TempDir
+    Path bookDirectory;
+
+    private SiedlerGame siedlerGame;
+    private OpeningBook openingBook;
+
+    @BeforeEach
+    public void initializeTests() {
+        siedlerGame = new SiedlerGame(10, 3);
+        openingBook = new OpeningBook(siedlerGame.getBoard(), bookDirectory);
+    }
+
+    @Test
+    public void testBoardHashDependsOnLayoutOnly() {
+        long hash = OpeningBook.computeBoardHash(siedlerGame.getBoard());
+        siedlerGame.placeInitialSettlement(new Point(5, 7), false);
+        assertEquals(hash, OpeningBook.computeBoardHash(siedlerGame.getBoard()), "buildings do not change the board hash");
+        assertEquals(hash, OpeningBook.computeBoardHash(new SiedlerBoard()), "same layout has the same hash");
+    }
+
+    @Test
+    public void testRankedOpeningsArePlaceable() {
+        List<OpeningBook.Opening> openings = openingBook.getRankedOpenings(siedlerGame.getBoard(), 0);
+        assertFalse(openings.isEmpty(), "there are openings on an empty board");
+        assertTrue(openings.size() <= OpeningBook.MAX_OPENINGS_PER_ENTRY, "number of openings is limited");
+        for (int i = 1; i < openings.size(); i++) {
+            assertTrue(openings.get(i - 1).getScore() >= openings.get(i).getScore(), "openings are ranked");
+        }
+        OpeningBook.Opening best = openings.get(0);
+        assertTrue(siedlerGame.placeInitialSettlement(best.getSettlement(), false), "best settlement can be placed");
+        assertTrue(siedlerGame.placeInitialRoad(best.getSettlement(), best.getRoadEnd()), "best road can be placed");
+    }
+
+    @Test
+    public void testOpeningsDependOnOccupancy() {
+        OpeningBook.Opening first = openingBook.getBestOpening(siedlerGame.getBoard(), 0);
+        siedlerGame.placeInitialSettlement(first.getSettlement(), false);
+        siedlerGame.placeInitialRoad(first.getSettlement(), first.getRoadEnd());
+        siedlerGame.switchToNextPlayer();
+        for (OpeningBook.Opening opening : openingBook.getRankedOpenings(siedlerGame.getBoard(), 1)) {
+            assertNotEquals(first.getSettlement(), opening.getSettlement(), "occupied corner is not suggested");
+        }
+    }
+
+    @Test
+    public void testSaveAndLazyLoad() throws IOException {
+        List<OpeningBook.Opening> openings = openingBook.getRankedOpenings(siedlerGame.getBoard(), 1);
+        openingBook.save();
+        assertTrue(Files.exists(openingBook.getBookFile()), "book file was written");
+
+        OpeningBook loadedBook = new OpeningBook(siedlerGame.getBoard(), bookDirectory);
+        List<OpeningBook.Opening> loadedOpenings = loadedBook.getRankedOpenings(siedlerGame.getBoard(), 1);
+        assertEquals(openings.size(), loadedOpenings.size(), "same number of openings loaded");
+        for (int i = 0; i < openings.size(); i++) {
+            assertEquals(openings.get(i).getSettlement(), loadedOpenings.get(i).getSettlement());
+            assertEquals(openings.get(i).getRoadEnd(), loadedOpenings.get(i).getRoadEnd());
+            assertEquals(openings.get(i).getScore(), loadedOpenings.get(i).getScore(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testCorruptBookFileIsRecomputed() throws IOException {
+        List<OpeningBook.Opening> openings = openingBook.getRankedOpenings(siedlerGame.getBoard(), 1);
+        openingBook.save();
+        List<String> lines = Files.readAllLines(openingBook.getBookFile());
+        String line = lines.get(0);
+        lines.set(0, line.substring(0, line.lastIndexOf(';')));
+        lines.add("no key");
+        Files.write(openingBook.getBookFile(), lines);
+
+        OpeningBook loadedBook = new OpeningBook(siedlerGame.getBoard(), bookDirectory);
+        List<OpeningBook.Opening> loadedOpenings = loadedBook.getRankedOpenings(siedlerGame.getBoard(), 1);
+        assertEquals(openings.size(), loadedOpenings.size(), "truncated entry is computed again");
+        assertEquals(openings.get(0).getSettlement(), loadedOpenings.get(0).getSettlement(), "same best opening");
+        loadedBook.save();
+        assertFalse(Files.readString(loadedBook.getBookFile()).contains("no key"), "corrupt lines are not saved again");
+    }
+}
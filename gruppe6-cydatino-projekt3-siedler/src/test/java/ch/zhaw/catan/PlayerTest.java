@@ -115,10 +115,40 @@ public class PlayerTest {
 
         for(Config.Resource resource : Config.Resource.values()) {
             if(resourcesActual.containsKey(resource)) {
-                int expectedCount = resourcesExpected.get(resource);
+                int expectedCount = resourcesExpected.getOrDefault(resource, 0);
                 int actualCount = resourcesActual.get(resource);
                 assertEquals(expectedCount, actualCount, "equals actual count of resources with expected");
             }
         }
     }
+
+    @Test
+    public void testGetResourcesReturnsCopy() {
+        player.addResources(Config.Resource.ORE, 2);
+        Map<Config.Resource, Integer> resources = player.getResources();
+        assertEquals(Config.Resource.values().length, resources.size(), "all resources are listed");
+        resources.put(Config.Resource.ORE, 10);
+        assertEquals(2, player.getResourceCount(Config.Resource.ORE), "changes to the copy do not affect the player");
+        assertEquals(2, player.getResourceCounts()[Config.Resource.ORE.ordinal()]);
+        assertEquals(2, player.getCardsCount());
+    }
+
+    @Test
+    public void testStructureCounts() {
+        for (Config.Structure structure : Config.Structure.values()) {
+            assertEquals(0, player.getStructureCount(structure), "no structures placed");
+            assertEquals(structure.getStockPerPlayer(), player.getRemainingStock(structure), "full stock");
+        }
+        player.addStructure(Config.Structure.SETTLEMENT);
+        player.addStructure(new Settlement(Config.Structure.SETTLEMENT, "rr"));
+        player.addRoad();
+        assertEquals(2, player.getStructureCount(Config.Structure.SETTLEMENT));
+        assertEquals(1, player.getRoadCount());
+        assertEquals(Config.Structure.ROAD.getStockPerPlayer() - 1, player.getRemainingStock(Config.Structure.ROAD));
+
+        player.removeStructure(Config.Structure.SETTLEMENT);
+        player.addStructure(Config.Structure.CITY);
+        assertEquals(1, player.getStructureCount(Config.Structure.SETTLEMENT), "settlement replaced by city");
+        assertEquals(Config.Structure.CITY.getStockPerPlayer() - 1, player.getRemainingStock(Config.Structure.CITY));
+    }
 }
@@ -0,0 +1,96 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * This class tests the functionalities of SettlementSpotScorer.
+ *
+ */
+public class SettlementSpotScorerTest {
+
+    private SiedlerGame siedlerGame;
+    private SiedlerBoard board;
+    private SettlementSpotScorer scorer;
+
+    @BeforeEach
+    public void initializeTests() {
+        siedlerGame = new SiedlerGame(10, 3);
+        board = siedlerGame.getBoard();
+        scorer = SettlementSpotScorer.withDefaultScoring(board);
+    }
+
+    @Test
+    public void testTopSpotsMatchSequentialRanking() {
+        List<SettlementSpotScorer.Spot> expected = new ArrayList<>();
+        for (Point corner : board.getCornerPoints()) {
+            if (board.isFreeSettlementSpot(corner)) {
+                expected.add(new SettlementSpotScorer.Spot(corner, scorer.score(corner, Config.Faction.RED)));
+            }
+        }
+        expected.sort(Comparator.comparingDouble(SettlementSpotScorer.Spot::getScore).reversed()
+                .thenComparingInt((SettlementSpotScorer.Spot s) -> s.getCorner().y).thenComparingInt(s -> s.getCorner().x));
+
+        List<SettlementSpotScorer.Spot> top = scorer.getTopSpots(Config.Faction.RED, 5, new ForkJoinPool(4));
+        assertEquals(5, top.size(), "k spots are returned");
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(expected.get(i).getCorner(), top.get(i).getCorner(), "rank " + i + " matches the full ranking");
+            assertEquals(expected.get(i).getScore(), top.get(i).getScore(), 1e-9, "score of rank " + i);
+        }
+
+        List<SettlementSpotScorer.Spot> all = scorer.getTopSpots(Config.Faction.RED, Integer.MAX_VALUE);
+        assertEquals(expected.size(), all.size(), "all free spots are returned if k is large");
+    }
+
+    @Test
+    public void testOccupiedSpotsAreSkipped() {
+        Point best = scorer.getTopSpots(Config.Faction.RED, 1).get(0).getCorner();
+        assertTrue(siedlerGame.placeInitialSettlement(best, false));
+
+        for (SettlementSpotScorer.Spot spot : scorer.getTopSpots(Config.Faction.BLUE, Integer.MAX_VALUE)) {
+            assertNotEquals(best, spot.getCorner(), "occupied corner is not ranked");
+            assertFalse(board.getAdjacentCornerPoints(best).contains(spot.getCorner()), "neighbours are not ranked");
+        }
+    }
+
+    @Test
+    public void testCustomScoringFunction() {
+        SettlementSpotScorer custom = new SettlementSpotScorer(board)
+                .addScoringFunction((b, corner, faction, scratch) -> -corner.y, 1.0);
+        List<SettlementSpotScorer.Spot> top = custom.getTopSpots(Config.Faction.RED, 3);
+        assertEquals(3, top.size());
+        assertTrue(top.get(0).getCorner().y <= top.get(2).getCorner().y, "lowest row is ranked first");
+        assertTrue(top.get(0).getScore() >= top.get(1).getScore() && top.get(1).getScore() >= top.get(2).getScore());
+    }
+
+    @Test
+    public void testBuiltInScoringFunctions() {
+        Point corner = new Point(5, 7);
+        int[] scratch = new int[Config.Resource.values().length];
+        double income = SettlementSpotScorer.INCOME.score(board, corner, Config.Faction.RED, scratch);
+        int pips = 0;
+        for (Point field : board.getAdjacentFieldPoints(corner)) {
+            pips += OpeningBook.getPips(board.getDiceValue(field));
+        }
+        assertEquals(pips, income, "income is the sum of the pips");
+        assertEquals(0, SettlementSpotScorer.BLOCKING.score(board, corner, Config.Faction.RED, scratch),
+                "no road leads to the corner");
+        assertEquals(2, SettlementSpotScorer.HARBOR.score(board, new Point(7, 3), Config.Faction.RED,
+                new int[Config.Resource.values().length]), "wool harbor next to a wool field");
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> scorer.getTopSpots(Config.Faction.RED, -1));
+        assertThrows(IllegalArgumentException.class, () -> scorer.addScoringFunction(null, 1.0));
+        assertTrue(scorer.getTopSpots(Config.Faction.RED, 0).isEmpty());
+    }
+}
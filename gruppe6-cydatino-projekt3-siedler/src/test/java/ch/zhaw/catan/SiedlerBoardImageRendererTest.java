@@ -0,0 +1,143 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * This class tests the functionalities of SiedlerBoardImageRenderer.
+ *
+ */
+public class SiedlerBoardImageRendererTest {
+    private static final Point SETTLEMENT = new Point(6, 6);
+    private static final Point CITY = new Point(9, 15);
+    private static final Point ROAD_END = new Point(6, 4);
+
+    private SiedlerBoard board;
+    private SiedlerBoardImageRenderer renderer;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    public void initializeTests() {
+        board = new SiedlerBoard(NoOpInteraction.INSTANCE);
+        board.setCorner(SETTLEMENT, Config.Faction.RED.toString());
+        board.setCorner(CITY, Config.Faction.BLUE.toString().toUpperCase());
+        board.setEdge(SETTLEMENT, ROAD_END, Config.Faction.RED.toString());
+        renderer = new SiedlerBoardImageRenderer();
+    }
+
+    @Test
+    public void testImageShowsLandsAndBuildings() {
+        BufferedImage image = renderer.renderImage(board);
+        assertEquals(renderer.getWidth(board), image.getWidth(), "image has the width of the board");
+        assertEquals(renderer.getHeight(board), image.getHeight(), "image has the height of the board");
+        assertEquals(0, image.getRGB(0, 0) >>> 24, "corner of the image outside of the tiles is transparent");
+
+        Color settlement = new Color(image.getRGB(toPixelX(SETTLEMENT.x), toPixelY(SETTLEMENT.y)));
+        assertEquals(new Color(220, 30, 30), settlement, "settlement has the color of its faction");
+        Color city = new Color(image.getRGB(toPixelX(CITY.x), toPixelY(CITY.y)));
+        assertEquals(new Color(30, 60, 220), city, "city has the color of its faction");
+        Point road = new Point(toPixelX(SETTLEMENT.x), (toPixelY(SETTLEMENT.y) + toPixelY(ROAD_END.y)) / 2);
+        assertEquals(new Color(220, 30, 30), new Color(image.getRGB(road.x, road.y)), "road has the color of its faction");
+    }
+
+    @Test
+    public void testSpritesAreCached() {
+        renderer.renderImage(board);
+        int sprites = renderer.getCachedSpriteCount();
+        int lands = Config.Land.values().length;
+        int diceValues = 10;
+        assertEquals(lands + diceValues, sprites, "one sprite per land and dice value");
+        renderer.renderImage(new SiedlerBoard(NoOpInteraction.INSTANCE));
+        assertEquals(sprites, renderer.getCachedSpriteCount(), "sprites are reused for the next board");
+    }
+
+    @Test
+    public void testPngCanBeRead() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.writePng(board, out);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        assertNotNull(image, "PNG can be decoded");
+        assertEquals(renderer.renderImage(board).getRGB(toPixelX(CITY.x), toPixelY(CITY.y)),
+                image.getRGB(toPixelX(CITY.x), toPixelY(CITY.y)), "PNG holds the rendered image");
+    }
+
+    @Test
+    public void testSvgContainsAllElements() throws IOException {
+        StringBuilder svg = new StringBuilder();
+        renderer.writeSvg(board, svg);
+        String text = svg.toString();
+        assertTrue(text.startsWith("<svg"), "document is an SVG image");
+        assertTrue(text.trim().endsWith("</svg>"), "document is complete");
+        assertEquals(1, count(text, "<polygon"), "hexagon is defined once");
+        assertEquals(board.getFields().size(), count(text, "<use"), "one tile per field");
+        assertEquals(18, count(text, "<text"), "one chip per land with a dice value");
+        assertEquals(1, count(text, "<line"), "one road");
+        assertEquals(2, count(text, "<rect"), "two buildings");
+        assertTrue(text.contains("fill=\"#dc1e1e\""), "red faction color is used");
+    }
+
+    @Test
+    public void testBatchWritesAllBoards() throws IOException {
+        List<SiedlerBoard> boards = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            boards.add(i % 2 == 0 ? board : new SiedlerBoard(NoOpInteraction.INSTANCE));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            List<Path> files = renderer.renderBatch(boards, directory.resolve("png"),
+                    SiedlerBoardImageRenderer.Format.PNG, pool);
+            assertEquals(boards.size(), files.size(), "one file per board");
+            assertEquals("board-00005.png", files.get(5).getFileName().toString(), "files are numbered");
+            for (Path file : files) {
+                assertNotNull(ImageIO.read(file.toFile()), "file is a PNG image " + file);
+            }
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            renderer.writePng(board, expected);
+            assertArrayEquals(expected.toByteArray(), Files.readAllBytes(files.get(2)), "parallel image is the same");
+        } finally {
+            pool.shutdown();
+        }
+
+        List<Path> svgs = renderer.renderBatch(boards, directory.resolve("svg"), SiedlerBoardImageRenderer.Format.SVG);
+        StringBuilder expected = new StringBuilder();
+        renderer.writeSvg(board, expected);
+        assertEquals(expected.toString(), Files.readString(svgs.get(4)), "SVG file holds the board");
+    }
+
+    @Test
+    public void testTooSmallTileIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new SiedlerBoardImageRenderer(3), "radius is too small");
+    }
+
+    private static int toPixelX(int x) {
+        return (int) Math.round(SiedlerBoardImageRenderer.DEFAULT_TILE_RADIUS / 2.0
+                + x * SiedlerBoardImageRenderer.DEFAULT_TILE_RADIUS * Math.sqrt(3) / 2);
+    }
+
+    private static int toPixelY(int y) {
+        return (int) Math.round(SiedlerBoardImageRenderer.DEFAULT_TILE_RADIUS / 2.0
+                + y * SiedlerBoardImageRenderer.DEFAULT_TILE_RADIUS / 2.0);
+    }
+
+    private static int count(String text, String element) {
+        return text.split(element, -1).length - 1;
+    }
+}
@@ -0,0 +1,54 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * This class tests the functionalities of SiedlerBoardTextView.
+ * The expected texts were printed by the view before it was changed to stream its output.
+ *
+ */
+public class SiedlerBoardTextViewTest {
+    private SiedlerBoard board;
+    private SiedlerBoardTextView view;
+
+    @BeforeEach
+    public void initializeTests() {
+        board = new SiedlerBoard(NoOpInteraction.INSTANCE);
+        board.setCorner(new Point(6, 6), Config.Faction.RED.toString());
+        board.setCorner(new Point(9, 15), Config.Faction.BLUE.toString().toUpperCase());
+        board.setEdge(new Point(6, 6), new Point(6, 4), Config.Faction.RED.toString());
+        board.setEdge(new Point(9, 15), new Point(10, 16), Config.Faction.BLUE.toString());
+        view = new SiedlerBoardTextView(board);
+    }
+
+    @Test
+    public void testTextIsUnchanged() throws IOException {
+        assertEquals(readExpectedText("board-text-view.txt"), view.toString(), "same text as before");
+        StringWriter out = new StringWriter();
+        view.render(out);
+        assertEquals(view.toString(), out.toString(), "streamed text is the same");
+    }
+
+    @Test
+    public void testTextWithMovedThiefIsUnchanged() throws IOException {
+        board.setThiefField(new Point(7, 5));
+        view.updateThiefPlacement();
+        assertEquals(readExpectedText("board-text-view-thief.txt"), view.toString(), "same text as before");
+    }
+
+    private String readExpectedText(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(name)) {
+            assertNotNull(in, "expected text " + name + " exists");
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\n", System.lineSeparator());
+        }
+    }
+}
@@ -227,6 +227,110 @@ public class SiedlerGameTest {
         assertTrue(siedlerGame.isRoadlimitReached(), "Road-limit reached with 16");
     }
 
+    @Test
+    public void testBuyDevelopmentCard() {
+        Player currentPlayer = siedlerGame.getCurrentPlayer();
+        assertNull(siedlerGame.buyDevelopmentCard(), "player has no resources");
+        distributeResourcesToPlayer(currentPlayer);
+        int remaining = siedlerGame.getDevelopmentDeck().getRemainingCount();
+        Config.DevelopmentCard card = siedlerGame.buyDevelopmentCard();
+        assertNotNull(card);
+        assertEquals(1, currentPlayer.getDevelopmentCardCount(card), "card is in the hand of the player");
+        assertEquals(remaining - 1, siedlerGame.getDevelopmentDeck().getRemainingCount());
+        assertEquals(19, currentPlayer.getResources().get(Config.Resource.ORE), "card was paid");
+    }
+
+    @Test
+    public void testPlayKnightAndLargestArmy() {
+        Player red = siedlerGame.getCurrentPlayer();
+        assertFalse(siedlerGame.playKnight(new Point(5, 5)), "player has no knight");
+        for (int i = 0; i < Config.MIN_KNIGHTS_FOR_LARGEST_ARMY; i++) {
+            red.addDevelopmentCard(Config.DevelopmentCard.KNIGHT);
+        }
+        assertFalse(siedlerGame.playKnight(new Point(3, 5)), "thief can not be placed in water");
+        assertTrue(siedlerGame.playKnight(new Point(5, 5)));
+        assertTrue(siedlerGame.playKnight(new Point(7, 5)));
+        assertNull(siedlerGame.getLargestArmyFaction(), "two knights are not enough");
+        assertTrue(siedlerGame.playKnight(new Point(9, 5)));
+        assertEquals(Config.Faction.RED, siedlerGame.getLargestArmyFaction());
+        assertEquals(Config.POINTS_FOR_LARGEST_ARMY, red.getPoints());
+
+        siedlerGame.switchToNextPlayer();
+        Player blue = siedlerGame.getCurrentPlayer();
+        for (int i = 0; i <= Config.MIN_KNIGHTS_FOR_LARGEST_ARMY; i++) {
+            blue.addDevelopmentCard(Config.DevelopmentCard.KNIGHT);
+            siedlerGame.playKnight(new Point(i % 2 == 0 ? 5 : 7, 5));
+        }
+        assertEquals(Config.Faction.BLUE, siedlerGame.getLargestArmyFaction(), "more knights take the largest army");
+        assertEquals(0, red.getPoints());
+        assertEquals(Config.POINTS_FOR_LARGEST_ARMY, blue.getPoints());
+    }
+
+    @Test
+    public void testLongestRoad() {
+        Player red = siedlerGame.getCurrentPlayer();
+        assertTrue(siedlerGame.placeInitialSettlement(new Point(6, 10), false));
+        distributeResourcesToPlayer(red);
+        Point[] chain = {new Point(6, 10), new Point(5, 9), new Point(5, 7), new Point(6, 6), new Point(7, 7), new Point(7, 9)};
+        for (int i = 0; i < 4; i++) {
+            assertTrue(siedlerGame.buildRoad(chain[i], chain[i + 1]));
+        }
+        assertNull(siedlerGame.getLongestRoadFaction(), "four roads are not enough");
+        assertTrue(siedlerGame.buildRoad(chain[4], chain[5]));
+        assertEquals(Config.Faction.RED, siedlerGame.getLongestRoadFaction());
+        assertEquals(1 + Config.POINTS_FOR_LONGEST_ROAD, red.getPoints());
+
+        siedlerGame.switchToNextPlayer();
+        assertTrue(siedlerGame.placeInitialSettlement(new Point(6, 6), false), "settlement of blue in the road of red");
+        assertEquals(3, siedlerGame.getBoard().getLongestRoadLength(Config.Faction.RED), "the road is interrupted");
+        assertNull(siedlerGame.getLongestRoadFaction(), "nobody has a long enough road");
+        assertEquals(1, red.getPoints(), "red lost the points of the longest road");
+    }
+
+    @Test
+    public void testPlayMonopolyAndYearOfPlenty() {
+        Player red = siedlerGame.getCurrentPlayer();
+        siedlerGame.getPlayers().get(1).addResources(Config.Resource.WOOL, 3);
+        siedlerGame.getPlayers().get(2).addResources(Config.Resource.WOOL, 2);
+        red.addDevelopmentCard(Config.DevelopmentCard.MONOPOLY);
+        assertTrue(siedlerGame.playMonopoly(Config.Resource.WOOL));
+        assertEquals(5, red.getResources().get(Config.Resource.WOOL));
+        assertEquals(0, siedlerGame.getPlayers().get(1).getResources().get(Config.Resource.WOOL));
+        assertFalse(siedlerGame.playMonopoly(Config.Resource.WOOL), "card was used");
+
+        red.addDevelopmentCard(Config.DevelopmentCard.YEAR_OF_PLENTY);
+        assertTrue(siedlerGame.playYearOfPlenty(Config.Resource.ORE, Config.Resource.ORE));
+        assertEquals(2, red.getResources().get(Config.Resource.ORE));
+    }
+
+    @Test
+    public void testPlayRoadBuilding() {
+        Player red = siedlerGame.getCurrentPlayer();
+        siedlerGame.placeInitialSettlement(new Point(6, 10), false);
+        red.addDevelopmentCard(Config.DevelopmentCard.ROAD_BUILDING);
+        int[] edgeChanges = new int[1];
+        siedlerGame.addGameStateListener(new GameStateListener() {
+            @Override
+            public void edgeChanged(Point start, Point end, String oldValue, String newValue) {
+                edgeChanges[0]++;
+            }
+        });
+
+        assertFalse(siedlerGame.playRoadBuilding(new Point(6, 10), new Point(5, 9), new Point(9, 7), new Point(9, 9)),
+                "second road is not connected");
+        assertFalse(siedlerGame.playRoadBuilding(new Point(6, 10), new Point(5, 9), new Point(5, 9), new Point(6, 10)),
+                "second road is the first road");
+        assertNull(siedlerGame.getBoard().getEdge(new Point(6, 10), new Point(5, 9)), "no road was built");
+        assertEquals(0, edgeChanges[0], "the board was not changed");
+
+        assertTrue(siedlerGame.playRoadBuilding(new Point(6, 10), new Point(5, 9), new Point(5, 9), new Point(5, 7)),
+                "second road continues the first road");
+        assertEquals(red.getFaction().toString(), siedlerGame.getBoard().getEdge(new Point(5, 9), new Point(5, 7)));
+        assertEquals(2, edgeChanges[0], "one change per road");
+        assertEquals(2, red.getRoadCount());
+        assertEquals(0, red.getDevelopmentCardCount(Config.DevelopmentCard.ROAD_BUILDING), "card was used");
+    }
+
     @Test
     public void testPlaceThiefOnUnallowedPlaces() {
         siedlerGame.placeInitialSettlement(new Point(6,10), false);
@@ -301,4 +405,158 @@ public class SiedlerGameTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPositionHashIsUpdatedIncrementally() {
+        long initialHash = siedlerGame.getPositionHash();
+        assertEquals(ZobristHash.computeHash(siedlerGame), initialHash, "initial hash matches full computation");
+
+        siedlerGame.placeInitialSettlement(new Point(6, 10), true);
+        siedlerGame.placeInitialRoad(new Point(6, 10), new Point(5, 9));
+        siedlerGame.switchToNextPlayer();
+        siedlerGame.placeThiefAndStealCard(new Point(5, 11));
+        siedlerGame.getCurrentPlayer().addResources(Config.Resource.ORE, 3);
+        assertNotEquals(initialHash, siedlerGame.getPositionHash(), "hash changed after moves");
+        assertEquals(ZobristHash.computeHash(siedlerGame), siedlerGame.getPositionHash(), "incremental hash matches full computation");
+    }
+
+    @Test
+    public void testPositionHashIsIndependentOfMoveOrder() {
+        SiedlerGame otherGame = new SiedlerGame(winPoints, numberOfPlayers);
+
+        siedlerGame.placeInitialSettlement(new Point(6, 10), false);
+        siedlerGame.getCurrentPlayer().addResources(Config.Resource.WOOL, 2);
+        otherGame.getCurrentPlayer().addResources(Config.Resource.WOOL, 1);
+        otherGame.placeInitialSettlement(new Point(6, 10), false);
+        otherGame.getCurrentPlayer().addResources(Config.Resource.WOOL, 1);
+        assertEquals(siedlerGame.getPositionHash(), otherGame.getPositionHash(), "same position has the same hash");
+
+        siedlerGame.getCurrentPlayer().removeResources(Config.Resource.WOOL, 2);
+        siedlerGame.getBoard().setCorner(new Point(6, 10), null);
+        assertEquals(new SiedlerGame(winPoints, numberOfPlayers).getPositionHash(), siedlerGame.getPositionHash(), "undoing moves restores the hash");
+    }
+
+    @Test
+    public void testInteractionIsPerGame() {
+        InMemoryInteraction interaction = new InMemoryInteraction();
+        SiedlerGame recordedGame = new SiedlerGame(winPoints, numberOfPlayers, interaction);
+        SiedlerGame silentGame = new SiedlerGame(winPoints, numberOfPlayers, NoOpInteraction.INSTANCE);
+
+        assertFalse(recordedGame.placeInitialSettlement(new Point(0, 0), false));
+        assertFalse(silentGame.placeInitialSettlement(new Point(0, 0), false));
+        assertEquals(1, interaction.getErrors().size(), "only the error of its own game is recorded");
+        assertEquals(ConsoleText.ERRORNOTACORNER.toString(), interaction.getErrors().get(0));
+    }
+
+    @Test
+    public void testInMemoryInteractionReadsScriptedInput() {
+        InMemoryInteraction interaction = new InMemoryInteraction("6", "10", "BUILDROAD", "true");
+        Player player = siedlerGame.getCurrentPlayer();
+        assertEquals(new Point(6, 10), interaction.getConstructionPosition(ConsoleText.SETTLEMENTTEXT, player));
+        assertEquals(MoveOption.BUILDROAD, interaction.getOption(player));
+        assertTrue(interaction.doYouWantToQuit());
+        assertEquals(0, interaction.getRemainingInputCount());
+        assertThrows(IllegalStateException.class, interaction::doYouWantToQuit, "no more input");
+    }
+
+    @Test
+    public void testThrowDiceBatchMatchesSingleThrows() {
+        SiedlerGame game = new SiedlerGame(winPoints, numberOfPlayers, NoOpInteraction.INSTANCE);
+        game.placeInitialSettlement(new Point(6, 10), false);
+        int[] diceValues = {4, 4, 9, 7, 4, 2, 9, 12};
+
+        long[][] income = game.throwDiceBatchForValues(diceValues);
+        int[] expected = new int[Config.Resource.values().length];
+        for (int diceValue : diceValues) {
+            if (diceValue != 7) {
+                for (Config.Resource resource : game.throwDice(diceValue).get(Config.Faction.RED)) {
+                    expected[resource.ordinal()]++;
+                }
+            }
+        }
+        for (Config.Resource resource : Config.Resource.values()) {
+            assertEquals(expected[resource.ordinal()], income[Config.Faction.RED.ordinal()][resource.ordinal()], resource.name());
+        }
+        assertEquals(3, income[Config.Faction.RED.ordinal()][Config.Resource.ORE.ordinal()]);
+        assertEquals(2, income[Config.Faction.RED.ordinal()][Config.Resource.BRICK.ordinal()]);
+
+        game.getBoard().setThiefField(new Point(6, 8));
+        income = game.throwDiceBatchForValues(diceValues);
+        assertEquals(0, income[Config.Faction.RED.ordinal()][Config.Resource.ORE.ordinal()], "thief blocks the field");
+    }
+
+    @Test
+    public void testThrowDiceBatchRespectsBankStock() {
+        SiedlerGame game = new SiedlerGame(winPoints, numberOfPlayers, NoOpInteraction.INSTANCE);
+        game.getBoard().setCorner(new Point(6, 10), "RR");
+        game.getCurrentPlayer().addResources(Config.Resource.GRAIN, 4 * 18);
+        for (int i = 0; i < 18; i++) {
+            game.tradeWithBankFourToOne(Config.Resource.GRAIN, Config.Resource.ORE);
+        }
+        int[] diceHistogram = new int[13];
+        diceHistogram[4] = 10;
+        long[][] income = game.throwDiceBatch(diceHistogram);
+        assertEquals(10, income[Config.Faction.RED.ordinal()][Config.Resource.ORE.ordinal()], "single faction gets the rest of the bank");
+        assertThrows(IllegalArgumentException.class, () -> game.throwDiceBatchForValues(new int[]{13}));
+    }
+
+    @Test
+    public void testLargePlayerCount() {
+        int largeNumberOfPlayers = Config.Faction.values().length;
+        SiedlerGame game = new SiedlerGame(winPoints, largeNumberOfPlayers, NoOpInteraction.INSTANCE);
+        assertEquals(largeNumberOfPlayers, game.getPlayers().size());
+        for (int i = 0; i < largeNumberOfPlayers; i++) {
+            assertEquals(Config.Faction.values()[i], game.getCurrentPlayerFaction(), "players follow the order of the factions");
+            game.switchToNextPlayer();
+        }
+        assertEquals(Config.Faction.RED, game.getCurrentPlayerFaction(), "turn wraps around to the first player");
+        game.switchToPreviousPlayer();
+        assertEquals(Config.Faction.GOLD, game.getCurrentPlayerFaction(), "turn wraps around to the last player");
+        assertEquals(Config.Faction.GOLD, SiedlerGame.getFactionFromName("DD"), "city names are resolved");
+        assertThrows(IllegalArgumentException.class, () -> new SiedlerGame(winPoints, largeNumberOfPlayers + 1));
+    }
+
+    @Test
+    public void testHarborsAreOnCoastEdges() {
+        SiedlerBoard board = siedlerGame.getBoard();
+        for (Point corner : Config.getStandardHarborPlacement().keySet()) {
+            boolean water = false;
+            boolean land = false;
+            for (Point field : board.getAdjacentFieldPoints(corner)) {
+                water |= board.getField(field) == Config.Land.WATER;
+                land |= board.getField(field) != Config.Land.WATER;
+            }
+            assertTrue(water && land, "harbor corner " + corner + " lies on the coast");
+            assertFalse(board.getFieldAnnotationsForCorner(corner).isEmpty(), "harbor is shown on the water field");
+        }
+    }
+
+    @Test
+    public void testTradeRatesAtHarbors() {
+        SiedlerGame game = new SiedlerGame(winPoints, numberOfPlayers, NoOpInteraction.INSTANCE);
+        Player player = game.getCurrentPlayer();
+        assertEquals(4, player.getTradeRate(Config.Resource.ORE));
+
+        assertTrue(game.placeInitialSettlement(new Point(4, 4), false));
+        assertEquals(3, player.getTradeRate(Config.Resource.ORE), "generic harbor");
+        assertTrue(game.placeInitialSettlement(new Point(3, 9), false));
+        assertEquals(2, player.getTradeRate(Config.Resource.ORE), "ore harbor");
+        assertEquals(3, player.getTradeRate(Config.Resource.WOOL));
+
+        player.addResources(Config.Resource.ORE, 2);
+        assertTrue(game.tradeWithBank(Config.Resource.ORE, Config.Resource.WOOL));
+        assertEquals(0, player.getResources().get(Config.Resource.ORE));
+        assertEquals(1, player.getResources().get(Config.Resource.WOOL));
+        player.addResources(Config.Resource.ORE, 2);
+        assertFalse(game.tradeWithBankFourToOne(Config.Resource.ORE, Config.Resource.WOOL), "fixed rate trade still needs four cards");
+    }
+
+    @Test
+    public void testNoOpInteractionAnswersAreRejected() {
+        SiedlerGame game = new SiedlerGame(winPoints, numberOfPlayers, NoOpInteraction.INSTANCE);
+        assertFalse(game.placeInitialSettlement(NoOpInteraction.INSTANCE.getConstructionPosition(ConsoleText.SETTLEMENTTEXT, game.getCurrentPlayer()), false), "no position is given");
+        assertFalse(game.tradeWithBank(NoOpInteraction.INSTANCE.getResource(false), NoOpInteraction.INSTANCE.getResource(true)), "no resources are given");
+        assertEquals(MoveOption.ENDTURN, NoOpInteraction.INSTANCE.getOption(game.getCurrentPlayer()), "the turn is ended");
+        assertThrows(IllegalArgumentException.class, () -> new GameManager(NoOpInteraction.INSTANCE), "no game can be played without input");
+    }
+}
@@ -0,0 +1,94 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * This class tests the functionalities of ThiefPlacementOptimizer.
+ *
+ */
+public class ThiefPlacementOptimizerTest {
+
+    private static final Point RED_SETTLEMENT = new Point(6, 10);
+    private static final Point BLUE_SETTLEMENT = new Point(9, 13);
+
+    private SiedlerGame siedlerGame;
+    private SiedlerBoard board;
+    private ThiefPlacementOptimizer optimizer;
+
+    @BeforeEach
+    public void initializeTests() {
+        siedlerGame = new SiedlerGame(10, 2, NoOpInteraction.INSTANCE);
+        board = siedlerGame.getBoard();
+        optimizer = siedlerGame.getThiefPlacementOptimizer();
+        assertTrue(siedlerGame.placeInitialSettlement(RED_SETTLEMENT, false));
+        siedlerGame.switchToNextPlayer();
+        assertTrue(siedlerGame.placeInitialSettlement(BLUE_SETTLEMENT, false));
+        siedlerGame.getCurrentPlayer().addResources(Config.Resource.WOOL, 2);
+        siedlerGame.switchToNextPlayer();
+    }
+
+    @Test
+    public void testBlockedIncomeOfSettlementsAndCities() {
+        Point field = new Point(6, 8);
+        int pips = OpeningBook.getPips(board.getDiceValue(field));
+        assertEquals(pips, optimizer.getBlockedIncome(field, Config.Faction.RED), "settlement produces one card");
+        assertEquals(0, optimizer.getBlockedIncome(field, Config.Faction.BLUE), "no blue building at the field");
+
+        siedlerGame.getCurrentPlayer().addResources(Config.Resource.ORE, 3);
+        siedlerGame.getCurrentPlayer().addResources(Config.Resource.GRAIN, 2);
+        assertTrue(siedlerGame.buildCity(RED_SETTLEMENT));
+        assertEquals(2 * pips, optimizer.getBlockedIncome(field, Config.Faction.RED), "city produces two cards");
+    }
+
+    @Test
+    public void testIncrementalUpdateMatchesRecomputation() {
+        siedlerGame.getCurrentPlayer().addResources(Config.Resource.ORE, 3);
+        siedlerGame.getCurrentPlayer().addResources(Config.Resource.GRAIN, 2);
+        assertTrue(siedlerGame.buildCity(RED_SETTLEMENT));
+
+        ThiefPlacementOptimizer recomputed = new ThiefPlacementOptimizer(siedlerGame);
+        for (Point field : board.getFields()) {
+            if (board.getField(field) != Config.Land.WATER) {
+                for (Config.Faction faction : siedlerGame.getPlayerFactions()) {
+                    assertEquals(recomputed.getBlockedIncome(field, faction), optimizer.getBlockedIncome(field, faction),
+                            "blocked income of " + faction + " at " + field);
+                    assertEquals(recomputed.getImpact(field, faction), optimizer.getImpact(field, faction), 1e-9,
+                            "impact for " + faction + " at " + field);
+                }
+            }
+        }
+        assertEquals(recomputed.getBestField(Config.Faction.RED), optimizer.getBestField(Config.Faction.RED));
+    }
+
+    @Test
+    public void testBestFieldBlocksOtherFaction() {
+        Point best = optimizer.getBestField(Config.Faction.RED);
+        assertTrue(board.getAdjacentFieldPoints(BLUE_SETTLEMENT).contains(best), "best field is next to blue");
+        assertFalse(board.getAdjacentFieldPoints(RED_SETTLEMENT).contains(best), "best field does not block red");
+        assertTrue(optimizer.getImpact(best, Config.Faction.RED) > 1, "blue has cards to steal");
+
+        for (Point field : board.getFields()) {
+            if (board.getField(field) != Config.Land.WATER && !field.equals(board.getThiefField())) {
+                assertTrue(optimizer.getImpact(field, Config.Faction.RED) <= optimizer.getImpact(best, Config.Faction.RED),
+                        "no field has a higher impact than " + best);
+            }
+        }
+    }
+
+    @Test
+    public void testThiefFieldIsSkipped() {
+        Point best = optimizer.getBestField(Config.Faction.RED);
+        assertTrue(siedlerGame.placeThiefAndStealCard(best));
+        assertNotEquals(best, optimizer.getBestField(Config.Faction.RED), "the thief has to be moved");
+    }
+
+    @Test
+    public void testWaterFieldThrows() {
+        assertThrows(IllegalArgumentException.class, () -> optimizer.getImpact(new Point(4, 2), Config.Faction.RED));
+    }
+}
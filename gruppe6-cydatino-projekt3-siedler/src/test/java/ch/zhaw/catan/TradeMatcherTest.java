@@ -0,0 +1,74 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * This class tests the functionalities of TradeMatcher.
+ *
+ */
+public class TradeMatcherTest {
+
+    private SiedlerGame game;
+    private TradeMatcher matcher;
+
+    @BeforeEach
+    public void initializeTests() {
+        game = new SiedlerGame(10, 4, NoOpInteraction.INSTANCE);
+        matcher = game.getTradeMatcher();
+        List<Player> players = game.getPlayers();
+        players.get(0).addResources(Config.Resource.ORE, 3);
+        players.get(1).addResources(Config.Resource.WOOL, 1);
+        players.get(2).addResources(Config.Resource.WOOL, 2);
+        players.get(2).addResources(Config.Resource.BRICK, 1);
+        players.get(3).addResources(Config.Resource.BRICK, 5);
+    }
+
+    private static int[] cards(Config.Resource resource, int amount) {
+        int[] counts = new int[Config.Resource.values().length];
+        counts[resource.ordinal()] = amount;
+        return counts;
+    }
+
+    @Test
+    public void testFindCounterparties() {
+        TradeOffer offer = matcher.postOffer(Config.Faction.RED, cards(Config.Resource.ORE, 2), cards(Config.Resource.WOOL, 2));
+        assertEquals(List.of(Config.Faction.GREEN), matcher.findCounterparties(offer.getId()), "only green owns two wool");
+
+        TradeOffer brickOffer = matcher.postOffer(Config.Faction.BLUE, cards(Config.Resource.WOOL, 1), cards(Config.Resource.BRICK, 1));
+        Map<TradeOffer, List<Config.Faction>> matches = matcher.findAllMatches();
+        assertEquals(List.of(Config.Faction.GREEN, Config.Faction.YELLOW), matches.get(brickOffer));
+        assertEquals(2, matches.size());
+    }
+
+    @Test
+    public void testExecuteIsAtomic() {
+        TradeOffer offer = matcher.postOffer(Config.Faction.RED, cards(Config.Resource.ORE, 3), cards(Config.Resource.WOOL, 2));
+        assertFalse(matcher.execute(offer.getId(), Config.Faction.BLUE), "blue does not own two wool");
+        assertEquals(3, game.getPlayers().get(0).getResources().get(Config.Resource.ORE), "nothing was exchanged");
+        assertEquals(1, game.getPlayers().get(1).getResources().get(Config.Resource.WOOL), "nothing was exchanged");
+
+        assertTrue(matcher.execute(offer.getId(), Config.Faction.GREEN));
+        assertEquals(0, game.getPlayers().get(0).getResources().get(Config.Resource.ORE));
+        assertEquals(2, game.getPlayers().get(0).getResources().get(Config.Resource.WOOL));
+        assertEquals(3, game.getPlayers().get(2).getResources().get(Config.Resource.ORE));
+        assertEquals(0, game.getPlayers().get(2).getResources().get(Config.Resource.WOOL));
+        assertTrue(matcher.getOffers().isEmpty(), "executed offer is closed");
+        assertFalse(matcher.execute(offer.getId(), Config.Faction.GREEN), "offer can only be executed once");
+    }
+
+    @Test
+    public void testInvalidOffers() {
+        assertThrows(IllegalArgumentException.class,
+                () -> matcher.postOffer(Config.Faction.RED, cards(Config.Resource.ORE, 4), cards(Config.Resource.WOOL, 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> matcher.postOffer(Config.Faction.RED, cards(Config.Resource.ORE, 1), new int[Config.Resource.values().length]));
+        assertThrows(IllegalArgumentException.class,
+                () -> matcher.postOffer(Config.Faction.GOLD, cards(Config.Resource.ORE, 1), cards(Config.Resource.WOOL, 1)));
+    }
+}
@@ -0,0 +1,93 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * This class tests the functionalities of TranspositionTable.
+ *
+ */
+public class TranspositionTableTest {
+
+    private TranspositionTable table;
+
+    @BeforeEach
+    public void initializeTests() {
+        table = new TranspositionTable(1 << 16);
+    }
+
+    @Test
+    public void testFixedSize() {
+        assertTrue(table.getSizeInBytes() <= 1 << 16, "table does not use more memory than allowed");
+        assertEquals(table.getSizeInBytes() / 16, table.getCapacity(), "each entry uses two longs");
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(8));
+    }
+
+    @Test
+    public void testStoreAndProbe() {
+        SiedlerGame game = new SiedlerGame(10, 2);
+        int move = TranspositionTable.encodeMove(MoveOption.BUILDROAD, new Point(6, 10), new Point(5, 9));
+        table.store(game.getPositionHash(), -42, 3, TranspositionTable.Bound.LOWER, move);
+
+        long data = table.probe(game.getPositionHash());
+        assertNotEquals(0, data, "stored position is found");
+        assertEquals(-42, TranspositionTable.getEvaluation(data));
+        assertEquals(3, TranspositionTable.getDepth(data));
+        assertEquals(TranspositionTable.Bound.LOWER, TranspositionTable.getBound(data));
+        int bestMove = TranspositionTable.getBestMove(data);
+        assertEquals(MoveOption.BUILDROAD, TranspositionTable.getMoveOption(bestMove));
+        assertEquals(new Point(6, 10), TranspositionTable.getMoveFrom(bestMove));
+        assertEquals(new Point(5, 9), TranspositionTable.getMoveTo(bestMove));
+
+        game.switchToNextPlayer();
+        assertEquals(0, table.probe(game.getPositionHash()), "other position is not found");
+    }
+
+    @Test
+    public void testDepthPreferredReplacement() {
+        long key = 0x1234L;
+        long collidingKey = key + ((long) table.getCapacity() << 32);
+        long otherCollidingKey = key + ((long) table.getCapacity() << 33);
+        table.store(key, 1, 10, TranspositionTable.Bound.EXACT, TranspositionTable.NO_MOVE);
+        table.store(collidingKey, 2, 2, TranspositionTable.Bound.EXACT, TranspositionTable.NO_MOVE);
+        table.store(otherCollidingKey, 3, 1, TranspositionTable.Bound.EXACT, TranspositionTable.NO_MOVE);
+
+        assertEquals(1, TranspositionTable.getEvaluation(table.probe(key)), "deep entry is kept");
+        assertEquals(0, table.probe(collidingKey), "shallow entry was replaced");
+        assertEquals(3, TranspositionTable.getEvaluation(table.probe(otherCollidingKey)), "newest shallow entry is stored");
+
+        table.clear();
+        assertEquals(0, table.probe(key), "table is empty after clear");
+    }
+
+    @Test
+    public void testConcurrentAccess() throws InterruptedException {
+        AtomicInteger corruptEntries = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (long key = 1; key < 50_000; key++) {
+                    int evaluation = (int) (key * 7);
+                    table.store(key, evaluation, (int) (key % 8), TranspositionTable.Bound.EXACT, TranspositionTable.NO_MOVE);
+                    long data = table.probe(key - 1);
+                    if (data != 0 && TranspositionTable.getEvaluation(data) != (int) ((key - 1) * 7)) {
+                        corruptEntries.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, corruptEntries.get(), "no entry of another position is returned");
+    }
+}
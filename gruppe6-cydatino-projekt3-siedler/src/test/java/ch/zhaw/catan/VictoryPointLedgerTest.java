@@ -0,0 +1,55 @@
+package ch.zhaw.catan;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/***
+ * This class tests the functionalities of VictoryPointLedger.
+ *
+ */
+public class VictoryPointLedgerTest {
+
+    @Test
+    public void testPointsBySource() {
+        SiedlerGame game = new SiedlerGame(10, 2, NoOpInteraction.INSTANCE);
+        game.getCurrentPlayer().addResources(Config.Resource.ORE, 3);
+        game.getCurrentPlayer().addResources(Config.Resource.GRAIN, 2);
+        game.placeInitialSettlement(new Point(6, 10), false);
+        game.buildCity(new Point(6, 10));
+
+        VictoryPointLedger ledger = game.getVictoryPoints();
+        assertEquals(0, ledger.getPoints(Config.Faction.RED, VictoryPointLedger.Source.SETTLEMENT), "settlement became a city");
+        assertEquals(2, ledger.getPoints(Config.Faction.RED, VictoryPointLedger.Source.CITY));
+        assertEquals(2, ledger.getPoints(Config.Faction.RED));
+        assertEquals(2, game.getCurrentPlayer().getPoints(), "player points are kept in sync");
+        assertNull(game.getWinner());
+    }
+
+    @Test
+    public void testWinIsPublishedOnce() {
+        SiedlerGame game = new SiedlerGame(3, 2, NoOpInteraction.INSTANCE);
+        List<Player> winners = new ArrayList<>();
+        game.addGameStateListener(new GameStateListener() {
+            @Override
+            public void gameWon(Player winner) {
+                winners.add(winner);
+            }
+        });
+        VictoryPointLedger ledger = game.getVictoryPoints();
+        Player red = game.getPlayers().get(0);
+        Player blue = game.getPlayers().get(1);
+        ledger.addPoints(red, VictoryPointLedger.Source.SETTLEMENT, 2);
+        assertTrue(winners.isEmpty());
+        ledger.addPoints(red, VictoryPointLedger.Source.VICTORY_POINT_CARD, 1);
+        ledger.addPoints(blue, VictoryPointLedger.Source.SETTLEMENT, 3);
+        assertEquals(List.of(red), winners, "only the first player reaching the points wins");
+        assertEquals(Config.Faction.RED, game.getWinner());
+        assertThrows(IllegalArgumentException.class,
+                () -> ledger.addPoints(red, VictoryPointLedger.Source.LARGEST_ARMY, -2));
+    }
+}
@@ -0,0 +1,41 @@
+package ch.zhaw.hexboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/***
+ * <p>
+ * Tests for the class {@link GeometryTable}.
+ * </p>
+ */
+public class GeometryTableTest {
+
+  @Test
+  public void tableMatchesComputedFlagsTest() {
+    GeometryTable.ensureCovers(64, 64);
+    for (int y = -12; y < 100; y++) {
+      for (int x = -12; x < 100; x++) {
+        assertEquals(GeometryTable.computeFlags(x, y), GeometryTable.getFlags(x, y),
+            "flags of (" + x + ", " + y + ")");
+      }
+    }
+  }
+
+  @Test
+  public void classificationTest() {
+    assertTrue(GeometryTable.isField(7, 5));
+    assertTrue(GeometryTable.isField(2, 2));
+    assertFalse(GeometryTable.isField(0, 2), "fields start at x = 1");
+    assertTrue(GeometryTable.isCorner(7, 3));
+    assertFalse(GeometryTable.isCorner(7, 5), "center of a field");
+  }
+
+  @Test
+  public void tablesAreSharedTest() {
+    assertSame(GeometryTable.forSize(10, 20), GeometryTable.forSize(14, 22));
+  }
+}
@@ -0,0 +1,89 @@
+package ch.zhaw.hexboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/***
+ * <p>
+ * Tests for the implementations of {@link HexBoardRenderer}.
+ * </p>
+ */
+public class HexBoardRendererTest {
+  private static final String NL = System.lineSeparator();
+  private static final Point FIELD = new Point(2, 2);
+  private static final Point TOP = new Point(2, 0);
+  private static final Point UPPER_RIGHT = new Point(3, 1);
+  private static final Point LOWER_LEFT = new Point(1, 3);
+  private HexBoard<String, String, String, String> board;
+
+  /**
+   * Setup for a test - Instantiates a board with a single field, a corner and
+   * an edge with data.
+   */
+  @BeforeEach
+  public void setUp() {
+    board = new HexBoard<>();
+    board.addField(FIELD, "FO");
+    board.setCorner(TOP, "rr");
+    board.setEdge(TOP, UPPER_RIGHT, "bb");
+  }
+
+  @Test
+  public void textViewStreamsSameTextAsToString() throws IOException {
+    HexBoardTextView<String, String, String, String> view = new HexBoardTextView<>(board);
+    StringWriter out = new StringWriter();
+    view.render(out);
+    assertEquals(view.toString(), out.toString());
+    assertEquals(out.toString(), view.toString());
+    assertTrue(out.toString().contains("(rr)"));
+    assertFalse(out.toString().contains("\u001b"));
+  }
+
+  @Test
+  public void textViewColorsLabels() {
+    HexBoardTextView<String, String, String, String> view = new HexBoardTextView<>(board);
+    String plain = view.toString();
+    view.setLabelColors(data -> data.equals("rr") ? "31" : null);
+    String colored = view.toString();
+    assertTrue(colored.contains("(\u001b[31mrr\u001b[0m)"));
+    assertEquals(plain, colored.replace("\u001b[31m", "").replace("\u001b[0m", ""));
+    view.setLabelColors(null);
+    assertEquals(plain, view.toString());
+  }
+
+  @Test
+  public void compactViewUsesOneCharPerCoordinate() {
+    board.setCorner(LOWER_LEFT, "BB");
+    String expected = "  r " + NL
+        + " . ." + NL
+        + "  F " + NL
+        + " B ." + NL
+        + "  . " + NL;
+    assertEquals(expected, new HexBoardCompactView<>(board).toString());
+  }
+
+  @Test
+  public void jsonWriterWritesFieldsCornersAndEdges() {
+    String json = new HexBoardJsonWriter<>(board).toString();
+    assertTrue(json.startsWith("{\"fields\":[{\"x\":2,\"y\":2,\"data\":\"FO\"}],\"corners\":["));
+    assertTrue(json.contains("{\"x\":2,\"y\":0,\"data\":\"rr\"},{\"x\":1,\"y\":1,\"data\":null}"));
+    assertTrue(json.contains("{\"x1\":2,\"y1\":0,\"x2\":3,\"y2\":1,\"data\":\"bb\"}"));
+    assertTrue(json.endsWith("]}"));
+    assertEquals(6, json.split("\"x1\"").length - 1);
+  }
+
+  @Test
+  public void jsonWriterEscapesStrings() throws IOException {
+    board.setCorner(TOP, "a\"b\\c\n");
+    StringBuilder out = new StringBuilder();
+    new HexBoardJsonWriter<>(board).render(out);
+    assertTrue(out.toString().contains("\"data\":\"a\\\"b\\\\c\\u000a\""));
+  }
+}
@@ -1,11 +1,15 @@
 package ch.zhaw.hexboard;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.awt.Point;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -118,4 +122,90 @@ public class HexBoardTest {
   public void fieldRetrievalWrongCoordinatesInsideTest() {
     assertThrows(IllegalArgumentException.class, () -> board.getField(new Point(2, 2)));
   }
+
+  // Interned coordinates
+  @Test
+  public void changedPointDoesNotAffectBoardTest() {
+    Point field = new Point(2, 2);
+    board.addField(field, "22");
+    field.translate(1, 3);
+    assertTrue(board.hasField(new Point(2, 2)));
+    assertFalse(board.hasField(field));
+  }
+
+  @Test
+  public void sharedEdgeTest() {
+    board.addField(new Point(9, 5), "01");
+    board.setEdge(new Point(8, 4), new Point(8, 6), "shared");
+    assertEquals("shared", board.getEdge(new Point(8, 6), new Point(8, 4)));
+    assertEquals(List.of("shared"), board.getAdjacentEdges(new Point(8, 4)));
+    assertFalse(board.hasEdge(new Point(7, 3), new Point(7, 1)), "edge of a field which was not added");
+  }
+
+  // Annotations
+  @Test
+  public void annotationTest() {
+    board.addFieldAnnotation(new Point(7, 5), new Point(8, 4), "A");
+    assertEquals("A", board.getFieldAnnotation(new Point(7, 5), new Point(8, 4)));
+    assertNull(board.getFieldAnnotation(new Point(7, 5), new Point(8, 6)));
+    assertEquals(List.of("A"), board.getFieldAnnotationsForCorner(new Point(8, 4)));
+    assertEquals(List.of("A"), board.getFieldAnnotationsForField(new Point(7, 5)));
+    assertThrows(IllegalArgumentException.class,
+        () -> board.addFieldAnnotation(new Point(7, 5), new Point(8, 4), "B"));
+    assertThrows(IllegalArgumentException.class,
+        () -> board.getFieldAnnotation(new Point(7, 5), new Point(9, 5)));
+  }
+
+  // Spatial queries
+  @Test
+  public void axialCoordinatesTest() {
+    assertArrayEquals(new int[] {3, 1}, HexBoard.toAxial(new Point(7, 5)));
+    assertArrayEquals(new int[] {3, -4, 1}, HexBoard.toCube(new Point(7, 5)));
+    assertEquals(new Point(7, 5), HexBoard.fromAxial(3, 1));
+    assertThrows(IllegalArgumentException.class, () -> HexBoard.toAxial(new Point(7, 3)));
+  }
+
+  @Test
+  public void fieldDistanceTest() {
+    assertEquals(0, HexBoard.getFieldDistance(new Point(7, 5), new Point(7, 5)));
+    assertEquals(1, HexBoard.getFieldDistance(new Point(7, 5), new Point(9, 5)));
+    assertEquals(1, HexBoard.getFieldDistance(new Point(7, 5), new Point(6, 8)));
+    assertEquals(2, HexBoard.getFieldDistance(new Point(7, 5), new Point(7, 11)));
+    assertEquals(3, HexBoard.getFieldDistance(new Point(7, 5), new Point(13, 5)));
+  }
+
+  @Test
+  public void ringAndSpiralTest() {
+    Point center = new Point(7, 11);
+    board.addField(center, "C");
+    List<Point> ring = List.of(new Point(5, 11), new Point(6, 14), new Point(8, 14),
+        new Point(9, 11), new Point(8, 8), new Point(6, 8));
+    for (Point field : ring) {
+      board.addField(field, "R");
+    }
+    board.addField(new Point(9, 17), "2");
+    assertEquals(List.of(center), board.getFieldRing(center, 0));
+    assertEquals(6, board.getFieldRing(center, 1).size());
+    assertTrue(board.getFieldRing(center, 1).containsAll(ring));
+    List<Point> secondRing = board.getFieldRing(center, 2);
+    assertEquals(2, secondRing.size(), "only existing fields are returned");
+    assertTrue(secondRing.containsAll(List.of(new Point(7, 5), new Point(9, 17))));
+    assertEquals(9, board.getFieldSpiral(center, 2).size());
+    assertEquals(center, board.getFieldSpiral(center, 2).get(0), "spiral starts at the center");
+  }
+
+  @Test
+  public void cornersWithinStepsTest() {
+    board.setEdge(corner[0], corner[1], "blocked");
+    Map<Point, Integer> reached = board.getCornersWithinSteps(List.of(corner[0]), 2,
+        edge -> edge == null);
+    assertEquals(0, reached.get(corner[0]));
+    assertEquals(1, reached.get(corner[5]));
+    assertEquals(2, reached.get(corner[4]));
+    assertFalse(reached.containsKey(corner[1]), "blocked edge is not passed within two steps");
+    Map<Point, Integer> all = board.getCornersWithinSteps(List.of(corner[0], corner[3]), 6,
+        edge -> true);
+    assertEquals(6, all.size());
+    assertEquals(1, all.get(corner[2]), "distance to the nearest source");
+  }
 }
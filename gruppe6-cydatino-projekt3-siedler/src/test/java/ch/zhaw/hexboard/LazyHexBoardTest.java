@@ -0,0 +1,116 @@
+package ch.zhaw.hexboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/***
+ * <p>
+ * Tests for the class {@link LazyHexBoard}.
+ * </p>
+ */
+public class LazyHexBoardTest {
+  private static final int CHUNK_SIZE = 8;
+  private static final int SIZE = 40;
+  private int generatorCalls;
+  private Function<Point, String> generator;
+  private LazyHexBoard<String, String, String, String> board;
+
+  /**
+   * Setup for a test - Instantiates a lazy board, which has a field at every
+   * field coordinate within a square of SIZE coordinates.
+   */
+  @BeforeEach
+  public void setUp() {
+    generatorCalls = 0;
+    generator = p -> {
+      generatorCalls++;
+      return p.x < SIZE && p.y < SIZE ? p.x + "/" + p.y : null;
+    };
+    board = new LazyHexBoard<>(generator, CHUNK_SIZE);
+  }
+
+  @Test
+  public void nothingIsCreatedUpFrontTest() {
+    assertEquals(0, generatorCalls);
+    assertEquals(0, board.getMaterializedChunkCount());
+    assertTrue(board.getFields().isEmpty());
+  }
+
+  @Test
+  public void fieldMaterializesItsChunkTest() {
+    assertEquals("7/5", board.getField(new Point(7, 5)));
+    assertEquals(1, board.getMaterializedChunkCount());
+    int calls = generatorCalls;
+    assertTrue(board.hasField(new Point(5, 5)));
+    assertEquals(calls, generatorCalls, "chunk is materialized once");
+    assertFalse(board.hasField(new Point(SIZE + 1, 5)));
+  }
+
+  @Test
+  public void edgesAcrossChunksTest() {
+    // (7,5) and (9,5) lie in different chunks and share the edge (8,4)-(8,6)
+    Point start = new Point(8, 4);
+    Point end = new Point(8, 6);
+    assertTrue(board.hasEdge(start, end));
+    assertNull(board.getEdge(start, end));
+    board.setEdge(start, end, "road");
+    assertEquals("road", board.getEdge(start, end));
+    assertEquals(List.of("8/2", "9/5", "7/5"), board.getFields(start));
+    assertTrue(board.getMaterializedChunkCount() >= 2);
+  }
+
+  @Test
+  public void behavesLikeEagerBoardTest() {
+    HexBoard<String, String, String, String> eager = new HexBoard<>();
+    for (int y = 0; y < SIZE; y++) {
+      for (int x = 0; x < SIZE; x++) {
+        if (HexBoard.isFieldCoordinate(new Point(x, y)) && generator.apply(new Point(x, y)) != null) {
+          eager.addField(new Point(x, y), generator.apply(new Point(x, y)));
+        }
+      }
+    }
+    Point center = new Point(16, 14);
+    assertEquals(eager.getFieldSpiral(center, 2), board.getFieldSpiral(center, 2));
+
+    Point corner = new Point(16, 12);
+    eager.setCorner(new Point(17, 13), "x");
+    board.setCorner(new Point(17, 13), "x");
+    assertEquals(eager.getNeighboursOfCorner(corner), board.getNeighboursOfCorner(corner));
+    assertEquals(eager.getCornersWithinSteps(List.of(corner), 4, e -> true),
+        board.getCornersWithinSteps(List.of(corner), 4, e -> true));
+  }
+
+  @Test
+  public void hugeMapTest() {
+    LazyHexBoard<String, String, String, String> huge = new LazyHexBoard<>(p -> "land");
+    Point far = HexBoard.fromAxial(100_000, 200_000);
+    assertTrue(huge.hasField(far));
+    assertEquals(1, huge.getMaterializedChunkCount());
+    assertTrue(huge.getFields().size() < LazyHexBoard.DEFAULT_CHUNK_SIZE * LazyHexBoard.DEFAULT_CHUNK_SIZE);
+    assertEquals(new HashSet<>(huge.getFields()).size(), huge.getFields().size());
+  }
+
+  @Test
+  public void addExistingFieldTest() {
+    assertThrows(IllegalArgumentException.class, () -> board.addField(new Point(7, 5), "new"));
+    board.addField(new Point(SIZE + 1, 5), "new");
+    assertEquals("new", board.getField(new Point(SIZE + 1, 5)));
+  }
+
+  @Test
+  public void invalidArgumentsTest() {
+    assertThrows(IllegalArgumentException.class, () -> new LazyHexBoard<String, String, String, String>(null));
+    assertThrows(IllegalArgumentException.class,
+        () -> new LazyHexBoard<String, String, String, String>(generator, 0));
+  }
+}
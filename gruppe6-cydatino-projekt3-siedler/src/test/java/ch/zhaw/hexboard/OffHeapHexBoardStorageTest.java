@@ -0,0 +1,159 @@
+package ch.zhaw.hexboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/***
+ * <p>
+ * Tests for the class {@link OffHeapHexBoardStorage}.
+ * </p>
+ */
+public class OffHeapHexBoardStorageTest {
+  private static final Point FIELD = new Point(8, 2);
+  private static final Point[] NEIGHBOURS = { new Point(7, 5), new Point(9, 5) };
+  private static final Point TOP = new Point(8, 0);
+  private static final Point UPPER_RIGHT = new Point(9, 1);
+  private static final Point BOTTOM = new Point(8, 4);
+
+  private enum Terrain {
+    WATER, FOREST, HILLS
+  }
+
+  private OffHeapHexBoardStorage<Terrain, String, String, String> storage;
+  private HexBoard<Terrain, String, String, String> board;
+
+  /**
+   * Setup for a test - Instantiates a board with three fields, which keeps its
+   * data off the heap.
+   */
+  @BeforeEach
+  public void setUp() {
+    storage = new OffHeapHexBoardStorage<>(SlotCodec.ofEnum(Terrain.class), SlotCodec.interning(),
+        SlotCodec.interning(), SlotCodec.interning());
+    board = new HexBoard<>(storage);
+    board.addField(FIELD, Terrain.FOREST);
+    for (Point neighbour : NEIGHBOURS) {
+      board.addField(neighbour, Terrain.HILLS);
+    }
+  }
+
+  @Test
+  public void behavesLikeHeapBoard() {
+    HexBoard<Terrain, String, String, String> heapBoard = new HexBoard<>();
+    heapBoard.addField(FIELD, Terrain.FOREST);
+    for (Point neighbour : NEIGHBOURS) {
+      heapBoard.addField(neighbour, Terrain.HILLS);
+    }
+    for (HexBoard<Terrain, String, String, String> b : List.of(board, heapBoard)) {
+      b.setCorner(TOP, "red");
+      b.setCorner(BOTTOM, "blue");
+      b.setEdge(TOP, UPPER_RIGHT, "red");
+      b.addFieldAnnotation(FIELD, TOP, "2:1");
+    }
+    assertEquals(heapBoard.getFields(), board.getFields());
+    assertEquals(heapBoard.getFields(BOTTOM), board.getFields(BOTTOM));
+    assertEquals(heapBoard.getCorners(), board.getCorners());
+    assertEquals(heapBoard.getCornerCoordinates(), board.getCornerCoordinates());
+    assertEquals(heapBoard.getCornersOfField(FIELD), board.getCornersOfField(FIELD));
+    assertEquals(heapBoard.getAdjacentEdges(TOP), board.getAdjacentEdges(TOP));
+    assertEquals(heapBoard.getEdge(UPPER_RIGHT, TOP), board.getEdge(UPPER_RIGHT, TOP));
+    assertEquals(heapBoard.getFieldAnnotationsForCorner(TOP), board.getFieldAnnotationsForCorner(TOP));
+    assertEquals("blue", board.getCorner(BOTTOM));
+  }
+
+  @Test
+  public void nullIsStoredAsEmptySlot() {
+    assertNull(board.getCorner(TOP));
+    board.setCorner(TOP, "red");
+    assertEquals("red", board.setCorner(TOP, null));
+    assertNull(board.getCorner(TOP));
+    assertTrue(board.hasCorner(TOP));
+    assertNull(board.getEdge(TOP, UPPER_RIGHT));
+  }
+
+  @Test
+  public void enumCodecUsesOrdinal() {
+    SlotCodec<Terrain> codec = SlotCodec.ofEnum(Terrain.class);
+    for (Terrain terrain : Terrain.values()) {
+      assertEquals(terrain.ordinal(), codec.encode(terrain));
+      assertEquals(terrain, codec.decode(codec.encode(terrain)));
+    }
+  }
+
+  @Test
+  public void interningCodecAssignsConsecutiveCodes() {
+    SlotCodec<String> codec = SlotCodec.interning();
+    assertEquals(0, codec.encode("red"));
+    assertEquals(1, codec.encode("blue"));
+    assertEquals(0, codec.encode("red"));
+    assertEquals("blue", codec.decode(1));
+  }
+
+  @Test
+  public void rejectsCodeLargerThanSlot() {
+    SlotCodec<Integer> identity = new SlotCodec<Integer>() {
+      @Override
+      public int encode(Integer value) {
+        return value;
+      }
+
+      @Override
+      public Integer decode(int code) {
+        return code;
+      }
+    };
+    OffHeapHexBoardStorage<Integer, Integer, Integer, Integer> numbers = new OffHeapHexBoardStorage<>(
+        identity, identity, identity, identity);
+    numbers.ensureCapacity(1, 1, 1, 1);
+    numbers.setField(0, 254);
+    assertEquals(254, numbers.getField(0));
+    assertThrows(IllegalArgumentException.class, () -> numbers.setField(0, 255));
+    numbers.setCorner(0, 65534);
+    assertEquals(65534, numbers.getCorner(0));
+    assertThrows(IllegalArgumentException.class, () -> numbers.setCorner(0, 65535));
+    assertThrows(IllegalArgumentException.class, () -> numbers.setEdge(0, 65535));
+    numbers.setAnnotation(0, 1 << 20);
+    assertEquals(1 << 20, numbers.getAnnotation(0));
+    assertThrows(IllegalArgumentException.class, () -> numbers.setAnnotation(0, Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void buffersGrowWithBoard() {
+    long capacity = storage.getCapacityInBytes();
+    assertTrue(capacity > 0);
+    for (int y = 0; y < 30; y++) {
+      for (int x = 0; x < 30; x++) {
+        Point center = new Point(x, y);
+        if (GeometryTable.isField(x, y) && !board.hasField(center)) {
+          board.addField(center, Terrain.WATER);
+        }
+      }
+    }
+    assertTrue(storage.getCapacityInBytes() > capacity);
+    assertEquals(Terrain.FOREST, board.getField(FIELD));
+    assertEquals(Terrain.HILLS, board.getField(NEIGHBOURS[0]));
+    assertEquals(board.getFields().size() - 3, board.getFields().stream()
+        .map(board::getField).filter(Terrain.WATER::equals).count());
+  }
+
+  @Test
+  public void closeDropsStorage() {
+    board.setCorner(TOP, "red");
+    assertFalse(storage.isClosed());
+    board.close();
+    assertTrue(storage.isClosed());
+    assertEquals(0, storage.getCapacityInBytes());
+    assertThrows(IllegalStateException.class, () -> board.getCorner(TOP));
+    assertThrows(IllegalStateException.class, () -> board.getField(FIELD));
+    board.close();
+    assertTrue(storage.isClosed());
+  }
+}
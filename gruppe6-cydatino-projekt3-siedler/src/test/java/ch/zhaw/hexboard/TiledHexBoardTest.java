@@ -0,0 +1,149 @@
+package ch.zhaw.hexboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/***
+ * <p>
+ * Tests for the class {@link TiledHexBoard}.
+ * </p>
+ */
+public class TiledHexBoardTest {
+  private static final int TILE_SIZE = 4;
+  private static final int SIZE = 40;
+  private TiledHexBoard<String, String, String> board;
+  private HexBoard<String, String, String, String> reference;
+
+  /**
+   * Setup for a test - Instantiates a tiled board with small tiles and a
+   * regular board with the same fields.
+   */
+  @BeforeEach
+  public void setUp() {
+    board = new TiledHexBoard<>(TILE_SIZE);
+    reference = new HexBoard<>();
+    for (int y = 0; y < SIZE; y++) {
+      for (int x = 0; x < SIZE; x++) {
+        Point center = new Point(x, y);
+        if (HexBoard.isFieldCoordinate(center)) {
+          board.addField(center, x + "/" + y);
+          reference.addField(center, x + "/" + y);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void sameElementsAsHexBoardTest() {
+    assertEquals(reference.getFields().size(), board.getFields().size());
+    for (int y = -2; y < SIZE + 4; y++) {
+      for (int x = -2; x < SIZE + 4; x++) {
+        Point p = new Point(x, y);
+        assertEquals(reference.hasField(p), board.hasField(p), "field " + p);
+        assertEquals(reference.hasCorner(p), board.hasCorner(p), "corner " + p);
+        for (Point q : List.of(new Point(x, y + 2), new Point(x + 1, y + 1), new Point(x - 1, y + 1))) {
+          assertEquals(reference.hasEdge(p, q), board.hasEdge(p, q), "edge " + p + q);
+        }
+      }
+    }
+    assertEquals("7/5", board.getField(new Point(7, 5)));
+  }
+
+  @Test
+  public void borderElementsAreSharedTest() {
+    // (4,4) lies on the border of four tiles and belongs to the fields (3,5), (5,5) and (4,2)
+    Point corner = new Point(4, 4);
+    board.setCorner(corner, "settlement");
+    assertEquals("settlement", board.getCorner(corner));
+    assertEquals(List.of("settlement"), board.getNeighboursOfCorner(new Point(4, 6)));
+
+    board.setEdge(new Point(4, 4), new Point(4, 6), "road");
+    assertEquals("road", board.getEdge(new Point(4, 6), new Point(4, 4)));
+    assertTrue(board.compareAndSetEdge(new Point(4, 6), new Point(4, 4), "road", "bridge"));
+    assertFalse(board.compareAndSetEdge(new Point(4, 4), new Point(4, 6), "road", "ship"));
+    assertEquals("bridge", board.getEdge(new Point(4, 4), new Point(4, 6)));
+  }
+
+  @Test
+  public void setCornerIfIsolatedTest() {
+    assertTrue(board.setCornerIfIsolated(new Point(4, 4), "a"));
+    assertFalse(board.setCornerIfIsolated(new Point(4, 4), "b"), "corner is occupied");
+    assertFalse(board.setCornerIfIsolated(new Point(4, 6), "b"), "neighbour is occupied");
+    assertTrue(board.setCornerIfIsolated(new Point(4, 10), "b"));
+    assertTrue(board.compareAndSetCorner(new Point(4, 4), "a", null));
+    assertNull(board.getCorner(new Point(4, 4)));
+  }
+
+  @Test
+  public void concurrentBuildsRespectDistanceRuleTest() throws Exception {
+    List<Point> corners = new ArrayList<>();
+    for (int y = 0; y < SIZE; y++) {
+      for (int x = 0; x < SIZE; x++) {
+        if (board.hasCorner(new Point(x, y))) {
+          corners.add(new Point(x, y));
+        }
+      }
+    }
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicInteger built = new AtomicInteger();
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      int offset = t;
+      futures.add(executor.submit(() -> {
+        start.await();
+        for (int i = 0; i < corners.size(); i++) {
+          Point corner = corners.get((i * 7 + offset * 31) % corners.size());
+          if (board.setCornerIfIsolated(corner, "t" + offset)) {
+            built.incrementAndGet();
+          }
+          board.getNeighboursOfCorner(corner);
+        }
+        return null;
+      }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get(30, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    int occupied = 0;
+    for (Point corner : corners) {
+      if (board.getCorner(corner) != null) {
+        occupied++;
+        assertTrue(board.getNeighboursOfCorner(corner).isEmpty(), "neighbours of " + corner + " are free");
+      }
+    }
+    assertEquals(built.get(), occupied, "every successful build is stored once");
+  }
+
+  @Test
+  public void invalidAccessTest() {
+    assertThrows(IllegalArgumentException.class, () -> new TiledHexBoard<String, String, String>(0));
+    assertThrows(IllegalArgumentException.class, () -> board.addField(new Point(7, 5), "again"));
+    assertThrows(IllegalArgumentException.class, () -> board.getCorner(new Point(7, 5)));
+    assertThrows(IllegalArgumentException.class, () -> board.setCorner(new Point(7, 5), "x"));
+    assertThrows(IllegalArgumentException.class, () -> board.getField(new Point(101, 101)));
+    assertThrows(IllegalArgumentException.class, () -> board.getEdge(new Point(2, 2), new Point(0, 2)));
+    assertThrows(IllegalArgumentException.class,
+        () -> board.setEdge(new Point(100, 100), new Point(100, 102), "x"));
+    assertNull(board.getEdge(new Point(100, 100), new Point(100, 102)));
+  }
+}